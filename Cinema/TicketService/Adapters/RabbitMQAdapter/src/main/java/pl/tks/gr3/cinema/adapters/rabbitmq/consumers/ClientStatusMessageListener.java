@@ -0,0 +1,36 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.consumers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.ClientUUIDMessage;
+
+@Slf4j
+@Service
+public class ClientStatusMessageListener {
+
+    @Value("${rabbitmq.activate.client.key}")
+    private String activateKey;
+
+    private final ClientStatusIndex clientStatusIndex;
+
+    @Autowired
+    public ClientStatusMessageListener(ClientStatusIndex clientStatusIndex) {
+        this.clientStatusIndex = clientStatusIndex;
+    }
+
+    // Status is taken from the event itself - the instance that writes it to the database may not have done it yet.
+
+    @RabbitListener(queues = "#{clientStatusQueue.name}")
+    public void updateClientStatus(@Payload ClientUUIDMessage clientUUIDMessage,
+                                   @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
+        log.debug("Received client status message: {} with key: {}.", clientUUIDMessage, routingKey);
+        clientStatusIndex.updateStatus(clientUUIDMessage.getClientId(), activateKey.equals(routingKey));
+    }
+}
@@ -0,0 +1,31 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.consumers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.TokenRevocationMessage;
+import pl.tks.gr3.cinema.application_services.jwt.TokenRevocationList;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+public class TokenRevocationMessageListener {
+
+    private final TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    public TokenRevocationMessageListener(TokenRevocationList tokenRevocationList) {
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    @RabbitListener(queues = "#{tokenRevocationQueue.name}")
+    public void revokeTokens(@Payload TokenRevocationMessage revocationMessage) {
+        log.debug("Received token revocation message: {}.", revocationMessage);
+        tokenRevocationList.add(revocationMessage.getRevokedId(),
+                Instant.ofEpochMilli(revocationMessage.getRevokedAt()),
+                Instant.ofEpochMilli(revocationMessage.getExpiresAt()));
+    }
+}
@@ -0,0 +1,17 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.messages;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TokenRevocationMessage {
+
+    private UUID revokedId;
+    private long revokedAt;
+    private long expiresAt;
+}
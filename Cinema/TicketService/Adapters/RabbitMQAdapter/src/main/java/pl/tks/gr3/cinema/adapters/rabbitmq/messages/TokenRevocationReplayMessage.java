@@ -0,0 +1,13 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.messages;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TokenRevocationReplayMessage {
+
+    private long requestedAt;
+}
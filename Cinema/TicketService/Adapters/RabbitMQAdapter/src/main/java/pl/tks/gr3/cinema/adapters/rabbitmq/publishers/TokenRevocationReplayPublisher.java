@@ -0,0 +1,47 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.publishers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.TokenRevocationReplayMessage;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+public class TokenRevocationReplayPublisher {
+
+    @Value("${rabbitmq.token-revocation-replay.key}")
+    private String replayKey;
+
+    @Value("${rabbitmq.exchange.name}")
+    private String exchangeName;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    public TokenRevocationReplayPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    // This service cannot read stored revocations, so once the listener of the token revocation queue is
+    // running, the user service is asked to broadcast all active ones again. Request waits in a durable queue
+    // if the user service is not running - without it, affected tokens are accepted at most until they expire.
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publish() {
+        TokenRevocationReplayMessage replayMessage = new TokenRevocationReplayMessage(Instant.now().toEpochMilli());
+        log.debug("Sending token revocation replay message: {} to exchange: {} with key: {}.",
+                replayMessage, exchangeName, replayKey);
+        try {
+            rabbitTemplate.convertAndSend(this.exchangeName, replayKey, replayMessage);
+        } catch (AmqpException exception) {
+            log.warn("Token revocation replay message: {} could not be sent: {}.", replayMessage, exception.getMessage());
+        }
+    }
+}
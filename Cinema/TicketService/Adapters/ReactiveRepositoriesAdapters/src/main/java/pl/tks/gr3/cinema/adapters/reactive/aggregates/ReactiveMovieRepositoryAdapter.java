@@ -0,0 +1,54 @@
+package pl.tks.gr3.cinema.adapters.reactive.aggregates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.cache.MovieCache;
+import pl.tks.gr3.cinema.adapters.converters.MovieConverter;
+import pl.tks.gr3.cinema.adapters.reactive.repositories.ReactiveMovieRepository;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+import pl.tks.gr3.cinema.ports.infrastructure.movies.AsyncCreateMoviePort;
+import pl.tks.gr3.cinema.ports.infrastructure.movies.AsyncReadMoviePort;
+import reactor.adapter.JdkFlowAdapter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveMovieRepositoryAdapter implements AsyncCreateMoviePort, AsyncReadMoviePort {
+
+    private final ReactiveMovieRepository movieRepository;
+    private final MovieCache movieCache;
+
+    @Autowired
+    public ReactiveMovieRepositoryAdapter(ReactiveMovieRepository movieRepository, MovieCache movieCache) {
+        this.movieRepository = movieRepository;
+        this.movieCache = movieCache;
+    }
+
+    @Override
+    public CompletableFuture<Movie> create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats) {
+        return movieRepository.create(movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats)
+                .map(MovieConverter::convertToMovie)
+                .doOnNext(movie -> movieCache.invalidate(movie.getMovieID()))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Movie> findByUUID(UUID movieID) {
+        return movieRepository.findByUUID(movieID).map(MovieConverter::convertToMovie).toFuture();
+    }
+
+    @Override
+    public Flow.Publisher<Movie> findAll() {
+        return JdkFlowAdapter.publisherToFlowPublisher(movieRepository.findAll().map(MovieConverter::convertToMovie));
+    }
+
+    @Override
+    public CompletableFuture<CollectionVersion> getCollectionVersion() {
+        return movieRepository.getCollectionVersion().toFuture();
+    }
+}
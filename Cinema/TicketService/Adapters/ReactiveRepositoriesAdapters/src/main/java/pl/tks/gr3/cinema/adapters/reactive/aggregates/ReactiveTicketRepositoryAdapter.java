@@ -0,0 +1,45 @@
+package pl.tks.gr3.cinema.adapters.reactive.aggregates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.converters.TicketConverter;
+import pl.tks.gr3.cinema.adapters.reactive.repositories.ReactiveTicketRepository;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncCreateTicketPort;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncReadTicketPort;
+import reactor.adapter.JdkFlowAdapter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveTicketRepositoryAdapter implements AsyncCreateTicketPort, AsyncReadTicketPort {
+
+    private final ReactiveTicketRepository ticketRepository;
+
+    @Autowired
+    public ReactiveTicketRepositoryAdapter(ReactiveTicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> create(LocalDateTime movieTime, UUID clientID, UUID movieID) {
+        return ticketRepository.create(movieTime, clientID, movieID)
+                .map(TicketConverter::convertToTicket)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Ticket> findByUUID(UUID ticketID) {
+        return ticketRepository.findByUUID(ticketID).map(TicketConverter::convertToTicket).toFuture();
+    }
+
+    @Override
+    public Flow.Publisher<Ticket> findAll() {
+        return JdkFlowAdapter.publisherToFlowPublisher(ticketRepository.findAll().map(TicketConverter::convertToTicket));
+    }
+}
@@ -0,0 +1,34 @@
+package pl.tks.gr3.cinema.adapters.reactive.aggregates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.converters.UserConverter;
+import pl.tks.gr3.cinema.adapters.reactive.repositories.ReactiveUserRepository;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.ports.infrastructure.users.AsyncReadUserPort;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveUserRepositoryAdapter implements AsyncReadUserPort {
+
+    private final ReactiveUserRepository userRepository;
+
+    @Autowired
+    public ReactiveUserRepositoryAdapter(ReactiveUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public CompletableFuture<Client> findClientByUUID(UUID clientID) {
+        return userRepository.findClientByUUID(clientID).map(UserConverter::convertToClient).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Client> findClientByLogin(String loginValue) {
+        return userRepository.findClientByLogin(loginValue).map(UserConverter::convertToClient).toFuture();
+    }
+}
@@ -0,0 +1,53 @@
+package pl.tks.gr3.cinema.adapters.reactive.connection;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
+import pl.tks.gr3.cinema.adapters.connection.MongoConnectionPoolStatistics;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ReactiveMongoClientConfig {
+
+    /*
+     * Reactive streams MongoClient used by the non-blocking repositories (web.mode=async). It is created
+     * with the same settings and codecs as the blocking client, but lazily - so with the default blocking
+     * mode no second connection pool is opened. Its pool reports the same metrics as the blocking one,
+     * tagged with client=reactive. Defining it also keeps Spring Boot from creating its own reactive client
+     * pointing at the default localhost instance.
+     */
+
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient(DatabaseConfig dbConfig, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
+        MongoCredential mongoCredentials = MongoCredential.createCredential(
+                dbConfig.getUserName(),
+                dbConfig.getAuthDatabase(),
+                dbConfig.getPassword().toCharArray()
+        );
+
+        MongoClientSettings mongoClientSettings = MongoClientFactory.getMongoClientSettingsBuilder(connectionString, mongoCredentials, dbConfig.getCodecMode())
+                .applyToConnectionPoolSettings(poolSettings -> {
+                    poolSettings
+                            .maxSize(dbConfig.getPoolMaxSize())
+                            .minSize(dbConfig.getPoolMinSize())
+                            .maxWaitTime(dbConfig.getPoolMaxWaitTime(), TimeUnit.MILLISECONDS)
+                            .maxConnectionIdleTime(dbConfig.getPoolMaxIdleTime(), TimeUnit.MILLISECONDS)
+                            .maxConnecting(dbConfig.getPoolMaxConnecting());
+                    meterRegistryProvider.ifAvailable(meterRegistry -> MongoConnectionPoolStatistics.monitor(poolSettings, meterRegistry, "reactive"));
+                })
+                .build();
+
+        return MongoClients.create(mongoClientSettings);
+    }
+}
@@ -0,0 +1,76 @@
+package pl.tks.gr3.cinema.adapters.reactive.repositories;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import pl.tks.gr3.cinema.adapters.consts.MongoRepositoryConstants;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+/*
+ * Non-blocking counterpart of MongoRepository. Collections, their validation and indexes are prepared
+ * by the blocking repositories on startup - reactive repositories only read and write documents.
+ */
+
+public abstract class ReactiveMongoRepository {
+
+    protected final static String userCollectionName = MongoRepositoryConstants.USERS_COLLECTION_NAME;
+    protected final static String movieCollectionName = MongoRepositoryConstants.MOVIES_COLLECTION_NAME;
+    protected final static String ticketCollectionName = MongoRepositoryConstants.TICKETS_COLLECTION_NAME;
+
+    // Listings are consumed one document at a time - without a fixed batch size the driver would size
+    // each getMore by the current demand and read the collection in batches of two documents.
+    protected final static int LISTING_BATCH_SIZE = 100;
+
+    protected final MongoDatabase mongoDatabase;
+
+    protected ReactiveMongoRepository(MongoClient mongoClient, String databaseName) {
+        this.mongoDatabase = mongoClient.getDatabase(databaseName);
+    }
+
+    protected MongoCollection<UserEnt> getClientCollection() {
+        return mongoDatabase.getCollection(userCollectionName, UserEnt.class);
+    }
+
+    protected MongoCollection<MovieEnt> getMovieCollection() {
+        return mongoDatabase.getCollection(movieCollectionName, MovieEnt.class);
+    }
+
+    protected MongoCollection<TicketEnt> getTicketCollection() {
+        return mongoDatabase.getCollection(ticketCollectionName, TicketEnt.class);
+    }
+
+    protected MongoCollection<Document> getChangeCollection() {
+        return mongoDatabase.getCollection(MongoRepositoryConstants.CHANGES_COLLECTION_NAME);
+    }
+
+    // Same change counter as in MongoRepository - incremented after each catalogue write to the collection.
+
+    protected Mono<Void> recordChange(String collectionName) {
+        return Mono.from(getChangeCollection().updateOne(
+                        Filters.eq(MongoRepositoryConstants.CHANGES_IDENTIFIER, collectionName),
+                        Updates.combine(
+                                Updates.inc(MongoRepositoryConstants.CHANGES_VERSION, 1L),
+                                Updates.currentDate(MongoRepositoryConstants.CHANGES_LAST_MODIFIED)),
+                        new UpdateOptions().upsert(true)))
+                .then();
+    }
+
+    protected Mono<CollectionVersion> findCollectionVersion(String collectionName) {
+        return Mono.from(getChangeCollection().find(Filters.eq(MongoRepositoryConstants.CHANGES_IDENTIFIER, collectionName)).first())
+                .map(changes -> {
+                    Date lastModified = changes.getDate(MongoRepositoryConstants.CHANGES_LAST_MODIFIED);
+                    return new CollectionVersion(changes.getLong(MongoRepositoryConstants.CHANGES_VERSION), lastModified != null ? lastModified.toInstant() : null);
+                })
+                .defaultIfEmpty(new CollectionVersion(0, null));
+    }
+}
@@ -0,0 +1,60 @@
+package pl.tks.gr3.cinema.adapters.reactive.repositories;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryMovieNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryReadException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.other.MovieNullReferenceException;
+import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveMovieRepository extends ReactiveMongoRepository {
+
+    @Autowired
+    public ReactiveMovieRepository(MongoClient reactiveMongoClient, DatabaseConfig dbConfig) {
+        super(reactiveMongoClient, dbConfig.getDbName());
+    }
+
+    public Mono<MovieEnt> create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats) {
+        MovieEnt movie = new MovieEnt(UUID.randomUUID(), movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats);
+        return Mono.from(getMovieCollection().insertOne(movie))
+                .then(recordChange(movieCollectionName))
+                .thenReturn(movie)
+                .onErrorMap(MongoException.class, exception -> new MovieRepositoryCreateException(exception.getMessage(), exception));
+    }
+
+    public Mono<MovieEnt> findByUUID(UUID movieID) {
+        Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieID);
+        return Mono.from(getMovieCollection().find(movieFilter).first())
+                .onErrorMap(MongoException.class, exception -> new MovieRepositoryReadException(exception.getMessage(), exception))
+                .switchIfEmpty(Mono.error(() -> {
+                    MovieNullReferenceException exception = new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
+                    return new MovieRepositoryMovieNotFoundException(exception.getMessage(), exception);
+                }));
+    }
+
+    public Flux<MovieEnt> findAll() {
+        return Flux.from(getMovieCollection().find(Filters.empty()).batchSize(LISTING_BATCH_SIZE))
+                .onErrorMap(MongoException.class, exception -> new MovieRepositoryReadException(exception.getMessage(), exception));
+    }
+
+    public Mono<CollectionVersion> getCollectionVersion() {
+        return findCollectionVersion(movieCollectionName)
+                .onErrorMap(MongoException.class, exception -> new MovieRepositoryReadException(exception.getMessage(), exception));
+    }
+}
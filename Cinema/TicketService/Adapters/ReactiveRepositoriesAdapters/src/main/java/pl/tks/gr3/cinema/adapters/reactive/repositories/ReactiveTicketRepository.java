@@ -0,0 +1,94 @@
+package pl.tks.gr3.cinema.adapters.reactive.repositories;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.other.MovieNullReferenceException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.other.TicketNullReferenceException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.other.UserNullReferenceException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryReadException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryTicketNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.other.client.ClientNotActiveException;
+import pl.tks.gr3.cinema.adapters.exceptions.other.movie.MovieNoAvailableSeatsException;
+import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveTicketRepository extends ReactiveMongoRepository {
+
+    @Autowired
+    public ReactiveTicketRepository(MongoClient reactiveMongoClient, DatabaseConfig dbConfig) {
+        super(reactiveMongoClient, dbConfig.getDbName());
+    }
+
+    public Mono<TicketEnt> create(LocalDateTime movieTime, UUID clientID, UUID movieID) {
+        Bson clientFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID);
+        Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieID);
+
+        // Same steps as in the blocking repository - client check, conditional seat reservation, insert with compensation.
+
+        return Mono.from(getClientCollection().find(clientFilter).first())
+                .switchIfEmpty(Mono.error(() -> new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_OBJECT_NOT_FOUND)))
+                .filter(UserEnt::isUserStatusActive)
+                .switchIfEmpty(Mono.error(() -> new ClientNotActiveException(MongoRepositoryMessages.ALLOCATION_NOT_POSSIBLE_SINCE_CLIENT_INACTIVE)))
+                .flatMap(client -> reserveSeat(movieFilter))
+                .flatMap(reservedMovie -> {
+                    TicketEnt ticket = new TicketEnt(UUID.randomUUID(), movieTime, reservedMovie.getMovieBasePrice(), clientID, movieID);
+                    return Mono.from(getTicketCollection().insertOne(ticket))
+                            .thenReturn(ticket)
+                            .onErrorResume(MongoException.class, exception -> Mono.from(getMovieCollection()
+                                            .updateOne(movieFilter, changeOfAvailableSeats(1)))
+                                    .then(Mono.error(exception)));
+                })
+                .onErrorMap(exception -> new TicketRepositoryCreateException(exception.getMessage(), exception));
+    }
+
+    public Mono<TicketEnt> findByUUID(UUID ticketID) {
+        Bson ticketFilter = Filters.eq(TicketEntConstants.GENERAL_IDENTIFIER, ticketID);
+        return Mono.from(getTicketCollection().find(ticketFilter).first())
+                .onErrorMap(MongoException.class, exception -> new TicketRepositoryReadException(exception.getMessage(), exception))
+                .switchIfEmpty(Mono.error(() -> {
+                    TicketNullReferenceException exception = new TicketNullReferenceException(MongoRepositoryMessages.TICKET_DOC_OBJECT_NOT_FOUND);
+                    return new TicketRepositoryTicketNotFoundException(exception.getMessage(), exception);
+                }));
+    }
+
+    public Flux<TicketEnt> findAll() {
+        return Flux.from(getTicketCollection().find(Filters.empty()).batchSize(LISTING_BATCH_SIZE))
+                .onErrorMap(MongoException.class, exception -> new TicketRepositoryReadException(exception.getMessage(), exception));
+    }
+
+    private Mono<MovieEnt> reserveSeat(Bson movieFilter) {
+        Bson reservationFilter = Filters.and(movieFilter, Filters.gt(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, 0));
+        Bson reservation = changeOfAvailableSeats(-1);
+        return Mono.from(getMovieCollection().findOneAndUpdate(reservationFilter, reservation))
+                .switchIfEmpty(Mono.defer(() -> Mono.from(getMovieCollection().countDocuments(movieFilter))
+                        .flatMap(numberOfMovies -> Mono.error(numberOfMovies == 0 ?
+                                new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND) :
+                                new MovieNoAvailableSeatsException(MongoRepositoryMessages.ALLOCATION_NOT_POSSIBLE_SINCE_NO_SEATS_AVAILABLE)))));
+    }
+
+    private static Bson changeOfAvailableSeats(int numberOfSeats) {
+        return Updates.combine(
+                Updates.inc(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, numberOfSeats),
+                Updates.inc(MovieEntConstants.VERSION, 1L));
+    }
+}
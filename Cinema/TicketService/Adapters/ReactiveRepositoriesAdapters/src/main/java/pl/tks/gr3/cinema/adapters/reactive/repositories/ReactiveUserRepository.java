@@ -0,0 +1,49 @@
+package pl.tks.gr3.cinema.adapters.reactive.repositories;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.other.UserNullReferenceException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryReadException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryUserNotFoundException;
+import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.user_mappers.UserMapper;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class ReactiveUserRepository extends ReactiveMongoRepository {
+
+    @Autowired
+    public ReactiveUserRepository(MongoClient reactiveMongoClient, DatabaseConfig dbConfig) {
+        super(reactiveMongoClient, dbConfig.getDbName());
+    }
+
+    public Mono<ClientEnt> findClientByUUID(UUID clientID) {
+        return findClient(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID));
+    }
+
+    public Mono<ClientEnt> findClientByLogin(String loginValue) {
+        return findClient(Filters.eq(UserEntConstants.USER_LOGIN, loginValue));
+    }
+
+    private Mono<ClientEnt> findClient(Bson userFilter) {
+        Bson clientFilter = Filters.and(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR), userFilter);
+        return Mono.from(getClientCollection().find(clientFilter).first())
+                .map(UserMapper::toClientEnt)
+                .onErrorMap(MongoException.class, exception -> new UserRepositoryReadException(exception.getMessage(), exception))
+                .switchIfEmpty(Mono.error(() -> {
+                    UserNullReferenceException exception = new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_OBJECT_NOT_FOUND);
+                    return new UserRepositoryUserNotFoundException(exception.getMessage(), exception);
+                }));
+    }
+}
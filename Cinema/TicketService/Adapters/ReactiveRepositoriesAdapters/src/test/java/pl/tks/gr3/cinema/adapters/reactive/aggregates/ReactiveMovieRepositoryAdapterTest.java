@@ -0,0 +1,42 @@
+package pl.tks.gr3.cinema.adapters.reactive.aggregates;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.cache.MovieCache;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.reactive.repositories.ReactiveMovieRepository;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveMovieRepositoryAdapterTest {
+
+    @Mock
+    private ReactiveMovieRepository movieRepository;
+
+    @Mock
+    private MovieCache movieCache;
+
+    @InjectMocks
+    private ReactiveMovieRepositoryAdapter movieRepositoryAdapter;
+
+    @Test
+    public void reactiveMovieRepositoryAdapterCreateMovieInvalidatesCacheTestPositive() {
+        MovieEnt movieEnt = new MovieEnt(UUID.randomUUID(), "ExampleTitleNo1", 10.50, 1, 30);
+        when(movieRepository.create(movieEnt.getMovieTitle(), movieEnt.getMovieBasePrice(), movieEnt.getScrRoomNumber(), movieEnt.getNumberOfAvailableSeats()))
+                .thenReturn(Mono.just(movieEnt));
+
+        Movie movie = movieRepositoryAdapter.create(movieEnt.getMovieTitle(), movieEnt.getMovieBasePrice(), movieEnt.getScrRoomNumber(), movieEnt.getNumberOfAvailableSeats()).join();
+
+        assertEquals(movieEnt.getMovieID(), movie.getMovieID());
+        verify(movieCache, times(1)).invalidate(movieEnt.getMovieID());
+    }
+}
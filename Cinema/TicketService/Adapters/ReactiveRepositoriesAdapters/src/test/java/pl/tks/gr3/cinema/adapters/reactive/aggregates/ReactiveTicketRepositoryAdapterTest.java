@@ -0,0 +1,58 @@
+package pl.tks.gr3.cinema.adapters.reactive.aggregates;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.reactive.repositories.ReactiveTicketRepository;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTicketRepositoryAdapterTest {
+
+    @Mock
+    private ReactiveTicketRepository ticketRepository;
+
+    @InjectMocks
+    private ReactiveTicketRepositoryAdapter ticketRepositoryAdapter;
+
+    private TicketEnt ticketEnt;
+
+    @BeforeEach
+    public void initializeSampleData() {
+        ticketEnt = new TicketEnt(UUID.randomUUID(), LocalDateTime.of(2023, 11, 2, 20, 15, 0), 12.5, UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    public void reactiveTicketRepositoryAdapterCreateTicketTestPositive() {
+        when(ticketRepository.create(ticketEnt.getMovieTime(), ticketEnt.getUserID(), ticketEnt.getMovieID())).thenReturn(Mono.just(ticketEnt));
+
+        Ticket ticket = ticketRepositoryAdapter.create(ticketEnt.getMovieTime(), ticketEnt.getUserID(), ticketEnt.getMovieID()).join();
+
+        assertEquals(ticketEnt.getTicketID(), ticket.getTicketID());
+        assertEquals(ticketEnt.getMovieID(), ticket.getMovieID());
+        verify(ticketRepository, times(1)).create(ticketEnt.getMovieTime(), ticketEnt.getUserID(), ticketEnt.getMovieID());
+    }
+
+    @Test
+    public void reactiveTicketRepositoryAdapterCreateTicketTestNegative() {
+        when(ticketRepository.create(ticketEnt.getMovieTime(), ticketEnt.getUserID(), ticketEnt.getMovieID()))
+                .thenReturn(Mono.error(new TicketRepositoryCreateException("Seat reservation failed", null)));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ticketRepositoryAdapter.create(ticketEnt.getMovieTime(), ticketEnt.getUserID(), ticketEnt.getMovieID()).join());
+        assertInstanceOf(TicketRepositoryCreateException.class, exception.getCause());
+    }
+}
@@ -2,48 +2,126 @@ package pl.tks.gr3.cinema.adapters.aggregates;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.cache.MovieCache;
 import pl.tks.gr3.cinema.adapters.converters.MovieConverter;
 import pl.tks.gr3.cinema.adapters.converters.TicketConverter;
+import pl.tks.gr3.cinema.adapters.converters.TicketDetailsConverter;
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.api.MovieRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.MovieSeatsEnt;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.CreateMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.DeleteMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.ReadMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.UpdateMoviePort;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class MovieRepositoryAdapter implements CreateMoviePort, ReadMoviePort, UpdateMoviePort, DeleteMoviePort {
 
     private final MovieRepositoryInterface movieRepository;
-
+    private final MovieCache movieCache;
 
     @Autowired
-    public MovieRepositoryAdapter(MovieRepositoryInterface movieRepository) {
+    public MovieRepositoryAdapter(MovieRepositoryInterface movieRepository, MovieCache movieCache) {
         this.movieRepository = movieRepository;
+        this.movieCache = movieCache;
     }
 
     // C
 
     @Override
     public Movie create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats) throws MovieRepositoryException {
-        return MovieConverter.convertToMovie(movieRepository.create(movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats));
+        Movie movie = MovieConverter.convertToMovie(movieRepository.create(movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats));
+        movieCache.invalidate(movie.getMovieID());
+        return movie;
+    }
+
+    @Override
+    public Map<Integer, String> createAll(List<Movie> movies) throws MovieRepositoryException {
+        try {
+            return movieRepository.createAll(movies.stream().map(MovieConverter::convertToMovieEnt).toList());
+        } finally {
+            movieCache.invalidateAll();
+        }
     }
 
     // R
 
+    // Catalogue fields come from the cache, number of available seats and version are read from the database
+    // on each call - set of movies read with them decides which movies are returned.
+
     @Override
     public List<Movie> findAll() throws MovieRepositoryException {
-        return movieRepository.findAll().stream().map(MovieConverter::convertToMovie).toList();
+        return withAvailableSeats(movieRepository.findAllAvailableSeats());
+    }
+
+    @Override
+    public Stream<Movie> streamAll() throws MovieRepositoryException {
+        return movieRepository.streamAll().map(MovieConverter::convertToMovie);
+    }
+
+    @Override
+    public Page<Movie> findPage(PageCursor cursor, int pageSize) throws MovieRepositoryException {
+        List<Movie> movies = movieRepository.findAllAfter(cursor != null ? cursor.getLastID() : null, pageSize + 1)
+                .stream().map(MovieConverter::convertToMovie).toList();
+        return Page.of(movies, pageSize, movie -> new PageCursor(movie.getMovieID()));
     }
 
     @Override
     public Movie findByUUID(UUID movieID) throws MovieRepositoryException {
-        return MovieConverter.convertToMovie(movieRepository.findByUUID(movieID));
+        List<MovieSeatsEnt> availableSeats = movieRepository.findAvailableSeatsByUUIDs(List.of(movieID));
+        if (availableSeats.isEmpty()) {
+            // Movie is read once more, so that a missing movie is reported by the repository the usual way.
+            movieCache.invalidate(movieID);
+            return MovieConverter.convertToMovie(movieRepository.findByUUID(movieID));
+        }
+        Movie movie = movieCache.get(movieID, id -> MovieConverter.convertToMovie(movieRepository.findByUUID(id)));
+        return withAvailableSeats(movie, availableSeats.get(0));
+    }
+
+    @Override
+    public List<Movie> findAllByUUIDs(Collection<UUID> movieIDs) throws MovieRepositoryException {
+        Map<UUID, Movie> movies = withAvailableSeats(movieRepository.findAvailableSeatsByUUIDs(movieIDs)).stream()
+                .collect(Collectors.toMap(Movie::getMovieID, Function.identity()));
+        return RequestOrder.of(movieIDs, movies);
+    }
+
+    private List<Movie> withAvailableSeats(List<MovieSeatsEnt> availableSeats) throws MovieRepositoryException {
+        Map<UUID, Movie> movies = movieCache.getAll(availableSeats.stream().map(MovieSeatsEnt::getMovieID).toList(),
+                missingIDs -> movieRepository.findAllByUUIDs(missingIDs).stream()
+                        .map(MovieConverter::convertToMovie)
+                        .collect(Collectors.toMap(Movie::getMovieID, Function.identity())));
+        return availableSeats.stream()
+                .filter(seats -> movies.containsKey(seats.getMovieID()))
+                .map(seats -> withAvailableSeats(movies.get(seats.getMovieID()), seats))
+                .toList();
+    }
+
+    private static Movie withAvailableSeats(Movie movie, MovieSeatsEnt availableSeats) {
+        movie.setNumberOfAvailableSeats(availableSeats.getNumberOfAvailableSeats());
+        movie.setVersion(availableSeats.getVersion());
+        return movie;
+    }
+
+    @Override
+    public CollectionVersion getCollectionVersion() throws MovieRepositoryException {
+        return movieRepository.getCollectionVersion();
     }
 
     @Override
@@ -51,17 +129,47 @@ public class MovieRepositoryAdapter implements CreateMoviePort, ReadMoviePort, U
         return this.movieRepository.getListOfTicketsForMovie(movieID).stream().map(TicketConverter::convertToTicket).toList();
     }
 
+    @Override
+    public Page<Ticket> getPageOfTickets(UUID movieID, PageCursor cursor, int pageSize) throws MovieRepositoryException {
+        List<Ticket> tickets = movieRepository.getTicketsForMovieAfter(movieID, cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1)
+                .stream().map(TicketConverter::convertToTicket).toList();
+        return Page.of(tickets, pageSize, ticket -> new PageCursor(ticket.getTicketID(), ticket.getMovieTime()));
+    }
+
+    @Override
+    public List<TicketDetails> getListOfTicketDetails(UUID movieID, Set<TicketExpansion> expansions) throws MovieRepositoryException {
+        return movieRepository.getTicketDetailsForMovieAfter(movieID, null, null, 0, expansions)
+                .stream().map(TicketDetailsConverter::convertToTicketDetails).toList();
+    }
+
+    @Override
+    public Page<TicketDetails> getPageOfTicketDetails(UUID movieID, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws MovieRepositoryException {
+        List<TicketDetails> tickets = movieRepository.getTicketDetailsForMovieAfter(movieID, cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1, expansions)
+                .stream().map(TicketDetailsConverter::convertToTicketDetails).toList();
+        return Page.of(tickets, pageSize, details -> new PageCursor(details.getTicket().getTicketID(), details.getTicket().getMovieTime()));
+    }
+
     // U
 
     @Override
     public void update(Movie movie) throws MovieRepositoryException {
-        movieRepository.update(MovieConverter.convertToMovieEnt(movie));
+        try {
+            MovieEnt movieEnt = MovieConverter.convertToMovieEnt(movie);
+            movieRepository.update(movieEnt);
+            movie.setVersion(movieEnt.getVersion());
+        } finally {
+            movieCache.invalidate(movie.getMovieID());
+        }
     }
 
     // D
 
     @Override
     public void delete(UUID movieID) throws MovieRepositoryException {
-        movieRepository.delete(movieID);
+        try {
+            movieRepository.delete(movieID);
+        } finally {
+            movieCache.invalidate(movieID);
+        }
     }
 }
@@ -0,0 +1,32 @@
+package pl.tks.gr3.cinema.adapters.aggregates;
+
+import java.util.*;
+import java.util.function.Function;
+
+/*
+ * Batch reads return documents in no particular order - results are put back in the order of requested
+ * identifiers, each identifier at most once (at its first position). Identifiers that were not found are skipped.
+ */
+
+final class RequestOrder {
+
+    private RequestOrder() {
+    }
+
+    static <T> List<T> of(Collection<UUID> requestedIDs, Map<UUID, T> foundByID) {
+        List<T> orderedResults = new ArrayList<>(foundByID.size());
+        for (UUID requestedID : new LinkedHashSet<>(requestedIDs)) {
+            T found = foundByID.get(requestedID);
+            if (found != null) {
+                orderedResults.add(found);
+            }
+        }
+        return orderedResults;
+    }
+
+    static <T> List<T> of(Collection<UUID> requestedIDs, List<T> found, Function<T, UUID> identifier) {
+        Map<UUID, T> foundByID = new HashMap<>();
+        found.forEach(result -> foundByID.put(identifier.apply(result), result));
+        return of(requestedIDs, foundByID);
+    }
+}
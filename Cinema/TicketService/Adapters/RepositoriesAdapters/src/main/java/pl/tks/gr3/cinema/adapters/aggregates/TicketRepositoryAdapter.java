@@ -3,17 +3,27 @@ package pl.tks.gr3.cinema.adapters.aggregates;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pl.tks.gr3.cinema.adapters.converters.TicketConverter;
+import pl.tks.gr3.cinema.adapters.converters.TicketDetailsConverter;
 import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
 import pl.tks.gr3.cinema.adapters.api.TicketRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.CreateTicketPort;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.DeleteTicketPort;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.ReadTicketPort;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.UpdateTicketPort;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 public class TicketRepositoryAdapter implements CreateTicketPort, ReadTicketPort, UpdateTicketPort, DeleteTicketPort {
@@ -30,6 +40,16 @@ public class TicketRepositoryAdapter implements CreateTicketPort, ReadTicketPort
         return TicketConverter.convertToTicket(ticketRepository.create(movieTime, clientID, movieID));
     }
 
+    @Override
+    public List<Ticket> createGroup(LocalDateTime movieTime, UUID clientID, UUID movieID, int numberOfSeats) throws TicketRepositoryException {
+        return ticketRepository.createGroup(movieTime, clientID, movieID, numberOfSeats).stream().map(TicketConverter::convertToTicket).toList();
+    }
+
+    @Override
+    public Map<Integer, String> createAll(List<Ticket> tickets) throws TicketRepositoryException {
+        return ticketRepository.createAll(tickets.stream().map(TicketConverter::convertToTicketEnt).toList());
+    }
+
     @Override
     public Ticket findByUUID(UUID ticketID) throws TicketRepositoryException {
         return TicketConverter.convertToTicket(ticketRepository.findByUUID(ticketID));
@@ -40,9 +60,41 @@ public class TicketRepositoryAdapter implements CreateTicketPort, ReadTicketPort
         return ticketRepository.findAll().stream().map(TicketConverter::convertToTicket).toList();
     }
 
+    @Override
+    public List<Ticket> findAllByUUIDs(Collection<UUID> ticketIDs) throws TicketRepositoryException {
+        List<Ticket> tickets = ticketRepository.findAllByUUIDs(ticketIDs).stream().map(TicketConverter::convertToTicket).toList();
+        return RequestOrder.of(ticketIDs, tickets, Ticket::getTicketID);
+    }
+
+    @Override
+    public Stream<Ticket> streamAll() throws TicketRepositoryException {
+        return ticketRepository.streamAll().map(TicketConverter::convertToTicket);
+    }
+
+    @Override
+    public Page<Ticket> findPage(PageCursor cursor, int pageSize) throws TicketRepositoryException {
+        List<Ticket> tickets = ticketRepository.findAllAfter(cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1)
+                .stream().map(TicketConverter::convertToTicket).toList();
+        return Page.of(tickets, pageSize, ticket -> new PageCursor(ticket.getTicketID(), ticket.getMovieTime()));
+    }
+
+    @Override
+    public Stream<TicketDetails> streamAllDetails(Set<TicketExpansion> expansions) throws TicketRepositoryException {
+        return ticketRepository.streamAllDetails(expansions).map(TicketDetailsConverter::convertToTicketDetails);
+    }
+
+    @Override
+    public Page<TicketDetails> findDetailsPage(PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws TicketRepositoryException {
+        List<TicketDetails> tickets = ticketRepository.findAllDetailsAfter(cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1, expansions)
+                .stream().map(TicketDetailsConverter::convertToTicketDetails).toList();
+        return Page.of(tickets, pageSize, details -> new PageCursor(details.getTicket().getTicketID(), details.getTicket().getMovieTime()));
+    }
+
     @Override
     public void update(Ticket ticket) throws TicketRepositoryException {
-        ticketRepository.update(TicketConverter.convertToTicketEnt(ticket));
+        TicketEnt ticketEnt = TicketConverter.convertToTicketEnt(ticket);
+        ticketRepository.update(ticketEnt);
+        ticket.setVersion(ticketEnt.getVersion());
     }
 
     @Override
@@ -3,33 +3,48 @@ package pl.tks.gr3.cinema.adapters.aggregates;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pl.tks.gr3.cinema.adapters.api.UserRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
 import pl.tks.gr3.cinema.adapters.converters.TicketConverter;
+import pl.tks.gr3.cinema.adapters.converters.TicketDetailsConverter;
 import pl.tks.gr3.cinema.adapters.converters.UserConverter;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.domain_model.users.User;
 import pl.tks.gr3.cinema.ports.infrastructure.users.*;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
 public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, UpdateUserPort, ActivateUserPort, DeactivateUserPort, DeleteUserPort {
 
     private final UserRepositoryInterface userRepository;
+    private final ClientStatusIndex clientStatusIndex;
 
     @Autowired
-    public UserRepositoryAdapter(UserRepositoryInterface userRepository) {
+    public UserRepositoryAdapter(UserRepositoryInterface userRepository, ClientStatusIndex clientStatusIndex) {
         this.userRepository = userRepository;
+        this.clientStatusIndex = clientStatusIndex;
     }
 
     // C
 
     @Override
     public Client createClient(UUID clientId, String clientLogin) throws UserRepositoryException {
-        return UserConverter.convertToClient(userRepository.createClient(clientId, clientLogin));
+        Client client = UserConverter.convertToClient(userRepository.createClient(clientId, clientLogin));
+        clientStatusIndex.put(client.getUserID(), client.getUserLogin(), client.isUserStatusActive(), client.getVersion());
+        return client;
     }
 
     // R
@@ -42,12 +57,18 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
 
     @Override
     public Client findClientByUUID(UUID clientID) throws UserRepositoryException {
-        return UserConverter.convertToClient(userRepository.findClientByUUID(clientID));
+        return UserConverter.convertToClient(clientStatusIndex.findByUUID(clientID, userRepository::findClientByUUID));
+    }
+
+    @Override
+    public List<Client> findClientsByUUIDs(Collection<UUID> clientIDs) throws UserRepositoryException {
+        Map<UUID, ClientStatusIndex.ClientStatus> clientStatuses = clientStatusIndex.findAllByUUIDs(clientIDs, userRepository::findClientsByUUIDs);
+        return RequestOrder.of(clientIDs, clientStatuses).stream().map(UserConverter::convertToClient).toList();
     }
 
     @Override
     public Client findClientByLogin(String loginValue) throws UserRepositoryException {
-        return UserConverter.convertToClient(userRepository.findClientByLogin(loginValue));
+        return UserConverter.convertToClient(clientStatusIndex.findByLogin(loginValue, userRepository::findClientByLogin));
     }
 
     @Override
@@ -55,11 +76,44 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
         return this.userRepository.getListOfTicketsForClient(userID, discriminator).stream().map(TicketConverter::convertToTicket).toList();
     }
 
+    @Override
+    public List<Ticket> getTicketHistory(UUID userID, String discriminator, LocalDateTime from, LocalDateTime to) throws UserRepositoryException {
+        return this.userRepository.getTicketHistoryForClient(userID, discriminator, from, to).stream().map(TicketConverter::convertToTicket).toList();
+    }
+
+    @Override
+    public List<Ticket> getTicketHistory(String login, String discriminator, LocalDateTime from, LocalDateTime to) throws UserRepositoryException {
+        return this.userRepository.getTicketHistoryForClient(login, discriminator, from, to).stream().map(TicketConverter::convertToTicket).toList();
+    }
+
+    @Override
+    public Page<Ticket> getPageOfTickets(UUID userID, String discriminator, PageCursor cursor, int pageSize) throws UserRepositoryException {
+        List<Ticket> tickets = this.userRepository.getTicketsForClientAfter(userID, discriminator, cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1)
+                .stream().map(TicketConverter::convertToTicket).toList();
+        return Page.of(tickets, pageSize, ticket -> new PageCursor(ticket.getTicketID(), ticket.getMovieTime()));
+    }
+
+    @Override
+    public List<TicketDetails> getTicketDetailsHistory(UUID userID, String discriminator, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions) throws UserRepositoryException {
+        return this.userRepository.getTicketDetailsHistoryForClient(userID, discriminator, from, to, expansions)
+                .stream().map(TicketDetailsConverter::convertToTicketDetails).toList();
+    }
+
+    @Override
+    public Page<TicketDetails> getPageOfTicketDetails(UUID userID, String discriminator, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws UserRepositoryException {
+        List<TicketDetails> tickets = this.userRepository.getTicketDetailsForClientAfter(userID, discriminator, cursor != null ? cursor.getLastMovieTime() : null, cursor != null ? cursor.getLastID() : null, pageSize + 1, expansions)
+                .stream().map(TicketDetailsConverter::convertToTicketDetails).toList();
+        return Page.of(tickets, pageSize, details -> new PageCursor(details.getTicket().getTicketID(), details.getTicket().getMovieTime()));
+    }
+
     // U
 
     @Override
     public void updateClient(Client client) throws UserRepositoryException {
-        userRepository.updateClient(UserConverter.convertToClientEnt(client));
+        ClientEnt clientEnt = UserConverter.convertToClientEnt(client);
+        userRepository.updateClient(clientEnt);
+        client.setVersion(clientEnt.getVersion());
+        clientStatusIndex.put(client.getUserID(), client.getUserLogin(), client.isUserStatusActive(), client.getVersion());
     }
 
     // D
@@ -67,17 +121,22 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
     @Override
     public void delete(UUID userID) throws UserRepositoryException {
         userRepository.delete(userID);
+        clientStatusIndex.remove(userID);
     }
 
     // Other
 
     @Override
     public void activate(User user) throws UserRepositoryException {
-        userRepository.activate(UserConverter.convertToClientEnt(user));
+        ClientEnt clientEnt = UserConverter.convertToClientEnt(user);
+        userRepository.activate(clientEnt);
+        clientStatusIndex.put(user.getUserID(), user.getUserLogin(), true, clientEnt.getVersion());
     }
 
     @Override
     public void deactivate(User user) throws UserRepositoryException {
-        userRepository.deactivate(UserConverter.convertToClientEnt(user));
+        ClientEnt clientEnt = UserConverter.convertToClientEnt(user);
+        userRepository.deactivate(clientEnt);
+        clientStatusIndex.put(user.getUserID(), user.getUserLogin(), false, clientEnt.getVersion());
     }
 }
@@ -2,21 +2,37 @@ package pl.tks.gr3.cinema.adapters.api;
 
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.MovieSeatsEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface MovieRepositoryInterface extends AutoCloseable {
 
     // Create methods
 
     MovieEnt create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats) throws MovieRepositoryException;
+    Map<Integer, String> createAll(List<MovieEnt> movies) throws MovieRepositoryException;
 
     // Read methods
 
     MovieEnt findByUUID(UUID movieID) throws MovieRepositoryException;
     List<MovieEnt> findAll() throws MovieRepositoryException;
+    List<MovieEnt> findAllByUUIDs(Collection<UUID> movieIDs) throws MovieRepositoryException;
+    List<MovieSeatsEnt> findAllAvailableSeats() throws MovieRepositoryException;
+    List<MovieSeatsEnt> findAvailableSeatsByUUIDs(Collection<UUID> movieIDs) throws MovieRepositoryException;
+    Stream<MovieEnt> streamAll() throws MovieRepositoryException;
+    List<MovieEnt> findAllAfter(UUID lastMovieID, int limit) throws MovieRepositoryException;
+    CollectionVersion getCollectionVersion() throws MovieRepositoryException;
 
     // Update methods
 
@@ -29,6 +45,8 @@ public interface MovieRepositoryInterface extends AutoCloseable {
     // Other methods
 
     List<TicketEnt> getListOfTicketsForMovie(UUID movieID);
+    List<TicketEnt> getTicketsForMovieAfter(UUID movieID, LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws MovieRepositoryException;
+    List<TicketDetailsEnt> getTicketDetailsForMovieAfter(UUID movieID, LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws MovieRepositoryException;
 
     @Override
     void close();
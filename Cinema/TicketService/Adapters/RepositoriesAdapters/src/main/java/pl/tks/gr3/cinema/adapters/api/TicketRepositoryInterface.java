@@ -1,22 +1,35 @@
 package pl.tks.gr3.cinema.adapters.api;
 
 import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TicketRepositoryInterface extends AutoCloseable {
 
     // Create methods
 
     TicketEnt create(LocalDateTime movieTime, UUID clientID, UUID movieID) throws TicketRepositoryException;
+    List<TicketEnt> createGroup(LocalDateTime movieTime, UUID clientID, UUID movieID, int numberOfSeats) throws TicketRepositoryException;
+    Map<Integer, String> createAll(List<TicketEnt> tickets) throws TicketRepositoryException;
 
     // Read methods
 
     TicketEnt findByUUID(UUID ticketID) throws TicketRepositoryException;
     List<TicketEnt> findAll() throws TicketRepositoryException;
+    List<TicketEnt> findAllByUUIDs(Collection<UUID> ticketIDs) throws TicketRepositoryException;
+    Stream<TicketEnt> streamAll() throws TicketRepositoryException;
+    List<TicketEnt> findAllAfter(LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws TicketRepositoryException;
+    Stream<TicketDetailsEnt> streamAllDetails(Set<TicketExpansion> expansions) throws TicketRepositoryException;
+    List<TicketDetailsEnt> findAllDetailsAfter(LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws TicketRepositoryException;
 
     // Update methods
 
@@ -2,11 +2,16 @@ package pl.tks.gr3.cinema.adapters.api;
 
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.GeneralRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepositoryInterface extends AutoCloseable {
@@ -21,6 +26,8 @@ public interface UserRepositoryInterface extends AutoCloseable {
 
     ClientEnt findClientByUUID(UUID clientID) throws UserRepositoryException;
 
+    List<ClientEnt> findClientsByUUIDs(Collection<UUID> clientIDs) throws UserRepositoryException;
+
     ClientEnt findClientByLogin(String loginValue) throws UserRepositoryException;
 
     List<ClientEnt> findAllClientsMatchingLogin(String loginValue) throws UserRepositoryException;
@@ -41,6 +48,11 @@ public interface UserRepositoryInterface extends AutoCloseable {
     // Other required methods
 
     List<TicketEnt> getListOfTicketsForClient(UUID userID, String name) throws UserRepositoryException;
+    List<TicketEnt> getTicketHistoryForClient(UUID userID, String name, LocalDateTime from, LocalDateTime to) throws UserRepositoryException;
+    List<TicketEnt> getTicketHistoryForClient(String login, String name, LocalDateTime from, LocalDateTime to) throws UserRepositoryException;
+    List<TicketEnt> getTicketsForClientAfter(UUID userID, String name, LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws UserRepositoryException;
+    List<TicketDetailsEnt> getTicketDetailsHistoryForClient(UUID userID, String name, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions) throws UserRepositoryException;
+    List<TicketDetailsEnt> getTicketDetailsForClientAfter(UUID userID, String name, LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws UserRepositoryException;
 
     @Override
     void close();
@@ -0,0 +1,192 @@
+package pl.tks.gr3.cinema.adapters.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.api.UserRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+ * In-memory index of client login and activity status, used by the ticket purchase path instead of reading
+ * the users collection. Every instance receives client activation and deactivation events through its own
+ * queue (ClientStatusMessageListener) and applies them here, while the instance that consumed the event from
+ * the shared queue also writes the database (through UserRepositoryAdapter). Entries are read again from the
+ * database once they are older than clients.index.ttl, which bounds how long a change made through another
+ * instance (or a missed event) can go unnoticed. Index is filled from the users collection at startup.
+ */
+
+@Slf4j
+@Component
+public class ClientStatusIndex {
+
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    private final UserRepositoryInterface userRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<UUID, ClientStatus> clientsByID = new ConcurrentHashMap<>();
+    private final Map<String, UUID> clientIDsByLogin = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClientStatusIndex(UserRepositoryInterface userRepository, @Value("${clients.index.ttl:PT30S}") Duration ttl) {
+        this(userRepository, ttl, Clock.systemUTC());
+    }
+
+    public ClientStatusIndex(UserRepositoryInterface userRepository) {
+        this(userRepository, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    public ClientStatusIndex(UserRepositoryInterface userRepository, Duration ttl, Clock clock) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<? extends UserEnt> clients = userRepository.findAllClients();
+            clients.forEach(client -> putRead(client, null));
+            log.info("Client status index loaded with {} clients.", clients.size());
+        } catch (UserRepositoryException exception) {
+            log.warn("Client status index could not be loaded, clients will be read on first use.", exception);
+        }
+    }
+
+    // Loaders read the client from the database and return null (or throw) when it does not exist.
+
+    public ClientStatus findByUUID(UUID clientID, Function<UUID, ? extends UserEnt> loader) {
+        ClientStatus clientStatus = clientsByID.get(clientID);
+        if (clientStatus == null || isExpired(clientStatus)) {
+            UserEnt client = loader.apply(clientID);
+            clientStatus = client != null ? putRead(client, clientStatus) : removeRead(clientID, clientStatus);
+        }
+        return clientStatus;
+    }
+
+    // Clients missing from the index (or with expired entries) are read together - loader gets all of them
+    // at once and returns the ones it found.
+
+    public Map<UUID, ClientStatus> findAllByUUIDs(Collection<UUID> clientIDs, Function<Collection<UUID>, List<? extends UserEnt>> loader) {
+        Map<UUID, ClientStatus> clientStatuses = new HashMap<>();
+        Map<UUID, ClientStatus> expiredStatuses = new HashMap<>();
+        List<UUID> missingIDs = new ArrayList<>();
+        for (UUID clientID : new HashSet<>(clientIDs)) {
+            ClientStatus clientStatus = clientsByID.get(clientID);
+            if (clientStatus != null && !isExpired(clientStatus)) {
+                clientStatuses.put(clientID, clientStatus);
+            } else {
+                if (clientStatus != null) {
+                    expiredStatuses.put(clientID, clientStatus);
+                }
+                missingIDs.add(clientID);
+            }
+        }
+        if (!missingIDs.isEmpty()) {
+            loader.apply(missingIDs).forEach(client ->
+                    clientStatuses.put(client.getUserID(), putRead(client, expiredStatuses.remove(client.getUserID()))));
+            expiredStatuses.forEach(this::removeRead);
+        }
+        return clientStatuses;
+    }
+
+    public ClientStatus findByLogin(String login, Function<String, ? extends UserEnt> loader) {
+        UUID clientID = clientIDsByLogin.get(login);
+        ClientStatus clientStatus = clientID != null ? clientsByID.get(clientID) : null;
+        if (clientStatus == null || isExpired(clientStatus)) {
+            UserEnt client = loader.apply(login);
+            if (client != null) {
+                clientStatus = putRead(client, client.getUserID().equals(clientID) ? clientStatus : clientsByID.get(client.getUserID()));
+            } else {
+                clientStatus = clientID != null ? removeRead(clientID, clientStatus) : null;
+            }
+        }
+        return clientStatus;
+    }
+
+    public void put(UUID clientID, String login, boolean active, long version) {
+        ClientStatus previous = clientsByID.put(clientID, new ClientStatus(clientID, login, active, version, clock.instant()));
+        replaceLogin(clientID, previous, login);
+    }
+
+    // Status change received as an event - the entry is updated only when the client is already indexed,
+    // its version is corrected when the entry is read again after it expires.
+
+    public void updateStatus(UUID clientID, boolean active) {
+        clientsByID.computeIfPresent(clientID, (id, previous) ->
+                new ClientStatus(id, previous.getLogin(), active, previous.getVersion(), clock.instant()));
+    }
+
+    public void remove(UUID clientID) {
+        ClientStatus previous = clientsByID.remove(clientID);
+        if (previous != null) {
+            clientIDsByLogin.remove(previous.getLogin(), clientID);
+        }
+    }
+
+    private boolean isExpired(ClientStatus clientStatus) {
+        return clientStatus.readAt.plus(ttl).isBefore(clock.instant());
+    }
+
+    // Entries read from the database never replace ones written in the meantime by an incoming event - only
+    // a missing entry or the expired one that caused the read is replaced.
+
+    private ClientStatus putRead(UserEnt client, ClientStatus expired) {
+        ClientStatus clientStatus = new ClientStatus(client.getUserID(), client.getUserLogin(), client.isUserStatusActive(), client.getVersion(), clock.instant());
+        boolean stored = expired == null ?
+                clientsByID.putIfAbsent(client.getUserID(), clientStatus) == null :
+                clientsByID.replace(client.getUserID(), expired, clientStatus);
+        if (!stored) {
+            ClientStatus current = clientsByID.get(client.getUserID());
+            return current != null ? current : clientStatus;
+        }
+        replaceLogin(client.getUserID(), expired, client.getUserLogin());
+        return clientStatus;
+    }
+
+    private ClientStatus removeRead(UUID clientID, ClientStatus expired) {
+        if (expired != null && clientsByID.remove(clientID, expired)) {
+            clientIDsByLogin.remove(expired.getLogin(), clientID);
+        }
+        return null;
+    }
+
+    private void replaceLogin(UUID clientID, ClientStatus previous, String login) {
+        if (previous != null && !previous.getLogin().equals(login)) {
+            clientIDsByLogin.remove(previous.getLogin(), clientID);
+        }
+        clientIDsByLogin.put(login, clientID);
+    }
+
+    @Getter
+    public static final class ClientStatus {
+        private final UUID clientID;
+        private final String login;
+        private final boolean active;
+        private final long version;
+
+        @Getter(AccessLevel.NONE)
+        private final Instant readAt;
+
+        public ClientStatus(UUID clientID, String login, boolean active, long version, Instant readAt) {
+            this.clientID = clientID;
+            this.login = login;
+            this.active = active;
+            this.version = version;
+            this.readAt = readAt;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pl.tks.gr3.cinema.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.domain_model.Movie;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.UUID;
+import java.util.function.Function;
+
+/*
+ * Bounded, in-process cache of the catalogue fields of movies read through ReadMoviePort (title, base price
+ * and screening room). Number of available seats and version change with every ticket, so MovieRepositoryAdapter
+ * reads them from the database on each call and sets them on the copies returned from here - ticket writes
+ * do not touch the cache. Entries are invalidated when a movie is created, updated or deleted, catalogue
+ * changes made by other application instances are picked up after entries expire (movies.cache.ttl).
+ */
+
+@Component
+public class MovieCache {
+
+    private final Cache<UUID, Movie> moviesByID;
+
+    @Autowired
+    public MovieCache(@Value("${movies.cache.max-size:1000}") long maxSize,
+                      @Value("${movies.cache.ttl:PT30S}") Duration ttl,
+                      ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(maxSize, ttl);
+        meterRegistryProvider.ifAvailable(meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, moviesByID, "movies"));
+    }
+
+    public MovieCache(long maxSize, Duration ttl) {
+        this.moviesByID = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    // Movie objects are mutable - callers always get their own copies.
+
+    public Movie get(UUID movieID, Function<UUID, Movie> loader) {
+        return copyOf(moviesByID.get(movieID, loader));
+    }
+
+    // Movies missing from the cache are loaded together - loader gets all of them at once and returns the ones it found.
+
+    public Map<UUID, Movie> getAll(Collection<UUID> movieIDs, Function<Set<UUID>, Map<UUID, Movie>> loader) {
+        Map<UUID, Movie> movies = new HashMap<>();
+        moviesByID.getAll(movieIDs, missingIDs -> loader.apply(Set.copyOf(missingIDs)))
+                .forEach((movieID, movie) -> movies.put(movieID, copyOf(movie)));
+        return movies;
+    }
+
+    public void invalidate(UUID movieID) {
+        moviesByID.invalidate(movieID);
+    }
+
+    public void invalidateAll() {
+        moviesByID.invalidateAll();
+    }
+
+    private static Movie copyOf(Movie movie) {
+        Movie copy = new Movie(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats());
+        copy.setVersion(movie.getVersion());
+        return copy;
+    }
+}
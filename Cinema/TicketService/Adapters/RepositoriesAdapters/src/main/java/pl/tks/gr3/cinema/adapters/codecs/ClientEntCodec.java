@@ -0,0 +1,55 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+
+import java.util.UUID;
+
+public class ClientEntCodec implements Codec<ClientEnt> {
+
+    @Override
+    public void encode(BsonWriter writer, ClientEnt client, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        EntityCodecs.writeUUID(writer, UserEntConstants.GENERAL_IDENTIFIER, client.getUserID());
+        writer.writeString(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR);
+        EntityCodecs.writeString(writer, UserEntConstants.USER_LOGIN, client.getUserLogin());
+        writer.writeBoolean(UserEntConstants.USER_STATUS_ACTIVE, client.isUserStatusActive());
+        writer.writeInt64(UserEntConstants.VERSION, client.getVersion());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public ClientEnt decode(BsonReader reader, DecoderContext decoderContext) {
+        UUID clientID = null;
+        String clientLogin = null;
+        boolean clientStatusActive = false;
+        long version = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case UserEntConstants.GENERAL_IDENTIFIER -> clientID = EntityCodecs.readUUID(reader);
+                case UserEntConstants.USER_LOGIN -> clientLogin = EntityCodecs.readString(reader);
+                case UserEntConstants.USER_STATUS_ACTIVE -> clientStatusActive = reader.readBoolean();
+                case UserEntConstants.VERSION -> version = EntityCodecs.readLong(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        ClientEnt client = new ClientEnt(clientID, clientLogin, clientStatusActive);
+        client.setVersion(version);
+        return client;
+    }
+
+    @Override
+    public Class<ClientEnt> getEncoderClass() {
+        return ClientEnt.class;
+    }
+}
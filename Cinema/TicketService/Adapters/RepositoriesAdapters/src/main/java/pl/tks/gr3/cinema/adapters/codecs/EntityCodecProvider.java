@@ -0,0 +1,32 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+public class EntityCodecProvider implements CodecProvider {
+
+    private final TicketEntCodec ticketEntCodec = new TicketEntCodec();
+    private final MovieEntCodec movieEntCodec = new MovieEntCodec();
+    private final ClientEntCodec clientEntCodec = new ClientEntCodec();
+    private final UserEntCodec userEntCodec = new UserEntCodec(clientEntCodec);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (clazz == TicketEnt.class) {
+            return (Codec<T>) ticketEntCodec;
+        } else if (clazz == MovieEnt.class) {
+            return (Codec<T>) movieEntCodec;
+        } else if (clazz == ClientEnt.class) {
+            return (Codec<T>) clientEntCodec;
+        } else if (clazz == UserEnt.class) {
+            return (Codec<T>) userEntCodec;
+        }
+        return null;
+    }
+}
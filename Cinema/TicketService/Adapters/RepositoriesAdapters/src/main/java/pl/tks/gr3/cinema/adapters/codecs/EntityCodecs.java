@@ -0,0 +1,90 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.UuidRepresentation;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/*
+ * Field level helpers shared by the entity codecs - values are written in exactly the same format as
+ * the POJO codec writes them (UUID as standard binary subtype 4, LocalDateTime as UTC date time), so that
+ * documents written in one codec mode can be read in the other one. Null values are not written at all.
+ */
+
+final class EntityCodecs {
+
+    private EntityCodecs() {
+    }
+
+    static void writeUUID(BsonWriter writer, String name, UUID value) {
+        if (value != null) {
+            writer.writeBinaryData(name, new BsonBinary(value, UuidRepresentation.STANDARD));
+        }
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    static void writeLocalDateTime(BsonWriter writer, String name, LocalDateTime value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    static UUID readUUID(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return reader.readBinaryData().asUuid(UuidRepresentation.STANDARD);
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return reader.readString();
+    }
+
+    static LocalDateTime readLocalDateTime(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneOffset.UTC);
+    }
+
+    static double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            default -> reader.readDouble();
+        };
+    }
+
+    static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> reader.readInt32();
+        };
+    }
+
+    static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> reader.readInt64();
+        };
+    }
+}
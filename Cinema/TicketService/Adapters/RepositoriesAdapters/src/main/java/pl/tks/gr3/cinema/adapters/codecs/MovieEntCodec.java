@@ -0,0 +1,60 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+
+import java.util.UUID;
+
+public class MovieEntCodec implements Codec<MovieEnt> {
+
+    @Override
+    public void encode(BsonWriter writer, MovieEnt movie, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        EntityCodecs.writeUUID(writer, MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID());
+        EntityCodecs.writeString(writer, MovieEntConstants.MOVIE_TITLE, movie.getMovieTitle());
+        writer.writeDouble(MovieEntConstants.MOVIE_BASE_PRICE, movie.getMovieBasePrice());
+        writer.writeInt32(MovieEntConstants.SCREENING_ROOM_NUMBER, movie.getScrRoomNumber());
+        writer.writeInt32(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, movie.getNumberOfAvailableSeats());
+        writer.writeInt64(MovieEntConstants.VERSION, movie.getVersion());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public MovieEnt decode(BsonReader reader, DecoderContext decoderContext) {
+        UUID movieID = null;
+        String movieTitle = null;
+        double movieBasePrice = 0;
+        int scrRoomNumber = 0;
+        int numberOfAvailableSeats = 0;
+        long version = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case MovieEntConstants.GENERAL_IDENTIFIER -> movieID = EntityCodecs.readUUID(reader);
+                case MovieEntConstants.MOVIE_TITLE -> movieTitle = EntityCodecs.readString(reader);
+                case MovieEntConstants.MOVIE_BASE_PRICE -> movieBasePrice = EntityCodecs.readDouble(reader);
+                case MovieEntConstants.SCREENING_ROOM_NUMBER -> scrRoomNumber = EntityCodecs.readInt(reader);
+                case MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS -> numberOfAvailableSeats = EntityCodecs.readInt(reader);
+                case MovieEntConstants.VERSION -> version = EntityCodecs.readLong(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        MovieEnt movie = new MovieEnt(movieID, movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats);
+        movie.setVersion(version);
+        return movie;
+    }
+
+    @Override
+    public Class<MovieEnt> getEncoderClass() {
+        return MovieEnt.class;
+    }
+}
@@ -0,0 +1,61 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class TicketEntCodec implements Codec<TicketEnt> {
+
+    @Override
+    public void encode(BsonWriter writer, TicketEnt ticket, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        EntityCodecs.writeUUID(writer, TicketEntConstants.GENERAL_IDENTIFIER, ticket.getTicketID());
+        EntityCodecs.writeLocalDateTime(writer, TicketEntConstants.MOVIE_TIME, ticket.getMovieTime());
+        writer.writeDouble(TicketEntConstants.TICKET_FINAL_PRICE, ticket.getTicketPrice());
+        EntityCodecs.writeUUID(writer, TicketEntConstants.USER_ID, ticket.getUserID());
+        EntityCodecs.writeUUID(writer, TicketEntConstants.MOVIE_ID, ticket.getMovieID());
+        writer.writeInt64(TicketEntConstants.VERSION, ticket.getVersion());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TicketEnt decode(BsonReader reader, DecoderContext decoderContext) {
+        UUID ticketID = null;
+        LocalDateTime movieTime = null;
+        double ticketPrice = 0;
+        UUID userID = null;
+        UUID movieID = null;
+        long version = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case TicketEntConstants.GENERAL_IDENTIFIER -> ticketID = EntityCodecs.readUUID(reader);
+                case TicketEntConstants.MOVIE_TIME -> movieTime = EntityCodecs.readLocalDateTime(reader);
+                case TicketEntConstants.TICKET_FINAL_PRICE -> ticketPrice = EntityCodecs.readDouble(reader);
+                case TicketEntConstants.USER_ID -> userID = EntityCodecs.readUUID(reader);
+                case TicketEntConstants.MOVIE_ID -> movieID = EntityCodecs.readUUID(reader);
+                case TicketEntConstants.VERSION -> version = EntityCodecs.readLong(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        TicketEnt ticket = new TicketEnt(ticketID, movieTime, ticketPrice, userID, movieID);
+        ticket.setVersion(version);
+        return ticket;
+    }
+
+    @Override
+    public Class<TicketEnt> getEncoderClass() {
+        return TicketEnt.class;
+    }
+}
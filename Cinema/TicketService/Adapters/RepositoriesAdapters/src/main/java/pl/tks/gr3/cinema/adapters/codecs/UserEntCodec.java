@@ -0,0 +1,65 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+/*
+ * Users of every type are kept in one collection - concrete codec is chosen by the value of the
+ * discriminator field, which is looked up first and then the reader is reset to the start of the document.
+ */
+
+public class UserEntCodec implements Codec<UserEnt> {
+
+    private final ClientEntCodec clientEntCodec;
+
+    public UserEntCodec(ClientEntCodec clientEntCodec) {
+        this.clientEntCodec = clientEntCodec;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, UserEnt user, EncoderContext encoderContext) {
+        if (user instanceof ClientEnt client) {
+            clientEntCodec.encode(writer, client, encoderContext);
+        } else {
+            throw new CodecConfigurationException("There is no codec for user of type: " + user.getClass().getName());
+        }
+    }
+
+    @Override
+    public UserEnt decode(BsonReader reader, DecoderContext decoderContext) {
+        String discriminator = readDiscriminator(reader);
+        if (UserEntConstants.CLIENT_DISCRIMINATOR.equals(discriminator)) {
+            return clientEntCodec.decode(reader, decoderContext);
+        }
+        throw new CodecConfigurationException("There is no codec for user with discriminator: " + discriminator);
+    }
+
+    @Override
+    public Class<UserEnt> getEncoderClass() {
+        return UserEnt.class;
+    }
+
+    private String readDiscriminator(BsonReader reader) {
+        String discriminator = null;
+        BsonReaderMark mark = reader.getMark();
+        reader.readStartDocument();
+        while (discriminator == null && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.readName().equals(UserEntConstants.USER_DISCRIMINATOR_NAME)) {
+                discriminator = reader.readString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        mark.reset();
+        return discriminator;
+    }
+}
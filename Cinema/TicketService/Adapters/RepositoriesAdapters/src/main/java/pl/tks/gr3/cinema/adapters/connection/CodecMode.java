@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+/*
+ * How entity classes are encoded and decoded - with hand written codecs (default), or with reflection
+ * based POJO codecs. Both modes use the same document format, so they can be switched without migration.
+ */
+
+public enum CodecMode {
+    EXPLICIT,
+    POJO
+}
@@ -25,4 +25,31 @@ public class DatabaseConfig {
 
     @Value("${mongo.password}")
     private String password;
+
+    // Connection pool settings
+
+    @Value("${mongo.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${mongo.pool.min-size:0}")
+    private int poolMinSize;
+
+    @Value("${mongo.pool.max-wait-time-ms:2000}")
+    private long poolMaxWaitTime;
+
+    @Value("${mongo.pool.max-idle-time-ms:60000}")
+    private long poolMaxIdleTime;
+
+    @Value("${mongo.pool.max-connecting:2}")
+    private int poolMaxConnecting;
+
+    // Startup mode - collections are dropped and created again only if explicitly requested
+
+    @Value("${mongo.startup.recreate-collections:false}")
+    private boolean recreateCollections;
+
+    // Entity codecs - hand written (EXPLICIT) or reflection based (POJO)
+
+    @Value("${mongo.codec.mode:EXPLICIT}")
+    private CodecMode codecMode;
 }
@@ -0,0 +1,45 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoClientConfig {
+
+    /*
+     * Single, application scoped MongoClient - shared by all repositories, so that there is only one
+     * connection pool (and one set of monitor threads and authentication handshakes) per application.
+     */
+
+    @Bean(destroyMethod = "close")
+    public MongoClient mongoClient(DatabaseConfig dbConfig, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
+        MongoCredential mongoCredentials = MongoCredential.createCredential(
+                dbConfig.getUserName(),
+                dbConfig.getAuthDatabase(),
+                dbConfig.getPassword().toCharArray()
+        );
+
+        MongoClientSettings mongoClientSettings = MongoClientFactory.getMongoClientSettingsBuilder(connectionString, mongoCredentials, dbConfig.getCodecMode())
+                .applyToConnectionPoolSettings(poolSettings -> {
+                    poolSettings
+                            .maxSize(dbConfig.getPoolMaxSize())
+                            .minSize(dbConfig.getPoolMinSize())
+                            .maxWaitTime(dbConfig.getPoolMaxWaitTime(), TimeUnit.MILLISECONDS)
+                            .maxConnectionIdleTime(dbConfig.getPoolMaxIdleTime(), TimeUnit.MILLISECONDS)
+                            .maxConnecting(dbConfig.getPoolMaxConnecting());
+                    meterRegistryProvider.ifAvailable(meterRegistry -> MongoConnectionPoolStatistics.monitor(poolSettings, meterRegistry, "blocking"));
+                })
+                .build();
+
+        return MongoClients.create(mongoClientSettings);
+    }
+}
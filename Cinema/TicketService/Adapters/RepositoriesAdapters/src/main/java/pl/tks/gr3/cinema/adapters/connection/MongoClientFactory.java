@@ -0,0 +1,73 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+import com.mongodb.*;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.ClassModel;
+import org.bson.codecs.pojo.Conventions;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import pl.tks.gr3.cinema.adapters.codecs.EntityCodecProvider;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+import java.util.List;
+
+public class MongoClientFactory {
+
+    private static final ClassModel<UserEnt> userClassModel = ClassModel.builder(UserEnt.class).enableDiscriminator(true).build();
+    private static final ClassModel<ClientEnt> clientClassModel = ClassModel.builder(ClientEnt.class).enableDiscriminator(true).build();
+    private static final ClassModel<MovieEnt> movieClassModel = ClassModel.builder(MovieEnt.class).build();
+    private static final ClassModel<TicketEnt> ticketClassModel = ClassModel.builder(TicketEnt.class).build();
+
+    private static final PojoCodecProvider pojoCodecProvider = PojoCodecProvider.builder().register(
+            userClassModel, clientClassModel, movieClassModel, ticketClassModel
+    ).build();
+    private static final CodecRegistry pojoCodecRegistry = CodecRegistries.fromProviders(
+            pojoCodecProvider,
+            PojoCodecProvider.builder()
+                    .automatic(true)
+                    .conventions(List.of(Conventions.ANNOTATION_CONVENTION))
+                    .build()
+    );
+    private static final CodecRegistry explicitCodecRegistry = CodecRegistries.fromRegistries(
+            CodecRegistries.fromProviders(new EntityCodecProvider()),
+            pojoCodecRegistry
+    );
+
+    /*
+     * Settings shared by every MongoClient created in the application - both the application scoped
+     * client bean and the clients created by repositories outside the Spring context (e.g. in tests).
+     */
+
+    public static MongoClientSettings.Builder getMongoClientSettingsBuilder(String connectionString, MongoCredential mongoCredentials) {
+        return getMongoClientSettingsBuilder(connectionString, mongoCredentials, CodecMode.EXPLICIT);
+    }
+
+    public static MongoClientSettings.Builder getMongoClientSettingsBuilder(String connectionString, MongoCredential mongoCredentials, CodecMode codecMode) {
+        return MongoClientSettings.builder()
+                .credential(mongoCredentials)
+                .readConcern(ReadConcern.MAJORITY)
+                .readPreference(ReadPreference.primary())
+                .writeConcern(WriteConcern.MAJORITY)
+                .applyConnectionString(new ConnectionString(connectionString))
+                .uuidRepresentation(UuidRepresentation.STANDARD)
+                .codecRegistry(CodecRegistries.fromRegistries(
+                        MongoClientSettings.getDefaultCodecRegistry(),
+                        getCodecRegistry(codecMode)
+                ));
+    }
+
+    public static CodecRegistry getCodecRegistry(CodecMode codecMode) {
+        // Codecs of non-entity classes (e.g. aggregation results) are provided by the automatic POJO provider in both modes.
+        return codecMode == CodecMode.POJO ? pojoCodecRegistry : explicitCodecRegistry;
+    }
+
+    public static MongoClient createMongoClient(String connectionString, MongoCredential mongoCredentials) {
+        return MongoClients.create(getMongoClientSettingsBuilder(connectionString, mongoCredentials).build());
+    }
+}
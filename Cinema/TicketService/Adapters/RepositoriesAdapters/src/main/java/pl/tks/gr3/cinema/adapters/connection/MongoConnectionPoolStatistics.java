@@ -0,0 +1,63 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoConnectionPoolTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Records how long requests wait for a connection to be checked out of the pool and how often
+ * the checkout fails (for example because of wait queue timeout). Pool size, number of checked out
+ * connections and wait queue size are reported by MongoMetricsConnectionPoolListener. Meters of both are
+ * tagged with the client they belong to, since web.mode=async opens a reactive pool next to the blocking one.
+ */
+
+public class MongoConnectionPoolStatistics implements ConnectionPoolListener {
+
+    private static final String CLIENT_TAG = "client";
+
+    private final Timer checkOutTimer;
+    private final MeterRegistry meterRegistry;
+    private final String clientName;
+
+    public MongoConnectionPoolStatistics(MeterRegistry meterRegistry, String clientName) {
+        this.meterRegistry = meterRegistry;
+        this.clientName = clientName;
+        this.checkOutTimer = Timer.builder("mongodb.driver.pool.checkout.wait")
+                .description("Time spent waiting for a connection to be checked out of the pool")
+                .tag(CLIENT_TAG, clientName)
+                .register(meterRegistry);
+    }
+
+    public static void monitor(ConnectionPoolSettings.Builder poolSettings, MeterRegistry meterRegistry, String clientName) {
+        DefaultMongoConnectionPoolTagsProvider defaultTagsProvider = new DefaultMongoConnectionPoolTagsProvider();
+        poolSettings
+                .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry,
+                        event -> Tags.concat(defaultTagsProvider.connectionPoolTags(event), CLIENT_TAG, clientName)))
+                .addConnectionPoolListener(new MongoConnectionPoolStatistics(meterRegistry, clientName));
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkOutTimer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkOutTimer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        Counter.builder("mongodb.driver.pool.checkout.failed")
+                .description("Number of failed connection checkouts")
+                .tag(CLIENT_TAG, clientName)
+                .tag("reason", event.getReason().name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
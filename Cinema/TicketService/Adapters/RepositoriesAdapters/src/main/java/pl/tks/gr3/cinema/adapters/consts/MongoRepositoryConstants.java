@@ -7,4 +7,11 @@ public class MongoRepositoryConstants {
     public static final String USERS_COLLECTION_NAME = "users";
     public static final String MOVIES_COLLECTION_NAME = "movies";
     public static final String TICKETS_COLLECTION_NAME = "tickets";
+    public static final String CHANGES_COLLECTION_NAME = "changes";
+
+    // Change counter document - one for each counted collection, identified by the collection name
+
+    public static final String CHANGES_IDENTIFIER = "_id";
+    public static final String CHANGES_VERSION = "version";
+    public static final String CHANGES_LAST_MODIFIED = "last_modified";
 }
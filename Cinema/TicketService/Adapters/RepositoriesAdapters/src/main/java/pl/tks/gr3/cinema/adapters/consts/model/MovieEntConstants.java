@@ -8,4 +8,5 @@ public class MovieEntConstants {
     public static final String MOVIE_BASE_PRICE = "movie_base_price";
     public static final String SCREENING_ROOM_NUMBER = "scr_room_number";
     public static final String NUMBER_OF_AVAILABLE_SEATS = "number_of_available_seats";
+    public static final String VERSION = "version";
 }
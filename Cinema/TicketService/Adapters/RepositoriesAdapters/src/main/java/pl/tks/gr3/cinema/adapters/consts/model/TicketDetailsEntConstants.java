@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.adapters.consts.model;
+
+public class TicketDetailsEntConstants {
+
+    public static final String TICKET = "ticket";
+    public static final String MOVIE = "movie";
+    public static final String CLIENT = "client";
+}
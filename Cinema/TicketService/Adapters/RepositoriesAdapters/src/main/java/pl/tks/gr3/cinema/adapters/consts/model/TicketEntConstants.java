@@ -8,4 +8,5 @@ public class TicketEntConstants {
     public static final String TICKET_FINAL_PRICE = "movie_final_price";
     public static final String USER_ID = "user_id";
     public static final String MOVIE_ID = "movie_id";
+    public static final String VERSION = "version";
 }
@@ -7,6 +7,8 @@ public class UserEntConstants {
     public static final String USER_LOGIN = "user_login";
     public static final String USER_STATUS_ACTIVE = "user_status_active";
     public static final String USER_ROLE = "user_role";
+    public static final String USER_TICKETS = "tickets";
+    public static final String VERSION = "version";
 
     public static final String USER_DISCRIMINATOR_NAME = "_clazz";
     public static final String CLIENT_DISCRIMINATOR = "client";
@@ -5,18 +5,22 @@ import pl.tks.gr3.cinema.domain_model.Movie;
 
 public class MovieConverter {
     public static MovieEnt convertToMovieEnt(Movie movie) {
-        return new MovieEnt(movie.getMovieID(),
+        MovieEnt movieEnt = new MovieEnt(movie.getMovieID(),
                 movie.getMovieTitle(),
                 movie.getMovieBasePrice(),
                 movie.getScrRoomNumber(),
                 movie.getNumberOfAvailableSeats());
+        movieEnt.setVersion(movie.getVersion());
+        return movieEnt;
     }
 
     public static Movie convertToMovie(MovieEnt movieEnt) {
-        return new Movie(movieEnt.getMovieID(),
+        Movie movie = new Movie(movieEnt.getMovieID(),
                 movieEnt.getMovieTitle(),
                 movieEnt.getMovieBasePrice(),
                 movieEnt.getScrRoomNumber(),
                 movieEnt.getNumberOfAvailableSeats());
+        movie.setVersion(movieEnt.getVersion());
+        return movie;
     }
 }
@@ -5,18 +5,22 @@ import pl.tks.gr3.cinema.domain_model.Ticket;
 
 public class TicketConverter {
     public static TicketEnt convertToTicketEnt(Ticket ticket) {
-        return new TicketEnt(ticket.getTicketID(),
+        TicketEnt ticketEnt = new TicketEnt(ticket.getTicketID(),
                 ticket.getMovieTime(),
                 ticket.getTicketPrice(),
                 ticket.getUserID(),
                 ticket.getMovieID());
+        ticketEnt.setVersion(ticket.getVersion());
+        return ticketEnt;
     }
 
     public static Ticket convertToTicket(TicketEnt ticketEnt) {
-        return new Ticket(ticketEnt.getTicketID(),
+        Ticket ticket = new Ticket(ticketEnt.getTicketID(),
                 ticketEnt.getMovieTime(),
                 ticketEnt.getTicketPrice(),
                 ticketEnt.getUserID(),
                 ticketEnt.getMovieID());
+        ticket.setVersion(ticketEnt.getVersion());
+        return ticket;
     }
 }
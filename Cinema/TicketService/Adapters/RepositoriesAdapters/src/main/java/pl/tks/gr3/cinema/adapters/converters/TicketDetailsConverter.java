@@ -0,0 +1,13 @@
+package pl.tks.gr3.cinema.adapters.converters;
+
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+
+public class TicketDetailsConverter {
+
+    public static TicketDetails convertToTicketDetails(TicketDetailsEnt ticketDetailsEnt) {
+        return new TicketDetails(TicketConverter.convertToTicket(ticketDetailsEnt.getTicket()),
+                ticketDetailsEnt.getMovie() != null ? MovieConverter.convertToMovie(ticketDetailsEnt.getMovie()) : null,
+                ticketDetailsEnt.getClient() != null ? UserConverter.convertToClient(ticketDetailsEnt.getClient()) : null);
+    }
+}
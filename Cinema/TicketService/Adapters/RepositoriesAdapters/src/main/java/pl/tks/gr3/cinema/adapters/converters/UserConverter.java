@@ -1,5 +1,6 @@
 package pl.tks.gr3.cinema.adapters.converters;
 
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
 import pl.tks.gr3.cinema.domain_model.users.Client;
@@ -8,14 +9,26 @@ import pl.tks.gr3.cinema.domain_model.users.User;
 public class UserConverter {
 
     public static ClientEnt convertToClientEnt(User user) {
-        return new ClientEnt(user.getUserID(),
+        ClientEnt clientEnt = new ClientEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.isUserStatusActive());
+        clientEnt.setVersion(user.getVersion());
+        return clientEnt;
     }
 
     public static Client convertToClient(UserEnt userEnt) {
-        return new Client(userEnt.getUserID(),
+        Client client = new Client(userEnt.getUserID(),
                 userEnt.getUserLogin(),
                 userEnt.isUserStatusActive());
+        client.setVersion(userEnt.getVersion());
+        return client;
+    }
+
+    public static Client convertToClient(ClientStatusIndex.ClientStatus clientStatus) {
+        Client client = new Client(clientStatus.getClientID(),
+                clientStatus.getLogin(),
+                clientStatus.isActive());
+        client.setVersion(clientStatus.getVersion());
+        return client;
     }
 }
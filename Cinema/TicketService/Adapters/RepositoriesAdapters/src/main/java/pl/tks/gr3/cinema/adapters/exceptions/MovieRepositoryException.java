@@ -1,6 +1,10 @@
 package pl.tks.gr3.cinema.adapters.exceptions;
 
 public class MovieRepositoryException extends GeneralRepositoryException {
+    public MovieRepositoryException(String message) {
+        super(message);
+    }
+
     public MovieRepositoryException(String message, Throwable cause) {
         super(message, cause);
     }
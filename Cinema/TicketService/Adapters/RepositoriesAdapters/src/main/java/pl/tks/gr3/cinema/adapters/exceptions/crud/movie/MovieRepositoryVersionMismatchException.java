@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.movie;
+
+public class MovieRepositoryVersionMismatchException extends MovieRepositoryUpdateException {
+
+    public MovieRepositoryVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.ticket;
+
+public class TicketRepositoryVersionMismatchException extends TicketRepositoryUpdateException {
+
+    public TicketRepositoryVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.adapters.exceptions.other.movie;
+
+import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
+
+public class MovieNoAvailableSeatsException extends TicketRepositoryException {
+    public MovieNoAvailableSeatsException(String message) {
+        super(message);
+    }
+}
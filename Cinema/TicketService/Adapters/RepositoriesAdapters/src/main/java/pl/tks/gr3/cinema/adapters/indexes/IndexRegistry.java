@@ -0,0 +1,106 @@
+package pl.tks.gr3.cinema.adapters.indexes;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Indexes that repositories depend on are declared here (per collection) instead of being created ad hoc.
+ * Reconciliation is idempotent - only declared indexes that are missing in the collection are built,
+ * existing ones are left untouched. Every declared index must have a name, since it is used to compare
+ * declared and present indexes.
+ */
+
+@Slf4j
+@Component
+public class IndexRegistry {
+
+    private static final String DEFAULT_ID_INDEX_NAME = "_id_";
+
+    private final Map<String, List<IndexModel>> declaredIndexes = new ConcurrentHashMap<>();
+
+    public void declare(String collectionName, List<IndexModel> indexModels) {
+        List<IndexModel> collectionIndexes = declaredIndexes.computeIfAbsent(collectionName, name -> new CopyOnWriteArrayList<>());
+        for (IndexModel indexModel : indexModels) {
+            String indexName = Objects.requireNonNull(indexModel.getOptions().getName(), "Declared index must have a name.");
+            if (collectionIndexes.stream().noneMatch(declared -> declared.getOptions().getName().equals(indexName))) {
+                collectionIndexes.add(indexModel);
+            }
+        }
+    }
+
+    public List<IndexModel> getDeclaredIndexes(String collectionName) {
+        return List.copyOf(declaredIndexes.getOrDefault(collectionName, List.of()));
+    }
+
+    public void reconcile(MongoDatabase mongoDatabase) {
+        declaredIndexes.keySet().forEach(collectionName -> reconcile(mongoDatabase, collectionName));
+    }
+
+    public void reconcile(MongoDatabase mongoDatabase, String collectionName) {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        Set<String> presentIndexes = getPresentIndexNames(collection);
+        List<IndexModel> missingIndexes = getDeclaredIndexes(collectionName).stream()
+                .filter(indexModel -> !presentIndexes.contains(indexModel.getOptions().getName()))
+                .toList();
+
+        if (missingIndexes.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> createdIndexes = collection.createIndexes(missingIndexes);
+            log.info("Created indexes {} in collection {}.", createdIndexes, collectionName);
+        } catch (MongoCommandException exception) {
+            // Index with the same name, but different definition (or the other way around) - it is reported, not replaced.
+            log.warn("Indexes {} could not be created in collection {}: {}", missingIndexes.stream().map(index -> index.getOptions().getName()).toList(), collectionName, exception.getErrorMessage());
+        }
+    }
+
+    public IndexReport report(MongoDatabase mongoDatabase) {
+        List<String> missingIndexes = new ArrayList<>();
+        List<String> unusedIndexes = new ArrayList<>();
+
+        for (String collectionName : declaredIndexes.keySet()) {
+            MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+            Set<String> presentIndexes = getPresentIndexNames(collection);
+            getDeclaredIndexes(collectionName).stream()
+                    .map(indexModel -> indexModel.getOptions().getName())
+                    .filter(indexName -> !presentIndexes.contains(indexName))
+                    .forEach(indexName -> missingIndexes.add(collectionName + "." + indexName));
+
+            try {
+                for (Document indexStats : collection.aggregate(List.of(new Document("$indexStats", new Document())))) {
+                    String indexName = indexStats.getString("name");
+                    Document accesses = indexStats.get("accesses", Document.class);
+                    long operations = accesses != null && accesses.get("ops") != null ? ((Number) accesses.get("ops")).longValue() : 0L;
+                    if (!DEFAULT_ID_INDEX_NAME.equals(indexName) && operations == 0L) {
+                        unusedIndexes.add(collectionName + "." + indexName);
+                    }
+                }
+            } catch (MongoException exception) {
+                // $indexStats requires additional privileges - usage is not reported if they are missing.
+                log.debug("Index usage statistics for collection {} are not available: {}", collectionName, exception.getMessage());
+            }
+        }
+
+        return new IndexReport(missingIndexes, unusedIndexes);
+    }
+
+    private Set<String> getPresentIndexNames(MongoCollection<Document> collection) {
+        Set<String> indexNames = new HashSet<>();
+        for (Document index : collection.listIndexes()) {
+            indexNames.add(index.getString("name"));
+        }
+        return indexNames;
+    }
+}
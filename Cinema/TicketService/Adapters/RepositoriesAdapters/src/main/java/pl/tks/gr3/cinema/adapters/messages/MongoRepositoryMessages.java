@@ -20,7 +20,14 @@ public class MongoRepositoryMessages {
     public static final String MOVIE_HAS_UNFINISHED_ALLOCATIONS = "There are tickets that contain reference to this movie.";
 
     public static final String ALLOCATION_NOT_POSSIBLE_SINCE_CLIENT_INACTIVE = "Client object is inactive, and therefore could not create ticket allocation.";
+    public static final String ALLOCATION_NOT_POSSIBLE_SINCE_NO_SEATS_AVAILABLE = "There are no available seats left for this movie, and therefore could not create ticket allocation.";
+    public static final String GROUP_ALLOCATION_NOT_POSSIBLE_SINCE_NO_SEATS_REQUESTED = "Group ticket allocation must contain at least one seat.";
+    public static final String GROUP_ALLOCATION_NOT_POSSIBLE_SINCE_NOT_ENOUGH_SEATS = "There are not enough available seats left for this movie, and therefore could not create group ticket allocation.";
     public static final String TICKET_DOC_FOR_TICKET_OBJ_NOT_FOUND = "Ticket document for given ticket object could not be found in the database.";
 
+    public static final String CLIENT_DOC_VERSION_MISMATCH = "Client document was modified since given version was read.";
+    public static final String MOVIE_DOC_VERSION_MISMATCH = "Movie document was modified since given version was read.";
+    public static final String TICKET_DOC_VERSION_MISMATCH = "Ticket document was modified since given version was read.";
+
     public static final String USER_TYPE_NOT_FOUND = "User with given user type could not be found.";
 }
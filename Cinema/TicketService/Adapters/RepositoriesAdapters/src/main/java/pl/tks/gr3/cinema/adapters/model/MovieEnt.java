@@ -44,6 +44,9 @@ public class MovieEnt {
     @Max(value = MovieConstants.NUMBER_OF_AVAILABLE_SEATS_MAX_VALUE, message = MovieValidationMessages.NUMBER_OF_AVAILABLE_SEATS_ABOVE_LIMIT)
     private int numberOfAvailableSeats;
 
+    @BsonProperty(MovieEntConstants.VERSION)
+    private long version;
+
     // Constructors
 
     @BsonCreator
@@ -0,0 +1,20 @@
+package pl.tks.gr3.cinema.adapters.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/*
+ * Part of the movie document that changes with each ticket - number of available seats and version of the movie,
+ * read with a projection, without the catalogue fields.
+ */
+
+@Getter
+@AllArgsConstructor
+public class MovieSeatsEnt {
+
+    private final UUID movieID;
+    private final int numberOfAvailableSeats;
+    private final long version;
+}
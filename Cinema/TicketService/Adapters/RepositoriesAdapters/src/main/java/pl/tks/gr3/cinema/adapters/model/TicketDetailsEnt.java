@@ -0,0 +1,27 @@
+package pl.tks.gr3.cinema.adapters.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketDetailsEntConstants;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+
+/*
+ * Result of the ticket details aggregation - ticket document with its movie and client joined
+ * from their collections. Joined documents are missing when they were not requested or do not exist.
+ */
+
+@Getter @Setter
+@NoArgsConstructor
+public class TicketDetailsEnt {
+
+    @BsonProperty(TicketDetailsEntConstants.TICKET)
+    private TicketEnt ticket;
+
+    @BsonProperty(TicketDetailsEntConstants.MOVIE)
+    private MovieEnt movie;
+
+    @BsonProperty(TicketDetailsEntConstants.CLIENT)
+    private ClientEnt client;
+}
@@ -42,6 +42,9 @@ public class TicketEnt {
     @Setter(AccessLevel.NONE)
     private UUID movieID;
 
+    @BsonProperty(TicketEntConstants.VERSION)
+    private long version;
+
     // Constructors
 
     @BsonCreator
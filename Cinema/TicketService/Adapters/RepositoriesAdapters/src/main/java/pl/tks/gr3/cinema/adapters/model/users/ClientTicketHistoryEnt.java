@@ -0,0 +1,27 @@
+package pl.tks.gr3.cinema.adapters.model.users;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Result of the client ticket history aggregation - user document projected to its type discriminator,
+ * with tickets of that user joined from the tickets collection.
+ */
+
+@Getter @Setter
+@NoArgsConstructor
+public class ClientTicketHistoryEnt {
+
+    @BsonProperty(UserEntConstants.USER_DISCRIMINATOR_NAME)
+    private String userType;
+
+    @BsonProperty(UserEntConstants.USER_TICKETS)
+    private List<TicketEnt> tickets = new ArrayList<>();
+}
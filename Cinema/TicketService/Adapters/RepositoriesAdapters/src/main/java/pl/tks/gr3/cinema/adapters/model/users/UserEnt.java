@@ -33,6 +33,9 @@ public abstract class UserEnt {
     @BsonProperty(UserEntConstants.USER_STATUS_ACTIVE)
     protected boolean userStatusActive;
 
+    @BsonProperty(UserEntConstants.VERSION)
+    protected long version;
+
     // Other methods
 
     // Equals
@@ -0,0 +1,94 @@
+package pl.tks.gr3.cinema.adapters.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Fixtures are written only when "seed" profile is active. Each collection is seeded with a single bulk write
+ * of upserts, so running it against already seeded database does not create duplicates.
+ */
+
+@Component
+@Profile("seed")
+@DependsOn({"userRepository", "movieRepository", "ticketRepository"})
+public class DatabaseSeeder extends MongoRepository {
+
+    private final ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+    private final BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+
+    @Autowired
+    public DatabaseSeeder(MongoClient mongoClient, DatabaseConfig dbConfig) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
+    }
+
+    @PostConstruct
+    public void initializeDatabaseState() {
+        // Client data
+
+        UUID clientIDNo1 = UUID.fromString("26c4727c-c791-4170-ab9d-faf7392e80b2");
+        UUID clientIDNo2 = UUID.fromString("0b08f526-b018-4d23-8baa-93f0fb884edf");
+        UUID clientIDNo3 = UUID.fromString("30392328-2cae-4e76-abb8-b1aa8f58a9e4");
+
+        ClientEnt clientNo1 = new ClientEnt(clientIDNo1, "NewClientLogin1");
+        ClientEnt clientNo2 = new ClientEnt(clientIDNo2, "NewClientLogin2");
+        ClientEnt clientNo3 = new ClientEnt(clientIDNo3, "NewClientLogin3");
+
+        List<WriteModel<UserEnt>> listOfClients = List.of(clientNo1, clientNo2, clientNo3).stream()
+                .<WriteModel<UserEnt>>map(client -> new ReplaceOneModel<>(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, client.getUserID()), client, upsert))
+                .toList();
+        getClientCollection().bulkWrite(listOfClients, unordered);
+
+        // Movie data
+
+        UUID movieNo1ID = UUID.fromString("f3e66584-f793-4f5e-9dec-904ca00e2dd6");
+        UUID movieNo2ID = UUID.fromString("9b9e1de2-099b-415d-96b4-f7cfc8897318");
+        UUID movieNo3ID = UUID.fromString("b69b4714-e307-4ebf-b491-e3720f963f53");
+
+        MovieEnt movieNo1 = new MovieEnt(movieNo1ID, "Pulp Fiction", 45.75, 1, 100);
+        MovieEnt movieNo2 = new MovieEnt(movieNo2ID, "Cars", 30.50, 2, 50);
+        MovieEnt movieNo3 = new MovieEnt(movieNo3ID, "Joker", 50.00, 3, 75);
+
+        List<WriteModel<MovieEnt>> listOfMovies = List.of(movieNo1, movieNo2, movieNo3).stream()
+                .<WriteModel<MovieEnt>>map(movie -> new ReplaceOneModel<>(Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID()), movie, upsert))
+                .toList();
+        getMovieCollection().bulkWrite(listOfMovies, unordered);
+        recordChange(movieCollectionName);
+
+        // Ticket data
+
+        UUID ticketIDNo1 = UUID.fromString("a0ed1047-b56b-4e22-b797-c5a28df24d11");
+        UUID ticketIDNo2 = UUID.fromString("1caa19c8-12c5-45ae-8019-ba93ba83a927");
+        LocalDateTime movieTimeNo1 = LocalDateTime.now().plusDays(2).plusHours(4).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime movieTimeNo2 = LocalDateTime.now().plusDays(4).plusHours(2).plusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+
+        TicketEnt ticketNo1 = new TicketEnt(ticketIDNo1, movieTimeNo1, movieNo1.getMovieBasePrice(), clientNo1.getUserID(), movieNo1.getMovieID());
+        TicketEnt ticketNo2 = new TicketEnt(ticketIDNo2, movieTimeNo2, movieNo2.getMovieBasePrice(), clientNo2.getUserID(), movieNo2.getMovieID());
+
+        List<WriteModel<TicketEnt>> listOfTickets = List.of(ticketNo1, ticketNo2).stream()
+                .<WriteModel<TicketEnt>>map(ticket -> new ReplaceOneModel<>(Filters.eq(TicketEntConstants.GENERAL_IDENTIFIER, ticket.getTicketID()), ticket, upsert))
+                .toList();
+        getTicketCollection().bulkWrite(listOfTickets, unordered);
+    }
+}
@@ -1,33 +1,55 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
-import com.mongodb.*;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCredential;
 import com.mongodb.client.*;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.ValidationOptions;
+import com.mongodb.client.model.Sorts;
 import org.bson.Document;
-import org.bson.UuidRepresentation;
-import org.bson.codecs.configuration.CodecRegistries;
-import org.bson.codecs.configuration.CodecRegistry;
-import org.bson.codecs.pojo.ClassModel;
-import org.bson.codecs.pojo.Conventions;
-import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.conversions.Bson;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
 import pl.tks.gr3.cinema.adapters.connection.MongoDBConnector;
 import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketDetailsEntConstants;
 import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
 import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.consts.MongoRepositoryConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.other.MovieNullReferenceException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.other.TicketNullReferenceException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.other.UserNullReferenceException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
-import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class MongoRepository implements AutoCloseable {
 
@@ -39,27 +61,19 @@ public abstract class MongoRepository implements AutoCloseable {
     protected final static Class<MovieEnt> movieCollectionType = MovieEnt.class;
     protected final static Class<TicketEnt> ticketCollectionType = TicketEnt.class;
 
-    private final ClassModel<UserEnt> userClassModel = ClassModel.builder(UserEnt.class).enableDiscriminator(true).build();
-    private final ClassModel<ClientEnt> clientClassModel = ClassModel.builder(ClientEnt.class).enableDiscriminator(true).build();
-    private final ClassModel<MovieEnt> movieClassModel = ClassModel.builder(MovieEnt.class).build();
-    private final ClassModel<TicketEnt> ticketClassModel = ClassModel.builder(TicketEnt.class).build();
-
-    private final PojoCodecProvider pojoCodecProvider = PojoCodecProvider.builder().register(
-            userClassModel, clientClassModel, movieClassModel, ticketClassModel
-    ).build();
-    private final CodecRegistry pojoCodecRegistry = CodecRegistries.fromProviders(
-            pojoCodecProvider,
-            PojoCodecProvider.builder()
-                    .automatic(true)
-                    .conventions(List.of(Conventions.ANNOTATION_CONVENTION))
-                    .build()
-    );
-
     protected MongoClient mongoClient;
     protected MongoDatabase mongoDatabase;
 
+    private boolean mongoClientShared;
+
     // initDBConnection method
 
+    protected void initDBConnection(MongoClient mongoClient, String databaseName) {
+        this.mongoClient = mongoClient;
+        this.mongoClientShared = true;
+        mongoDatabase = mongoClient.getDatabase(databaseName);
+    }
+
     protected void initDBConnection(String databaseName) {
         MongoDBConnector.readConnectionData();
 
@@ -71,20 +85,7 @@ public abstract class MongoRepository implements AutoCloseable {
                 MongoDBConnector.getPassword().toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
@@ -97,20 +98,7 @@ public abstract class MongoRepository implements AutoCloseable {
                 password.toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
@@ -121,23 +109,38 @@ public abstract class MongoRepository implements AutoCloseable {
                 password.toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
+    // Collection is created (with its validator) only if it does not exist, validator of an existing collection
+    // is updated with collMod when it differs from the declared one. Documents are dropped only on explicit request.
+
+    protected void prepareCollection(String collectionName, ValidationOptions validationOptions, boolean recreateCollection) {
+        if (recreateCollection) {
+            mongoDatabase.getCollection(collectionName).drop();
+        }
+
+        Document collectionInfo = mongoDatabase.listCollections().filter(Filters.eq("name", collectionName)).first();
+        if (collectionInfo == null) {
+            mongoDatabase.createCollection(collectionName, new CreateCollectionOptions().validationOptions(validationOptions));
+            return;
+        }
+
+        Document collectionOptions = collectionInfo.get("options", Document.class);
+        Object currentValidator = collectionOptions != null ? collectionOptions.get("validator") : null;
+        if (!validationOptions.getValidator().equals(currentValidator)) {
+            mongoDatabase.runCommand(new Document("collMod", collectionName).append("validator", validationOptions.getValidator()));
+        }
+    }
+
+    // Indexes are declared in the registry and built only if missing.
+
+    protected void ensureIndexes(IndexRegistry indexRegistry, String collectionName, List<IndexModel> indexModels) {
+        indexRegistry.declare(collectionName, indexModels);
+        indexRegistry.reconcile(mongoDatabase, collectionName);
+    }
+
     protected MongoCollection<UserEnt> getClientCollection() {
         return mongoDatabase.getCollection(userCollectionName, clientCollectionType);
     }
@@ -154,6 +157,10 @@ public abstract class MongoRepository implements AutoCloseable {
         return mongoDatabase.getCollection(ticketCollectionName, ticketCollectionType);
     }
 
+    protected MongoCollection<Document> getChangeCollection() {
+        return mongoDatabase.getCollection(MongoRepositoryConstants.CHANGES_COLLECTION_NAME);
+    }
+
     // Find client / movie / ticket by ID
 
     protected UserEnt findUser(UUID userID) throws UserNullReferenceException {
@@ -190,8 +197,142 @@ public abstract class MongoRepository implements AutoCloseable {
         return getTicketCollection().aggregate(listOfFilters).into(new ArrayList<>());
     }
 
+    // Unordered bulk insert - server does not stop at the first failed document, failures are returned by position in the list.
+
+    protected <T> Map<Integer, String> insertUnordered(MongoCollection<T> collection, List<T> documents) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+
+        List<InsertOneModel<T>> listOfInserts = documents.stream().map(InsertOneModel::new).toList();
+        try {
+            collection.bulkWrite(listOfInserts, new BulkWriteOptions().ordered(false));
+            return Map.of();
+        } catch (MongoBulkWriteException exception) {
+            Map<Integer, String> failures = new HashMap<>();
+            exception.getWriteErrors().forEach(writeError -> failures.put(writeError.getIndex(), writeError.getMessage()));
+            return failures;
+        }
+    }
+
+    // Keyset pagination - next page is read from the index, right after the last element of the previous one, instead of skipping documents.
+
+    protected List<TicketEnt> findTicketsAfter(Bson ticketFilter, LocalDateTime lastMovieTime, UUID lastTicketID, int limit) {
+        return getTicketCollection().find(ticketPageFilter(ticketFilter, lastMovieTime, lastTicketID))
+                .sort(Sorts.ascending(TicketEntConstants.MOVIE_TIME, TicketEntConstants.GENERAL_IDENTIFIER))
+                .limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    /*
+     * Ticket details are read with a single aggregation - tickets are matched, sorted and limited first, so that
+     * movies and clients are joined (by their _id index) only for the returned tickets. Limit of 0 returns all tickets.
+     */
+
+    protected AggregateIterable<TicketDetailsEnt> findTicketDetailsAfter(Bson ticketFilter, LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) {
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(ticketPageFilter(ticketFilter, lastMovieTime, lastTicketID)));
+        pipeline.add(Aggregates.sort(Sorts.ascending(TicketEntConstants.MOVIE_TIME, TicketEntConstants.GENERAL_IDENTIFIER)));
+        if (limit > 0) {
+            pipeline.add(Aggregates.limit(limit));
+        }
+        pipeline.add(Aggregates.replaceRoot(new Document(TicketDetailsEntConstants.TICKET, "$$ROOT")));
+        if (expansions.contains(TicketExpansion.MOVIE)) {
+            pipeline.addAll(joinOne(movieCollectionName, TicketEntConstants.MOVIE_ID, MovieEntConstants.GENERAL_IDENTIFIER, TicketDetailsEntConstants.MOVIE, Projections.include(
+                    MovieEntConstants.MOVIE_TITLE,
+                    MovieEntConstants.MOVIE_BASE_PRICE,
+                    MovieEntConstants.SCREENING_ROOM_NUMBER,
+                    MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS
+            )));
+        }
+        if (expansions.contains(TicketExpansion.CLIENT)) {
+            pipeline.addAll(joinOne(userCollectionName, TicketEntConstants.USER_ID, UserEntConstants.GENERAL_IDENTIFIER, TicketDetailsEntConstants.CLIENT, Projections.include(
+                    UserEntConstants.USER_DISCRIMINATOR_NAME,
+                    UserEntConstants.USER_LOGIN,
+                    UserEntConstants.USER_STATUS_ACTIVE
+            )));
+        }
+        return getTicketCollection().aggregate(pipeline, TicketDetailsEnt.class);
+    }
+
+    private static Bson ticketPageFilter(Bson ticketFilter, LocalDateTime lastMovieTime, UUID lastTicketID) {
+        if (lastTicketID == null) {
+            return ticketFilter;
+        }
+        return Filters.and(ticketFilter, Filters.or(
+                Filters.gt(TicketEntConstants.MOVIE_TIME, lastMovieTime),
+                Filters.and(Filters.eq(TicketEntConstants.MOVIE_TIME, lastMovieTime), Filters.gt(TicketEntConstants.GENERAL_IDENTIFIER, lastTicketID))
+        ));
+    }
+
+    // Referenced document is joined as an array (of at most one element) and replaced with that element - or removed when there is none.
+
+    private static List<Bson> joinOne(String collectionName, String referenceField, String identifierField, String joinedField, Bson projection) {
+        Bson lookup = new Document("$lookup", new Document("from", collectionName)
+                .append("localField", TicketDetailsEntConstants.TICKET + "." + referenceField)
+                .append("foreignField", identifierField)
+                .append("pipeline", List.of(Aggregates.project(projection).toBsonDocument()))
+                .append("as", joinedField));
+        Bson firstElement = Aggregates.set(new Field<>(joinedField, new Document("$arrayElemAt", List.of("$" + joinedField, 0))));
+        return List.of(lookup, firstElement);
+    }
+
+    protected List<MovieEnt> findMoviesAfter(UUID lastMovieID, int limit) {
+        Bson pageFilter = lastMovieID != null ? Filters.gt(MovieEntConstants.GENERAL_IDENTIFIER, lastMovieID) : Filters.empty();
+        return getMovieCollection().find(pageFilter)
+                .sort(Sorts.ascending(MovieEntConstants.GENERAL_IDENTIFIER))
+                .limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    // Cursor backed stream - documents are fetched in batches while the stream is consumed, closing the stream closes the cursor.
+
+    protected <T> Stream<T> streamOf(MongoIterable<T> iterable) {
+        MongoCursor<T> cursor = iterable.cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    // Optimistic concurrency - update matches only the version that was read, documents written before versions
+    // were introduced have no version field and are treated as version 0.
+
+    protected static Bson versionFilter(String versionField, long version) {
+        return version == 0 ?
+                Filters.or(Filters.eq(versionField, 0L), Filters.exists(versionField, false)) :
+                Filters.eq(versionField, version);
+    }
+
+    protected static FindOneAndUpdateOptions returnUpdated() {
+        return new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+    }
+
+    // Collection change counter - incremented after each catalogue write, so a reader that got the counter first
+    // never gets older documents than the counter describes. Ticket writes changing only the number of available
+    // seats do not increment it, to keep a single shared document from being written on each purchase.
+
+    protected void recordChange(String collectionName) {
+        getChangeCollection().updateOne(
+                Filters.eq(MongoRepositoryConstants.CHANGES_IDENTIFIER, collectionName),
+                Updates.combine(
+                        Updates.inc(MongoRepositoryConstants.CHANGES_VERSION, 1L),
+                        Updates.currentDate(MongoRepositoryConstants.CHANGES_LAST_MODIFIED)),
+                new UpdateOptions().upsert(true));
+    }
+
+    protected CollectionVersion findCollectionVersion(String collectionName) {
+        Document changes = getChangeCollection().find(Filters.eq(MongoRepositoryConstants.CHANGES_IDENTIFIER, collectionName)).first();
+        if (changes == null) {
+            return new CollectionVersion(0, null);
+        }
+        Date lastModified = changes.getDate(MongoRepositoryConstants.CHANGES_LAST_MODIFIED);
+        return new CollectionVersion(changes.getLong(MongoRepositoryConstants.CHANGES_VERSION), lastModified != null ? lastModified.toInstant() : null);
+    }
+
     @Override
     public void close() {
-        mongoClient.close();
+        // Shared client is closed by the Spring context, not by each repository using it.
+        if (!mongoClientShared) {
+            mongoClient.close();
+        }
     }
 }
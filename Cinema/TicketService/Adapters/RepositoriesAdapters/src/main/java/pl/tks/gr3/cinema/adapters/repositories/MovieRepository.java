@@ -1,10 +1,11 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
 import com.mongodb.MongoException;
-import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.Aggregates;
-import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.model.ValidationOptions;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -20,14 +21,21 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.other.MovieNullReferenceExcept
 import pl.tks.gr3.cinema.adapters.exceptions.other.movie.ResourceIsCurrentlyUsedDeleteException;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.MovieSeatsEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 import pl.tks.gr3.cinema.adapters.api.MovieRepositoryInterface;
 
-import jakarta.annotation.PostConstruct;
-
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 @PropertySource("classpath:mongo.properties")
@@ -76,52 +84,23 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
                             """));
 
     @Autowired
-    public MovieRepository(DatabaseConfig dbConfig) {
-        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
-        super.initDBConnection(connectionString, dbConfig.getUserName(), dbConfig.getPassword(), dbConfig.getDbName(), dbConfig.getAuthDatabase());
-
-        mongoDatabase.getCollection(movieCollectionName).drop();
+    public MovieRepository(MongoClient mongoClient, DatabaseConfig dbConfig) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
 
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(this.validationOptions);
-        mongoDatabase.createCollection(movieCollectionName, createCollectionOptions);
+        prepareCollection(movieCollectionName, this.validationOptions, dbConfig.isRecreateCollections());
     }
 
     public MovieRepository(String databaseName) {
         this.databaseName = databaseName;
         super.initDBConnection(this.databaseName);
 
-        mongoDatabase.getCollection(movieCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(this.validationOptions);
-        mongoDatabase.createCollection(movieCollectionName, createCollectionOptions);
+        prepareCollection(movieCollectionName, this.validationOptions, true);
     }
 
     public MovieRepository(String connectionString, String login, String password, String database) {
         super.initDBConnection(connectionString, login, password, database);
 
-        mongoDatabase.getCollection(movieCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(this.validationOptions);
-        mongoDatabase.createCollection(movieCollectionName, createCollectionOptions);
-    }
-
-    @PostConstruct
-    private void initializeDatabaseState() {
-        UUID movieNo1ID = UUID.fromString("f3e66584-f793-4f5e-9dec-904ca00e2dd6");
-        UUID movieNo2ID = UUID.fromString("9b9e1de2-099b-415d-96b4-f7cfc8897318");
-        UUID movieNo3ID = UUID.fromString("b69b4714-e307-4ebf-b491-e3720f963f53");
-
-        MovieEnt movieNo1 = new MovieEnt(movieNo1ID, "Pulp Fiction", 45.75, 1, 100);
-        MovieEnt movieNo2 = new MovieEnt(movieNo2ID, "Cars", 30.50, 2, 50);
-        MovieEnt movieNo3 = new MovieEnt(movieNo3ID, "Joker", 50.00, 3, 75);
-
-        List<MovieEnt> listOfMovies = List.of(movieNo1, movieNo2, movieNo3);
-        for (MovieEnt movie : listOfMovies) {
-            Bson filter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID());
-            if (this.getMovieCollection().find(filter).first() == null) {
-                this.getMovieCollection().insertOne(movie);
-            }
-        }
+        prepareCollection(movieCollectionName, this.validationOptions, true);
     }
 
     // Create methods
@@ -132,12 +111,27 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
         try {
             movie = new MovieEnt(UUID.randomUUID(), movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats);
             getMovieCollection().insertOne(movie);
+            recordChange(movieCollectionName);
         } catch (MongoException exception) {
             throw new MovieRepositoryCreateException(exception.getMessage(), exception);
         }
         return movie;
     }
 
+    @Override
+    public Map<Integer, String> createAll(List<MovieEnt> movies) throws MovieRepositoryException {
+        try {
+            return insertUnordered(getMovieCollection(), movies);
+        } catch (MongoException exception) {
+            throw new MovieRepositoryCreateException(exception.getMessage(), exception);
+        } finally {
+            // Part of the movies could be written even if the import failed.
+            if (!movies.isEmpty()) {
+                recordChange(movieCollectionName);
+            }
+        }
+    }
+
     // Read methods
 
     @Override
@@ -153,16 +147,53 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
 
     @Override
     public List<MovieEnt> findAll() throws MovieRepositoryException {
-        List<MovieEnt> listOfAllMovies;
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
-            Bson movieFilter = Filters.empty();
-            listOfAllMovies = findMovies(movieFilter);
-            clientSession.commitTransaction();
+        Bson movieFilter = Filters.empty();
+        return findMovies(movieFilter);
+    }
+
+    // Movies are read with a single $in query - documents come in no particular order, ordering is up to the caller.
+
+    @Override
+    public List<MovieEnt> findAllByUUIDs(Collection<UUID> movieIDs) throws MovieRepositoryException {
+        Bson movieFilter = Filters.in(MovieEntConstants.GENERAL_IDENTIFIER, movieIDs);
+        return findMovies(movieFilter);
+    }
+
+    @Override
+    public List<MovieSeatsEnt> findAllAvailableSeats() throws MovieRepositoryException {
+        return findAvailableSeats(Filters.empty());
+    }
+
+    @Override
+    public List<MovieSeatsEnt> findAvailableSeatsByUUIDs(Collection<UUID> movieIDs) throws MovieRepositoryException {
+        return findAvailableSeats(Filters.in(MovieEntConstants.GENERAL_IDENTIFIER, movieIDs));
+    }
+
+    @Override
+    public Stream<MovieEnt> streamAll() throws MovieRepositoryException {
+        try {
+            return streamOf(getMovieCollection().find(Filters.empty()));
+        } catch (MongoException exception) {
+            throw new MovieRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<MovieEnt> findAllAfter(UUID lastMovieID, int limit) throws MovieRepositoryException {
+        try {
+            return findMoviesAfter(lastMovieID, limit);
+        } catch (MongoException exception) {
+            throw new MovieRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public CollectionVersion getCollectionVersion() throws MovieRepositoryException {
+        try {
+            return findCollectionVersion(movieCollectionName);
         } catch (MongoException exception) {
             throw new MovieRepositoryReadException(exception.getMessage(), exception);
         }
-        return listOfAllMovies;
     }
 
     public List<TicketEnt> getListOfTicketsForMovie(UUID movieID) {
@@ -172,16 +203,48 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
         return listOfActiveTickets;
     }
 
+    @Override
+    public List<TicketEnt> getTicketsForMovieAfter(UUID movieID, LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws MovieRepositoryException {
+        try {
+            return findTicketsAfter(Filters.eq(TicketEntConstants.MOVIE_ID, movieID), lastMovieTime, lastTicketID, limit);
+        } catch (MongoException exception) {
+            throw new MovieRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketDetailsEnt> getTicketDetailsForMovieAfter(UUID movieID, LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws MovieRepositoryException {
+        try {
+            return findTicketDetailsAfter(Filters.eq(TicketEntConstants.MOVIE_ID, movieID), lastMovieTime, lastTicketID, limit, expansions)
+                    .into(new ArrayList<>());
+        } catch (MongoException exception) {
+            throw new MovieRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
     // Update methods
 
+    // Movie is updated only if it was not modified since given version was read - then its version is incremented.
+
     @Override
     public void update(MovieEnt movie) throws MovieRepositoryException {
         try {
-            Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID());
-            MovieEnt updatedMovie = getMovieCollection().findOneAndReplace(movieFilter, movie);
+            Bson movieFilter = Filters.and(
+                    Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID()),
+                    versionFilter(MovieEntConstants.VERSION, movie.getVersion()));
+            Bson update = Updates.combine(
+                    Updates.set(MovieEntConstants.MOVIE_TITLE, movie.getMovieTitle()),
+                    Updates.set(MovieEntConstants.MOVIE_BASE_PRICE, movie.getMovieBasePrice()),
+                    Updates.set(MovieEntConstants.SCREENING_ROOM_NUMBER, movie.getScrRoomNumber()),
+                    Updates.set(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, movie.getNumberOfAvailableSeats()),
+                    Updates.inc(MovieEntConstants.VERSION, 1L));
+            MovieEnt updatedMovie = getMovieCollection().findOneAndUpdate(movieFilter, update, returnUpdated());
             if (updatedMovie == null) {
-                throw new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
+                findMovie(movie.getMovieID());
+                throw new MovieRepositoryVersionMismatchException(MongoRepositoryMessages.MOVIE_DOC_VERSION_MISMATCH);
             }
+            movie.setVersion(updatedMovie.getVersion());
+            recordChange(movieCollectionName);
         } catch (MongoException | MovieNullReferenceException exception) {
             throw new MovieRepositoryUpdateException(exception.getMessage(), exception);
         }
@@ -200,6 +263,7 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
                 if (removedMovie == null) {
                     throw new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
                 }
+                recordChange(movieCollectionName);
             } else {
                 throw new ResourceIsCurrentlyUsedDeleteException(MongoRepositoryMessages.MOVIE_HAS_UNFINISHED_ALLOCATIONS);
             }
@@ -210,13 +274,28 @@ public class MovieRepository extends MongoRepository implements MovieRepositoryI
 
     private List<MovieEnt> findMovies(Bson movieFilter) throws MovieRepositoryReadException {
         List<MovieEnt> listOfFoundMovies;
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             listOfFoundMovies = getMovieCollection().find(movieFilter).into(new ArrayList<>());
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new MovieRepositoryReadException(exception.getMessage(), exception);
         }
         return listOfFoundMovies;
     }
-}
\ No newline at end of file
+
+    // Only the fields changed by tickets are read - documents written before versions were introduced have version 0.
+
+    private List<MovieSeatsEnt> findAvailableSeats(Bson movieFilter) throws MovieRepositoryReadException {
+        try {
+            return mongoDatabase.getCollection(movieCollectionName)
+                    .find(movieFilter)
+                    .projection(Projections.include(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, MovieEntConstants.VERSION))
+                    .map(movie -> new MovieSeatsEnt(
+                            movie.get(MovieEntConstants.GENERAL_IDENTIFIER, UUID.class),
+                            movie.getInteger(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS),
+                            ((Number) movie.getOrDefault(MovieEntConstants.VERSION, 0L)).longValue()))
+                    .into(new ArrayList<>());
+        } catch (MongoException exception) {
+            throw new MovieRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+}
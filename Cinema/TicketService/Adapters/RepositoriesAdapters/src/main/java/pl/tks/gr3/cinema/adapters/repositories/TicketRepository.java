@@ -1,9 +1,11 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
 import com.mongodb.MongoException;
-import com.mongodb.client.ClientSession;
-import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.model.ValidationOptions;
 import org.bson.Document;
@@ -11,6 +13,7 @@ import org.bson.conversions.Bson;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
 import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
 import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
 import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
@@ -22,26 +25,31 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.other.TicketNullReferenceExcep
 import pl.tks.gr3.cinema.adapters.exceptions.crud.other.UserNullReferenceException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.*;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.ClientNotActiveException;
+import pl.tks.gr3.cinema.adapters.exceptions.other.movie.MovieNoAvailableSeatsException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
-import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 import pl.tks.gr3.cinema.adapters.api.TicketRepositoryInterface;
 
-import jakarta.annotation.PostConstruct;
-
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 @PropertySource("classpath:mongo.properties")
 public class TicketRepository extends MongoRepository implements TicketRepositoryInterface {
 
     private String databaseName;
+    private final ClientStatusIndex clientStatusIndex;
     private final ValidationOptions validationOptions = new ValidationOptions().validator(
             Document.parse("""
                             {
@@ -77,120 +85,154 @@ public class TicketRepository extends MongoRepository implements TicketRepositor
                             }
                             """));
 
-    @Autowired
-    public TicketRepository(DatabaseConfig dbConfig) {
-        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
-        super.initDBConnection(connectionString, dbConfig.getUserName(), dbConfig.getPassword(), dbConfig.getDbName(), dbConfig.getAuthDatabase());
+    // Tickets are looked up by client and by movie, in both cases ordered by movie time (keyset pagination).
+    private static final List<IndexModel> ticketIndexes = List.of(
+            new IndexModel(Indexes.ascending(TicketEntConstants.USER_ID, TicketEntConstants.MOVIE_TIME),
+                    new IndexOptions().name("user_id_1_movie_time_1").background(true)),
+            new IndexModel(Indexes.ascending(TicketEntConstants.MOVIE_ID, TicketEntConstants.MOVIE_TIME),
+                    new IndexOptions().name("movie_id_1_movie_time_1").background(true))
+    );
 
-        mongoDatabase.getCollection(ticketCollectionName).drop();
+    @Autowired
+    public TicketRepository(MongoClient mongoClient, DatabaseConfig dbConfig, IndexRegistry indexRegistry, ClientStatusIndex clientStatusIndex) {
+        this.clientStatusIndex = clientStatusIndex;
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
 
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(ticketCollectionName, createCollectionOptions);
+        prepareCollection(ticketCollectionName, validationOptions, dbConfig.isRecreateCollections());
+        ensureIndexes(indexRegistry, ticketCollectionName, ticketIndexes);
     }
 
-    public TicketRepository(String databaseName) {
+    public TicketRepository(String databaseName, ClientStatusIndex clientStatusIndex) {
+        this.clientStatusIndex = clientStatusIndex;
         this.databaseName = databaseName;
         super.initDBConnection(this.databaseName);
 
-        mongoDatabase.getCollection(ticketCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(ticketCollectionName, createCollectionOptions);
+        prepareCollection(ticketCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), ticketCollectionName, ticketIndexes);
     }
 
-    public TicketRepository(String connectionString, String login, String password, String databaseName) {
+    public TicketRepository(String connectionString, String login, String password, String databaseName, ClientStatusIndex clientStatusIndex) {
+        this.clientStatusIndex = clientStatusIndex;
         super.initDBConnection(connectionString, login, password, databaseName);
 
-        mongoDatabase.getCollection(ticketCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(ticketCollectionName, createCollectionOptions);
+        prepareCollection(ticketCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), ticketCollectionName, ticketIndexes);
     }
 
-    @PostConstruct
-    private void initializeDatabaseState() {
-        // Client data
+    @Override
+    public TicketEnt create(LocalDateTime movieTime, UUID clientID, UUID movieID) throws TicketRepositoryException {
+        TicketEnt ticket;
+        try {
+            checkClientActive(clientID);
 
-        UUID clientIDNo1 = UUID.fromString("26c4727c-c791-4170-ab9d-faf7392e80b2");
-        UUID clientIDNo2 = UUID.fromString("0b08f526-b018-4d23-8baa-93f0fb884edf");
-        UUID clientIDNo3 = UUID.fromString("30392328-2cae-4e76-abb8-b1aa8f58a9e4");
+            // Seat is reserved with a single conditional update, so that concurrent buyers can not oversell the movie.
 
-        ClientEnt clientNo1 = new ClientEnt(clientIDNo1, "NewClientLogin1");
-        ClientEnt clientNo2 = new ClientEnt(clientIDNo2, "NewClientLogin2");
-        ClientEnt clientNo3 = new ClientEnt(clientIDNo3, "NewClientLogin3");
+            Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieID);
+            Bson reservationFilter = Filters.and(movieFilter, Filters.gt(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, 0));
+            Bson reservation = changeOfAvailableSeats(-1);
+            MovieEnt reservedMovie = getMovieCollection().findOneAndUpdate(reservationFilter, reservation);
+            if (reservedMovie == null) {
+                if (getMovieCollection().countDocuments(movieFilter) == 0) {
+                    throw new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
+                }
+                throw new MovieNoAvailableSeatsException(MongoRepositoryMessages.ALLOCATION_NOT_POSSIBLE_SINCE_NO_SEATS_AVAILABLE);
+            }
 
-        List<UserEnt> listOfClients = List.of(clientNo1, clientNo2, clientNo3);
-        for (UserEnt user : listOfClients) {
-            Bson filter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID());
-            if (this.getClientCollection().find(filter).first() == null && user.getClass().equals(ClientEnt.class)) {
-                this.getClientCollection().insertOne(user);
+            ticket = new TicketEnt(UUID.randomUUID(), movieTime, reservedMovie.getMovieBasePrice(), clientID, movieID);
+            try {
+                getTicketCollection().insertOne(ticket);
+            } catch (MongoException exception) {
+                // Compensation - reserved seat is released, since the ticket could not be written.
+                getMovieCollection().updateOne(movieFilter, changeOfAvailableSeats(1));
+                throw exception;
             }
+        } catch (MongoException |
+                 ObjectNullReferenceException |
+                 ClientNotActiveException |
+                 MovieNoAvailableSeatsException exception) {
+            throw new TicketRepositoryCreateException(exception.getMessage(), exception);
         }
+        return ticket;
+    }
 
-        // Movie data
-
-        UUID movieNo1ID = UUID.fromString("f3e66584-f793-4f5e-9dec-904ca00e2dd6");
-        UUID movieNo2ID = UUID.fromString("9b9e1de2-099b-415d-96b4-f7cfc8897318");
-        UUID movieNo3ID = UUID.fromString("b69b4714-e307-4ebf-b491-e3720f963f53");
-
-        MovieEnt movieNo1 = new MovieEnt(movieNo1ID, "Pulp Fiction", 45.75, 1, 100);
-        MovieEnt movieNo2 = new MovieEnt(movieNo2ID, "Cars", 30.50, 2, 50);
-        MovieEnt movieNo3 = new MovieEnt(movieNo3ID, "Joker", 50.00, 3, 75);
+    // Client status is taken from the client status index when it is available, so that buying
+    // tickets does not read the users collection.
 
-        List<MovieEnt> listOfMovies = List.of(movieNo1, movieNo2, movieNo3);
-        for (MovieEnt movie : listOfMovies) {
-            Bson filter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movie.getMovieID());
-            if (this.getMovieCollection().find(filter).first() == null) {
-                this.getMovieCollection().insertOne(movie);
-            }
+    private void checkClientActive(UUID clientID) throws ClientNotActiveException {
+        ClientStatusIndex.ClientStatus clientStatus = clientStatusIndex.findByUUID(clientID, this::findTicketOwner);
+        if (clientStatus == null) {
+            throw new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_OBJECT_NOT_FOUND);
         }
+        if (!clientStatus.isActive()) {
+            throw new ClientNotActiveException(MongoRepositoryMessages.ALLOCATION_NOT_POSSIBLE_SINCE_CLIENT_INACTIVE);
+        }
+    }
 
-        // Creating tickets
-
-        UUID ticketIDNo1 = UUID.fromString("a0ed1047-b56b-4e22-b797-c5a28df24d11");
-        UUID ticketIDNo2 = UUID.fromString("1caa19c8-12c5-45ae-8019-ba93ba83a927");
-        LocalDateTime movieTimeNo1 = LocalDateTime.now().plusDays(2).plusHours(4).truncatedTo(ChronoUnit.SECONDS);
-        LocalDateTime movieTimeNo2 = LocalDateTime.now().plusDays(4).plusHours(2).plusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+    private UserEnt findTicketOwner(UUID clientID) {
+        return getClientCollection().find(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID)).first();
+    }
 
-        TicketEnt ticketNo1 = new TicketEnt(ticketIDNo1, movieTimeNo1, movieNo1.getMovieBasePrice(), clientNo1.getUserID(), movieNo1.getMovieID());
-        TicketEnt ticketNo2 = new TicketEnt(ticketIDNo2, movieTimeNo2, movieNo2.getMovieBasePrice(), clientNo2.getUserID(), movieNo2.getMovieID());
+    // Number of available seats is a part of the movie, so each change of it is a new version of the movie. It is
+    // not recorded as a change of the movie collection - the catalogue marker changes only with the catalogue itself,
+    // so a seat reservation stays a single write.
 
-        this.getTicketCollection().insertOne(ticketNo1);
-        this.getTicketCollection().insertOne(ticketNo2);
+    private static Bson changeOfAvailableSeats(int numberOfSeats) {
+        return Updates.combine(
+                Updates.inc(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, numberOfSeats),
+                Updates.inc(MovieEntConstants.VERSION, 1L));
     }
 
     @Override
-    public TicketEnt create(LocalDateTime movieTime, UUID clientID, UUID movieID) throws TicketRepositoryException {
-        TicketEnt ticket;
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
-            Bson clientFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID);
-            UserEnt foundClientUser = getClientCollection().find(clientFilter).first();
-            if (foundClientUser == null) {
-                throw new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_OBJECT_NOT_FOUND);
-            } else if (!foundClientUser.isUserStatusActive()) {
-                throw new ClientNotActiveException(MongoRepositoryMessages.ALLOCATION_NOT_POSSIBLE_SINCE_CLIENT_INACTIVE);
+    public List<TicketEnt> createGroup(LocalDateTime movieTime, UUID clientID, UUID movieID, int numberOfSeats) throws TicketRepositoryException {
+        List<TicketEnt> tickets = new ArrayList<>();
+        try {
+            if (numberOfSeats < 1) {
+                throw new IllegalArgumentException(MongoRepositoryMessages.GROUP_ALLOCATION_NOT_POSSIBLE_SINCE_NO_SEATS_REQUESTED);
             }
 
-            Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieID);
-            MovieEnt foundMovie = getMovieCollection().find(movieFilter).first();
-            if (foundMovie == null) {
-                throw new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
-            }
+            checkClientActive(clientID);
 
-            Bson update = Updates.inc(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, -1);
-            getMovieCollection().updateOne(movieFilter, update);
+            // All seats are reserved with one conditional update - either there are enough of them for the whole group, or none is taken.
 
-            ticket = new TicketEnt(UUID.randomUUID(), movieTime, foundMovie.getMovieBasePrice(), clientID, movieID);
-            getTicketCollection().insertOne(ticket);
+            Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieID);
+            Bson reservationFilter = Filters.and(movieFilter, Filters.gte(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, numberOfSeats));
+            Bson reservation = changeOfAvailableSeats(-numberOfSeats);
+            MovieEnt reservedMovie = getMovieCollection().findOneAndUpdate(reservationFilter, reservation);
+            if (reservedMovie == null) {
+                if (getMovieCollection().countDocuments(movieFilter) == 0) {
+                    throw new MovieNullReferenceException(MongoRepositoryMessages.MOVIE_DOC_OBJECT_NOT_FOUND);
+                }
+                throw new MovieNoAvailableSeatsException(MongoRepositoryMessages.GROUP_ALLOCATION_NOT_POSSIBLE_SINCE_NOT_ENOUGH_SEATS);
+            }
 
-            clientSession.commitTransaction();
+            for (int i = 0; i < numberOfSeats; i++) {
+                tickets.add(new TicketEnt(UUID.randomUUID(), movieTime, reservedMovie.getMovieBasePrice(), clientID, movieID));
+            }
+            try {
+                getTicketCollection().insertMany(tickets);
+            } catch (MongoException exception) {
+                // Compensation - tickets written before the failure are removed and all reserved seats are released.
+                getTicketCollection().deleteMany(Filters.in(TicketEntConstants.GENERAL_IDENTIFIER, tickets.stream().map(TicketEnt::getTicketID).toList()));
+                getMovieCollection().updateOne(movieFilter, changeOfAvailableSeats(numberOfSeats));
+                throw exception;
+            }
         } catch (MongoException |
                  ObjectNullReferenceException |
-                 ClientNotActiveException exception) {
+                 ClientNotActiveException |
+                 MovieNoAvailableSeatsException |
+                 IllegalArgumentException exception) {
+            throw new TicketRepositoryCreateException(exception.getMessage(), exception);
+        }
+        return tickets;
+    }
+
+    @Override
+    public Map<Integer, String> createAll(List<TicketEnt> tickets) throws TicketRepositoryException {
+        try {
+            return insertUnordered(getTicketCollection(), tickets);
+        } catch (MongoException exception) {
             throw new TicketRepositoryCreateException(exception.getMessage(), exception);
         }
-        return ticket;
     }
 
     @Override
@@ -206,26 +248,76 @@ public class TicketRepository extends MongoRepository implements TicketRepositor
 
     @Override
     public List<TicketEnt> findAll() throws TicketRepositoryException {
-        List<TicketEnt> listOfAllTickets;
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
-            Bson ticketFilter = Filters.empty();
-            listOfAllTickets = findTickets(ticketFilter);
-            clientSession.commitTransaction();
+        Bson ticketFilter = Filters.empty();
+        return findTickets(ticketFilter);
+    }
+
+    // Tickets are read with a single $in query - documents come in no particular order, ordering is up to the caller.
+
+    @Override
+    public List<TicketEnt> findAllByUUIDs(Collection<UUID> ticketIDs) throws TicketRepositoryException {
+        Bson ticketFilter = Filters.in(TicketEntConstants.GENERAL_IDENTIFIER, ticketIDs);
+        return findTickets(ticketFilter);
+    }
+
+    @Override
+    public Stream<TicketEnt> streamAll() throws TicketRepositoryException {
+        try {
+            return streamOf(getTicketCollection().find(Filters.empty()));
+        } catch (MongoException exception) {
+            throw new TicketRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketEnt> findAllAfter(LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws TicketRepositoryException {
+        try {
+            return findTicketsAfter(Filters.empty(), lastMovieTime, lastTicketID, limit);
+        } catch (MongoException exception) {
+            throw new TicketRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Stream<TicketDetailsEnt> streamAllDetails(Set<TicketExpansion> expansions) throws TicketRepositoryException {
+        try {
+            return streamOf(findTicketDetailsAfter(Filters.empty(), null, null, 0, expansions));
+        } catch (MongoException exception) {
+            throw new TicketRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketDetailsEnt> findAllDetailsAfter(LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws TicketRepositoryException {
+        try {
+            return findTicketDetailsAfter(Filters.empty(), lastMovieTime, lastTicketID, limit, expansions).into(new ArrayList<>());
         } catch (MongoException exception) {
             throw new TicketRepositoryReadException(exception.getMessage(), exception);
         }
-        return listOfAllTickets;
     }
 
+    // Only movie time of the ticket can be changed. Ticket is updated only if it belongs to the same client
+    // and was not modified since given version was read - then its version is incremented.
+
     @Override
     public void update(TicketEnt ticket) throws TicketRepositoryException {
         try {
-            Bson ticketFilter = Filters.eq("_id", ticket.getTicketID());
-            TicketEnt updatedTicket = getTicketCollection().findOneAndReplace(ticketFilter, ticket);
+            Bson ticketFilter = Filters.and(
+                    Filters.eq(TicketEntConstants.GENERAL_IDENTIFIER, ticket.getTicketID()),
+                    Filters.eq(TicketEntConstants.USER_ID, ticket.getUserID()),
+                    versionFilter(TicketEntConstants.VERSION, ticket.getVersion()));
+            Bson update = Updates.combine(
+                    Updates.set(TicketEntConstants.MOVIE_TIME, ticket.getMovieTime()),
+                    Updates.inc(TicketEntConstants.VERSION, 1L));
+            TicketEnt updatedTicket = getTicketCollection().findOneAndUpdate(ticketFilter, update, returnUpdated());
             if (updatedTicket == null) {
-                throw new TicketNullReferenceException(MongoRepositoryMessages.TICKET_DOC_FOR_TICKET_OBJ_NOT_FOUND);
+                TicketEnt foundTicket = findTicket(ticket.getTicketID());
+                if (!foundTicket.getUserID().equals(ticket.getUserID())) {
+                    throw new TicketNullReferenceException(MongoRepositoryMessages.TICKET_DOC_FOR_TICKET_OBJ_NOT_FOUND);
+                }
+                throw new TicketRepositoryVersionMismatchException(MongoRepositoryMessages.TICKET_DOC_VERSION_MISMATCH);
             }
+            ticket.setVersion(updatedTicket.getVersion());
         } catch (MongoException | TicketNullReferenceException exception) {
             throw new TicketRepositoryUpdateException(exception.getMessage(), exception);
         }
@@ -233,18 +325,17 @@ public class TicketRepository extends MongoRepository implements TicketRepositor
 
     @Override
     public void delete(UUID ticketID) throws TicketRepositoryException {
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
+            // Ticket is removed first, so that its seat is released only once, even with concurrent deletes.
             Bson ticketFilter = Filters.eq(TicketEntConstants.GENERAL_IDENTIFIER, ticketID);
             TicketEnt removedTicket = getTicketCollection().findOneAndDelete(ticketFilter);
             if (removedTicket != null) {
                 Bson movieFilter = Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, removedTicket.getMovieID());
-                Bson update = Updates.inc(MovieEntConstants.NUMBER_OF_AVAILABLE_SEATS, 1);
+                Bson update = changeOfAvailableSeats(1);
                 getMovieCollection().updateOne(movieFilter, update);
             } else {
                 throw new TicketNullReferenceException(MongoRepositoryMessages.TICKET_DOC_OBJECT_NOT_FOUND);
             }
-            clientSession.commitTransaction();
         } catch (MongoException | NullPointerException | ObjectNullReferenceException exception) {
             throw new TicketRepositoryDeleteException(exception.getMessage(), exception);
         }
@@ -252,10 +343,8 @@ public class TicketRepository extends MongoRepository implements TicketRepositor
 
     private List<TicketEnt> findTickets(Bson ticketFilter) throws TicketRepositoryReadException {
         List<TicketEnt> listOfFoundTickets;
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             listOfFoundTickets = getTicketCollection().find(ticketFilter).into(new ArrayList<>());
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new TicketRepositoryReadException(exception.getMessage(), exception);
         }
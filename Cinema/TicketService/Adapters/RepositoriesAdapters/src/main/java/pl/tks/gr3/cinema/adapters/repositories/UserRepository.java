@@ -1,9 +1,8 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
 import com.mongodb.*;
-import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.*;
-import jakarta.annotation.PostConstruct;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,15 +17,22 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.user.*;
 import pl.tks.gr3.cinema.adapters.exceptions.other.InvalidUUIDException;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserActivationException;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserDeactivationException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.ClientTicketHistoryEnt;
 import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
 import pl.tks.gr3.cinema.adapters.api.UserRepositoryInterface;
 import pl.tks.gr3.cinema.adapters.user_mappers.UserMapper;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -62,59 +68,35 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
                             }
                             """));
 
-    @Autowired
-    public UserRepository(DatabaseConfig dbConfig) {
-        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
-        super.initDBConnection(connectionString, dbConfig.getUserName(), dbConfig.getPassword(), dbConfig.getDbName(), dbConfig.getAuthDatabase());
+    // Logins are unique across all user types, lookups by login are made for a certain user type.
+    private static final List<IndexModel> userIndexes = List.of(
+            new IndexModel(Indexes.ascending(UserEntConstants.USER_LOGIN),
+                    new IndexOptions().name("user_login_1").unique(true)),
+            new IndexModel(Indexes.ascending(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.USER_LOGIN),
+                    new IndexOptions().name("_clazz_1_user_login_1").background(true))
+    );
 
-        mongoDatabase.getCollection(userCollectionName).drop();
+    @Autowired
+    public UserRepository(MongoClient mongoClient, DatabaseConfig dbConfig, IndexRegistry indexRegistry) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
 
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
+        prepareCollection(userCollectionName, validationOptions, dbConfig.isRecreateCollections());
+        ensureIndexes(indexRegistry, userCollectionName, userIndexes);
     }
 
     public UserRepository(String databaseName) {
         this.databaseName = databaseName;
         super.initDBConnection(this.databaseName);
 
-        mongoDatabase.getCollection(userCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
+        prepareCollection(userCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), userCollectionName, userIndexes);
     }
 
     public UserRepository(String connectionString, String login, String password, String database) {
         super.initDBConnection(connectionString, login, password, database);
 
-        mongoDatabase.getCollection(userCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
-    }
-
-    @PostConstruct
-    public void initializeDatabaseState() {
-        UUID clientIDNo1 = UUID.fromString("26c4727c-c791-4170-ab9d-faf7392e80b2");
-        UUID clientIDNo2 = UUID.fromString("0b08f526-b018-4d23-8baa-93f0fb884edf");
-        UUID clientIDNo3 = UUID.fromString("30392328-2cae-4e76-abb8-b1aa8f58a9e4");
-
-        ClientEnt clientNo1 = new ClientEnt(clientIDNo1, "NewClientLogin1");
-        ClientEnt clientNo2 = new ClientEnt(clientIDNo2, "NewClientLogin2");
-        ClientEnt clientNo3 = new ClientEnt(clientIDNo3, "NewClientLogin3");
-
-        List<UserEnt> listOfClients = List.of(clientNo1, clientNo2, clientNo3);
-        for (UserEnt user : listOfClients) {
-            Bson filter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID());
-            if (this.getClientCollection().find(filter).first() == null && user.getClass().equals(ClientEnt.class)) {
-                this.getClientCollection().insertOne(user);
-            }
-        }
+        prepareCollection(userCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), userCollectionName, userIndexes);
     }
 
     // Create methods
@@ -169,19 +151,31 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
         return client;
     }
 
+    @Override
+    public List<ClientEnt> findClientsByUUIDs(Collection<UUID> clientIDs) throws UserRepositoryException {
+        List<ClientEnt> listOfFoundClients = new ArrayList<>();
+        try {
+            Bson filter = Filters.and(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR),
+                    Filters.in(UserEntConstants.GENERAL_IDENTIFIER, clientIDs));
+            for (UserEnt clientUser : getClientCollection().find(filter)) {
+                listOfFoundClients.add(UserMapper.toClientEnt(clientUser));
+            }
+        } catch (MongoException exception) {
+            throw new UserRepositoryReadException(exception.getMessage(), exception);
+        }
+        return listOfFoundClients;
+    }
+
     // Find all users methods
 
     @Override
     public List<ClientEnt> findAllClients() throws UserRepositoryException {
         List<ClientEnt> listOfAllClients = new ArrayList<>();
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             Bson filter = Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR);
-            List<UserEnt> listOfClientUsers = getClientCollection().find(filter).into(new ArrayList<>());
-            for (UserEnt clientUser : listOfClientUsers) {
+            for (UserEnt clientUser : getClientCollection().find(filter)) {
                 listOfAllClients.add(UserMapper.toClientEnt(clientUser));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -215,14 +209,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<ClientEnt> findAllClientsMatchingLogin(String loginValue) throws UserRepositoryException {
         List<ClientEnt> listOfMatchingClients = new ArrayList<>();
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             List<Bson> listOfFilters = List.of(Aggregates.match(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR)),
                     Aggregates.match(Filters.regex(UserEntConstants.USER_LOGIN, "^" + loginValue + ".*$")));
             for (UserEnt user : getClientCollection().aggregate(listOfFilters)) {
                 listOfMatchingClients.add(UserMapper.toClientEnt(user));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -232,34 +224,142 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     // Other read methods
 
     public List<TicketEnt> getListOfTicketsForClient(UUID clientID, String name) throws UserRepositoryReadException {
+        return getTicketHistoryForClient(clientID, name, null, null);
+    }
+
+    @Override
+    public List<TicketEnt> getTicketHistoryForClient(UUID clientID, String name, LocalDateTime from, LocalDateTime to) throws UserRepositoryReadException {
+        return findTicketHistory(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID), name, from, to);
+    }
+
+    @Override
+    public List<TicketEnt> getTicketHistoryForClient(String login, String name, LocalDateTime from, LocalDateTime to) throws UserRepositoryReadException {
+        return findTicketHistory(Filters.eq(UserEntConstants.USER_LOGIN, login), name, from, to);
+    }
+
+    /*
+     * User is resolved, its type checked and its tickets fetched in a single round trip - tickets are joined
+     * into the matched user document, and the lookup is served by the (user_id, movie_time) index.
+     */
+
+    private List<TicketEnt> findTicketHistory(Bson userFilter, String name, LocalDateTime from, LocalDateTime to) throws UserRepositoryReadException {
+        List<Bson> ticketFilters = new ArrayList<>();
+        if (from != null) {
+            ticketFilters.add(Filters.gte(TicketEntConstants.MOVIE_TIME, from));
+        }
+        if (to != null) {
+            ticketFilters.add(Filters.lt(TicketEntConstants.MOVIE_TIME, to));
+        }
+
+        List<Bson> ticketPipeline = new ArrayList<>();
+        if (!ticketFilters.isEmpty()) {
+            ticketPipeline.add(Aggregates.match(Filters.and(ticketFilters)));
+        }
+        ticketPipeline.add(Aggregates.sort(Sorts.ascending(TicketEntConstants.MOVIE_TIME, TicketEntConstants.GENERAL_IDENTIFIER)));
+        ticketPipeline.add(Aggregates.project(Projections.include(
+                TicketEntConstants.MOVIE_TIME,
+                TicketEntConstants.TICKET_FINAL_PRICE,
+                TicketEntConstants.USER_ID,
+                TicketEntConstants.MOVIE_ID
+        )));
+
+        Bson ticketLookup = new Document("$lookup", new Document("from", ticketCollectionName)
+                .append("localField", UserEntConstants.GENERAL_IDENTIFIER)
+                .append("foreignField", TicketEntConstants.USER_ID)
+                .append("pipeline", ticketPipeline.stream().map(Bson::toBsonDocument).toList())
+                .append("as", UserEntConstants.USER_TICKETS));
+
+        List<Bson> pipeline = List.of(
+                Aggregates.match(userFilter),
+                Aggregates.limit(1),
+                Aggregates.project(Projections.include(UserEntConstants.USER_DISCRIMINATOR_NAME)),
+                ticketLookup
+        );
+
         try {
-            List<TicketEnt> listOfActiveTickets;
-            Bson clientFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientID);
-            Document user = getClientCollectionWithoutType().find(clientFilter).first();
-            if (user == null) {
+            ClientTicketHistoryEnt history = getClientCollectionWithoutType().aggregate(pipeline, ClientTicketHistoryEnt.class).first();
+            if (history == null) {
                 throw new UserNullReferenceException(MongoRepositoryMessages.DOC_OBJECT_NOT_FOUND);
-            } else if (user.getString(UserEntConstants.USER_DISCRIMINATOR_NAME).equals(name)) {
-                List<Bson> listOfFilters = List.of(Aggregates.match(Filters.eq(TicketEntConstants.USER_ID, clientID)));
-                listOfActiveTickets = findTicketsWithAggregate(listOfFilters);
-                return listOfActiveTickets;
-            } else {
+            } else if (!name.equals(history.getUserType())) {
                 throw new InvalidUUIDException(MongoRepositoryMessages.ID_REFERENCE_TO_DOCUMENT_OF_DIFFERENT_TYPE);
             }
-        } catch (UserNullReferenceException | InvalidUUIDException exception) {
+            return history.getTickets();
+        } catch (MongoException | UserNullReferenceException | InvalidUUIDException exception) {
+            throw new UserRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketEnt> getTicketsForClientAfter(UUID clientID, String name, LocalDateTime lastMovieTime, UUID lastTicketID, int limit) throws UserRepositoryReadException {
+        try {
+            checkUserType(clientID, name);
+            return findTicketsAfter(Filters.eq(TicketEntConstants.USER_ID, clientID), lastMovieTime, lastTicketID, limit);
+        } catch (MongoException | UserNullReferenceException | InvalidUUIDException exception) {
+            throw new UserRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketDetailsEnt> getTicketDetailsHistoryForClient(UUID clientID, String name, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions) throws UserRepositoryReadException {
+        List<Bson> ticketFilters = new ArrayList<>();
+        ticketFilters.add(Filters.eq(TicketEntConstants.USER_ID, clientID));
+        if (from != null) {
+            ticketFilters.add(Filters.gte(TicketEntConstants.MOVIE_TIME, from));
+        }
+        if (to != null) {
+            ticketFilters.add(Filters.lt(TicketEntConstants.MOVIE_TIME, to));
+        }
+        try {
+            checkUserType(clientID, name);
+            return findTicketDetailsAfter(Filters.and(ticketFilters), null, null, 0, expansions).into(new ArrayList<>());
+        } catch (MongoException | UserNullReferenceException | InvalidUUIDException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
     }
 
+    @Override
+    public List<TicketDetailsEnt> getTicketDetailsForClientAfter(UUID clientID, String name, LocalDateTime lastMovieTime, UUID lastTicketID, int limit, Set<TicketExpansion> expansions) throws UserRepositoryReadException {
+        try {
+            checkUserType(clientID, name);
+            return findTicketDetailsAfter(Filters.eq(TicketEntConstants.USER_ID, clientID), lastMovieTime, lastTicketID, limit, expansions)
+                    .into(new ArrayList<>());
+        } catch (MongoException | UserNullReferenceException | InvalidUUIDException exception) {
+            throw new UserRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    private void checkUserType(UUID userID, String name) throws UserNullReferenceException, InvalidUUIDException {
+        Bson userFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, userID);
+        Document user = getClientCollectionWithoutType().find(userFilter).first();
+        if (user == null) {
+            throw new UserNullReferenceException(MongoRepositoryMessages.DOC_OBJECT_NOT_FOUND);
+        } else if (!user.getString(UserEntConstants.USER_DISCRIMINATOR_NAME).equals(name)) {
+            throw new InvalidUUIDException(MongoRepositoryMessages.ID_REFERENCE_TO_DOCUMENT_OF_DIFFERENT_TYPE);
+        }
+    }
+
     // Update users methods
 
+    // Client is updated only if it was not modified since given version was read - then its version is incremented.
+
     @Override
     public void updateClient(ClientEnt client) throws UserRepositoryException {
         try {
-            Bson clientFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, client.getUserID());
-            UserEnt updatedClientUser = getClientCollection().findOneAndReplace(clientFilter, client);
+            Bson clientFilter = Filters.and(
+                    Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, client.getUserID()),
+                    versionFilter(UserEntConstants.VERSION, client.getVersion()));
+            Bson update = Updates.combine(
+                    Updates.set(UserEntConstants.USER_LOGIN, client.getUserLogin()),
+                    Updates.set(UserEntConstants.USER_STATUS_ACTIVE, client.isUserStatusActive()),
+                    Updates.inc(UserEntConstants.VERSION, 1L));
+            UserEnt updatedClientUser = getClientCollection().findOneAndUpdate(clientFilter, update, returnUpdated());
             if (updatedClientUser == null) {
-                throw new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
+                if (getClientCollection().countDocuments(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, client.getUserID())) == 0) {
+                    throw new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
+                }
+                throw new UserRepositoryVersionMismatchException(MongoRepositoryMessages.CLIENT_DOC_VERSION_MISMATCH);
             }
+            client.setVersion(updatedClientUser.getVersion());
         } catch (MongoException | UserNullReferenceException exception) {
             throw new UserRepositoryUpdateException(exception.getMessage(), exception);
         }
@@ -283,9 +383,8 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
 
     @Override
     public void activate(UserEnt user) throws UserRepositoryException {
-        user.setUserStatusActive(true);
         try {
-            this.updateCertainUserBasedOnType(user);
+            this.updateStatus(user, true);
         } catch (UserRepositoryException exception) {
             throw new UserActivationException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
         }
@@ -293,15 +392,29 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
 
     @Override
     public void deactivate(UserEnt user) throws UserRepositoryException {
-        user.setUserStatusActive(false);
         try {
-            this.updateCertainUserBasedOnType(user);
+            this.updateStatus(user, false);
         } catch (UserRepositoryException exception) {
             throw new UserDeactivationException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
         }
     }
 
-    private void updateCertainUserBasedOnType(UserEnt user) throws UserRepositoryException {
-        this.updateClient(UserMapper.toClientEnt(user));
+    // Status is changed regardless of the version that was read, but the change is a new version of the user.
+
+    private void updateStatus(UserEnt user, boolean userStatusActive) throws UserRepositoryException {
+        try {
+            Bson userFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID());
+            Bson update = Updates.combine(
+                    Updates.set(UserEntConstants.USER_STATUS_ACTIVE, userStatusActive),
+                    Updates.inc(UserEntConstants.VERSION, 1L));
+            UserEnt updatedUser = getClientCollection().findOneAndUpdate(userFilter, update, returnUpdated());
+            if (updatedUser == null) {
+                throw new UserNullReferenceException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
+            }
+            user.setUserStatusActive(userStatusActive);
+            user.setVersion(updatedUser.getVersion());
+        } catch (MongoException | UserNullReferenceException exception) {
+            throw new UserRepositoryUpdateException(exception.getMessage(), exception);
+        }
     }
 }
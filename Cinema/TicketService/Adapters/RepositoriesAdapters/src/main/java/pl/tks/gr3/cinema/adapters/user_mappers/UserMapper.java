@@ -6,8 +6,10 @@ import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
 public class UserMapper {
 
     public static ClientEnt toClientEnt(UserEnt user) {
-        return new ClientEnt(user.getUserID(),
+        ClientEnt client = new ClientEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.isUserStatusActive());
+        client.setVersion(user.getVersion());
+        return client;
     }
 }
@@ -5,18 +5,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.cache.MovieCache;
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.MovieSeatsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.repositories.MovieRepository;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +33,9 @@ public class MovieRepositoryAdapterTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Spy
+    private MovieCache movieCache = new MovieCache(1000, Duration.ofMinutes(1));
+
     @InjectMocks
     private MovieRepositoryAdapter movieRepositoryAdapter;
 
@@ -63,6 +73,23 @@ public class MovieRepositoryAdapterTest {
         ticketEntNo3 = new TicketEnt(UUID.randomUUID(), localDateTimeNo2, 13.5, clientEntNo1.getUserID() , movieEntNo2.getMovieID());
     }
 
+    // Seats are answered from the current state of given movies, so tests can change them between reads.
+
+    private void stubAvailableSeats(MovieEnt... movies) {
+        when(movieRepository.findAvailableSeatsByUUIDs(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> movieIDs = invocation.getArgument(0);
+            return Stream.of(movies).filter(movie -> movieIDs.contains(movie.getMovieID())).map(MovieRepositoryAdapterTest::seatsOf).toList();
+        });
+    }
+
+    private void stubAllAvailableSeats(MovieEnt... movies) {
+        when(movieRepository.findAllAvailableSeats()).thenAnswer(invocation -> Stream.of(movies).map(MovieRepositoryAdapterTest::seatsOf).toList());
+    }
+
+    private static MovieSeatsEnt seatsOf(MovieEnt movie) {
+        return new MovieSeatsEnt(movie.getMovieID(), movie.getNumberOfAvailableSeats(), movie.getVersion());
+    }
+
     @Test
     public void movieRepositoryAdapterCreateMovieTestPositive() throws MovieRepositoryException {
         when(movieRepository.create(Mockito.eq(movieEntNo1.getMovieTitle()), Mockito.eq(movieEntNo1.getMovieBasePrice()), Mockito.eq(movieEntNo1.getScrRoomNumber()), Mockito.eq(movieEntNo1.getNumberOfAvailableSeats()))).thenReturn(movieEntNo1);
@@ -91,16 +118,45 @@ public class MovieRepositoryAdapterTest {
         listOfAllMovies.add(movieEntNo2);
         listOfAllMovies.add(movieEntNo3);
 
-        when(movieRepository.findAll()).thenReturn(listOfAllMovies);
+        stubAllAvailableSeats(movieEntNo1, movieEntNo2, movieEntNo3);
+        when(movieRepository.findAllByUUIDs(anyCollection())).thenReturn(listOfAllMovies);
         List<Movie> movies = movieRepositoryAdapter.findAll();
         assertNotNull(movies);
         assertFalse(movies.isEmpty());
         assertEquals(3, movies.size());
-        verify(movieRepository, times(1)).findAll();
+        assertEquals(movieEntNo1.getMovieID(), movies.get(0).getMovieID());
+        verify(movieRepository, times(1)).findAllAvailableSeats();
+        verify(movieRepository, times(1)).findAllByUUIDs(anyCollection());
+    }
+
+    @Test
+    public void movieRepositoryAdapterStreamAllTestPositive() {
+        when(movieRepository.streamAll()).thenReturn(Stream.of(movieEntNo1, movieEntNo2, movieEntNo3));
+        List<Movie> movies = movieRepositoryAdapter.streamAll().toList();
+        assertNotNull(movies);
+        assertEquals(3, movies.size());
+        assertEquals(movieEntNo1.getMovieID(), movies.get(0).getMovieID());
+        verify(movieRepository, times(1)).streamAll();
+    }
+
+    @Test
+    public void movieRepositoryAdapterCreateAllTestPositive() {
+        List<Movie> movies = List.of(
+                new Movie(movieEntNo1.getMovieID(), movieEntNo1.getMovieTitle(), movieEntNo1.getMovieBasePrice(), movieEntNo1.getScrRoomNumber(), movieEntNo1.getNumberOfAvailableSeats()),
+                new Movie(movieEntNo2.getMovieID(), movieEntNo2.getMovieTitle(), movieEntNo2.getMovieBasePrice(), movieEntNo2.getScrRoomNumber(), movieEntNo2.getNumberOfAvailableSeats())
+        );
+        when(movieRepository.createAll(anyList())).thenReturn(Map.of(1, "Duplicate key."));
+
+        Map<Integer, String> failures = movieRepositoryAdapter.createAll(movies);
+
+        assertEquals(1, failures.size());
+        assertEquals("Duplicate key.", failures.get(1));
+        verify(movieRepository, times(1)).createAll(argThat(movieEnts -> movieEnts.size() == 2 && movieEnts.get(0).getMovieID().equals(movieEntNo1.getMovieID())));
     }
 
     @Test
     public void movieRepositoryAdapterFindByUUIDTestPositive() {
+        stubAvailableSeats(movieEntNo1);
         when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(movieEntNo1);
         Movie movie = movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
         assertNotNull(movie);
@@ -119,6 +175,124 @@ public class MovieRepositoryAdapterTest {
         verify(movieRepository, times(1)).findByUUID(movieEntNo2.getMovieID());
     }
 
+    @Test
+    public void movieRepositoryAdapterFindAllByUUIDsInRequestOrderTestPositive() {
+        stubAvailableSeats(movieEntNo1, movieEntNo3);
+        when(movieRepository.findAllByUUIDs(anyCollection())).thenReturn(List.of(movieEntNo1, movieEntNo3));
+        List<UUID> movieIDs = List.of(movieEntNo3.getMovieID(), UUID.randomUUID(), movieEntNo1.getMovieID(), movieEntNo3.getMovieID());
+
+        List<Movie> movies = movieRepositoryAdapter.findAllByUUIDs(movieIDs);
+
+        assertEquals(2, movies.size());
+        assertEquals(movieEntNo3.getMovieID(), movies.get(0).getMovieID());
+        assertEquals(movieEntNo1.getMovieID(), movies.get(1).getMovieID());
+        verify(movieRepository, times(1)).findAllByUUIDs(anyCollection());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindAllByUUIDsReadsOnlyMissingMoviesTestPositive() {
+        stubAvailableSeats(movieEntNo1, movieEntNo2);
+        when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(movieEntNo1);
+        when(movieRepository.findAllByUUIDs(Mockito.eq(Set.of(movieEntNo2.getMovieID())))).thenReturn(List.of(movieEntNo2));
+        movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+
+        List<Movie> movies = movieRepositoryAdapter.findAllByUUIDs(List.of(movieEntNo1.getMovieID(), movieEntNo2.getMovieID()));
+        movieRepositoryAdapter.findAllByUUIDs(List.of(movieEntNo2.getMovieID()));
+
+        assertEquals(2, movies.size());
+        assertEquals(movieEntNo1.getMovieTitle(), movies.get(0).getMovieTitle());
+        assertEquals(movieEntNo2.getMovieTitle(), movies.get(1).getMovieTitle());
+        verify(movieRepository, times(1)).findAllByUUIDs(anyCollection());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindAllByUUIDsTestNegative() {
+        stubAvailableSeats(movieEntNo1);
+        when(movieRepository.findAllByUUIDs(anyCollection())).thenThrow(MovieRepositoryException.class);
+        assertThrows(MovieRepositoryException.class, () -> movieRepositoryAdapter.findAllByUUIDs(List.of(movieEntNo1.getMovieID())));
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindByUUIDServedFromCacheTestPositive() {
+        stubAvailableSeats(movieEntNo1);
+        when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(movieEntNo1);
+        Movie movieNo1 = movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+        movieNo1.setMovieTitle("ModifiedTitle");
+        Movie movieNo2 = movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+
+        assertEquals(movieEntNo1.getMovieTitle(), movieNo2.getMovieTitle());
+        verify(movieRepository, times(1)).findByUUID(movieEntNo1.getMovieID());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindByUUIDServedFromCacheWithCurrentSeatsTestPositive() {
+        stubAvailableSeats(movieEntNo1);
+        movieEntNo1.setVersion(5);
+        when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(new MovieEnt(movieEntNo1.getMovieID(),
+                movieEntNo1.getMovieTitle(), movieEntNo1.getMovieBasePrice(), movieEntNo1.getScrRoomNumber(), movieEntNo1.getNumberOfAvailableSeats()));
+        movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+        movieEntNo1.setNumberOfAvailableSeats(movieEntNo1.getNumberOfAvailableSeats() - 1);
+        movieEntNo1.setVersion(6);
+        Movie cachedMovie = movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+
+        assertEquals(29, cachedMovie.getNumberOfAvailableSeats());
+        assertEquals(6, cachedMovie.getVersion());
+        verify(movieRepository, times(1)).findByUUID(movieEntNo1.getMovieID());
+        verify(movieRepository, times(2)).findAvailableSeatsByUUIDs(List.of(movieEntNo1.getMovieID()));
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindByUUIDOfRemovedMovieTestNegative() {
+        stubAvailableSeats(movieEntNo1);
+        when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(movieEntNo1).thenThrow(MovieRepositoryException.class);
+        movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+        stubAvailableSeats();
+
+        assertThrows(MovieRepositoryException.class, () -> movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID()));
+        verify(movieRepository, times(2)).findByUUID(movieEntNo1.getMovieID());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindByUUIDAfterUpdateTestPositive() {
+        stubAvailableSeats(movieEntNo1);
+        when(movieRepository.findByUUID(Mockito.eq(movieEntNo1.getMovieID()))).thenReturn(movieEntNo1);
+        Movie movie = movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+        movieRepositoryAdapter.update(movie);
+        movieRepositoryAdapter.findByUUID(movieEntNo1.getMovieID());
+
+        verify(movieRepository, times(2)).findByUUID(movieEntNo1.getMovieID());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindAllReadsOnlyAvailableSeatsOfCachedMoviesTestPositive() {
+        stubAllAvailableSeats(movieEntNo1, movieEntNo2);
+        when(movieRepository.findAllByUUIDs(anyCollection())).thenReturn(List.of(
+                new MovieEnt(movieEntNo1.getMovieID(), movieEntNo1.getMovieTitle(), movieEntNo1.getMovieBasePrice(), movieEntNo1.getScrRoomNumber(), movieEntNo1.getNumberOfAvailableSeats()),
+                new MovieEnt(movieEntNo2.getMovieID(), movieEntNo2.getMovieTitle(), movieEntNo2.getMovieBasePrice(), movieEntNo2.getScrRoomNumber(), movieEntNo2.getNumberOfAvailableSeats())));
+        movieRepositoryAdapter.findAll();
+        movieEntNo2.setNumberOfAvailableSeats(movieEntNo2.getNumberOfAvailableSeats() - 2);
+        List<Movie> movies = movieRepositoryAdapter.findAll();
+
+        assertEquals(2, movies.size());
+        assertEquals(43, movies.get(1).getNumberOfAvailableSeats());
+        verify(movieRepository, times(2)).findAllAvailableSeats();
+        verify(movieRepository, times(1)).findAllByUUIDs(anyCollection());
+    }
+
+    @Test
+    public void movieRepositoryAdapterFindAllAfterDeleteTestPositive() {
+        stubAllAvailableSeats(movieEntNo1, movieEntNo2);
+        when(movieRepository.findAllByUUIDs(anyCollection())).thenReturn(List.of(movieEntNo1, movieEntNo2));
+        movieRepositoryAdapter.findAll();
+        movieRepositoryAdapter.delete(movieEntNo2.getMovieID());
+        stubAllAvailableSeats(movieEntNo1);
+        List<Movie> movies = movieRepositoryAdapter.findAll();
+
+        assertEquals(1, movies.size());
+        assertEquals(movieEntNo1.getMovieID(), movies.get(0).getMovieID());
+        verify(movieRepository, times(1)).findAllByUUIDs(anyCollection());
+    }
+
     @Test
     public void movieRepositoryAdapterGetListOfTicketsTestPositive() {
         List<TicketEnt> ticketsList = new ArrayList<>();
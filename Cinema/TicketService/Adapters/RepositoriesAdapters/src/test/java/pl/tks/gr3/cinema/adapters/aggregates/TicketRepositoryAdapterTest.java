@@ -7,15 +7,22 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
 import pl.tks.gr3.cinema.adapters.repositories.TicketRepository;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -87,6 +94,29 @@ public class TicketRepositoryAdapterTest {
         verify(ticketRepository, times(1)).create(ticketEntNo1.getMovieTime(), null, ticketEntNo1.getMovieID());
     }
 
+    @Test
+    public void ticketRepositoryAdapterCreateGroupTestPositive() {
+        TicketEnt secondTicketEnt = new TicketEnt(UUID.randomUUID(), ticketEntNo1.getMovieTime(), ticketEntNo1.getTicketPrice(), ticketEntNo1.getUserID(), ticketEntNo1.getMovieID());
+        when(ticketRepository.createGroup(Mockito.eq(ticketEntNo1.getMovieTime()), Mockito.eq(ticketEntNo1.getUserID()), Mockito.eq(ticketEntNo1.getMovieID()), Mockito.eq(2))).thenReturn(List.of(ticketEntNo1, secondTicketEnt));
+        List<Ticket> tickets = ticketRepositoryAdapter.createGroup(ticketEntNo1.getMovieTime(), ticketEntNo1.getUserID(), ticketEntNo1.getMovieID(), 2);
+
+        assertNotNull(tickets);
+        assertEquals(2, tickets.size());
+        assertEquals(ticketEntNo1.getTicketID(), tickets.get(0).getTicketID());
+        assertEquals(secondTicketEnt.getTicketID(), tickets.get(1).getTicketID());
+
+        verify(ticketRepository, times(1)).createGroup(ticketEntNo1.getMovieTime(), ticketEntNo1.getUserID(), ticketEntNo1.getMovieID(), 2);
+    }
+
+    @Test
+    public void ticketRepositoryAdapterCreateGroupTestNegative() {
+        when(ticketRepository.createGroup(Mockito.eq(ticketEntNo1.getMovieTime()), Mockito.eq(ticketEntNo1.getUserID()), Mockito.eq(ticketEntNo1.getMovieID()), Mockito.eq(5))).thenThrow(TicketRepositoryException.class);
+
+        assertThrows(TicketRepositoryException.class, () -> ticketRepositoryAdapter.createGroup(ticketEntNo1.getMovieTime(), ticketEntNo1.getUserID(), ticketEntNo1.getMovieID(), 5));
+
+        verify(ticketRepository, times(1)).createGroup(ticketEntNo1.getMovieTime(), ticketEntNo1.getUserID(), ticketEntNo1.getMovieID(), 5);
+    }
+
     @Test
     public void ticketRepositoryAdapterFindByUUIDTestPositive() {
         when(ticketRepository.findByUUID(Mockito.eq(ticketEntNo1.getTicketID()))).thenReturn(ticketEntNo1);
@@ -108,6 +138,25 @@ public class TicketRepositoryAdapterTest {
         verify(ticketRepository, times(1)).findByUUID(ticketEntNo1.getTicketID());
     }
 
+    @Test
+    public void ticketRepositoryAdapterFindAllByUUIDsInRequestOrderTestPositive() {
+        List<UUID> ticketIDs = List.of(ticketEntNo2.getTicketID(), ticketEntNo1.getTicketID(), UUID.randomUUID(), ticketEntNo2.getTicketID());
+        when(ticketRepository.findAllByUUIDs(Mockito.eq(ticketIDs))).thenReturn(List.of(ticketEntNo1, ticketEntNo2));
+
+        List<Ticket> tickets = ticketRepositoryAdapter.findAllByUUIDs(ticketIDs);
+
+        assertEquals(2, tickets.size());
+        assertEquals(ticketEntNo2.getTicketID(), tickets.get(0).getTicketID());
+        assertEquals(ticketEntNo1.getTicketID(), tickets.get(1).getTicketID());
+        verify(ticketRepository, times(1)).findAllByUUIDs(ticketIDs);
+    }
+
+    @Test
+    public void ticketRepositoryAdapterFindAllByUUIDsTestNegative() {
+        when(ticketRepository.findAllByUUIDs(anyCollection())).thenThrow(TicketRepositoryException.class);
+        assertThrows(TicketRepositoryException.class, () -> ticketRepositoryAdapter.findAllByUUIDs(List.of(ticketEntNo1.getTicketID())));
+    }
+
     @Test
     public void ticketRepositoryAdapterFindAllTestPositive() {
         List<TicketEnt> listOfAllTickets = new ArrayList<>();
@@ -123,6 +172,70 @@ public class TicketRepositoryAdapterTest {
         verify(ticketRepository, times(1)).findAll();
     }
 
+    @Test
+    public void ticketRepositoryAdapterStreamAllTestPositive() {
+        when(ticketRepository.streamAll()).thenReturn(Stream.of(ticketEntNo1, ticketEntNo2, ticketEntNo3));
+        List<Ticket> tickets = ticketRepositoryAdapter.streamAll().toList();
+        assertNotNull(tickets);
+        assertEquals(3, tickets.size());
+        assertEquals(ticketEntNo1.getTicketID(), tickets.get(0).getTicketID());
+        verify(ticketRepository, times(1)).streamAll();
+    }
+
+    @Test
+    public void ticketRepositoryAdapterFindPageTestPositive() {
+        when(ticketRepository.findAllAfter(null, null, 3)).thenReturn(List.of(ticketEntNo1, ticketEntNo2, ticketEntNo3));
+        Page<Ticket> page = ticketRepositoryAdapter.findPage(null, 2);
+        assertNotNull(page);
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.hasNext());
+        assertEquals(ticketEntNo2.getTicketID(), page.getNextCursor().getLastID());
+        assertEquals(ticketEntNo2.getMovieTime(), page.getNextCursor().getLastMovieTime());
+
+        PageCursor cursor = page.getNextCursor();
+        when(ticketRepository.findAllAfter(cursor.getLastMovieTime(), cursor.getLastID(), 3)).thenReturn(List.of(ticketEntNo3));
+        Page<Ticket> lastPage = ticketRepositoryAdapter.findPage(cursor, 2);
+        assertEquals(1, lastPage.getContent().size());
+        assertFalse(lastPage.hasNext());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void ticketRepositoryAdapterFindDetailsPageTestPositive() {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.MOVIE, TicketExpansion.CLIENT);
+        when(ticketRepository.findAllDetailsAfter(null, null, 2, expansions)).thenReturn(List.of(
+                ticketDetailsEnt(ticketEntNo1, movieEntNo1, clientEntNo1),
+                ticketDetailsEnt(ticketEntNo2, movieEntNo2, null)));
+        Page<TicketDetails> page = ticketRepositoryAdapter.findDetailsPage(null, 1, expansions);
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.hasNext());
+        assertEquals(ticketEntNo1.getTicketID(), page.getNextCursor().getLastID());
+        assertEquals(ticketEntNo1.getMovieTime(), page.getNextCursor().getLastMovieTime());
+
+        TicketDetails ticketDetails = page.getContent().get(0);
+        assertEquals(ticketEntNo1.getTicketID(), ticketDetails.getTicket().getTicketID());
+        assertEquals(movieEntNo1.getMovieTitle(), ticketDetails.getMovie().getMovieTitle());
+        assertEquals(clientEntNo1.getUserLogin(), ticketDetails.getClient().getUserLogin());
+    }
+
+    @Test
+    public void ticketRepositoryAdapterStreamAllDetailsWithoutJoinedClientTestPositive() {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.MOVIE);
+        when(ticketRepository.streamAllDetails(expansions)).thenReturn(Stream.of(ticketDetailsEnt(ticketEntNo2, movieEntNo2, null)));
+        List<TicketDetails> tickets = ticketRepositoryAdapter.streamAllDetails(expansions).toList();
+        assertEquals(1, tickets.size());
+        assertEquals(movieEntNo2.getMovieID(), tickets.get(0).getMovie().getMovieID());
+        assertNull(tickets.get(0).getClient());
+    }
+
+    private static TicketDetailsEnt ticketDetailsEnt(TicketEnt ticket, MovieEnt movie, ClientEnt client) {
+        TicketDetailsEnt ticketDetailsEnt = new TicketDetailsEnt();
+        ticketDetailsEnt.setTicket(ticket);
+        ticketDetailsEnt.setMovie(movie);
+        ticketDetailsEnt.setClient(client);
+        return ticketDetailsEnt;
+    }
+
     @Test
     public void ticketRepositoryAdapterFindAllTestNegative() {
         when(ticketRepository.findAll()).thenThrow(TicketRepositoryException.class);
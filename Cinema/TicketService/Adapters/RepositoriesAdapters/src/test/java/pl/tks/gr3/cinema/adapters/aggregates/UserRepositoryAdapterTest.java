@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
@@ -27,6 +28,9 @@ public class UserRepositoryAdapterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private ClientStatusIndex clientStatusIndex = new ClientStatusIndex(mock(UserRepository.class));
+
     @InjectMocks
     private UserRepositoryAdapter userRepositoryAdapter;
 
@@ -128,6 +132,33 @@ public class UserRepositoryAdapterTest {
         verify(userRepository, times(1)).findClientByUUID(clientEntNo1.getUserID());
     }
 
+    @Test
+    public void userRepositoryAdapterFindClientsByUUIDsInRequestOrderTestPositive() {
+        when(userRepository.createClient(Mockito.eq(clientEntNo1.getUserID()), Mockito.eq(clientEntNo1.getUserLogin()))).thenReturn(clientEntNo1);
+        userRepositoryAdapter.createClient(clientEntNo1.getUserID(), clientEntNo1.getUserLogin());
+        UUID missingClientID = UUID.randomUUID();
+        when(userRepository.findClientsByUUIDs(anyCollection())).thenReturn(List.of(clientEntNo2));
+
+        List<Client> clients = userRepositoryAdapter.findClientsByUUIDs(List.of(clientEntNo2.getUserID(), missingClientID, clientEntNo1.getUserID()));
+
+        assertEquals(2, clients.size());
+        assertEquals(clientEntNo2.getUserID(), clients.get(0).getUserID());
+        assertEquals(clientEntNo1.getUserID(), clients.get(1).getUserID());
+        verify(userRepository, times(1)).findClientsByUUIDs(argThat(clientIDs -> clientIDs.size() == 2 && !clientIDs.contains(clientEntNo1.getUserID())));
+    }
+
+    @Test
+    public void userRepositoryAdapterFindClientsByUUIDsServedFromIndexTestPositive() {
+        when(userRepository.createClient(Mockito.eq(clientEntNo1.getUserID()), Mockito.eq(clientEntNo1.getUserLogin()))).thenReturn(clientEntNo1);
+        userRepositoryAdapter.createClient(clientEntNo1.getUserID(), clientEntNo1.getUserLogin());
+
+        List<Client> clients = userRepositoryAdapter.findClientsByUUIDs(List.of(clientEntNo1.getUserID()));
+
+        assertEquals(1, clients.size());
+        assertEquals(clientEntNo1.getUserLogin(), clients.get(0).getUserLogin());
+        verify(userRepository, never()).findClientsByUUIDs(anyCollection());
+    }
+
     @Test
     public void userRepositoryAdapterFindClientByLoginTestPositive() {
         when(userRepository.findClientByLogin(Mockito.eq(clientEntNo1.getUserLogin()))).thenReturn(clientEntNo1);
@@ -175,6 +206,28 @@ public class UserRepositoryAdapterTest {
         verify(userRepository, times(1)).getListOfTicketsForClient(clientEntNo1.getUserID(), "client");
     }
 
+    @Test
+    public void userRepositoryAdapterGetTicketHistoryByLoginTestPositive() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        when(userRepository.getTicketHistoryForClient(Mockito.eq(clientEntNo1.getUserLogin()), Mockito.eq("client"), Mockito.eq(from), Mockito.isNull())).thenReturn(List.of(ticketEntNo1, ticketEntNo3));
+
+        List<Ticket> tickets = userRepositoryAdapter.getTicketHistory(clientEntNo1.getUserLogin(), "client", from, null);
+        assertNotNull(tickets);
+        assertEquals(2, tickets.size());
+        assertEquals(ticketEntNo1.getTicketID(), tickets.get(0).getTicketID());
+
+        verify(userRepository, times(1)).getTicketHistoryForClient(clientEntNo1.getUserLogin(), "client", from, null);
+    }
+
+    @Test
+    public void userRepositoryAdapterGetTicketHistoryByLoginTestNegative() {
+        when(userRepository.getTicketHistoryForClient(Mockito.eq(clientEntNo1.getUserLogin()), Mockito.anyString(), Mockito.isNull(), Mockito.isNull())).thenThrow(UserRepositoryException.class);
+
+        assertThrows(UserRepositoryException.class, () -> userRepositoryAdapter.getTicketHistory(clientEntNo1.getUserLogin(), "client", null, null));
+
+        verify(userRepository, times(1)).getTicketHistoryForClient(clientEntNo1.getUserLogin(), "client", null, null);
+    }
+
     @Test
     public void userRepositoryAdapterUpdateClientTestPositive() {
         String newLogin = "NewLoginForClientNo1";
@@ -261,4 +314,27 @@ public class UserRepositoryAdapterTest {
 
         verify(userRepository, times(1)).deactivate(clientArgumentCaptor.capture());
     }
+
+    @Test
+    public void userRepositoryAdapterFindClientByLoginServedFromIndexTestPositive() {
+        when(userRepository.findClientByUUID(Mockito.eq(clientEntNo1.getUserID()))).thenReturn(clientEntNo1);
+        userRepositoryAdapter.findClientByUUID(clientEntNo1.getUserID());
+        Client client = userRepositoryAdapter.findClientByLogin(clientEntNo1.getUserLogin());
+
+        assertEquals(clientEntNo1.getUserID(), client.getUserID());
+        verify(userRepository, times(1)).findClientByUUID(clientEntNo1.getUserID());
+        verify(userRepository, never()).findClientByLogin(clientEntNo1.getUserLogin());
+    }
+
+    @Test
+    public void userRepositoryAdapterFindClientByUUIDAfterDeactivateTestPositive() {
+        when(userRepository.createClient(Mockito.eq(clientEntNo1.getUserID()), Mockito.eq(clientEntNo1.getUserLogin()))).thenReturn(clientEntNo1);
+        Client client = userRepositoryAdapter.createClient(clientEntNo1.getUserID(), clientEntNo1.getUserLogin());
+        userRepositoryAdapter.deactivate(client);
+
+        Client foundClient = userRepositoryAdapter.findClientByUUID(clientEntNo1.getUserID());
+
+        assertFalse(foundClient.isUserStatusActive());
+        verify(userRepository, never()).findClientByUUID(clientEntNo1.getUserID());
+    }
 }
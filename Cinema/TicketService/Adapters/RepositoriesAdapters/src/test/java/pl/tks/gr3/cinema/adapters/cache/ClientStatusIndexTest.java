@@ -0,0 +1,120 @@
+package pl.tks.gr3.cinema.adapters.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.tks.gr3.cinema.adapters.api.UserRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class ClientStatusIndexTest {
+
+    private MutableClock clock;
+    private ClientStatusIndex clientStatusIndex;
+    private ClientEnt client;
+
+    @BeforeEach
+    public void initialize() {
+        clock = new MutableClock(Instant.parse("2023-11-04T20:10:00Z"));
+        clientStatusIndex = new ClientStatusIndex(mock(UserRepositoryInterface.class), Duration.ofSeconds(30), clock);
+        client = new ClientEnt(UUID.randomUUID(), "ClientLoginNo1", true);
+    }
+
+    @Test
+    public void clientStatusIndexFindByUUIDReadsClientOnceTestPositive() {
+        AtomicInteger reads = new AtomicInteger();
+        clientStatusIndex.findByUUID(client.getUserID(), id -> { reads.incrementAndGet(); return client; });
+        ClientStatusIndex.ClientStatus clientStatus = clientStatusIndex.findByUUID(client.getUserID(), id -> { reads.incrementAndGet(); return client; });
+        assertTrue(clientStatus.isActive());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void clientStatusIndexFindByUUIDReadsExpiredEntryAgainTestPositive() {
+        clientStatusIndex.findByUUID(client.getUserID(), id -> client);
+        ClientEnt deactivatedClient = new ClientEnt(client.getUserID(), client.getUserLogin(), false);
+        clock.advance(Duration.ofSeconds(31));
+        ClientStatusIndex.ClientStatus clientStatus = clientStatusIndex.findByUUID(client.getUserID(), id -> deactivatedClient);
+        assertFalse(clientStatus.isActive());
+    }
+
+    @Test
+    public void clientStatusIndexFindByUUIDRemovesExpiredEntryOfDeletedClientTestPositive() {
+        clientStatusIndex.findByUUID(client.getUserID(), id -> client);
+        clock.advance(Duration.ofSeconds(31));
+        assertNull(clientStatusIndex.findByUUID(client.getUserID(), id -> null));
+        assertNull(clientStatusIndex.findByLogin(client.getUserLogin(), login -> null));
+    }
+
+    @Test
+    public void clientStatusIndexUpdateStatusTestPositive() {
+        clientStatusIndex.findByUUID(client.getUserID(), id -> client);
+        clientStatusIndex.updateStatus(client.getUserID(), false);
+        ClientStatusIndex.ClientStatus clientStatus = clientStatusIndex.findByUUID(client.getUserID(), id -> fail("Client should not be read again."));
+        assertFalse(clientStatus.isActive());
+        assertEquals(client.getUserLogin(), clientStatus.getLogin());
+    }
+
+    @Test
+    public void clientStatusIndexUpdateStatusOfMissingClientTestPositive() {
+        clientStatusIndex.updateStatus(client.getUserID(), false);
+        ClientStatusIndex.ClientStatus clientStatus = clientStatusIndex.findByUUID(client.getUserID(), id -> client);
+        assertTrue(clientStatus.isActive());
+    }
+
+    @Test
+    public void clientStatusIndexFindAllByUUIDsReadsOnlyMissingAndExpiredTestPositive() {
+        ClientEnt otherClient = new ClientEnt(UUID.randomUUID(), "ClientLoginNo2", true);
+        clientStatusIndex.findByUUID(client.getUserID(), id -> client);
+        clock.advance(Duration.ofSeconds(20));
+        clientStatusIndex.findByUUID(otherClient.getUserID(), id -> otherClient);
+        clock.advance(Duration.ofSeconds(20));
+        List<UUID> readIDs = new ArrayList<>();
+        Map<UUID, ClientStatusIndex.ClientStatus> clientStatuses = clientStatusIndex.findAllByUUIDs(List.of(client.getUserID(), otherClient.getUserID()), ids -> {
+            readIDs.addAll(ids);
+            return List.of(client);
+        });
+        assertEquals(List.of(client.getUserID()), readIDs);
+        assertEquals(2, clientStatuses.size());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
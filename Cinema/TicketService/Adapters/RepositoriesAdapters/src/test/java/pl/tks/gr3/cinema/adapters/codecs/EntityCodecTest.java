@@ -0,0 +1,114 @@
+package pl.tks.gr3.cinema.adapters.codecs;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonString;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.Test;
+import pl.tks.gr3.cinema.adapters.connection.CodecMode;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.users.UserEnt;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCodecTest {
+
+    // Registries are prepared the same way as the driver prepares them for the MongoClient.
+
+    private static final CodecRegistry explicitRegistry = CodecRegistries.withUuidRepresentation(CodecRegistries.fromRegistries(
+            MongoClientSettings.getDefaultCodecRegistry(), MongoClientFactory.getCodecRegistry(CodecMode.EXPLICIT)), UuidRepresentation.STANDARD);
+    private static final CodecRegistry pojoRegistry = CodecRegistries.withUuidRepresentation(CodecRegistries.fromRegistries(
+            MongoClientSettings.getDefaultCodecRegistry(), MongoClientFactory.getCodecRegistry(CodecMode.POJO)), UuidRepresentation.STANDARD);
+
+    private static <T> BsonDocument encode(CodecRegistry registry, Class<T> clazz, T value) {
+        BsonDocument document = new BsonDocument();
+        registry.get(clazz).encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static <T> T decode(CodecRegistry registry, Class<T> clazz, BsonDocument document) {
+        return registry.get(clazz).decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    public void explicitCodecsAreUsedInExplicitCodecModeTestPositive() {
+        assertInstanceOf(TicketEntCodec.class, explicitRegistry.get(TicketEnt.class));
+        assertInstanceOf(MovieEntCodec.class, explicitRegistry.get(MovieEnt.class));
+        assertInstanceOf(UserEntCodec.class, explicitRegistry.get(UserEnt.class));
+        assertInstanceOf(ClientEntCodec.class, explicitRegistry.get(ClientEnt.class));
+        assertFalse(pojoRegistry.get(TicketEnt.class) instanceof TicketEntCodec);
+    }
+
+    @Test
+    public void ticketEntCodecWritesTheSameDocumentAsPojoCodecTestPositive() {
+        TicketEnt ticket = new TicketEnt(UUID.randomUUID(), LocalDateTime.of(2023, 11, 4, 20, 10, 0), 25.5, UUID.randomUUID(), UUID.randomUUID());
+
+        BsonDocument explicitDocument = encode(explicitRegistry, TicketEnt.class, ticket);
+        assertEquals(encode(pojoRegistry, TicketEnt.class, ticket), explicitDocument);
+        assertEquals(BsonBinarySubType.UUID_STANDARD.getValue(), explicitDocument.getBinary(TicketEntConstants.GENERAL_IDENTIFIER).getType());
+
+        assertEquals(ticket, decode(explicitRegistry, TicketEnt.class, explicitDocument));
+        assertEquals(ticket, decode(pojoRegistry, TicketEnt.class, explicitDocument));
+    }
+
+    @Test
+    public void ticketEntCodecSkipsNullAndUnknownFieldsTestPositive() {
+        TicketEnt ticket = new TicketEnt(UUID.randomUUID(), null, 10.0, UUID.randomUUID(), UUID.randomUUID());
+
+        BsonDocument document = encode(explicitRegistry, TicketEnt.class, ticket);
+        assertFalse(document.containsKey(TicketEntConstants.MOVIE_TIME));
+
+        document.append("unknown_field", new BsonDocument("nested", document.get(TicketEntConstants.USER_ID)));
+        assertEquals(ticket, decode(explicitRegistry, TicketEnt.class, document));
+    }
+
+    @Test
+    public void movieEntCodecWritesTheSameDocumentAsPojoCodecTestPositive() {
+        MovieEnt movie = new MovieEnt(UUID.randomUUID(), "MovieTitleNo1", 45.75, 3, 60);
+
+        BsonDocument explicitDocument = encode(explicitRegistry, MovieEnt.class, movie);
+        assertEquals(encode(pojoRegistry, MovieEnt.class, movie), explicitDocument);
+
+        MovieEnt decodedMovie = decode(explicitRegistry, MovieEnt.class, encode(pojoRegistry, MovieEnt.class, movie));
+        assertEquals(movie, decodedMovie);
+        assertEquals(movie.getNumberOfAvailableSeats(), decodedMovie.getNumberOfAvailableSeats());
+    }
+
+    @Test
+    public void userEntCodecHandlesClientDiscriminatorTestPositive() {
+        ClientEnt client = new ClientEnt(UUID.randomUUID(), "ClientLoginNo1", false);
+
+        BsonDocument explicitDocument = encode(explicitRegistry, UserEnt.class, client);
+        assertEquals(UserEntConstants.CLIENT_DISCRIMINATOR, explicitDocument.getString(UserEntConstants.USER_DISCRIMINATOR_NAME).getValue());
+        assertEquals(encode(pojoRegistry, UserEnt.class, client), explicitDocument);
+
+        UserEnt decodedUser = decode(explicitRegistry, UserEnt.class, encode(pojoRegistry, UserEnt.class, client));
+        assertInstanceOf(ClientEnt.class, decodedUser);
+        assertEquals(client, decodedUser);
+        assertEquals(client, decode(pojoRegistry, UserEnt.class, explicitDocument));
+    }
+
+    @Test
+    public void userEntCodecWithUnknownDiscriminatorTestNegative() {
+        BsonDocument document = encode(explicitRegistry, UserEnt.class, new ClientEnt(UUID.randomUUID(), "ClientLoginNo1"));
+        document.put(UserEntConstants.USER_DISCRIMINATOR_NAME, new BsonString("staff"));
+
+        assertThrows(CodecConfigurationException.class, () -> decode(explicitRegistry, UserEnt.class, document));
+    }
+}
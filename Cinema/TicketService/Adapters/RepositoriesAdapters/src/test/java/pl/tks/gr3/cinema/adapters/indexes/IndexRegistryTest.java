@@ -0,0 +1,95 @@
+package pl.tks.gr3.cinema.adapters.indexes;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexRegistryTest {
+
+    private static final String COLLECTION_NAME = "tickets";
+
+    @Mock
+    private MongoDatabase mongoDatabase;
+
+    @Mock
+    private MongoCollection<Document> mongoCollection;
+
+    @Mock
+    private ListIndexesIterable<Document> listIndexesIterable;
+
+    @Mock
+    private MongoCursor<Document> indexCursor;
+
+    private IndexRegistry indexRegistry;
+
+    private final IndexModel userIdIndex = new IndexModel(Indexes.ascending("user_id", "movie_time"), new IndexOptions().name("user_id_1_movie_time_1"));
+    private final IndexModel movieIdIndex = new IndexModel(Indexes.ascending("movie_id", "movie_time"), new IndexOptions().name("movie_id_1_movie_time_1"));
+
+    @BeforeEach
+    public void initializeIndexRegistry() {
+        indexRegistry = new IndexRegistry();
+    }
+
+    @Test
+    public void indexRegistryDeclareSameIndexTwiceTestPositive() {
+        indexRegistry.declare(COLLECTION_NAME, List.of(userIdIndex, movieIdIndex));
+        indexRegistry.declare(COLLECTION_NAME, List.of(userIdIndex));
+        assertEquals(2, indexRegistry.getDeclaredIndexes(COLLECTION_NAME).size());
+    }
+
+    @Test
+    public void indexRegistryDeclareIndexWithoutNameTestNegative() {
+        IndexModel unnamedIndex = new IndexModel(Indexes.ascending("movie_id"));
+        assertThrows(NullPointerException.class, () -> indexRegistry.declare(COLLECTION_NAME, List.of(unnamedIndex)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void indexRegistryReconcileCreatesOnlyMissingIndexesTestPositive() {
+        when(mongoDatabase.getCollection(COLLECTION_NAME)).thenReturn(mongoCollection);
+        when(mongoCollection.listIndexes()).thenReturn(listIndexesIterable);
+        when(listIndexesIterable.iterator()).thenReturn(indexCursor);
+        when(indexCursor.hasNext()).thenReturn(true, true, false);
+        when(indexCursor.next()).thenReturn(new Document("name", "_id_"), new Document("name", "user_id_1_movie_time_1"));
+
+        indexRegistry.declare(COLLECTION_NAME, List.of(userIdIndex, movieIdIndex));
+        indexRegistry.reconcile(mongoDatabase, COLLECTION_NAME);
+
+        ArgumentCaptor<List<IndexModel>> createdIndexes = ArgumentCaptor.forClass(List.class);
+        verify(mongoCollection, times(1)).createIndexes(createdIndexes.capture());
+        assertEquals(1, createdIndexes.getValue().size());
+        assertEquals("movie_id_1_movie_time_1", createdIndexes.getValue().get(0).getOptions().getName());
+    }
+
+    @Test
+    public void indexRegistryReconcileWithAllIndexesPresentTestPositive() {
+        when(mongoDatabase.getCollection(COLLECTION_NAME)).thenReturn(mongoCollection);
+        when(mongoCollection.listIndexes()).thenReturn(listIndexesIterable);
+        when(listIndexesIterable.iterator()).thenReturn(indexCursor);
+        when(indexCursor.hasNext()).thenReturn(true, true, false);
+        when(indexCursor.next()).thenReturn(new Document("name", "user_id_1_movie_time_1"), new Document("name", "movie_id_1_movie_time_1"));
+
+        indexRegistry.declare(COLLECTION_NAME, List.of(userIdIndex, movieIdIndex));
+        indexRegistry.reconcile(mongoDatabase, COLLECTION_NAME);
+
+        verify(mongoCollection, never()).createIndexes(any());
+    }
+}
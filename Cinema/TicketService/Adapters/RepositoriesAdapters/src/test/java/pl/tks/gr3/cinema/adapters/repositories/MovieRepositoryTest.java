@@ -1,9 +1,13 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 import org.junit.jupiter.api.*;
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.*;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.MovieSeatsEnt;
 
 import java.util.List;
 import java.util.UUID;
@@ -50,6 +54,24 @@ public class MovieRepositoryTest extends TestContainerSetup {
         assertEquals(movie, foundMovie);
     }
 
+    @Test
+    public void movieRepositoryFindAvailableSeatsByUUIDsTestPositive() throws MovieRepositoryException {
+        movieNo1.setNumberOfAvailableSeats(25);
+        movieRepository.update(movieNo1);
+        List<MovieSeatsEnt> availableSeats = movieRepository.findAvailableSeatsByUUIDs(List.of(movieNo1.getMovieID(), UUID.randomUUID()));
+        assertEquals(1, availableSeats.size());
+        assertEquals(movieNo1.getMovieID(), availableSeats.get(0).getMovieID());
+        assertEquals(25, availableSeats.get(0).getNumberOfAvailableSeats());
+        assertEquals(movieNo1.getVersion(), availableSeats.get(0).getVersion());
+    }
+
+    @Test
+    public void movieRepositoryFindAllAvailableSeatsTestPositive() throws MovieRepositoryException {
+        List<MovieSeatsEnt> availableSeats = movieRepository.findAllAvailableSeats();
+        assertEquals(3, availableSeats.size());
+        assertTrue(availableSeats.stream().anyMatch(seats -> seats.getMovieID().equals(movieNo3.getMovieID()) && seats.getNumberOfAvailableSeats() == 60));
+    }
+
     @Test
     public void movieRepositoryCreateMovieWithNullMovieTitleTestNegative() {
         assertThrows(MovieRepositoryCreateException.class, () -> movieRepository.create(null, 50.00, 10, 90));
@@ -209,6 +231,31 @@ public class MovieRepositoryTest extends TestContainerSetup {
         assertThrows(MovieRepositoryUpdateException.class, () -> movieRepository.update(movie));
     }
 
+    @Test
+    public void movieRepositoryUpdateMovieWithStaleVersionTestNegative() throws MovieRepositoryException {
+        MovieEnt staleMovie = movieRepository.findByUUID(movieNo1.getMovieID());
+        movieNo1.setMovieTitle("Pulp Fiction");
+        movieRepository.update(movieNo1);
+        assertEquals(staleMovie.getVersion() + 1, movieNo1.getVersion());
+        staleMovie.setMovieTitle("Reservoir Dogs");
+        assertThrows(MovieRepositoryVersionMismatchException.class, () -> movieRepository.update(staleMovie));
+        assertEquals("Pulp Fiction", movieRepository.findByUUID(movieNo1.getMovieID()).getMovieTitle());
+    }
+
+    @Test
+    public void movieRepositoryUpdateMovieWithoutVersionFieldTestPositive() throws MovieRepositoryException {
+        movieRepository.getMovieCollection().updateOne(Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieNo1.getMovieID()), Updates.unset(MovieEntConstants.VERSION));
+        movieNo1.setVersion(1L);
+        assertThrows(MovieRepositoryVersionMismatchException.class, () -> movieRepository.update(movieNo1));
+        movieNo1.setVersion(0L);
+        movieNo1.setMovieTitle("Pulp Fiction");
+        movieRepository.update(movieNo1);
+        assertEquals(1L, movieNo1.getVersion());
+        MovieEnt foundMovie = movieRepository.findByUUID(movieNo1.getMovieID());
+        assertEquals("Pulp Fiction", foundMovie.getMovieTitle());
+        assertEquals(1L, foundMovie.getVersion());
+    }
+
     @Test
     public void movieRepositoryUpdateMovieWithNullMovieTitleTestNegative() {
         movieNo1.setMovieTitle(null);
@@ -1,5 +1,8 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
+import com.mongodb.MongoCredential;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.testcontainers.containers.GenericContainer;
@@ -7,6 +10,14 @@ import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import pl.tks.gr3.cinema.adapters.cache.ClientStatusIndex;
+import pl.tks.gr3.cinema.adapters.connection.CodecMode;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @Testcontainers
 public class TestContainerSetup {
@@ -18,6 +29,14 @@ public class TestContainerSetup {
     public static UserRepository userRepository;
     public static MovieRepository movieRepository;
     public static TicketRepository ticketRepository;
+    public static ClientStatusIndex clientStatusIndex;
+
+    // Repositories reading the same database through the POJO codecs (CodecMode.POJO) instead of the explicit ones.
+
+    public static UserRepository pojoUserRepository;
+    public static TicketRepository pojoTicketRepository;
+
+    private static MongoClient pojoMongoClient;
 
     public static String connectionString;
 
@@ -46,11 +65,20 @@ public class TestContainerSetup {
 
         userRepository = new UserRepository(connectionString, MONGODB_USERNAME, MONGODB_PASSWORD, DATABASE_NAME);
         movieRepository = new MovieRepository(connectionString, MONGODB_USERNAME, MONGODB_PASSWORD, DATABASE_NAME);
-        ticketRepository = new TicketRepository(connectionString, MONGODB_USERNAME, MONGODB_PASSWORD, DATABASE_NAME);
+        clientStatusIndex = new ClientStatusIndex(userRepository);
+        ticketRepository = new TicketRepository(connectionString, MONGODB_USERNAME, MONGODB_PASSWORD, DATABASE_NAME, clientStatusIndex);
+
+        MongoCredential mongoCredentials = MongoCredential.createCredential(MONGODB_USERNAME, "admin", MONGODB_PASSWORD.toCharArray());
+        pojoMongoClient = MongoClients.create(MongoClientFactory.getMongoClientSettingsBuilder(connectionString, mongoCredentials, CodecMode.POJO).build());
+        DatabaseConfig dbConfig = mock(DatabaseConfig.class);
+        when(dbConfig.getDbName()).thenReturn(DATABASE_NAME);
+        pojoUserRepository = new UserRepository(pojoMongoClient, dbConfig, new IndexRegistry());
+        pojoTicketRepository = new TicketRepository(pojoMongoClient, dbConfig, new IndexRegistry(), new ClientStatusIndex(pojoUserRepository));
     }
 
     @AfterAll
     public static void destroy() {
+        pojoMongoClient.close();
         mongoDBContainer.stop();
         mongoDBContainer.close();
     }
@@ -1,6 +1,12 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.TicketEntConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
@@ -8,17 +14,28 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryDeleteExc
 import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.*;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryReadException;
 import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
 import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TicketRepositoryTest extends TestContainerSetup {
 
+    private static final Logger logger = LoggerFactory.getLogger(TicketRepositoryTest.class);
+
     private ClientEnt clientNo1;
     private ClientEnt clientNo2;
 
@@ -101,6 +118,8 @@ public class TicketRepositoryTest extends TestContainerSetup {
     public void ticketRepositoryCreateTicketWithInactiveClientTestNegative() throws UserRepositoryException {
         LocalDateTime localDateTime = LocalDateTime.of(2023, 11, 4, 20, 10, 0);
         userRepository.deactivate(clientNo1);
+        // In the application the index is updated by UserRepositoryAdapter right after the database.
+        clientStatusIndex.put(clientNo1.getUserID(), clientNo1.getUserLogin(), false, clientNo1.getVersion());
         assertThrows(TicketRepositoryCreateException.class, () -> ticketRepository.create(localDateTime, clientNo1.getUserID(), movieNo1.getMovieID()));
     }
 
@@ -121,6 +140,66 @@ public class TicketRepositoryTest extends TestContainerSetup {
         assertThrows(TicketRepositoryCreateException.class, () -> ticketRepository.create(localDateTime, clientNo1.getUserID(), null));
     }
 
+    @Test
+    public void ticketRepositoryCreateGroupOfTicketsTestPositive() throws TicketRepositoryException, MovieRepositoryException {
+        LocalDateTime localDateTime = LocalDateTime.of(2023, 11, 4, 20, 10, 0);
+        int seatsBefore = movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats();
+        List<TicketEnt> tickets = ticketRepository.createGroup(localDateTime, clientNo1.getUserID(), movieNo1.getMovieID(), 3);
+        assertEquals(3, tickets.size());
+        for (TicketEnt ticket : tickets) {
+            assertEquals(ticket, ticketRepository.findByUUID(ticket.getTicketID()));
+        }
+        assertEquals(seatsBefore - 3, movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats());
+    }
+
+    @Test
+    public void ticketRepositoryCreateGroupOfTicketsWithNotEnoughSeatsTestNegative() throws TicketRepositoryException, MovieRepositoryException {
+        LocalDateTime localDateTime = LocalDateTime.of(2023, 11, 4, 20, 10, 0);
+        int seatsBefore = movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats();
+        int numberOfTicketsBefore = ticketRepository.findAll().size();
+        assertThrows(TicketRepositoryCreateException.class, () -> ticketRepository.createGroup(localDateTime, clientNo1.getUserID(), movieNo1.getMovieID(), seatsBefore + 1));
+        assertEquals(seatsBefore, movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats());
+        assertEquals(numberOfTicketsBefore, ticketRepository.findAll().size());
+    }
+
+    @Test
+    public void ticketRepositoryCreateGroupOfTicketsWithNullMovieTimeTestNegative() throws TicketRepositoryException, MovieRepositoryException {
+        int seatsBefore = movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats();
+        assertThrows(TicketRepositoryCreateException.class, () -> ticketRepository.createGroup(null, clientNo1.getUserID(), movieNo1.getMovieID(), 2));
+        assertEquals(seatsBefore, movieRepository.findByUUID(movieNo1.getMovieID()).getNumberOfAvailableSeats());
+    }
+
+    @Test
+    public void userRepositoryGetTicketHistoryForClientByLoginTestPositive() throws TicketRepositoryException, UserRepositoryException {
+        TicketEnt laterTicket = ticketRepository.create(LocalDateTime.of(2023, 12, 1, 20, 0, 0), clientNo1.getUserID(), movieNo2.getMovieID());
+        List<TicketEnt> tickets = userRepository.getTicketHistoryForClient(clientNo1.getUserLogin(), "client", null, null);
+        assertEquals(List.of(ticketNo1, laterTicket), tickets);
+    }
+
+    @Test
+    public void userRepositoryGetTicketHistoryForClientWithinDateRangeTestPositive() throws TicketRepositoryException, UserRepositoryException {
+        TicketEnt laterTicket = ticketRepository.create(LocalDateTime.of(2023, 12, 1, 20, 0, 0), clientNo1.getUserID(), movieNo2.getMovieID());
+        List<TicketEnt> tickets = userRepository.getTicketHistoryForClient(clientNo1.getUserID(), "client",
+                LocalDateTime.of(2023, 11, 15, 0, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0, 0));
+        assertEquals(List.of(laterTicket), tickets);
+    }
+
+    @Test
+    public void userRepositoryGetTicketHistoryForClientWithoutTicketsTestPositive() throws UserRepositoryException {
+        ClientEnt clientWithoutTickets = userRepository.createClient(UUID.randomUUID(), "ClientLoginNo3");
+        assertTrue(userRepository.getTicketHistoryForClient(clientWithoutTickets.getUserLogin(), "client", null, null).isEmpty());
+    }
+
+    @Test
+    public void userRepositoryGetTicketHistoryForClientThatIsNotInTheDatabaseTestNegative() {
+        assertThrows(UserRepositoryReadException.class, () -> userRepository.getTicketHistoryForClient("NonExistentLogin", "client", null, null));
+    }
+
+    @Test
+    public void userRepositoryGetTicketHistoryForUserOfDifferentTypeTestNegative() {
+        assertThrows(UserRepositoryReadException.class, () -> userRepository.getTicketHistoryForClient(clientNo1.getUserLogin(), "staff", null, null));
+    }
+
     @Test
     public void ticketRepositoryFindTicketTestPositive() throws TicketRepositoryException {
         TicketEnt foundTicket = ticketRepository.findByUUID(ticketNo1.getTicketID());
@@ -167,6 +246,33 @@ public class TicketRepositoryTest extends TestContainerSetup {
         assertThrows(TicketRepositoryUpdateException.class, () -> ticketRepository.update(ticket));
     }
 
+    @Test
+    public void ticketRepositoryUpdateTicketWithStaleVersionTestNegative() throws TicketRepositoryException {
+        TicketEnt staleTicket = ticketRepository.findByUUID(ticketNo1.getTicketID());
+        LocalDateTime newMovieTime = LocalDateTime.of(2023, 12, 1, 18, 0, 0);
+        ticketNo1.setMovieTime(newMovieTime);
+        ticketRepository.update(ticketNo1);
+        assertEquals(staleTicket.getVersion() + 1, ticketNo1.getVersion());
+        staleTicket.setMovieTime(LocalDateTime.of(2023, 12, 2, 18, 0, 0));
+        assertThrows(TicketRepositoryVersionMismatchException.class, () -> ticketRepository.update(staleTicket));
+        assertEquals(newMovieTime, ticketRepository.findByUUID(ticketNo1.getTicketID()).getMovieTime());
+    }
+
+    @Test
+    public void ticketRepositoryUpdateTicketWithoutVersionFieldTestPositive() throws TicketRepositoryException {
+        ticketRepository.getTicketCollection().updateOne(Filters.eq(TicketEntConstants.GENERAL_IDENTIFIER, ticketNo1.getTicketID()), Updates.unset(TicketEntConstants.VERSION));
+        ticketNo1.setVersion(1L);
+        assertThrows(TicketRepositoryVersionMismatchException.class, () -> ticketRepository.update(ticketNo1));
+        LocalDateTime newMovieTime = LocalDateTime.of(2023, 12, 1, 18, 0, 0);
+        ticketNo1.setVersion(0L);
+        ticketNo1.setMovieTime(newMovieTime);
+        ticketRepository.update(ticketNo1);
+        assertEquals(1L, ticketNo1.getVersion());
+        TicketEnt foundTicket = ticketRepository.findByUUID(ticketNo1.getTicketID());
+        assertEquals(newMovieTime, foundTicket.getMovieTime());
+        assertEquals(1L, foundTicket.getVersion());
+    }
+
     @Test
     public void ticketRepositoryUpdateTicketWithNullLocalDateTimeTestNegative() {
         ticketNo1.setMovieTime(null);
@@ -231,4 +337,106 @@ public class TicketRepositoryTest extends TestContainerSetup {
         assertFalse(listOfActiveTicketsNo2.isEmpty());
         assertEquals(2, listOfActiveTicketsNo2.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void ticketRepositoryCreateTicketsForHotMovieWithConcurrentBuyersTestPositive() throws MovieRepositoryException, InterruptedException {
+        int numberOfBuyers = 200;
+        int numberOfSeats = 100;
+        MovieEnt hotMovie = movieRepository.create("HotMovieTitle", 40.00, 3, numberOfSeats);
+        LocalDateTime localDateTime = LocalDateTime.of(2023, 11, 4, 20, 10, 0);
+
+        AtomicInteger purchasedTickets = new AtomicInteger();
+        AtomicInteger rejectedPurchases = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(numberOfBuyers);
+        for (int i = 0; i < numberOfBuyers; i++) {
+            buyers.submit(() -> {
+                try {
+                    startSignal.await();
+                    ticketRepository.create(localDateTime, clientNo1.getUserID(), hotMovie.getMovieID());
+                    purchasedTickets.incrementAndGet();
+                } catch (TicketRepositoryCreateException exception) {
+                    rejectedPurchases.incrementAndGet();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        startSignal.countDown();
+        buyers.shutdown();
+        assertTrue(buyers.awaitTermination(60, TimeUnit.SECONDS));
+        long elapsedTime = System.nanoTime() - startTime;
+
+        // Rejected purchases end without writing anything, so only the successful ones are counted.
+        logger.info("Purchases per second for a single movie with {} concurrent buyers: {}.",
+                numberOfBuyers, String.format("%.2f", purchasedTickets.get() / (elapsedTime / 1_000_000_000.0)));
+
+        assertEquals(numberOfSeats, purchasedTickets.get());
+        assertEquals(numberOfBuyers - numberOfSeats, rejectedPurchases.get());
+        assertEquals(0, movieRepository.findByUUID(hotMovie.getMovieID()).getNumberOfAvailableSeats());
+        assertEquals(numberOfSeats, movieRepository.getListOfTicketsForMovie(hotMovie.getMovieID()).size());
+    }
+
+    // Ticket details are read through both codec modes - explicit entity codecs and POJO codecs.
+
+    @Test
+    public void ticketRepositoryFindAllDetailsAfterTestPositive() throws TicketRepositoryException, MovieRepositoryException {
+        MovieEnt foundMovieNo1 = movieRepository.findByUUID(movieNo1.getMovieID());
+        for (TicketRepository repository : List.of(ticketRepository, pojoTicketRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.findAllDetailsAfter(null, null, 10, EnumSet.allOf(TicketExpansion.class));
+            assertEquals(2, ticketDetails.size());
+            assertEquals(ticketNo2, ticketDetails.get(0).getTicket());
+            assertEquals(ticketNo1, ticketDetails.get(1).getTicket());
+
+            TicketDetailsEnt detailsNo1 = ticketDetails.get(1);
+            assertNotNull(detailsNo1.getMovie());
+            assertEquals(movieNo1.getMovieID(), detailsNo1.getMovie().getMovieID());
+            assertEquals(movieNo1.getMovieTitle(), detailsNo1.getMovie().getMovieTitle());
+            assertEquals(movieNo1.getMovieBasePrice(), detailsNo1.getMovie().getMovieBasePrice());
+            assertEquals(movieNo1.getScrRoomNumber(), detailsNo1.getMovie().getScrRoomNumber());
+            assertEquals(foundMovieNo1.getNumberOfAvailableSeats(), detailsNo1.getMovie().getNumberOfAvailableSeats());
+            assertNotNull(detailsNo1.getClient());
+            assertEquals(clientNo1.getUserID(), detailsNo1.getClient().getUserID());
+            assertEquals(clientNo1.getUserLogin(), detailsNo1.getClient().getUserLogin());
+            assertEquals(clientNo1.isUserStatusActive(), detailsNo1.getClient().isUserStatusActive());
+        }
+    }
+
+    @Test
+    public void ticketRepositoryFindAllDetailsAfterLastTicketTestPositive() throws TicketRepositoryException {
+        for (TicketRepository repository : List.of(ticketRepository, pojoTicketRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.findAllDetailsAfter(ticketNo2.getMovieTime(), ticketNo2.getTicketID(), 10, Set.of(TicketExpansion.MOVIE));
+            assertEquals(1, ticketDetails.size());
+            assertEquals(ticketNo1, ticketDetails.get(0).getTicket());
+            assertEquals(movieNo1.getMovieID(), ticketDetails.get(0).getMovie().getMovieID());
+            assertNull(ticketDetails.get(0).getClient());
+        }
+    }
+
+    @Test
+    public void ticketRepositoryFindAllDetailsAfterWithoutExpansionsTestPositive() throws TicketRepositoryException {
+        for (TicketRepository repository : List.of(ticketRepository, pojoTicketRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.findAllDetailsAfter(null, null, 1, Set.of());
+            assertEquals(1, ticketDetails.size());
+            assertEquals(ticketNo2, ticketDetails.get(0).getTicket());
+            assertNull(ticketDetails.get(0).getMovie());
+            assertNull(ticketDetails.get(0).getClient());
+        }
+    }
+
+    @Test
+    public void ticketRepositoryFindAllDetailsAfterWithDeletedMovieTestPositive() throws TicketRepositoryException {
+        // Movie document is removed directly, since the repository does not delete movies that still have tickets.
+        ticketRepository.getMovieCollection().deleteOne(Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieNo1.getMovieID()));
+        for (TicketRepository repository : List.of(ticketRepository, pojoTicketRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.findAllDetailsAfter(null, null, 10, EnumSet.allOf(TicketExpansion.class));
+            assertEquals(2, ticketDetails.size());
+            assertEquals(ticketNo1, ticketDetails.get(1).getTicket());
+            assertNull(ticketDetails.get(1).getMovie());
+            assertEquals(clientNo1.getUserID(), ticketDetails.get(1).getClient().getUserID());
+            assertEquals(movieNo2.getMovieID(), ticketDetails.get(0).getMovie().getMovieID());
+        }
+    }
+}
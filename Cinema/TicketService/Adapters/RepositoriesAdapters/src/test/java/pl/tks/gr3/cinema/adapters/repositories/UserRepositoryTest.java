@@ -1,12 +1,24 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 import org.junit.jupiter.api.*;
+import pl.tks.gr3.cinema.adapters.consts.model.MovieEntConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.*;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserActivationException;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserDeactivationException;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketDetailsEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
 import pl.tks.gr3.cinema.adapters.model.users.ClientEnt;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,7 +42,18 @@ public class UserRepositoryTest extends TestContainerSetup {
 
     @AfterEach
     public void removeExampleClients() {
-        // Remove sample data
+        // Remove sample data - tickets and movies are created only by ticket details tests
+        try {
+            for (TicketEnt ticket : ticketRepository.findAll()) {
+                ticketRepository.delete(ticket.getTicketID());
+            }
+            for (MovieEnt movie : movieRepository.findAll()) {
+                movieRepository.delete(movie.getMovieID());
+            }
+        } catch (TicketRepositoryException | MovieRepositoryException exception) {
+            throw new RuntimeException("Could not remove all tickets and movies from the test database after client repository tests.", exception);
+        }
+
         try {
             List<ClientEnt> listOfAllClients = userRepository.findAllClients();
             for (ClientEnt client : listOfAllClients) {
@@ -260,6 +283,31 @@ public class UserRepositoryTest extends TestContainerSetup {
         assertThrows(UserRepositoryUpdateException.class, () -> userRepository.updateClient(client));
     }
 
+    @Test
+    public void userRepositoryUpdateClientWithStaleVersionTestNegative() throws UserRepositoryException {
+        ClientEnt staleClient = userRepository.findClientByUUID(clientNo1.getUserID());
+        clientNo1.setUserLogin("NewLoginNo1");
+        userRepository.updateClient(clientNo1);
+        assertEquals(staleClient.getVersion() + 1, clientNo1.getVersion());
+        staleClient.setUserLogin("NewLoginNo2");
+        assertThrows(UserRepositoryVersionMismatchException.class, () -> userRepository.updateClient(staleClient));
+        assertEquals("NewLoginNo1", userRepository.findClientByUUID(clientNo1.getUserID()).getUserLogin());
+    }
+
+    @Test
+    public void userRepositoryUpdateClientWithoutVersionFieldTestPositive() throws UserRepositoryException {
+        userRepository.getClientCollection().updateOne(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, clientNo1.getUserID()), Updates.unset(UserEntConstants.VERSION));
+        clientNo1.setVersion(1L);
+        assertThrows(UserRepositoryVersionMismatchException.class, () -> userRepository.updateClient(clientNo1));
+        clientNo1.setVersion(0L);
+        clientNo1.setUserLogin("NewLoginNo1");
+        userRepository.updateClient(clientNo1);
+        assertEquals(1L, clientNo1.getVersion());
+        ClientEnt foundClient = userRepository.findClientByUUID(clientNo1.getUserID());
+        assertEquals("NewLoginNo1", foundClient.getUserLogin());
+        assertEquals(1L, foundClient.getVersion());
+    }
+
     @Test
     public void userRepositoryUpdateClientWithNullLoginTestNegative() {
         clientNo1.setUserLogin(null);
@@ -339,4 +387,57 @@ public class UserRepositoryTest extends TestContainerSetup {
         ClientEnt client = new ClientEnt(UUID.randomUUID(), "SomeLogin");
         assertThrows(UserRepositoryDeleteException.class, () -> userRepository.delete(client.getUserID()));
     }
-}
\ No newline at end of file
+
+    // Ticket details are read through both codec modes - explicit entity codecs and POJO codecs.
+
+    @Test
+    public void userRepositoryGetTicketDetailsForClientAfterTestPositive() throws UserRepositoryException, MovieRepositoryException, TicketRepositoryException {
+        MovieEnt movieNo1 = movieRepository.create("MovieTitleNo1", 25.00, 1, 45);
+        MovieEnt movieNo2 = movieRepository.create("MovieTitleNo2", 35.50, 2, 70);
+        TicketEnt ticketNo1 = ticketRepository.create(LocalDateTime.of(2023, 11, 2, 20, 15, 0), clientNo1.getUserID(), movieNo1.getMovieID());
+        TicketEnt ticketNo2 = ticketRepository.create(LocalDateTime.of(2023, 10, 28, 18, 45, 0), clientNo1.getUserID(), movieNo2.getMovieID());
+        ticketRepository.create(LocalDateTime.of(2023, 10, 29, 18, 45, 0), clientNo2.getUserID(), movieNo1.getMovieID());
+
+        for (UserRepository repository : List.of(userRepository, pojoUserRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.getTicketDetailsForClientAfter(clientNo1.getUserID(), UserEntConstants.CLIENT_DISCRIMINATOR,
+                    null, null, 10, EnumSet.allOf(TicketExpansion.class));
+            assertEquals(2, ticketDetails.size());
+            assertEquals(ticketNo2, ticketDetails.get(0).getTicket());
+            assertEquals(ticketNo1, ticketDetails.get(1).getTicket());
+
+            TicketDetailsEnt detailsNo2 = ticketDetails.get(0);
+            assertEquals(movieNo2.getMovieID(), detailsNo2.getMovie().getMovieID());
+            assertEquals(movieNo2.getMovieTitle(), detailsNo2.getMovie().getMovieTitle());
+            assertEquals(movieNo2.getMovieBasePrice(), detailsNo2.getMovie().getMovieBasePrice());
+            assertEquals(movieNo2.getScrRoomNumber(), detailsNo2.getMovie().getScrRoomNumber());
+            assertEquals(movieNo2.getNumberOfAvailableSeats() - 1, detailsNo2.getMovie().getNumberOfAvailableSeats());
+            assertEquals(clientNo1.getUserID(), detailsNo2.getClient().getUserID());
+            assertEquals(clientNo1.getUserLogin(), detailsNo2.getClient().getUserLogin());
+            assertEquals(clientNo1.isUserStatusActive(), detailsNo2.getClient().isUserStatusActive());
+
+            List<TicketDetailsEnt> nextTicketDetails = repository.getTicketDetailsForClientAfter(clientNo1.getUserID(), UserEntConstants.CLIENT_DISCRIMINATOR,
+                    ticketNo2.getMovieTime(), ticketNo2.getTicketID(), 10, EnumSet.of(TicketExpansion.CLIENT));
+            assertEquals(1, nextTicketDetails.size());
+            assertEquals(ticketNo1, nextTicketDetails.get(0).getTicket());
+            assertNull(nextTicketDetails.get(0).getMovie());
+            assertEquals(clientNo1.getUserID(), nextTicketDetails.get(0).getClient().getUserID());
+        }
+    }
+
+    @Test
+    public void userRepositoryGetTicketDetailsForClientAfterWithDeletedMovieTestPositive() throws UserRepositoryException, MovieRepositoryException, TicketRepositoryException {
+        MovieEnt movieNo1 = movieRepository.create("MovieTitleNo1", 25.00, 1, 45);
+        TicketEnt ticketNo1 = ticketRepository.create(LocalDateTime.of(2023, 11, 2, 20, 15, 0), clientNo1.getUserID(), movieNo1.getMovieID());
+        // Movie document is removed directly, since the repository does not delete movies that still have tickets.
+        movieRepository.getMovieCollection().deleteOne(Filters.eq(MovieEntConstants.GENERAL_IDENTIFIER, movieNo1.getMovieID()));
+
+        for (UserRepository repository : List.of(userRepository, pojoUserRepository)) {
+            List<TicketDetailsEnt> ticketDetails = repository.getTicketDetailsForClientAfter(clientNo1.getUserID(), UserEntConstants.CLIENT_DISCRIMINATOR,
+                    null, null, 10, EnumSet.allOf(TicketExpansion.class));
+            assertEquals(1, ticketDetails.size());
+            assertEquals(ticketNo1, ticketDetails.get(0).getTicket());
+            assertNull(ticketDetails.get(0).getMovie());
+            assertEquals(clientNo1.getUserID(), ticketDetails.get(0).getClient().getUserID());
+        }
+    }
+}
@@ -2,12 +2,15 @@ package pl.tks.gr3.cinema.viewrest.api;
 
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClientControllerInterface extends UserControllerInterface {
 
     // Read methods
 
-    ResponseEntity<?> getTicketsForCertainUser(UUID clientID);
-    ResponseEntity<?> getTicketsForCertainUser();
+    ResponseEntity<?> findAllByUUIDs(List<UUID> clientIDs);
+    ResponseEntity<?> getTicketsForCertainUser(UUID clientID, String cursor, Integer size, String expand);
+    ResponseEntity<?> getTicketsForCertainUser(LocalDateTime from, LocalDateTime to, String expand);
 }
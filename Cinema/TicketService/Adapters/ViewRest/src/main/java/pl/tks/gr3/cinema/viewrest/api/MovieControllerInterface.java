@@ -3,6 +3,8 @@ package pl.tks.gr3.cinema.viewrest.api;
 import org.springframework.http.ResponseEntity;
 import pl.tks.gr3.cinema.viewrest.model.movies.MovieInputDTO;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 public interface MovieControllerInterface {
@@ -10,11 +12,13 @@ public interface MovieControllerInterface {
     // Create methods
 
     ResponseEntity<?> create(MovieInputDTO movieInputDTO);
+    ResponseEntity<?> importCatalog(String contentType, InputStream catalog);
 
     // Read methods
 
-    ResponseEntity<?> findByUUID(UUID movieID);
-    ResponseEntity<?> findAll();
+    ResponseEntity<?> findByUUID(String ifNoneMatch, UUID movieID);
+    ResponseEntity<?> findAll(String ifNoneMatch, String ifModifiedSince, String cursor, Integer size);
+    ResponseEntity<?> findAllByUUIDs(List<UUID> movieIDs);
 
     // Update methods
 
@@ -22,5 +26,5 @@ public interface MovieControllerInterface {
 
     // Other methods
 
-    ResponseEntity<?> findAllTicketsForCertainMovie(UUID movieID);
+    ResponseEntity<?> findAllTicketsForCertainMovie(UUID movieID, String cursor, Integer size, String expand);
 }
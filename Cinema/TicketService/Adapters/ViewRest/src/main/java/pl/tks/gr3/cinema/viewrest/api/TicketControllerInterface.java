@@ -3,6 +3,7 @@ package pl.tks.gr3.cinema.viewrest.api;
 import org.springframework.http.ResponseEntity;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketInputDTO;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface TicketControllerInterface {
@@ -13,8 +14,9 @@ public interface TicketControllerInterface {
 
     // Read methods
 
-    ResponseEntity<?> findByUUID(UUID ticketID);
-    ResponseEntity<?> findAll();
+    ResponseEntity<?> findByUUID(String ifNoneMatch, UUID ticketID);
+    ResponseEntity<?> findAll(String cursor, Integer size, String expand);
+    ResponseEntity<?> findAllByUUIDs(List<UUID> ticketIDs);
 
     // Update methods
 
@@ -0,0 +1,24 @@
+package pl.tks.gr3.cinema.viewrest.batch;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Batch lookup takes a JSON array of identifiers, read with a single query instead of one request per resource.
+ * Number of identifiers is capped (batch.max-size) - larger batches are rejected rather than split.
+ */
+
+public class BatchRequests {
+
+    public static boolean isValid(List<UUID> identifiers, int maxBatchSize) {
+        return identifiers != null && !identifiers.isEmpty() && identifiers.size() <= maxBatchSize && !identifiers.contains(null);
+    }
+
+    public static ResponseEntity<?> invalid(int maxBatchSize) {
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .body("Batch must contain between 1 and " + maxBatchSize + " identifiers.");
+    }
+}
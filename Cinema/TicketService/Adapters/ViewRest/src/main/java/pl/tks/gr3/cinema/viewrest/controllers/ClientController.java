@@ -5,31 +5,49 @@ import jakarta.validation.Valid;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceCreateClientDuplicateLoginException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceVersionMismatchException;
 import pl.tks.gr3.cinema.viewrest.api.ClientControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.domain_model.users.User;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.domain_model.users.Role;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDetailsDTO;
+import pl.tks.gr3.cinema.viewrest.batch.BatchRequests;
+import pl.tks.gr3.cinema.viewrest.expansion.InvalidExpansionException;
+import pl.tks.gr3.cinema.viewrest.expansion.TicketExpansions;
+import pl.tks.gr3.cinema.viewrest.pagination.InvalidPageCursorException;
+import pl.tks.gr3.cinema.viewrest.pagination.Pagination;
 import pl.tks.gr3.cinema.viewrest.model.users.UserInputDTO;
 import pl.tks.gr3.cinema.viewrest.model.users.UserOutputDTO;
 import pl.tks.gr3.cinema.viewrest.model.users.UserUpdateDTO;
+import pl.tks.gr3.cinema.viewrest.security.AuthenticatedUser;
+import pl.tks.gr3.cinema.viewrest.versioning.ConditionalRequests;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -41,15 +59,22 @@ public class ClientController implements ClientControllerInterface {
 
     private final ReadUserUseCase<Client> readClient;
     private final WriteUserUseCase<Client> writeClient;
-    private final JWSUseCase jwsService;
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
 
     @Autowired
     public ClientController(ReadUserUseCase<Client> readClient,
                             WriteUserUseCase<Client> writeClient,
-                            JWSUseCase jwsService) {
+                            @Value("${pagination.default-page-size:20}") int defaultPageSize,
+                            @Value("${pagination.max-page-size:100}") int maxPageSize,
+                            @Value("${batch.max-size:100}") int maxBatchSize) {
         this.readClient = readClient;
         this.writeClient = writeClient;
-        this.jwsService = jwsService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping("/register")
@@ -75,12 +100,15 @@ public class ClientController implements ClientControllerInterface {
     }
 
     @GetMapping(value = "/login/self", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> findByLogin() {
+    public ResponseEntity<?> findByLogin(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Client is served from the client status index, so unchanged client is confirmed without reading the database.
             Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
+            if (ConditionalRequests.isNotModified(ifNoneMatch, VersionTag.of(client.getVersion()))) {
+                return ConditionalRequests.notModified(VersionTag.of(client.getVersion()));
+            }
             UserOutputDTO userOutputDTO = new UserOutputDTO(client.getUserID(), client.getUserLogin(), client.isUserStatusActive());
-            String etagContent = jwsService.generateSignatureForUser(client);
-            return ResponseEntity.ok().header(HttpHeaders.ETAG, etagContent).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(client.getVersion())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
         } catch (ClientServiceClientNotFoundException exception) {
             return ResponseEntity.notFound().build();
         } catch (GeneralServiceException exception) {
@@ -88,11 +116,59 @@ public class ClientController implements ClientControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    // Clients are returned in the order of requested identifiers - ones that do not exist are left out.
+
+    @AllowedRoles(Role.STAFF)
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public ResponseEntity<?> findAllByUUIDs(@RequestBody List<UUID> clientIDs) {
+        if (!BatchRequests.isValid(clientIDs, maxBatchSize)) {
+            return BatchRequests.invalid(maxBatchSize);
+        }
+        try {
+            List<UserOutputDTO> listOfDTOs = this.readClient.findAllByUUIDs(clientIDs).stream()
+                    .map(client -> new UserOutputDTO(client.getUserID(), client.getUserLogin(), client.isUserStatusActive()))
+                    .toList();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+        } catch (GeneralServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles(Role.STAFF)
     @GetMapping(value = "/{id}/ticket-list", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> getTicketsForCertainUser(@PathVariable("id") UUID clientID) {
+    public ResponseEntity<?> getTicketsForCertainUser(@PathVariable("id") UUID clientID,
+                                                      @RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                                      @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size,
+                                                      @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
         try {
+            Set<TicketExpansion> expansions = TicketExpansions.parse(expand);
+            if (!expansions.isEmpty()) {
+                if (Pagination.isRequested(cursor, size)) {
+                    int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                    Page<TicketDetails> pageOfTickets = this.readClient.getPageOfTicketDetailsForUser(clientID, Pagination.decodeCursor(cursor), pageSize, expansions);
+                    List<TicketDetailsDTO> listOfDTOs = pageOfTickets.getContent().stream().map(TicketExpansions::toDTO).toList();
+                    return listOfDTOs.isEmpty() ? ResponseEntity.noContent().build() :
+                            Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+                return ticketDetailsResponse(this.readClient.getTicketDetailsHistoryForUser(clientID, null, null, expansions));
+            }
+
+            if (Pagination.isRequested(cursor, size)) {
+                int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                Page<Ticket> pageOfTickets = this.readClient.getPageOfTicketsForUser(clientID, Pagination.decodeCursor(cursor), pageSize);
+                List<TicketDTO> listOfDTOs = pageOfTickets.getContent().stream()
+                        .map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()))
+                        .toList();
+
+                if (listOfDTOs.isEmpty()) {
+                    return ResponseEntity.noContent().build();
+                } else {
+                    return Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+            }
+
             List<Ticket> listOfTicketsForAClient = this.readClient.getTicketsForUser(clientID);
             List<TicketDTO> listOfDTOs = new ArrayList<>();
             for (Ticket ticket : listOfTicketsForAClient) {
@@ -103,6 +179,8 @@ public class ClientController implements ClientControllerInterface {
             } else {
                 return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
             }
+        } catch (InvalidPageCursorException | InvalidExpansionException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
@@ -110,10 +188,21 @@ public class ClientController implements ClientControllerInterface {
 
     @GetMapping(value = "/self/ticket-list", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> getTicketsForCertainUser() {
+    public ResponseEntity<?> getTicketsForCertainUser(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                      @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
         try {
-            Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
-            List<Ticket> listOfTicketsForAClient = this.readClient.getTicketsForUser(client.getUserID());
+            // Tickets are read by the client identifier from the token, without reading the client by login first.
+            Optional<UUID> clientID = AuthenticatedUser.userID();
+            Set<TicketExpansion> expansions = TicketExpansions.parse(expand);
+            if (!expansions.isEmpty()) {
+                UUID selfID = clientID.orElseGet(() -> this.readClient.findByLogin(AuthenticatedUser.login()).getUserID());
+                return ticketDetailsResponse(this.readClient.getTicketDetailsHistoryForUser(selfID, from, to, expansions));
+            }
+
+            List<Ticket> listOfTicketsForAClient = clientID.isPresent() ?
+                    this.readClient.getTicketHistoryForUser(clientID.get(), from, to) :
+                    this.readClient.getTicketHistoryForUser(AuthenticatedUser.login(), from, to);
             List<TicketDTO> listOfDTOs = new ArrayList<>();
             for (Ticket ticket : listOfTicketsForAClient) {
                 listOfDTOs.add(new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()));
@@ -123,28 +212,47 @@ public class ClientController implements ClientControllerInterface {
             } else {
                 return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
             }
+        } catch (InvalidExpansionException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
+    private ResponseEntity<?> ticketDetailsResponse(List<TicketDetails> listOfTickets) {
+        List<TicketDetailsDTO> listOfDTOs = listOfTickets.stream().map(TicketExpansions::toDTO).toList();
+        if (listOfDTOs.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        } else {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+        }
+    }
+
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody @Valid UserUpdateDTO userUpdateDTO) {
         try {
             Client client = new Client(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), userUpdateDTO.isUserStatusActive());
+            client.setVersion(VersionTag.parse(ifMatch));
             Set<ConstraintViolation<User>> violationSet = validator.validate(client);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
             if (!violationSet.isEmpty()) {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
             }
 
-            if (jwsService.verifyUserSignature(ifMatch.replace("\"", ""), client)) {
-                this.writeClient.update(client);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
+            // Ownership is checked against the token - client is read by login only when the token does not carry
+            // its identifier. Current status is served from the client status index, version check itself is done by the update.
+            UUID clientID = AuthenticatedUser.userID().orElseGet(() -> this.readClient.findByLogin(AuthenticatedUser.login()).getUserID());
+            if (!clientID.equals(client.getUserID()) || !AuthenticatedUser.login().equals(client.getUserLogin())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("Given object does not belong to the authenticated user.");
+            } else if (this.readClient.findByUUID(clientID).isUserStatusActive() != client.isUserStatusActive()) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Client status could not be changed with update.");
             }
+
+            this.writeClient.update(client);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(client.getVersion())).build();
+        } catch (InvalidVersionTagException | ClientServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
@@ -5,30 +5,59 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceMovieNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceVersionMismatchException;
 import pl.tks.gr3.cinema.viewrest.api.MovieControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.imports.ImportReport;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+import pl.tks.gr3.cinema.domain_model.users.Role;
 import pl.tks.gr3.cinema.ports.userinterface.movies.ReadMovieUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.movies.WriteMovieUseCase;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.viewrest.imports.CatalogRecordReader;
+import pl.tks.gr3.cinema.viewrest.model.imports.ImportErrorDTO;
+import pl.tks.gr3.cinema.viewrest.model.imports.ImportReportDTO;
 import pl.tks.gr3.cinema.viewrest.model.movies.MovieDTO;
 import pl.tks.gr3.cinema.viewrest.model.movies.MovieInputDTO;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDetailsDTO;
+import pl.tks.gr3.cinema.viewrest.batch.BatchRequests;
+import pl.tks.gr3.cinema.viewrest.expansion.InvalidExpansionException;
+import pl.tks.gr3.cinema.viewrest.expansion.TicketExpansions;
+import pl.tks.gr3.cinema.viewrest.pagination.InvalidPageCursorException;
+import pl.tks.gr3.cinema.viewrest.pagination.Pagination;
+import pl.tks.gr3.cinema.viewrest.versioning.ConditionalRequests;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RestController
+@ConditionalOnProperty(name = "web.mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping("/api/v1/movies")
 public class MovieController implements MovieControllerInterface {
 
@@ -36,18 +65,28 @@ public class MovieController implements MovieControllerInterface {
 
     private final ReadMovieUseCase readMovie;
     private final WriteMovieUseCase writeMovie;
-    private final JWSUseCase jwsService;
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int importBatchSize;
+    private final int maxBatchSize;
 
     @Autowired
     public MovieController(ReadMovieUseCase readMovie,
                            WriteMovieUseCase writeMovie,
-                           JWSUseCase jwsService) {
+                           @Value("${pagination.default-page-size:20}") int defaultPageSize,
+                           @Value("${pagination.max-page-size:100}") int maxPageSize,
+                           @Value("${import.batch-size:1000}") int importBatchSize,
+                           @Value("${batch.max-size:100}") int maxBatchSize) {
         this.readMovie = readMovie;
         this.writeMovie = writeMovie;
-        this.jwsService = jwsService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.importBatchSize = importBatchSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    @AllowedRoles(Role.STAFF)
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> create(@RequestBody MovieInputDTO movieInputDTO) {
@@ -67,35 +106,84 @@ public class MovieController implements MovieControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF) or hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    @AllowedRoles(Role.STAFF)
+    @PostMapping(value = "/import", consumes = {CatalogRecordReader.NDJSON_VALUE, CatalogRecordReader.CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public ResponseEntity<?> importCatalog(@RequestHeader(value = HttpHeaders.CONTENT_TYPE) String contentType, InputStream catalog) {
+        try {
+            boolean csvFormat = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CatalogRecordReader.CSV_VALUE));
+            ImportReport importReport = this.writeMovie.importCatalog(new CatalogRecordReader(catalog, csvFormat), importBatchSize);
+
+            List<ImportErrorDTO> errorDTOs = importReport.getErrors().stream()
+                    .map(error -> new ImportErrorDTO(error.getLineNumber(), error.getMessage()))
+                    .toList();
+            ImportReportDTO importReportDTO = new ImportReportDTO(importReport.getImportedMovies(), importReport.getImportedTickets(), errorDTOs);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(importReportDTO);
+        } catch (GeneralServiceException | UncheckedIOException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> findAll() {
+    public ResponseEntity<?> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
+                                     @RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                     @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size) {
         try {
-            List<Movie> listOfFoundMovies = this.readMovie.findAll();
-            List<MovieDTO> listOfDTOs = new ArrayList<>();
-            for (Movie movie : listOfFoundMovies) {
-                listOfDTOs.add(new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats()));
+            // Version of the collection is read before the movies, so they are never older than the version they are sent with.
+            CollectionVersion collectionVersion = this.readMovie.getCollectionVersion();
+            String versionTag = VersionTag.of(collectionVersion.getVersion());
+            if (ConditionalRequests.isNotModified(ifNoneMatch, ifModifiedSince, versionTag, collectionVersion.getLastModified())) {
+                return ConditionalRequests.notModified(versionTag, collectionVersion.getLastModified());
             }
 
-            if (listOfDTOs.isEmpty()) {
+            if (Pagination.isRequested(cursor, size)) {
+                int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                Page<Movie> pageOfMovies = this.readMovie.findPage(Pagination.decodeCursor(cursor), pageSize);
+                List<MovieDTO> listOfDTOs = pageOfMovies.getContent().stream()
+                        .map(movie -> new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats()))
+                        .toList();
+
+                if (listOfDTOs.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                } else {
+                    return Pagination.withNextLink(ConditionalRequests.withValidators(ResponseEntity.ok(), versionTag, collectionVersion.getLastModified()), pageOfMovies, pageSize)
+                            .contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+            }
+
+            Stream<Movie> foundMovies = this.readMovie.streamAll();
+            Iterator<Movie> movieIterator = foundMovies.iterator();
+            if (!movieIterator.hasNext()) {
+                foundMovies.close();
                 return ResponseEntity.notFound().build();
-            } else {
-                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
             }
+
+            // DTOs are written one by one while the cursor is read - stream is closed after the response body is written.
+            Stream<MovieDTO> movieDTOs = StreamSupport.stream(Spliterators.spliteratorUnknownSize(movieIterator, Spliterator.ORDERED), false)
+                    .onClose(foundMovies::close)
+                    .map(movie -> new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats()));
+            return ConditionalRequests.withValidators(ResponseEntity.ok(), versionTag, collectionVersion.getLastModified()).contentType(MediaType.APPLICATION_JSON).body(movieDTOs);
+        } catch (InvalidPageCursorException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF) or hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> findByUUID(@PathVariable("id") UUID movieID) {
+    public ResponseEntity<?> findByUUID(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, @PathVariable("id") UUID movieID) {
         try {
             Movie movie = this.readMovie.findByUUID(movieID);
+            if (ConditionalRequests.isNotModified(ifNoneMatch, VersionTag.of(movie.getVersion()))) {
+                return ConditionalRequests.notModified(VersionTag.of(movie.getVersion()));
+            }
             MovieDTO movieDTO = new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats());
-            return ResponseEntity.ok().header(HttpHeaders.ETAG, jwsService.generateSignatureForMovie(movie)).contentType(MediaType.APPLICATION_JSON).body(movieDTO);
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(movie.getVersion())).contentType(MediaType.APPLICATION_JSON).body(movieDTO);
         } catch (MovieServiceMovieNotFoundException exception) {
             return ResponseEntity.notFound().build();
         } catch (GeneralServiceException exception) {
@@ -103,10 +191,54 @@ public class MovieController implements MovieControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    // Movies are returned in the order of requested identifiers - ones that do not exist are left out.
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public ResponseEntity<?> findAllByUUIDs(@RequestBody List<UUID> movieIDs) {
+        if (!BatchRequests.isValid(movieIDs, maxBatchSize)) {
+            return BatchRequests.invalid(maxBatchSize);
+        }
+        try {
+            List<MovieDTO> listOfDTOs = this.readMovie.findAllByUUIDs(movieIDs).stream()
+                    .map(movie -> new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats()))
+                    .toList();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+        } catch (GeneralServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles(Role.STAFF)
     @GetMapping(value = "{id}/tickets", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> findAllTicketsForCertainMovie(@PathVariable("id") UUID movieID) {
+    public ResponseEntity<?> findAllTicketsForCertainMovie(@PathVariable("id") UUID movieID,
+                                                           @RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                                           @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size,
+                                                           @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
+        if (expand != null) {
+            return findAllTicketDetailsForCertainMovie(movieID, cursor, size, expand);
+        }
+
+        if (Pagination.isRequested(cursor, size)) {
+            try {
+                int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                Page<Ticket> pageOfTickets = this.readMovie.getPageOfTickets(movieID, Pagination.decodeCursor(cursor), pageSize);
+                List<TicketDTO> listOfDTOs = pageOfTickets.getContent().stream()
+                        .map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()))
+                        .toList();
+
+                if (listOfDTOs.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                } else {
+                    return Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+            } catch (InvalidPageCursorException | GeneralServiceException exception) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+            }
+        }
+
         List<Ticket> listOfTickets = this.readMovie.getListOfTickets(movieID);
         List<TicketDTO> listOfDTOs = new ArrayList<>();
         for (Ticket ticket : listOfTickets) {
@@ -120,11 +252,38 @@ public class MovieController implements MovieControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    private ResponseEntity<?> findAllTicketDetailsForCertainMovie(UUID movieID, String cursor, Integer size, String expand) {
+        try {
+            Set<TicketExpansion> expansions = TicketExpansions.parse(expand);
+            if (Pagination.isRequested(cursor, size)) {
+                int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                Page<TicketDetails> pageOfTickets = this.readMovie.getPageOfTicketDetails(movieID, Pagination.decodeCursor(cursor), pageSize, expansions);
+                List<TicketDetailsDTO> listOfDTOs = pageOfTickets.getContent().stream().map(TicketExpansions::toDTO).toList();
+
+                if (listOfDTOs.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                } else {
+                    return Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+            }
+
+            List<TicketDetailsDTO> listOfDTOs = this.readMovie.getListOfTicketDetails(movieID, expansions).stream().map(TicketExpansions::toDTO).toList();
+            if (listOfDTOs.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            } else {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+            }
+        } catch (InvalidPageCursorException | InvalidExpansionException | GeneralServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles(Role.STAFF)
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody MovieDTO movieDTO) {
         try {
             Movie movie = new Movie(movieDTO.getMovieID(), movieDTO.getMovieTitle(), movieDTO.getMovieBasePrice(), movieDTO.getScrRoomNumber(), movieDTO.getNumberOfAvailableSeats());
+            movie.setVersion(VersionTag.parse(ifMatch));
 
             Set<ConstraintViolation<Movie>> violationSet = validator.validate(movie);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
@@ -132,18 +291,16 @@ public class MovieController implements MovieControllerInterface {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
             }
 
-            if (jwsService.verifyMovieSignature(ifMatch.replace("\"", ""), movie)) {
-                this.writeMovie.update(movie);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
-            }
+            this.writeMovie.update(movie);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(movie.getVersion())).build();
+        } catch (InvalidVersionTagException | MovieServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    @AllowedRoles(Role.STAFF)
     @DeleteMapping(value = "/{id}/delete")
     @Override
     public ResponseEntity<?> delete(@PathVariable("id") UUID movieID) {
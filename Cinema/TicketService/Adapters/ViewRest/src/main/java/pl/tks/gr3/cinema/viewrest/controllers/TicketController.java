@@ -4,34 +4,56 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceReadException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceVersionMismatchException;
 import pl.tks.gr3.cinema.viewrest.api.TicketControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
 import pl.tks.gr3.cinema.domain_model.users.Client;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.domain_model.users.Role;
 import pl.tks.gr3.cinema.ports.userinterface.tickets.ReadTicketUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.tickets.WriteTicketUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDetailsDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketGroupSelfInputDTO;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketInputDTO;
 import pl.tks.gr3.cinema.viewrest.model.tickets.TicketSelfInputDTO;
+import pl.tks.gr3.cinema.viewrest.batch.BatchRequests;
+import pl.tks.gr3.cinema.viewrest.expansion.InvalidExpansionException;
+import pl.tks.gr3.cinema.viewrest.expansion.TicketExpansions;
+import pl.tks.gr3.cinema.viewrest.pagination.InvalidPageCursorException;
+import pl.tks.gr3.cinema.viewrest.pagination.Pagination;
+import pl.tks.gr3.cinema.viewrest.security.AuthenticatedUser;
+import pl.tks.gr3.cinema.viewrest.versioning.ConditionalRequests;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
 
 import java.net.URI;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RestController
+@ConditionalOnProperty(name = "web.mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping("/api/v1/tickets")
 public class TicketController implements TicketControllerInterface {
 
@@ -40,20 +62,30 @@ public class TicketController implements TicketControllerInterface {
     private final ReadTicketUseCase readTicket;
     private final WriteTicketUseCase writeTicket;
     private final ReadUserUseCase<Client> readClient;
-    private final JWSUseCase jwsService;
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxGroupSize;
+    private final int maxBatchSize;
 
     @Autowired
     public TicketController(ReadTicketUseCase readTicket,
                             WriteTicketUseCase writeTicket,
                             ReadUserUseCase<Client> readClient,
-                            JWSUseCase jwsService) {
+                            @Value("${pagination.default-page-size:20}") int defaultPageSize,
+                            @Value("${pagination.max-page-size:100}") int maxPageSize,
+                            @Value("${tickets.group.max-size:10}") int maxGroupSize,
+                            @Value("${batch.max-size:100}") int maxBatchSize) {
         this.readTicket = readTicket;
         this.writeTicket = writeTicket;
         this.readClient = readClient;
-        this.jwsService = jwsService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxGroupSize = maxGroupSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    @AllowedRoles(Role.STAFF)
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> create(@RequestBody TicketInputDTO ticketInputDTO) {
@@ -77,12 +109,11 @@ public class TicketController implements TicketControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    @AllowedRoles(Role.CLIENT)
     @PostMapping(value = "/self", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> create(@RequestBody TicketSelfInputDTO ticketSelfInputDTO) {
         try {
-            Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
-            Ticket ticket = this.writeTicket.create(ticketSelfInputDTO.getMovieTime(), client.getUserID(), ticketSelfInputDTO.getMovieID());
+            Ticket ticket = this.writeTicket.create(ticketSelfInputDTO.getMovieTime(), authenticatedClientID(), ticketSelfInputDTO.getMovieID());
 
             Set<ConstraintViolation<Ticket>> violationSet = validator.validate(ticket);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
@@ -97,23 +128,57 @@ public class TicketController implements TicketControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF) or hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    @AllowedRoles(Role.CLIENT)
+    @PostMapping(value = "/self/group", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createGroup(@RequestBody TicketGroupSelfInputDTO ticketGroupSelfInputDTO) {
+        int numberOfSeats = ticketGroupSelfInputDTO.getNumberOfSeats();
+        if (numberOfSeats < 1 || numberOfSeats > maxGroupSize) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Number of seats must be between 1 and " + maxGroupSize + ".");
+        }
+        try {
+            List<Ticket> tickets = this.writeTicket.createGroup(ticketGroupSelfInputDTO.getMovieTime(), authenticatedClientID(), ticketGroupSelfInputDTO.getMovieID(), numberOfSeats);
+
+            List<String> messages = tickets.stream().flatMap(ticket -> validator.validate(ticket).stream()).map(ConstraintViolation::getMessage).distinct().toList();
+            if (!messages.isEmpty()) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
+            }
+
+            List<TicketDTO> listOfDTOs = tickets.stream().map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID())).toList();
+            return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+        } catch (GeneralServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> findByUUID(@PathVariable("id") UUID ticketID) {
+    public ResponseEntity<?> findByUUID(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, @PathVariable("id") UUID ticketID) {
         try {
             Ticket ticket = this.readTicket.findByUUID(ticketID);
-            try {
-                Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
-                if (client.getUserID().equals(ticket.getUserID())) {
-                    TicketDTO ticketDTO = new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID());
-                    return ResponseEntity.ok().header(HttpHeaders.ETAG, jwsService.generateSignatureForTicket(ticket)).contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
-                } else {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket does not belong to you.");
+            UUID clientID;
+            Optional<UUID> tokenUserID = AuthenticatedUser.userID();
+            if (tokenUserID.isPresent()) {
+                clientID = AuthenticatedUser.hasRole(Role.CLIENT) ? tokenUserID.get() : null;
+            } else {
+                try {
+                    Client client = this.readClient.findByLogin(AuthenticatedUser.login());
+                    clientID = client != null ? client.getUserID() : null;
+                } catch (ClientServiceReadException exception) {
+                    clientID = null;
                 }
-            } catch (ClientServiceReadException exception) {
-                TicketDTO ticketDTO = new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID());
+            }
+
+            TicketDTO ticketDTO = new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID());
+            if (clientID == null) {
                 return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
+            } else if (clientID.equals(ticket.getUserID())) {
+                if (ConditionalRequests.isNotModified(ifNoneMatch, VersionTag.of(ticket.getVersion()))) {
+                    return ConditionalRequests.notModified(VersionTag.of(ticket.getVersion()));
+                }
+                return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(ticket.getVersion())).contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
+            } else {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket does not belong to you.");
             }
         } catch (TicketServiceTicketNotFoundException exception) {
             return ResponseEntity.notFound().build();
@@ -122,38 +187,106 @@ public class TicketController implements TicketControllerInterface {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF)")
+    // Tickets are returned in the order of requested identifiers - ones that do not exist are left out,
+    // and so are (for clients) tickets of other users.
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public ResponseEntity<?> findAllByUUIDs(@RequestBody List<UUID> ticketIDs) {
+        if (!BatchRequests.isValid(ticketIDs, maxBatchSize)) {
+            return BatchRequests.invalid(maxBatchSize);
+        }
+        try {
+            UUID clientID = AuthenticatedUser.hasRole(Role.CLIENT) ? authenticatedClientID() : null;
+            List<TicketDTO> listOfDTOs = this.readTicket.findAllByUUIDs(ticketIDs).stream()
+                    .filter(ticket -> clientID == null || clientID.equals(ticket.getUserID()))
+                    .map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()))
+                    .toList();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+        } catch (GeneralServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    @AllowedRoles(Role.STAFF)
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
-    public ResponseEntity<?> findAll() {
+    public ResponseEntity<?> findAll(@RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                     @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size,
+                                     @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
         try {
-            List<Ticket> listOfFoundTickets = this.readTicket.findAll();
-            List<TicketDTO> listOfDTOs = new ArrayList<>();
-            for (Ticket ticket : listOfFoundTickets) {
-                listOfDTOs.add(new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()));
+            Set<TicketExpansion> expansions = TicketExpansions.parse(expand);
+            if (!expansions.isEmpty()) {
+                return findAllDetails(cursor, size, expansions);
             }
 
-            if (listOfDTOs.isEmpty()) {
+            if (Pagination.isRequested(cursor, size)) {
+                int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+                Page<Ticket> pageOfTickets = this.readTicket.findPage(Pagination.decodeCursor(cursor), pageSize);
+                List<TicketDTO> listOfDTOs = pageOfTickets.getContent().stream()
+                        .map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()))
+                        .toList();
+
+                if (listOfDTOs.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                } else {
+                    return Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+                }
+            }
+
+            Stream<Ticket> foundTickets = this.readTicket.streamAll();
+            Iterator<Ticket> ticketIterator = foundTickets.iterator();
+            if (!ticketIterator.hasNext()) {
+                foundTickets.close();
                 return ResponseEntity.notFound().build();
-            } else {
-                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
             }
+
+            // DTOs are written one by one while the cursor is read - stream is closed after the response body is written.
+            Stream<TicketDTO> ticketDTOs = StreamSupport.stream(Spliterators.spliteratorUnknownSize(ticketIterator, Spliterator.ORDERED), false)
+                    .onClose(foundTickets::close)
+                    .map(ticket -> new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID()));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketDTOs);
+        } catch (InvalidPageCursorException | InvalidExpansionException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    private ResponseEntity<?> findAllDetails(String cursor, Integer size, Set<TicketExpansion> expansions) {
+        if (Pagination.isRequested(cursor, size)) {
+            int pageSize = Pagination.pageSize(size, defaultPageSize, maxPageSize);
+            Page<TicketDetails> pageOfTickets = this.readTicket.findDetailsPage(Pagination.decodeCursor(cursor), pageSize, expansions);
+            List<TicketDetailsDTO> listOfDTOs = pageOfTickets.getContent().stream().map(TicketExpansions::toDTO).toList();
+
+            if (listOfDTOs.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            } else {
+                return Pagination.withNextLink(ResponseEntity.ok(), pageOfTickets, pageSize).contentType(MediaType.APPLICATION_JSON).body(listOfDTOs);
+            }
+        }
+
+        Stream<TicketDetails> foundTickets = this.readTicket.streamAllDetails(expansions);
+        Iterator<TicketDetails> ticketIterator = foundTickets.iterator();
+        if (!ticketIterator.hasNext()) {
+            foundTickets.close();
+            return ResponseEntity.notFound().build();
+        }
+
+        Stream<TicketDetailsDTO> ticketDTOs = StreamSupport.stream(Spliterators.spliteratorUnknownSize(ticketIterator, Spliterator.ORDERED), false)
+                .onClose(foundTickets::close)
+                .map(TicketExpansions::toDTO);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketDTOs);
+    }
+
+    @AllowedRoles(Role.CLIENT)
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody TicketDTO ticketDTO) {
         try {
-            Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
-            Ticket ticket = this.readTicket.findByUUID(ticketDTO.getTicketID());
-            if (!ticket.getUserID().equals(client.getUserID())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket belongs to other user.");
-            }
-
-            ticket.setMovieTime(ticketDTO.getMovieTime());
+            // Ticket is not read before the update - its owner and version are checked by the update itself.
+            Ticket ticket = new Ticket(ticketDTO.getTicketID(), ticketDTO.getMovieTime(), ticketDTO.getTicketFinalPrice(), ticketDTO.getClientID(), ticketDTO.getMovieID());
+            ticket.setVersion(VersionTag.parse(ifMatch));
 
             Set<ConstraintViolation<Ticket>> violationSet = validator.validate(ticket);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
@@ -161,25 +294,27 @@ public class TicketController implements TicketControllerInterface {
                 return ResponseEntity.badRequest().body(messages);
             }
 
-            if (jwsService.verifyTicketSignature(ifMatch.replace("\"", ""), ticket)) {
-                this.writeTicket.update(ticket);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
+            if (!ticket.getUserID().equals(authenticatedClientID())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket belongs to other user.");
             }
+
+            this.writeTicket.update(ticket);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(ticket.getVersion())).build();
+        } catch (InvalidVersionTagException | TicketServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    @AllowedRoles(Role.CLIENT)
     @DeleteMapping(value = "/{id}/delete")
     @Override
     public ResponseEntity<?> delete(@PathVariable("id") UUID ticketID) {
         try {
-            Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
-            Ticket ticket =  this.readTicket.findByUUID(ticketID);
-            if (!ticket.getUserID().equals(client.getUserID())) {
+            Ticket ticket = this.readTicket.findByUUID(ticketID);
+            UUID clientID = authenticatedClientID();
+            if (!ticket.getUserID().equals(clientID)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket belongs to other user.");
             } else {
                 this.writeTicket.delete(ticketID);
@@ -189,4 +324,10 @@ public class TicketController implements TicketControllerInterface {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
+
+    // Client identifier comes from the token - client is read by login only when the token does not carry it.
+
+    private UUID authenticatedClientID() {
+        return AuthenticatedUser.userID().orElseGet(() -> this.readClient.findByLogin(AuthenticatedUser.login()).getUserID());
+    }
 }
@@ -0,0 +1,172 @@
+package pl.tks.gr3.cinema.viewrest.controllers.async;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.tks.gr3.cinema.application_services.async.CompletableFutures;
+import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceMovieNotFoundException;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.users.Role;
+import pl.tks.gr3.cinema.ports.userinterface.movies.AsyncReadMovieUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.movies.AsyncWriteMovieUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.movies.ReadMovieUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.movies.WriteMovieUseCase;
+import pl.tks.gr3.cinema.viewrest.controllers.MovieController;
+import pl.tks.gr3.cinema.viewrest.expansion.TicketExpansions;
+import pl.tks.gr3.cinema.viewrest.imports.CatalogRecordReader;
+import pl.tks.gr3.cinema.viewrest.model.movies.MovieDTO;
+import pl.tks.gr3.cinema.viewrest.model.movies.MovieInputDTO;
+import pl.tks.gr3.cinema.viewrest.pagination.Pagination;
+import pl.tks.gr3.cinema.viewrest.versioning.ConditionalRequests;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+import pl.tks.gr3.cinema.viewrest.streaming.JsonArrayStream;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+ * Movie endpoints used with web.mode=async - creating, reading and listing movies is non-blocking,
+ * remaining endpoints are handled by the blocking controller.
+ */
+
+@RestController
+@RequestMapping("/api/v1/movies")
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class AsyncMovieController {
+
+    private final static Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final AsyncReadMovieUseCase readMovie;
+    private final AsyncWriteMovieUseCase writeMovie;
+
+    private final MovieController blockingController;
+
+    @Autowired
+    public AsyncMovieController(AsyncReadMovieUseCase asyncReadMovie,
+                                AsyncWriteMovieUseCase asyncWriteMovie,
+                                ReadMovieUseCase readMovie,
+                                WriteMovieUseCase writeMovie,
+                                @Value("${pagination.default-page-size:20}") int defaultPageSize,
+                                @Value("${pagination.max-page-size:100}") int maxPageSize,
+                                @Value("${import.batch-size:1000}") int importBatchSize,
+                                @Value("${batch.max-size:100}") int maxBatchSize) {
+        this.readMovie = asyncReadMovie;
+        this.writeMovie = asyncWriteMovie;
+        this.blockingController = new MovieController(readMovie, writeMovie, defaultPageSize, maxPageSize, importBatchSize, maxBatchSize);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<?>> create(@RequestBody MovieInputDTO movieInputDTO) {
+        return this.writeMovie.create(movieInputDTO.getMovieTitle(), movieInputDTO.getMovieBasePrice(), movieInputDTO.getScrRoomNumber(), movieInputDTO.getNumberOfAvailableSeats())
+                .<ResponseEntity<?>>thenApply(movie -> {
+                    Set<ConstraintViolation<Movie>> violationSet = validator.validate(movie);
+                    List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
+                    if (!violationSet.isEmpty()) {
+                        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
+                    }
+
+                    MovieDTO movieDTO = toMovieDTO(movie);
+                    return ResponseEntity.created(URI.create("http://localhost:8000/api/v1/movies/" + movieDTO.getMovieID().toString())).contentType(MediaType.APPLICATION_JSON).body(movieDTO);
+                })
+                .exceptionally(AsyncMovieController::failure);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @PostMapping(value = "/import", consumes = {CatalogRecordReader.NDJSON_VALUE, CatalogRecordReader.CSV_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importCatalog(@RequestHeader(value = HttpHeaders.CONTENT_TYPE) String contentType, InputStream catalog) {
+        return this.blockingController.importCatalog(contentType, catalog);
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<?> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
+                                        @RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                        @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size) {
+        if (Pagination.isRequested(cursor, size)) {
+            return CompletableFuture.completedFuture(this.blockingController.findAll(ifNoneMatch, ifModifiedSince, cursor, size));
+        }
+
+        // Movies are read only when the version of the collection differs from the one the client has.
+
+        return this.readMovie.getCollectionVersion()
+                .thenCompose(collectionVersion -> {
+                    String versionTag = VersionTag.of(collectionVersion.getVersion());
+                    if (ConditionalRequests.isNotModified(ifNoneMatch, ifModifiedSince, versionTag, collectionVersion.getLastModified())) {
+                        return CompletableFuture.<Object>completedFuture(ConditionalRequests.notModified(versionTag, collectionVersion.getLastModified()));
+                    }
+                    return JsonArrayStream.of(this.readMovie.findAll(), AsyncMovieController::toMovieDTO,
+                            ConditionalRequests.withValidators(ResponseEntity.ok(), versionTag, collectionVersion.getLastModified()).build());
+                })
+                .exceptionally(AsyncMovieController::failure);
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<?>> findByUUID(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, @PathVariable("id") UUID movieID) {
+        return this.readMovie.findByUUID(movieID)
+                .<ResponseEntity<?>>thenApply(movie -> {
+                    if (ConditionalRequests.isNotModified(ifNoneMatch, VersionTag.of(movie.getVersion()))) {
+                        return ConditionalRequests.notModified(VersionTag.of(movie.getVersion()));
+                    }
+                    return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(movie.getVersion())).contentType(MediaType.APPLICATION_JSON).body(toMovieDTO(movie));
+                })
+                .exceptionally(AsyncMovieController::failure);
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> findAllByUUIDs(@RequestBody List<UUID> movieIDs) {
+        return this.blockingController.findAllByUUIDs(movieIDs);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @GetMapping(value = "{id}/tickets", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> findAllTicketsForCertainMovie(@PathVariable("id") UUID movieID,
+                                                           @RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                                           @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size,
+                                                           @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
+        return this.blockingController.findAllTicketsForCertainMovie(movieID, cursor, size, expand);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody MovieDTO movieDTO) {
+        return this.blockingController.update(ifMatch, movieDTO);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @DeleteMapping(value = "/{id}/delete")
+    public ResponseEntity<?> delete(@PathVariable("id") UUID movieID) {
+        return this.blockingController.delete(movieID);
+    }
+
+    private static ResponseEntity<?> failure(Throwable throwable) {
+        Throwable cause = CompletableFutures.unwrap(throwable);
+        if (cause instanceof MovieServiceMovieNotFoundException) {
+            return ResponseEntity.notFound().build();
+        } else if (cause instanceof GeneralServiceException) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(cause.getMessage());
+        }
+        throw new CompletionException(cause);
+    }
+
+    private static MovieDTO toMovieDTO(Movie movie) {
+        return new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats());
+    }
+}
@@ -0,0 +1,212 @@
+package pl.tks.gr3.cinema.viewrest.controllers.async;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.tks.gr3.cinema.application_services.async.CompletableFutures;
+import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceReadException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.domain_model.users.Role;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncReadTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncWriteTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.ReadTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.WriteTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.users.AsyncReadUserUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
+import pl.tks.gr3.cinema.viewrest.controllers.TicketController;
+import pl.tks.gr3.cinema.viewrest.expansion.TicketExpansions;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketGroupSelfInputDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketInputDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketSelfInputDTO;
+import pl.tks.gr3.cinema.viewrest.pagination.Pagination;
+import pl.tks.gr3.cinema.viewrest.security.AuthenticatedUser;
+import pl.tks.gr3.cinema.viewrest.streaming.JsonArrayStream;
+import pl.tks.gr3.cinema.viewrest.versioning.ConditionalRequests;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+ * Ticket endpoints used with web.mode=async. Buying a ticket, reading a single ticket and listing all tickets
+ * are composed from non-blocking repository calls and returned as CompletableFuture, so that the request thread
+ * is released while MongoDB is queried - the listing is written to the response as the tickets are read. Remaining endpoints are handled by the blocking controller.
+ */
+
+@RestController
+@RequestMapping("/api/v1/tickets")
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class AsyncTicketController {
+
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final AsyncReadTicketUseCase readTicket;
+    private final AsyncWriteTicketUseCase writeTicket;
+    private final AsyncReadUserUseCase<Client> readClient;
+
+    private final TicketController blockingController;
+
+    @Autowired
+    public AsyncTicketController(AsyncReadTicketUseCase asyncReadTicket,
+                                 AsyncWriteTicketUseCase asyncWriteTicket,
+                                 AsyncReadUserUseCase<Client> asyncReadClient,
+                                 ReadTicketUseCase readTicket,
+                                 WriteTicketUseCase writeTicket,
+                                 ReadUserUseCase<Client> readClient,
+                                 @Value("${pagination.default-page-size:20}") int defaultPageSize,
+                                 @Value("${pagination.max-page-size:100}") int maxPageSize,
+                                 @Value("${tickets.group.max-size:10}") int maxGroupSize,
+                                 @Value("${batch.max-size:100}") int maxBatchSize) {
+        this.readTicket = asyncReadTicket;
+        this.writeTicket = asyncWriteTicket;
+        this.readClient = asyncReadClient;
+        this.blockingController = new TicketController(readTicket, writeTicket, readClient, defaultPageSize, maxPageSize, maxGroupSize, maxBatchSize);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<?>> create(@RequestBody TicketInputDTO ticketInputDTO) {
+        return this.readClient.findByUUID(ticketInputDTO.getClientID())
+                .thenCompose(client -> {
+                    if (!client.isUserStatusActive()) {
+                        return CompletableFuture.<ResponseEntity<?>>completedFuture(ResponseEntity.badRequest().body("Client with given ID is not active."));
+                    }
+                    return this.writeTicket.create(ticketInputDTO.getMovieTime(), client.getUserID(), ticketInputDTO.getMovieID()).thenApply(AsyncTicketController::created);
+                })
+                .exceptionally(AsyncTicketController::failure);
+    }
+
+    @AllowedRoles(Role.CLIENT)
+    @PostMapping(value = "/self", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<?>> create(@RequestBody TicketSelfInputDTO ticketSelfInputDTO) {
+        return authenticatedClientID()
+                .thenCompose(clientID -> this.writeTicket.create(ticketSelfInputDTO.getMovieTime(), clientID, ticketSelfInputDTO.getMovieID()))
+                .thenApply(AsyncTicketController::created)
+                .exceptionally(AsyncTicketController::failure);
+    }
+
+    @AllowedRoles(Role.CLIENT)
+    @PostMapping(value = "/self/group", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createGroup(@RequestBody TicketGroupSelfInputDTO ticketGroupSelfInputDTO) {
+        return this.blockingController.createGroup(ticketGroupSelfInputDTO);
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<?>> findByUUID(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch, @PathVariable("id") UUID ticketID) {
+        // Ticket and the client are read at the same time - for staff members there is no client, and ticket is returned as is.
+        // Client identifier is taken from the token, when it carries one, and the client is not read at all.
+
+        CompletableFuture<Optional<UUID>> foundClientID;
+        Optional<UUID> tokenUserID = AuthenticatedUser.userID();
+        if (tokenUserID.isPresent()) {
+            foundClientID = CompletableFuture.completedFuture(AuthenticatedUser.hasRole(Role.CLIENT) ? tokenUserID : Optional.empty());
+        } else {
+            foundClientID = this.readClient.findByLogin(AuthenticatedUser.login())
+                    .thenApply(client -> Optional.of(client.getUserID()))
+                    .exceptionally(throwable -> {
+                        if (CompletableFutures.unwrap(throwable) instanceof ClientServiceReadException) {
+                            return Optional.empty();
+                        }
+                        throw new CompletionException(CompletableFutures.unwrap(throwable));
+                    });
+        }
+
+        return this.readTicket.findByUUID(ticketID)
+                .thenCombine(foundClientID, (ticket, clientID) -> {
+                    TicketDTO ticketDTO = toTicketDTO(ticket);
+                    if (clientID.isEmpty()) {
+                        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
+                    } else if (clientID.get().equals(ticket.getUserID())) {
+                        if (ConditionalRequests.isNotModified(ifNoneMatch, VersionTag.of(ticket.getVersion()))) {
+                            return ConditionalRequests.notModified(VersionTag.of(ticket.getVersion()));
+                        }
+                        return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(ticket.getVersion())).contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
+                    }
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("This ticket does not belong to you.");
+                })
+                .exceptionally(AsyncTicketController::failure);
+    }
+
+    @AllowedRoles(Role.STAFF)
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<?> findAll(@RequestParam(value = Pagination.CURSOR_PARAMETER, required = false) String cursor,
+                                        @RequestParam(value = Pagination.SIZE_PARAMETER, required = false) Integer size,
+                                        @RequestParam(value = TicketExpansions.EXPAND_PARAMETER, required = false) String expand) {
+        // Expanded listing is a single aggregation - it is read (and streamed) by the blocking controller.
+        if (Pagination.isRequested(cursor, size) || expand != null) {
+            return CompletableFuture.completedFuture(this.blockingController.findAll(cursor, size, expand));
+        }
+        return JsonArrayStream.of(this.readTicket.findAll(), AsyncTicketController::toTicketDTO)
+                .exceptionally(AsyncTicketController::failure);
+    }
+
+    @AllowedRoles({Role.STAFF, Role.CLIENT})
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> findAllByUUIDs(@RequestBody List<UUID> ticketIDs) {
+        return this.blockingController.findAllByUUIDs(ticketIDs);
+    }
+
+    @AllowedRoles(Role.CLIENT)
+    @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody TicketDTO ticketDTO) {
+        return this.blockingController.update(ifMatch, ticketDTO);
+    }
+
+    @AllowedRoles(Role.CLIENT)
+    @DeleteMapping(value = "/{id}/delete")
+    public ResponseEntity<?> delete(@PathVariable("id") UUID ticketID) {
+        return this.blockingController.delete(ticketID);
+    }
+
+    // Client identifier comes from the token - client is read by login only when the token does not carry it.
+
+    private CompletableFuture<UUID> authenticatedClientID() {
+        return AuthenticatedUser.userID()
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> this.readClient.findByLogin(AuthenticatedUser.login()).thenApply(Client::getUserID));
+    }
+
+    private static ResponseEntity<?> created(Ticket ticket) {
+        Set<ConstraintViolation<Ticket>> violationSet = validator.validate(ticket);
+        List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
+        if (!violationSet.isEmpty()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
+        }
+
+        TicketDTO ticketDTO = toTicketDTO(ticket);
+        return ResponseEntity.created(URI.create("http://localhost:8000/api/v1/tickets/" + ticketDTO.getTicketID().toString())).contentType(MediaType.APPLICATION_JSON).body(ticketDTO);
+    }
+
+    private static ResponseEntity<?> failure(Throwable throwable) {
+        Throwable cause = CompletableFutures.unwrap(throwable);
+        if (cause instanceof TicketServiceTicketNotFoundException) {
+            return ResponseEntity.notFound().build();
+        } else if (cause instanceof GeneralServiceException) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(cause.getMessage());
+        }
+        throw new CompletionException(cause);
+    }
+
+    private static TicketDTO toTicketDTO(Ticket ticket) {
+        return new TicketDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID());
+    }
+}
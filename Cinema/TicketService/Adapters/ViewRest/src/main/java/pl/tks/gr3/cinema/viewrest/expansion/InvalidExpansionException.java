@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.viewrest.expansion;
+
+public class InvalidExpansionException extends RuntimeException {
+    public InvalidExpansionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,50 @@
+package pl.tks.gr3.cinema.viewrest.expansion;
+
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.viewrest.model.movies.MovieDTO;
+import pl.tks.gr3.cinema.viewrest.model.tickets.TicketDetailsDTO;
+import pl.tks.gr3.cinema.viewrest.model.users.UserOutputDTO;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Ticket listings accept ?expand=movie,client - referenced movies and clients are then joined into the listing by the
+ * database, instead of being fetched by the client with one request per ticket. Listing without expand is not changed.
+ */
+
+public class TicketExpansions {
+
+    public static final String EXPAND_PARAMETER = "expand";
+
+    private static final String INVALID_EXPANSION = "Given expansion is not valid - only movie and client can be expanded.";
+
+    public static Set<TicketExpansion> parse(String expand) throws InvalidExpansionException {
+        Set<TicketExpansion> expansions = EnumSet.noneOf(TicketExpansion.class);
+        if (expand == null || expand.isBlank()) {
+            return expansions;
+        }
+        for (String value : expand.split(",")) {
+            try {
+                expansions.add(TicketExpansion.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException exception) {
+                throw new InvalidExpansionException(INVALID_EXPANSION);
+            }
+        }
+        return expansions;
+    }
+
+    public static TicketDetailsDTO toDTO(TicketDetails ticketDetails) {
+        Ticket ticket = ticketDetails.getTicket();
+        Movie movie = ticketDetails.getMovie();
+        Client client = ticketDetails.getClient();
+        return new TicketDetailsDTO(ticket.getTicketID(), ticket.getMovieTime(), ticket.getTicketPrice(), ticket.getUserID(), ticket.getMovieID(),
+                movie != null ? new MovieDTO(movie.getMovieID(), movie.getMovieTitle(), movie.getMovieBasePrice(), movie.getScrRoomNumber(), movie.getNumberOfAvailableSeats()) : null,
+                client != null ? new UserOutputDTO(client.getUserID(), client.getUserLogin(), client.isUserStatusActive()) : null);
+    }
+}
@@ -0,0 +1,194 @@
+package pl.tks.gr3.cinema.viewrest.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.imports.CatalogRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/*
+ * Reads imported catalog line by line, so that the request body is never held in memory as a whole.
+ * Every non-empty line is one record - a movie or a ticket:
+ *
+ * NDJSON: {"type": "movie", "movieID": "...", "movieTitle": "...", "movieBasePrice": 25.0, "scrRoomNumber": 1, "numberOfAvailableSeats": 100}
+ *         {"type": "ticket", "ticketID": "...", "movieTime": "2024-05-01T20:00:00", "ticketPrice": 25.0, "clientID": "...", "movieID": "..."}
+ * CSV:    movie,<movieID>,<movieTitle>,<movieBasePrice>,<scrRoomNumber>,<numberOfAvailableSeats>
+ *         ticket,<ticketID>,<movieTime>,<ticketPrice>,<clientID>,<movieID>
+ *
+ * Identifiers are optional (new ones are generated), record type defaults to movie. Lines starting with # are skipped in CSV.
+ */
+
+public class CatalogRecordReader implements Iterator<CatalogRecord> {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private static final String MOVIE_TYPE = "movie";
+    private static final String TICKET_TYPE = "ticket";
+    private static final int NUMBER_OF_CSV_COLUMNS = 6;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final boolean csvFormat;
+
+    private long lineNumber;
+    private CatalogRecord nextRecord;
+
+    public CatalogRecordReader(InputStream inputStream, boolean csvFormat) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.csvFormat = csvFormat;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRecord != null) {
+            return true;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (csvFormat && line.startsWith("#"))) {
+                    continue;
+                }
+                nextRecord = csvFormat ? parseCsvLine(lineNumber, line) : parseJsonLine(lineNumber, line);
+                return true;
+            }
+            return false;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public CatalogRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CatalogRecord record = nextRecord;
+        nextRecord = null;
+        return record;
+    }
+
+    private static CatalogRecord parseJsonLine(long lineNumber, String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            String type = node.path("type").asText(MOVIE_TYPE);
+            if (MOVIE_TYPE.equals(type)) {
+                return CatalogRecord.ofMovie(lineNumber, new Movie(
+                        identifier(node.path("movieID").asText(null)),
+                        node.path("movieTitle").asText(null),
+                        requiredNumber(node, "movieBasePrice").asDouble(),
+                        requiredNumber(node, "scrRoomNumber").asInt(),
+                        requiredNumber(node, "numberOfAvailableSeats").asInt()));
+            } else if (TICKET_TYPE.equals(type)) {
+                return CatalogRecord.ofTicket(lineNumber, new Ticket(
+                        identifier(node.path("ticketID").asText(null)),
+                        movieTime(node.path("movieTime").asText(null)),
+                        requiredNumber(node, "ticketPrice").asDouble(),
+                        reference(node.path("clientID").asText(null)),
+                        reference(node.path("movieID").asText(null))));
+            }
+            return CatalogRecord.invalid(lineNumber, "Unknown record type: " + type + ".");
+        } catch (IOException | IllegalArgumentException exception) {
+            return CatalogRecord.invalid(lineNumber, exception.getMessage());
+        }
+    }
+
+    private static CatalogRecord parseCsvLine(long lineNumber, String line) {
+        try {
+            List<String> columns = splitCsvLine(line);
+            if (columns.size() != NUMBER_OF_CSV_COLUMNS) {
+                return CatalogRecord.invalid(lineNumber, "Expected " + NUMBER_OF_CSV_COLUMNS + " columns, found " + columns.size() + ".");
+            }
+            String type = columns.get(0).isBlank() ? MOVIE_TYPE : columns.get(0).trim();
+            if (MOVIE_TYPE.equals(type)) {
+                return CatalogRecord.ofMovie(lineNumber, new Movie(
+                        identifier(columns.get(1)),
+                        columns.get(2),
+                        Double.parseDouble(columns.get(3).trim()),
+                        Integer.parseInt(columns.get(4).trim()),
+                        Integer.parseInt(columns.get(5).trim())));
+            } else if (TICKET_TYPE.equals(type)) {
+                return CatalogRecord.ofTicket(lineNumber, new Ticket(
+                        identifier(columns.get(1)),
+                        movieTime(columns.get(2)),
+                        Double.parseDouble(columns.get(3).trim()),
+                        reference(columns.get(4)),
+                        reference(columns.get(5))));
+            }
+            return CatalogRecord.invalid(lineNumber, "Unknown record type: " + type + ".");
+        } catch (IllegalArgumentException exception) {
+            return CatalogRecord.invalid(lineNumber, exception.getMessage());
+        }
+    }
+
+    // Values may be enclosed in double quotes (with "" standing for a quote), so that they can contain commas.
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (quoted) {
+                if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (character == '"') {
+                    quoted = false;
+                } else {
+                    column.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(character);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static UUID identifier(String value) {
+        return value == null || value.isBlank() ? UUID.randomUUID() : UUID.fromString(value.trim());
+    }
+
+    private static UUID reference(String value) {
+        return value == null || value.isBlank() ? null : UUID.fromString(value.trim());
+    }
+
+    private static LocalDateTime movieTime(String value) {
+        try {
+            return value == null || value.isBlank() ? null : LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException(exception.getMessage(), exception);
+        }
+    }
+
+    private static JsonNode requiredNumber(JsonNode node, String fieldName) {
+        JsonNode value = node.path(fieldName);
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException("Field " + fieldName + " must be a number.");
+        }
+        return value;
+    }
+}
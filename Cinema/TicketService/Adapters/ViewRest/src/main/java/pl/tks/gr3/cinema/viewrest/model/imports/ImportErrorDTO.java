@@ -0,0 +1,19 @@
+package pl.tks.gr3.cinema.viewrest.model.imports;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class ImportErrorDTO {
+
+    private long lineNumber;
+    private String message;
+
+    public ImportErrorDTO(long lineNumber,
+                          String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+}
@@ -0,0 +1,24 @@
+package pl.tks.gr3.cinema.viewrest.model.imports;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    private int importedMovies;
+    private int importedTickets;
+    private List<ImportErrorDTO> errors;
+
+    public ImportReportDTO(int importedMovies,
+                           int importedTickets,
+                           List<ImportErrorDTO> errors) {
+        this.importedMovies = importedMovies;
+        this.importedTickets = importedTickets;
+        this.errors = errors;
+    }
+}
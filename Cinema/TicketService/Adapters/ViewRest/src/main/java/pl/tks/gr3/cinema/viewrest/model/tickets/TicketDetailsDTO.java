@@ -0,0 +1,44 @@
+package pl.tks.gr3.cinema.viewrest.model.tickets;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import pl.tks.gr3.cinema.viewrest.model.movies.MovieDTO;
+import pl.tks.gr3.cinema.viewrest.model.users.UserOutputDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter
+@NoArgsConstructor
+public class TicketDetailsDTO {
+
+    private UUID ticketID;
+    private LocalDateTime movieTime;
+    private double ticketFinalPrice;
+    private UUID clientID;
+    private UUID movieID;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MovieDTO movie;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserOutputDTO client;
+
+    public TicketDetailsDTO(UUID ticketID,
+                            LocalDateTime movieTime,
+                            double ticketFinalPrice,
+                            UUID clientID,
+                            UUID movieID,
+                            MovieDTO movie,
+                            UserOutputDTO client) {
+        this.ticketID = ticketID;
+        this.movieTime = movieTime;
+        this.ticketFinalPrice = ticketFinalPrice;
+        this.clientID = clientID;
+        this.movieID = movieID;
+        this.movie = movie;
+        this.client = client;
+    }
+}
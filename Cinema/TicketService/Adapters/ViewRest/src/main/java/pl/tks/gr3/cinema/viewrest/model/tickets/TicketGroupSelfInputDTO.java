@@ -0,0 +1,18 @@
+package pl.tks.gr3.cinema.viewrest.model.tickets;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketGroupSelfInputDTO {
+
+    private String movieTime;
+    private UUID movieID;
+    private int numberOfSeats;
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.viewrest.pagination;
+
+public class InvalidPageCursorException extends RuntimeException {
+    public InvalidPageCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
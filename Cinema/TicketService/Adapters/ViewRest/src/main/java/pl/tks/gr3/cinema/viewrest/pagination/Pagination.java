@@ -0,0 +1,69 @@
+package pl.tks.gr3.cinema.viewrest.pagination;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/*
+ * Cursor is opaque for the client - it is only passed back in the next request, taken from the Link header.
+ * Internally it holds keyset of the last element on the previous page: its ID and (optionally) movie time.
+ */
+
+public class Pagination {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+    public static final String SIZE_PARAMETER = "size";
+
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Given page cursor is not valid.";
+
+    public static boolean isRequested(String cursor, Integer size) {
+        return cursor != null || size != null;
+    }
+
+    public static int pageSize(Integer requestedSize, int defaultPageSize, int maxPageSize) {
+        int pageSize = requestedSize != null ? requestedSize : defaultPageSize;
+        return Math.max(1, Math.min(pageSize, maxPageSize));
+    }
+
+    public static String encodeCursor(PageCursor cursor) {
+        String value = cursor.getLastMovieTime() != null ?
+                cursor.getLastID() + CURSOR_SEPARATOR + cursor.getLastMovieTime() :
+                cursor.getLastID().toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decodeCursor(String cursor) throws InvalidPageCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(CURSOR_SEPARATOR);
+            if (separatorIndex < 0) {
+                return new PageCursor(UUID.fromString(value));
+            }
+            return new PageCursor(UUID.fromString(value.substring(0, separatorIndex)), LocalDateTime.parse(value.substring(separatorIndex + 1)));
+        } catch (RuntimeException exception) {
+            throw new InvalidPageCursorException(INVALID_CURSOR, exception);
+        }
+    }
+
+    public static ResponseEntity.BodyBuilder withNextLink(ResponseEntity.BodyBuilder responseBuilder, Page<?> page, int pageSize) {
+        if (page.hasNext()) {
+            String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam(CURSOR_PARAMETER, encodeCursor(page.getNextCursor()))
+                    .replaceQueryParam(SIZE_PARAMETER, pageSize)
+                    .toUriString();
+            responseBuilder.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+        }
+        return responseBuilder;
+    }
+}
@@ -0,0 +1,38 @@
+package pl.tks.gr3.cinema.viewrest.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.tks.gr3.cinema.application_services.jwt.UserPrincipal;
+import pl.tks.gr3.cinema.domain_model.users.Role;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * User identifier is read from the token principal, so the client does not have to be looked up by login on each
+ * request. It is absent only for requests authenticated without that claim (tokens issued before it was added) -
+ * callers fall back to the lookup by login then.
+ */
+
+public class AuthenticatedUser {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public static String login() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    public static Optional<UUID> userID() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return Optional.ofNullable(userPrincipal.getUserID());
+        }
+        return Optional.empty();
+    }
+
+    public static boolean hasRole(Role role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> (ROLE_PREFIX + role.name()).equals(authority.getAuthority()));
+    }
+}
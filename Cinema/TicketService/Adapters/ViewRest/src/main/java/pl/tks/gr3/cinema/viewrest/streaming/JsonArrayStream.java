@@ -0,0 +1,107 @@
+package pl.tks.gr3.cinema.viewrest.streaming;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/*
+ * Writes elements of a publisher to the response body as a JSON array, one element at a time, so that a listing
+ * is never collected in memory. Returned future completes once the first element (or the end of an empty publisher)
+ * arrives - with the emitter writing the body, or with 404 for an empty publisher. A failure before the first element
+ * completes the future exceptionally, so it is handled like a failure of any other async endpoint, once the body
+ * is started a failure can only abort the response. Emitter is returned as is (not as a body of ResponseEntity<?>,
+ * which Spring MVC would serialize), status and headers of the given response are set by the emitter itself.
+ * Elements are written on the thread delivering them (the driver's thread), the next element is requested only
+ * after the previous one was written.
+ */
+
+public class JsonArrayStream<T> implements Flow.Subscriber<T> {
+
+    private final Function<T, ?> mapper;
+    private final ResponseBodyEmitter emitter;
+    private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private boolean started;
+
+    private JsonArrayStream(Function<T, ?> mapper, ResponseEntity<Void> responseHead) {
+        this.mapper = mapper;
+        this.emitter = new ResponseBodyEmitter() {
+            @Override
+            protected void extendResponse(ServerHttpResponse outputMessage) {
+                super.extendResponse(outputMessage);
+                outputMessage.setStatusCode(responseHead.getStatusCode());
+                outputMessage.getHeaders().putAll(responseHead.getHeaders());
+                outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            }
+        };
+    }
+
+    public static <T> CompletableFuture<Object> of(Flow.Publisher<T> publisher, Function<T, ?> mapper) {
+        return of(publisher, mapper, ResponseEntity.ok().build());
+    }
+
+    public static <T> CompletableFuture<Object> of(Flow.Publisher<T> publisher, Function<T, ?> mapper, ResponseEntity<Void> responseHead) {
+        JsonArrayStream<T> stream = new JsonArrayStream<>(mapper, responseHead);
+        publisher.subscribe(stream);
+        return stream.response;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(throwable -> subscription.cancel());
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> element = new LinkedHashSet<>();
+            element.add(new ResponseBodyEmitter.DataWithMediaType(started ? "," : "[", MediaType.APPLICATION_JSON));
+            element.add(new ResponseBodyEmitter.DataWithMediaType(mapper.apply(item), MediaType.APPLICATION_JSON));
+            emitter.send(element);
+        } catch (IOException | RuntimeException exception) {
+            subscription.cancel();
+            onError(exception);
+            return;
+        }
+        if (!started) {
+            started = true;
+            response.complete(emitter);
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (started) {
+            emitter.completeWithError(throwable);
+        } else {
+            response.completeExceptionally(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!started) {
+            response.complete(ResponseEntity.notFound().build());
+            return;
+        }
+        try {
+            emitter.send("]", MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException exception) {
+            emitter.completeWithError(exception);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pl.tks.gr3.cinema.viewrest.versioning;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/*
+ * Conditional GET - resource (or listing) version is checked before it is read and sent, so a client that already
+ * has the current one gets 304 Not Modified without a body. If-None-Match takes precedence, If-Modified-Since is
+ * only checked when the request has no If-None-Match header. Version tags are compared with the weak comparison.
+ */
+
+public class ConditionalRequests {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY_TAG = "*";
+
+    public static boolean isNotModified(String ifNoneMatch, String versionTag) {
+        return isNotModified(ifNoneMatch, null, versionTag, null);
+    }
+
+    public static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, String versionTag, Instant lastModified) {
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String value = tag.trim();
+                if (value.equals(ANY_TAG) || opaqueTag(value).equals(opaqueTag(versionTag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince != null && lastModified != null) {
+            try {
+                Instant modifiedSince = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(modifiedSince);
+            } catch (DateTimeParseException exception) {
+                // Invalid date is ignored, as if the header was not sent.
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public static ResponseEntity<?> notModified(String versionTag) {
+        return notModified(versionTag, null);
+    }
+
+    public static ResponseEntity<?> notModified(String versionTag, Instant lastModified) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versionTag, lastModified).build();
+    }
+
+    public static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder responseBuilder, String versionTag, Instant lastModified) {
+        responseBuilder.header(HttpHeaders.ETAG, versionTag);
+        // Last-Modified has a precision of one second - it is not sent until that second is over, since another
+        // change made within it would not be visible to If-Modified-Since.
+        if (lastModified != null && lastModified.truncatedTo(ChronoUnit.SECONDS).isBefore(Instant.now().truncatedTo(ChronoUnit.SECONDS))) {
+            responseBuilder.lastModified(lastModified);
+        }
+        return responseBuilder;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.viewrest.versioning;
+
+public class InvalidVersionTagException extends RuntimeException {
+    public InvalidVersionTagException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package pl.tks.gr3.cinema.application_services.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+public class CompletableFutures {
+
+    // Dependent stages wrap the original exception in CompletionException - it is unwrapped before mapping.
+
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    public static <T> CompletableFuture<T> mapFailure(CompletableFuture<T> future, Function<Throwable, ? extends Throwable> mapper) {
+        return future.exceptionallyCompose(throwable -> CompletableFuture.failedFuture(mapper.apply(unwrap(throwable))));
+    }
+}
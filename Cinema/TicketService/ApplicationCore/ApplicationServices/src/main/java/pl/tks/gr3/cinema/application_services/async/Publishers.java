@@ -0,0 +1,34 @@
+package pl.tks.gr3.cinema.application_services.async;
+
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+public class Publishers {
+
+    // Same as CompletableFutures.mapFailure, for results that are streamed - elements and demand are passed
+    // through unchanged, only the error that ends the stream is mapped.
+
+    public static <T> Flow.Publisher<T> mapFailure(Flow.Publisher<T> publisher, Function<Throwable, ? extends Throwable> mapper) {
+        return subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(mapper.apply(CompletableFutures.unwrap(throwable)));
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+}
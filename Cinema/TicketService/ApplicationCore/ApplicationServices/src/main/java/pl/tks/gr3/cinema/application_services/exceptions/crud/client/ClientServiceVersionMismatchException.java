@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.client;
+
+public class ClientServiceVersionMismatchException extends ClientServiceUpdateException {
+
+    public ClientServiceVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.movie;
+
+public class MovieServiceVersionMismatchException extends MovieServiceUpdateException {
+
+    public MovieServiceVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.ticket;
+
+public class TicketServiceVersionMismatchException extends TicketServiceUpdateException {
+
+    public TicketServiceVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,62 @@
+package pl.tks.gr3.cinema.application_services.jwt;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Bloom filter of identifiers - mightContain never returns false for a value that was put into it, and returns
+ * true for a value that was not with probability close to the one given for the expected number of values.
+ * Bit positions are derived from two 64-bit hashes of the identifier (h1 + i * h2), and bits are set atomically,
+ * so values can be put into the filter while it is being read by other threads.
+ */
+
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedValues, double falsePositiveProbability) {
+        long optimalBitCount = (long) Math.ceil(-Math.max(expectedValues, 1) * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((optimalBitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) optimalBitCount / Math.max(expectedValues, 1) * Math.log(2)));
+    }
+
+    public void put(UUID value) {
+        long firstHash = mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+        long secondHash = mix(firstHash ^ value.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, bitCount);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            long word;
+            while (((word = bits.get(wordIndex)) & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask)) {
+                // Another bit of the same word was set in the meantime - retried with the current value.
+            }
+        }
+    }
+
+    public boolean mightContain(UUID value) {
+        long firstHash = mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+        long secondHash = mix(firstHash ^ value.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, bitCount);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Finalization step of MurmurHash3 - every bit of the input affects every bit of the result.
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+package pl.tks.gr3.cinema.application_services.jwt;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Revoked access tokens - either single tokens (by token ID) or all tokens of a user issued up to some moment
+ * (by user ID). Every check goes through the Bloom filter first, so a token that was not revoked (almost every
+ * one) is accepted without looking anything up. Only when the filter answers "maybe" are the revocations
+ * themselves checked. Revocations are added one by one as they are received, and ones that expired (together
+ * with all tokens they affected) are dropped from the filter when it is rebuilt on a later addition.
+ */
+
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final Map<UUID, Revocation> revocations = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    private volatile BloomFilter bloomFilter;
+    private int filterCapacity;
+
+    @Autowired
+    public TokenRevocationList(@Value("${security.token-revocation.expected-revocations:10000}") int expectedRevocations) {
+        this(expectedRevocations, Clock.systemUTC());
+    }
+
+    public TokenRevocationList(int expectedRevocations, Clock clock) {
+        this.clock = clock;
+        this.filterCapacity = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    // Token without an issue date is treated as issued before any revocation of its user.
+
+    public boolean isRevoked(UUID tokenID, UUID userID, Instant issuedAt) {
+        BloomFilter currentFilter = bloomFilter;
+        boolean tokenMightBeRevoked = tokenID != null && currentFilter.mightContain(tokenID);
+        boolean userMightBeRevoked = userID != null && currentFilter.mightContain(userID);
+        if (!tokenMightBeRevoked && !userMightBeRevoked) {
+            return false;
+        }
+        Instant now = clock.instant();
+        return (tokenMightBeRevoked && covers(revocations.get(tokenID), issuedAt, now))
+                || (userMightBeRevoked && covers(revocations.get(userID), issuedAt, now));
+    }
+
+    // Revocations may be received more than once and out of order - the latest one of each identifier is kept.
+
+    public synchronized void add(UUID revokedID, Instant revokedAt, Instant expiresAt) {
+        Instant now = clock.instant();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        revocations.merge(revokedID, new Revocation(revokedAt, expiresAt), (current, added) ->
+                added.revokedAt.isAfter(current.revokedAt) ? added : current);
+
+        boolean expiredRemoved = revocations.values().removeIf(revocation -> !revocation.expiresAt.isAfter(now));
+        if (expiredRemoved || revocations.size() > filterCapacity) {
+            rebuildFilter();
+        } else {
+            bloomFilter.put(revokedID);
+        }
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    // New filter is filled before it replaces the current one, so checks made in the meantime use the old one.
+
+    private void rebuildFilter() {
+        while (revocations.size() > filterCapacity) {
+            filterCapacity *= 2;
+        }
+        BloomFilter rebuiltFilter = new BloomFilter(filterCapacity, FALSE_POSITIVE_PROBABILITY);
+        revocations.keySet().forEach(rebuiltFilter::put);
+        bloomFilter = rebuiltFilter;
+    }
+
+    private static boolean covers(Revocation revocation, Instant issuedAt, Instant now) {
+        return revocation != null
+                && revocation.expiresAt.isAfter(now)
+                && (issuedAt == null || !issuedAt.isAfter(revocation.revokedAt));
+    }
+
+    private static class Revocation {
+
+        private final Instant revokedAt;
+        private final Instant expiresAt;
+
+        private Revocation(Instant revokedAt, Instant expiresAt) {
+            this.revokedAt = revokedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package pl.tks.gr3.cinema.application_services.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/*
+ * Principal of a request authenticated with a JWT token - user identifier and status are taken from the token claims,
+ * so they are known without reading the user by login. Identifier is null for tokens issued without that claim.
+ */
+
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements Principal {
+
+    private final String login;
+    private final UUID userID;
+    private final boolean userStatusActive;
+
+    @Override
+    public String getName() {
+        return login;
+    }
+
+    @Override
+    public String toString() {
+        return login;
+    }
+}
@@ -0,0 +1,22 @@
+package pl.tks.gr3.cinema.application_services.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+    private final UUID userID;
+    private final boolean userStatusActive;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+    private final UUID tokenID;
+    private final Instant issuedAt;
+}
@@ -0,0 +1,75 @@
+package pl.tks.gr3.cinema.application_services.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/*
+ * Tokens that were already verified, keyed by SHA-256 digest of the token (so that tokens themselves are not
+ * kept in memory). Each entry expires together with its token, so a cached token is never accepted after its
+ * "exp" claim. Tokens that fail verification are never cached.
+ */
+
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(maxSize);
+        meterRegistryProvider.ifAvailable(meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified"));
+    }
+
+    public VerifiedTokenCache(long maxSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken get(String jwtToken, Function<String, VerifiedToken> verifier) {
+        return verifiedTokens.get(digest(jwtToken), key -> verifier.apply(jwtToken));
+    }
+
+    private static ByteBuffer digest(String jwtToken) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(jwtToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken verifiedToken, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verifiedToken.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
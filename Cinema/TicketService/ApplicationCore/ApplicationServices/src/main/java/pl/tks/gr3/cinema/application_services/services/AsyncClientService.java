@@ -0,0 +1,47 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryUserNotFoundException;
+import pl.tks.gr3.cinema.application_services.async.CompletableFutures;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceReadException;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.ports.infrastructure.users.AsyncReadUserPort;
+import pl.tks.gr3.cinema.ports.userinterface.users.AsyncReadUserUseCase;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class AsyncClientService implements AsyncReadUserUseCase<Client> {
+
+    private final AsyncReadUserPort asyncReadUserPort;
+
+    @Autowired
+    public AsyncClientService(AsyncReadUserPort asyncReadUserPort) {
+        this.asyncReadUserPort = asyncReadUserPort;
+    }
+
+    @Override
+    public CompletableFuture<Client> findByUUID(UUID clientID) {
+        return CompletableFutures.mapFailure(this.asyncReadUserPort.findClientByUUID(clientID), AsyncClientService::toServiceException);
+    }
+
+    @Override
+    public CompletableFuture<Client> findByLogin(String login) {
+        return CompletableFutures.mapFailure(this.asyncReadUserPort.findClientByLogin(login), AsyncClientService::toServiceException);
+    }
+
+    private static Throwable toServiceException(Throwable cause) {
+        if (cause instanceof UserRepositoryUserNotFoundException) {
+            return new ClientServiceClientNotFoundException(cause.getMessage(), cause);
+        } else if (cause instanceof UserRepositoryException) {
+            return new ClientServiceReadException(cause.getMessage(), cause);
+        }
+        return cause;
+    }
+}
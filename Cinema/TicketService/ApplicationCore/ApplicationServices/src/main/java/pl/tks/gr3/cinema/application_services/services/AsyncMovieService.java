@@ -0,0 +1,79 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryMovieNotFoundException;
+import pl.tks.gr3.cinema.application_services.async.CompletableFutures;
+import pl.tks.gr3.cinema.application_services.async.Publishers;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceCreateException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceMovieNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceReadException;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+import pl.tks.gr3.cinema.ports.infrastructure.movies.AsyncCreateMoviePort;
+import pl.tks.gr3.cinema.ports.infrastructure.movies.AsyncReadMoviePort;
+import pl.tks.gr3.cinema.ports.userinterface.movies.AsyncReadMovieUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.movies.AsyncWriteMovieUseCase;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+@Service
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class AsyncMovieService implements AsyncReadMovieUseCase, AsyncWriteMovieUseCase {
+
+    private final AsyncCreateMoviePort asyncCreateMoviePort;
+    private final AsyncReadMoviePort asyncReadMoviePort;
+
+    @Autowired
+    public AsyncMovieService(AsyncCreateMoviePort asyncCreateMoviePort,
+                             AsyncReadMoviePort asyncReadMoviePort) {
+        this.asyncCreateMoviePort = asyncCreateMoviePort;
+        this.asyncReadMoviePort = asyncReadMoviePort;
+    }
+
+    @Override
+    public CompletableFuture<Movie> create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats) {
+        return CompletableFutures.mapFailure(this.asyncCreateMoviePort.create(movieTitle, movieBasePrice, scrRoomNumber, numberOfAvailableSeats), cause -> {
+            if (cause instanceof MovieRepositoryException) {
+                return new MovieServiceCreateException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Movie> findByUUID(UUID movieID) {
+        return CompletableFutures.mapFailure(this.asyncReadMoviePort.findByUUID(movieID), cause -> {
+            if (cause instanceof MovieRepositoryMovieNotFoundException) {
+                return new MovieServiceMovieNotFoundException(cause.getMessage(), cause);
+            } else if (cause instanceof MovieRepositoryException) {
+                return new MovieServiceReadException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+
+    @Override
+    public Flow.Publisher<Movie> findAll() {
+        return Publishers.mapFailure(this.asyncReadMoviePort.findAll(), cause -> {
+            if (cause instanceof MovieRepositoryException) {
+                return new MovieServiceReadException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+
+    @Override
+    public CompletableFuture<CollectionVersion> getCollectionVersion() {
+        return CompletableFutures.mapFailure(this.asyncReadMoviePort.getCollectionVersion(), cause -> {
+            if (cause instanceof MovieRepositoryException) {
+                return new MovieServiceReadException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryTicketNotFoundException;
+import pl.tks.gr3.cinema.application_services.async.CompletableFutures;
+import pl.tks.gr3.cinema.application_services.async.Publishers;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceCreateException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceReadException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncCreateTicketPort;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncReadTicketPort;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncReadTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncWriteTicketUseCase;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+@Service
+@ConditionalOnProperty(name = "web.mode", havingValue = "async")
+public class AsyncTicketService implements AsyncReadTicketUseCase, AsyncWriteTicketUseCase {
+
+    private final AsyncCreateTicketPort asyncCreateTicketPort;
+    private final AsyncReadTicketPort asyncReadTicketPort;
+
+    @Autowired
+    public AsyncTicketService(AsyncCreateTicketPort asyncCreateTicketPort,
+                              AsyncReadTicketPort asyncReadTicketPort) {
+        this.asyncCreateTicketPort = asyncCreateTicketPort;
+        this.asyncReadTicketPort = asyncReadTicketPort;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> create(String movieTime, UUID clientID, UUID movieID) {
+        LocalDateTime movieTimeParsed;
+        try {
+            movieTimeParsed = LocalDateTime.parse(movieTime);
+        } catch (DateTimeParseException exception) {
+            return CompletableFuture.failedFuture(new TicketServiceCreateException(exception.getMessage(), exception));
+        }
+        return CompletableFutures.mapFailure(this.asyncCreateTicketPort.create(movieTimeParsed, clientID, movieID), cause -> {
+            if (cause instanceof TicketRepositoryException) {
+                return new TicketServiceCreateException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Ticket> findByUUID(UUID ticketID) {
+        return CompletableFutures.mapFailure(this.asyncReadTicketPort.findByUUID(ticketID), cause -> {
+            if (cause instanceof TicketRepositoryTicketNotFoundException) {
+                return new TicketServiceTicketNotFoundException(cause.getMessage(), cause);
+            } else if (cause instanceof TicketRepositoryException) {
+                return new TicketServiceReadException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+
+    @Override
+    public Flow.Publisher<Ticket> findAll() {
+        return Publishers.mapFailure(this.asyncReadTicketPort.findAll(), cause -> {
+            if (cause instanceof TicketRepositoryException) {
+                return new TicketServiceReadException(cause.getMessage(), cause);
+            }
+            return cause;
+        });
+    }
+}
@@ -6,14 +6,21 @@ import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryUserNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryVersionMismatchException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.*;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.ports.infrastructure.users.*;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -63,6 +70,15 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
         }
     }
 
+    @Override
+    public List<Client> findAllByUUIDs(List<UUID> clientIDs) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.findClientsByUUIDs(clientIDs);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public Client findByLogin(String login) throws ClientServiceReadException {
         try {
@@ -78,6 +94,8 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
     public void update(Client client) throws ClientServiceUpdateException {
         try {
             this.updateUserPort.updateClient(client);
+        } catch (UserRepositoryVersionMismatchException exception) {
+            throw new ClientServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (UserRepositoryException exception) {
             throw new ClientServiceUpdateException(exception.getMessage(), exception);
         }
@@ -110,6 +128,51 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
         }
     }
 
+    @Override
+    public List<Ticket> getTicketHistoryForUser(UUID clientID, LocalDateTime from, LocalDateTime to) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.getTicketHistory(clientID, UserEntConstants.CLIENT_DISCRIMINATOR, from, to);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<Ticket> getTicketHistoryForUser(String login, LocalDateTime from, LocalDateTime to) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.getTicketHistory(login, UserEntConstants.CLIENT_DISCRIMINATOR, from, to);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<Ticket> getPageOfTicketsForUser(UUID clientID, PageCursor cursor, int pageSize) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.getPageOfTickets(clientID, UserEntConstants.CLIENT_DISCRIMINATOR, cursor, pageSize);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketDetails> getTicketDetailsHistoryForUser(UUID clientID, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.getTicketDetailsHistory(clientID, UserEntConstants.CLIENT_DISCRIMINATOR, from, to, expansions);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<TicketDetails> getPageOfTicketDetailsForUser(UUID clientID, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws ClientServiceReadException {
+        try {
+            return this.readUserPort.getPageOfTicketDetails(clientID, UserEntConstants.CLIENT_DISCRIMINATOR, cursor, pageSize, expansions);
+        } catch (UserRepositoryException exception) {
+            throw new ClientServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public void delete(UUID userID) throws ClientServiceDeleteException {
         try {
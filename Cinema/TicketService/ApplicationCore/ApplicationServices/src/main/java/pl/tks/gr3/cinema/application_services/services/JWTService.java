@@ -2,11 +2,21 @@ package pl.tks.gr3.cinema.application_services.services;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.MissingClaimException;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedToken;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedTokenCache;
 import pl.tks.gr3.cinema.ports.userinterface.other.JWTUseCase;
 
 import java.util.*;
@@ -17,22 +27,29 @@ public class JWTService implements JWTUseCase {
 
     private final static String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
 
+    // Verifier is thread safe - it is built once, together with the HMAC key.
+
+    private final JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey())).build();
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    public JWTService(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    public VerifiedToken verify(String jwtToken) throws JWTVerificationException {
+        return verifiedTokenCache.get(jwtToken, this::verifyToken);
+    }
 
     @Override
     public String extractUsername(String jwtToken) {
-        JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey())).build();
-        DecodedJWT decodedJWT = jwtVerifier.verify(jwtToken);
-        return decodedJWT.getSubject();
+        return verify(jwtToken).getSubject();
     }
 
     @Override
     public boolean isTokenValid(String jwtToken, UserDetails userDetails) {
         try {
-            JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey()))
-                    .withSubject(userDetails.getUsername())
-                    .build();
-            jwtVerifier.verify(jwtToken);
-            return true;
+            return userDetails.getUsername().equals(verify(jwtToken).getSubject());
         } catch (JWTVerificationException exception) {
             return false;
         }
@@ -41,16 +58,46 @@ public class JWTService implements JWTUseCase {
     @Override
     public boolean isTokenValid(String jwtToken) {
         try {
-            JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey()))
-                    .build();
-            jwtVerifier.verify(jwtToken);
-            return JWT.decode(jwtToken).getExpiresAt().after(new Date());
+            verify(jwtToken);
+            return true;
         } catch (JWTVerificationException exception) {
             return false;
         }
     }
 
-    private String getSignInKey() {
+    // Signature, expiry and claims are checked in one pass over the token.
+
+    private VerifiedToken verifyToken(String jwtToken) throws JWTVerificationException {
+        DecodedJWT decodedJWT = jwtVerifier.verify(jwtToken);
+        if (decodedJWT.getExpiresAtAsInstant() == null) {
+            throw new MissingClaimException(RegisteredClaims.EXPIRES_AT);
+        }
+        List<String> userRoles = decodedJWT.getClaim(UserEntConstants.USER_ROLE).asList(String.class);
+        List<GrantedAuthority> authorities = userRoles == null ? List.of() : userRoles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        Boolean userStatusActive = decodedJWT.getClaim(UserEntConstants.USER_STATUS_ACTIVE).asBoolean();
+        return new VerifiedToken(decodedJWT.getSubject(), extractIdentifier(decodedJWT, UserEntConstants.USER_ID),
+                userStatusActive == null || userStatusActive, authorities, decodedJWT.getExpiresAtAsInstant(),
+                extractIdentifier(decodedJWT, RegisteredClaims.JWT_ID), decodedJWT.getIssuedAtAsInstant());
+    }
+
+    // Tokens issued before identifiers were added to the claims have none - users are then looked up by login,
+    // and such tokens can only be revoked together with all other tokens of the user.
+
+    private UUID extractIdentifier(DecodedJWT decodedJWT, String claimName) throws JWTVerificationException {
+        Claim identifierClaim = decodedJWT.getClaim(claimName);
+        if (identifierClaim.isMissing() || identifierClaim.isNull()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(identifierClaim.asString());
+        } catch (IllegalArgumentException | NullPointerException exception) {
+            throw new IncorrectClaimException("The Claim '" + claimName + "' is not a valid identifier.", claimName, identifierClaim);
+        }
+    }
+
+    private static String getSignInKey() {
         byte[] keyBytes = Base64.getDecoder().decode(SECRET_KEY);
         return new String(keyBytes);
     }
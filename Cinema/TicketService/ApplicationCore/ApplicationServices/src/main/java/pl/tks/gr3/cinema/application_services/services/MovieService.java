@@ -1,21 +1,36 @@
 package pl.tks.gr3.cinema.application_services.services;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.GeneralRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.MovieRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryMovieNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryVersionMismatchException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.*;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.imports.CatalogRecord;
+import pl.tks.gr3.cinema.domain_model.imports.ImportError;
+import pl.tks.gr3.cinema.domain_model.imports.ImportReport;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.CreateMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.DeleteMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.ReadMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.UpdateMoviePort;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.CreateTicketPort;
 import pl.tks.gr3.cinema.ports.userinterface.movies.ReadMovieUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.movies.WriteMovieUseCase;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MovieService implements ReadMovieUseCase, WriteMovieUseCase {
@@ -24,17 +39,21 @@ public class MovieService implements ReadMovieUseCase, WriteMovieUseCase {
     private final ReadMoviePort readMoviePort;
     private final UpdateMoviePort updateMoviePort;
     private final DeleteMoviePort deleteMoviePort;
+    private final CreateTicketPort createTicketPort;
 
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @Autowired
     public MovieService(CreateMoviePort createMoviePort,
                         ReadMoviePort readMoviePort,
                         UpdateMoviePort updateMoviePort,
-                        DeleteMoviePort deleteMoviePort) {
+                        DeleteMoviePort deleteMoviePort,
+                        CreateTicketPort createTicketPort) {
         this.createMoviePort = createMoviePort;
         this.readMoviePort = readMoviePort;
         this.updateMoviePort = updateMoviePort;
         this.deleteMoviePort = deleteMoviePort;
+        this.createTicketPort = createTicketPort;
     }
 
 
@@ -58,6 +77,15 @@ public class MovieService implements ReadMovieUseCase, WriteMovieUseCase {
         }
     }
 
+    @Override
+    public List<Movie> findAllByUUIDs(List<UUID> movieIDs) throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.findAllByUUIDs(movieIDs);
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public List<Movie> findAll() throws MovieServiceReadException {
         try {
@@ -67,10 +95,39 @@ public class MovieService implements ReadMovieUseCase, WriteMovieUseCase {
         }
     }
 
+    @Override
+    public Stream<Movie> streamAll() throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.streamAll();
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<Movie> findPage(PageCursor cursor, int pageSize) throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.findPage(cursor, pageSize);
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public CollectionVersion getCollectionVersion() throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.getCollectionVersion();
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public void update(Movie movie) throws MovieServiceUpdateException {
         try {
             this.updateMoviePort.update(movie);
+        } catch (MovieRepositoryVersionMismatchException exception) {
+            throw new MovieServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (MovieRepositoryException exception) {
             throw new MovieServiceUpdateException(exception.getMessage(), exception);
         }
@@ -85,8 +142,96 @@ public class MovieService implements ReadMovieUseCase, WriteMovieUseCase {
         }
     }
 
+    // Records are validated and written in chunks of batchSize - invalid records are reported and skipped,
+    // the rest of the chunk is written with one unordered bulk write per collection.
+
+    @Override
+    public ImportReport importCatalog(Iterator<CatalogRecord> records, int batchSize) throws MovieServiceCreateException {
+        ImportReport importReport = new ImportReport();
+        List<CatalogRecord> chunk = new ArrayList<>(batchSize);
+        try {
+            while (records.hasNext()) {
+                chunk.add(records.next());
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, importReport);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, importReport);
+            }
+        } catch (GeneralRepositoryException exception) {
+            throw new MovieServiceCreateException(exception.getMessage(), exception);
+        }
+        importReport.getErrors().sort(Comparator.comparingLong(ImportError::getLineNumber));
+        return importReport;
+    }
+
+    private void importChunk(List<CatalogRecord> chunk, ImportReport importReport) {
+        List<Movie> movies = new ArrayList<>();
+        List<Long> movieLines = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+        List<Long> ticketLines = new ArrayList<>();
+
+        for (CatalogRecord record : chunk) {
+            if (!record.isValid()) {
+                importReport.addError(record.getLineNumber(), record.getParseError());
+                continue;
+            }
+
+            Object importedObject = record.getMovie() != null ? record.getMovie() : record.getTicket();
+            Set<ConstraintViolation<Object>> violationSet = validator.validate(importedObject);
+            if (!violationSet.isEmpty()) {
+                importReport.addError(record.getLineNumber(), violationSet.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("; ")));
+            } else if (record.getMovie() != null) {
+                movies.add(record.getMovie());
+                movieLines.add(record.getLineNumber());
+            } else {
+                tickets.add(record.getTicket());
+                ticketLines.add(record.getLineNumber());
+            }
+        }
+
+        // Movies go first, so that tickets from the same chunk may reference them.
+
+        Map<Integer, String> movieFailures = movies.isEmpty() ? Map.of() : this.createMoviePort.createAll(movies);
+        movieFailures.forEach((index, message) -> importReport.addError(movieLines.get(index), message));
+        importReport.addImportedMovies(movies.size() - movieFailures.size());
+
+        Map<Integer, String> ticketFailures = tickets.isEmpty() ? Map.of() : this.createTicketPort.createAll(tickets);
+        ticketFailures.forEach((index, message) -> importReport.addError(ticketLines.get(index), message));
+        importReport.addImportedTickets(tickets.size() - ticketFailures.size());
+    }
+
     @Override
     public List<Ticket> getListOfTickets(UUID movieID) {
         return this.readMoviePort.getListOfTickets(movieID);
     }
+
+    @Override
+    public Page<Ticket> getPageOfTickets(UUID movieID, PageCursor cursor, int pageSize) throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.getPageOfTickets(movieID, cursor, pageSize);
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<TicketDetails> getListOfTicketDetails(UUID movieID, Set<TicketExpansion> expansions) throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.getListOfTicketDetails(movieID, expansions);
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<TicketDetails> getPageOfTicketDetails(UUID movieID, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws MovieServiceReadException {
+        try {
+            return this.readMoviePort.getPageOfTicketDetails(movieID, cursor, pageSize, expansions);
+        } catch (MovieRepositoryException exception) {
+            throw new MovieServiceReadException(exception.getMessage(), exception);
+        }
+    }
 }
@@ -4,8 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.tks.gr3.cinema.adapters.exceptions.TicketRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryTicketNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryVersionMismatchException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.*;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.CreateTicketPort;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.DeleteTicketPort;
 import pl.tks.gr3.cinema.ports.infrastructure.tickets.ReadTicketPort;
@@ -16,7 +21,9 @@ import pl.tks.gr3.cinema.ports.userinterface.tickets.WriteTicketUseCase;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class TicketService implements ReadTicketUseCase, WriteTicketUseCase {
@@ -47,6 +54,16 @@ public class TicketService implements ReadTicketUseCase, WriteTicketUseCase {
         }
     }
 
+    @Override
+    public List<Ticket> createGroup(String movieTime, UUID clientID, UUID movieID, int numberOfSeats) throws TicketServiceCreateException {
+        try {
+            LocalDateTime movieTimeParsed = LocalDateTime.parse(movieTime);
+            return this.createTicketPort.createGroup(movieTimeParsed, clientID, movieID, numberOfSeats);
+        } catch (TicketRepositoryException | DateTimeParseException exception) {
+            throw new TicketServiceCreateException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public Ticket findByUUID(UUID ticketID) throws TicketServiceReadException {
         try {
@@ -58,6 +75,15 @@ public class TicketService implements ReadTicketUseCase, WriteTicketUseCase {
         }
     }
 
+    @Override
+    public List<Ticket> findAllByUUIDs(List<UUID> ticketIDs) throws TicketServiceReadException {
+        try {
+            return this.readTicketPort.findAllByUUIDs(ticketIDs);
+        } catch (TicketRepositoryException exception) {
+            throw new TicketServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public List<Ticket> findAll() throws TicketServiceReadException {
         try {
@@ -67,10 +93,48 @@ public class TicketService implements ReadTicketUseCase, WriteTicketUseCase {
         }
     }
 
+    @Override
+    public Stream<Ticket> streamAll() throws TicketServiceReadException {
+        try {
+            return this.readTicketPort.streamAll();
+        } catch (TicketRepositoryException exception) {
+            throw new TicketServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<Ticket> findPage(PageCursor cursor, int pageSize) throws TicketServiceReadException {
+        try {
+            return this.readTicketPort.findPage(cursor, pageSize);
+        } catch (TicketRepositoryException exception) {
+            throw new TicketServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Stream<TicketDetails> streamAllDetails(Set<TicketExpansion> expansions) throws TicketServiceReadException {
+        try {
+            return this.readTicketPort.streamAllDetails(expansions);
+        } catch (TicketRepositoryException exception) {
+            throw new TicketServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public Page<TicketDetails> findDetailsPage(PageCursor cursor, int pageSize, Set<TicketExpansion> expansions) throws TicketServiceReadException {
+        try {
+            return this.readTicketPort.findDetailsPage(cursor, pageSize, expansions);
+        } catch (TicketRepositoryException exception) {
+            throw new TicketServiceReadException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public void update(Ticket ticket) throws TicketServiceUpdateException {
         try {
             this.updateTicketPort.update(ticket);
+        } catch (TicketRepositoryVersionMismatchException exception) {
+            throw new TicketServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (TicketRepositoryException exception) {
             throw new TicketServiceUpdateException(exception.getMessage(), exception);
         }
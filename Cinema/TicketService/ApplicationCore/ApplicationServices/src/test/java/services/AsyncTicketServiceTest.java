@@ -0,0 +1,137 @@
+package services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryReadException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.ticket.TicketRepositoryTicketNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceCreateException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceReadException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.application_services.services.AsyncTicketService;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncCreateTicketPort;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.AsyncReadTicketPort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncTicketServiceTest {
+
+    @Mock
+    private AsyncCreateTicketPort asyncCreateTicketPort;
+
+    @Mock
+    private AsyncReadTicketPort asyncReadTicketPort;
+
+    @InjectMocks
+    private AsyncTicketService asyncTicketService;
+
+    private static Ticket ticketNo1;
+    private static Ticket ticketNo2;
+
+    @BeforeEach
+    public void initializeSampleData() {
+        ticketNo1 = new Ticket(UUID.randomUUID(), LocalDateTime.now().withNano(0), 40, UUID.randomUUID(), UUID.randomUUID());
+        ticketNo2 = new Ticket(UUID.randomUUID(), LocalDateTime.now().withNano(0), 45, UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    public void asyncTicketServiceCreateTicketTestPositive() {
+        when(asyncCreateTicketPort.create(Mockito.eq(ticketNo1.getMovieTime()), Mockito.eq(ticketNo1.getUserID()), Mockito.eq(ticketNo1.getMovieID())))
+                .thenReturn(CompletableFuture.completedFuture(ticketNo1));
+
+        Ticket ticket = asyncTicketService.create(ticketNo1.getMovieTime().toString(), ticketNo1.getUserID(), ticketNo1.getMovieID()).join();
+
+        assertEquals(ticketNo1, ticket);
+        verify(asyncCreateTicketPort, times(1)).create(ticketNo1.getMovieTime(), ticketNo1.getUserID(), ticketNo1.getMovieID());
+    }
+
+    @Test
+    public void asyncTicketServiceCreateTicketWithInvalidMovieTimeTestNegative() {
+        CompletableFuture<Ticket> ticket = asyncTicketService.create("NotADate", ticketNo1.getUserID(), ticketNo1.getMovieID());
+
+        CompletionException exception = assertThrows(CompletionException.class, ticket::join);
+        assertInstanceOf(TicketServiceCreateException.class, exception.getCause());
+        verifyNoInteractions(asyncCreateTicketPort);
+    }
+
+    @Test
+    public void asyncTicketServiceCreateTicketRepositoryExceptionThrownTestNegative() {
+        when(asyncCreateTicketPort.create(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.failedFuture(new TicketRepositoryCreateException("No seats available.", null)));
+
+        CompletableFuture<Ticket> ticket = asyncTicketService.create(ticketNo1.getMovieTime().toString(), ticketNo1.getUserID(), ticketNo1.getMovieID());
+
+        CompletionException exception = assertThrows(CompletionException.class, ticket::join);
+        assertInstanceOf(TicketServiceCreateException.class, exception.getCause());
+        assertEquals("No seats available.", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void asyncTicketServiceFindTicketByIDTestPositive() {
+        when(asyncReadTicketPort.findByUUID(ticketNo1.getTicketID())).thenReturn(CompletableFuture.completedFuture(ticketNo1));
+
+        assertEquals(ticketNo1, asyncTicketService.findByUUID(ticketNo1.getTicketID()).join());
+    }
+
+    @Test
+    public void asyncTicketServiceFindTicketByIDThatIsNotInTheDatabaseTestNegative() {
+        UUID searchedUUID = UUID.randomUUID();
+        when(asyncReadTicketPort.findByUUID(searchedUUID))
+                .thenReturn(CompletableFuture.failedFuture(new TicketRepositoryTicketNotFoundException("Ticket not found.", null)));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> asyncTicketService.findByUUID(searchedUUID).join());
+        assertInstanceOf(TicketServiceTicketNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    public void asyncTicketServiceFindAllTicketsTestPositive() {
+        Flow.Subscription subscription = mock(Flow.Subscription.class);
+        when(asyncReadTicketPort.findAll()).thenReturn(subscriber -> {
+            subscriber.onSubscribe(subscription);
+            subscriber.onNext(ticketNo1);
+            subscriber.onNext(ticketNo2);
+            subscriber.onComplete();
+        });
+        @SuppressWarnings("unchecked")
+        Flow.Subscriber<Ticket> subscriber = mock(Flow.Subscriber.class);
+
+        asyncTicketService.findAll().subscribe(subscriber);
+
+        InOrder inOrder = inOrder(subscriber);
+        inOrder.verify(subscriber).onSubscribe(subscription);
+        inOrder.verify(subscriber).onNext(ticketNo1);
+        inOrder.verify(subscriber).onNext(ticketNo2);
+        inOrder.verify(subscriber).onComplete();
+        verify(subscriber, never()).onError(any());
+    }
+
+    @Test
+    public void asyncTicketServiceFindAllTicketsRepositoryExceptionThrownTestNegative() {
+        when(asyncReadTicketPort.findAll()).thenReturn(subscriber -> {
+            subscriber.onSubscribe(mock(Flow.Subscription.class));
+            subscriber.onError(new TicketRepositoryReadException("Read failed.", null));
+        });
+        @SuppressWarnings("unchecked")
+        Flow.Subscriber<Ticket> subscriber = mock(Flow.Subscriber.class);
+
+        asyncTicketService.findAll().subscribe(subscriber);
+
+        verify(subscriber).onError(isA(TicketServiceReadException.class));
+        verify(subscriber, never()).onComplete();
+    }
+}
@@ -4,14 +4,21 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryUserNotFoundException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.*;
 import pl.tks.gr3.cinema.application_services.services.ClientService;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.ports.infrastructure.users.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,6 +138,46 @@ public class ClientServiceTest {
         verify(readUserPort, times(1)).findClientByUUID(searchedUUID);
     }
 
+    @Test
+    public void clientServiceFindClientsByIDsTestPositive() throws ClientServiceReadException {
+        List<UUID> clientIDs = List.of(clientNo2.getUserID(), clientNo1.getUserID());
+        when(readUserPort.findClientsByUUIDs(Mockito.eq(clientIDs))).thenReturn(List.of(clientNo2, clientNo1));
+
+        List<Client> foundClients = clientService.findAllByUUIDs(clientIDs);
+
+        assertEquals(List.of(clientNo2, clientNo1), foundClients);
+        verify(readUserPort, times(1)).findClientsByUUIDs(clientIDs);
+    }
+
+    @Test
+    public void clientServiceFindClientsByIDsWhenUserRepositoryExceptionIsThrownTestNegative() {
+        List<UUID> clientIDs = List.of(clientNo1.getUserID());
+        when(readUserPort.findClientsByUUIDs(Mockito.eq(clientIDs))).thenThrow(UserRepositoryException.class);
+
+        assertThrows(ClientServiceReadException.class, () -> clientService.findAllByUUIDs(clientIDs));
+    }
+
+    @Test
+    public void clientServiceGetTicketDetailsHistoryForUserTestPositive() throws ClientServiceReadException {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.CLIENT);
+        LocalDateTime from = LocalDateTime.now();
+        Ticket ticket = new Ticket(UUID.randomUUID(), from.plusDays(1), 25.0, clientNo1.getUserID(), UUID.randomUUID());
+        TicketDetails ticketDetails = new TicketDetails(ticket, null, clientNo1);
+        when(readUserPort.getTicketDetailsHistory(clientNo1.getUserID(), UserEntConstants.CLIENT_DISCRIMINATOR, from, null, expansions)).thenReturn(List.of(ticketDetails));
+
+        List<TicketDetails> listOfTickets = clientService.getTicketDetailsHistoryForUser(clientNo1.getUserID(), from, null, expansions);
+
+        assertEquals(List.of(ticketDetails), listOfTickets);
+    }
+
+    @Test
+    public void clientServiceGetPageOfTicketDetailsForUserWhenUserRepositoryExceptionIsThrownTestNegative() {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.MOVIE);
+        when(readUserPort.getPageOfTicketDetails(clientNo1.getUserID(), UserEntConstants.CLIENT_DISCRIMINATOR, null, 10, expansions)).thenThrow(UserRepositoryException.class);
+
+        assertThrows(ClientServiceReadException.class, () -> clientService.getPageOfTicketDetailsForUser(clientNo1.getUserID(), null, 10, expansions));
+    }
+
     @Test
     public void clientServiceFindClientByLoginTestPositive() throws ClientServiceReadException {
         when(readUserPort.findClientByLogin(clientNo2.getUserLogin())).thenReturn(clientNo2);
@@ -0,0 +1,125 @@
+package services;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.Test;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedToken;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedTokenCache;
+import pl.tks.gr3.cinema.application_services.services.JWTService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JWTServiceTest {
+
+    private static final String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
+
+    private final JWTService jwtService = new JWTService(new VerifiedTokenCache(100));
+
+    private static String createToken(String subject, Instant expiresAt, String secretKey) {
+        return JWT.create()
+                .withSubject(subject)
+                .withClaim(UserEntConstants.USER_ROLE, List.of("CLIENT"))
+                .withIssuedAt(new Date())
+                .withExpiresAt(expiresAt != null ? Date.from(expiresAt) : null)
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(secretKey))));
+    }
+
+    @Test
+    public void jwtServiceVerifyTestPositive() {
+        String token = createToken("UniqueClientLoginNo1", Instant.now().plus(15, ChronoUnit.MINUTES), SECRET_KEY);
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertEquals("UniqueClientLoginNo1", verifiedToken.getSubject());
+        assertEquals("ROLE_CLIENT", verifiedToken.getAuthorities().get(0).getAuthority());
+        assertSame(verifiedToken, jwtService.verify(token));
+        assertEquals("UniqueClientLoginNo1", jwtService.extractUsername(token));
+        assertTrue(jwtService.isTokenValid(token));
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithUserIDTestPositive() {
+        UUID userID = UUID.randomUUID();
+        String token = JWT.create()
+                .withSubject("UniqueClientLoginNo1")
+                .withClaim(UserEntConstants.USER_ROLE, List.of("CLIENT"))
+                .withClaim(UserEntConstants.USER_ID, userID.toString())
+                .withClaim(UserEntConstants.USER_STATUS_ACTIVE, false)
+                .withExpiresAt(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertEquals(userID, verifiedToken.getUserID());
+        assertFalse(verifiedToken.isUserStatusActive());
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithoutUserIDTestPositive() {
+        String token = createToken("UniqueClientLoginNo1", Instant.now().plus(15, ChronoUnit.MINUTES), SECRET_KEY);
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertNull(verifiedToken.getUserID());
+        assertTrue(verifiedToken.isUserStatusActive());
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithTokenIDTestPositive() {
+        UUID tokenID = UUID.randomUUID();
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String token = JWT.create()
+                .withSubject("UniqueClientLoginNo1")
+                .withJWTId(tokenID.toString())
+                .withIssuedAt(Date.from(issuedAt))
+                .withExpiresAt(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertEquals(tokenID, verifiedToken.getTokenID());
+        assertEquals(issuedAt, verifiedToken.getIssuedAt());
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithMalformedUserIDTestNegative() {
+        String token = JWT.create()
+                .withSubject("UniqueClientLoginNo1")
+                .withClaim(UserEntConstants.USER_ID, "NotAnIdentifier")
+                .withExpiresAt(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+
+        assertThrows(JWTVerificationException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithInvalidSignatureTestNegative() {
+        String token = createToken("UniqueClientLoginNo1", Instant.now().plus(15, ChronoUnit.MINUTES), "c29tZU90aGVyU2VjcmV0S2V5VXNlZEZvclNpZ25pbmc=");
+
+        assertThrows(JWTVerificationException.class, () -> jwtService.verify(token));
+        assertFalse(jwtService.isTokenValid(token));
+    }
+
+    @Test
+    public void jwtServiceVerifyExpiredTokenTestNegative() {
+        String token = createToken("UniqueClientLoginNo1", Instant.now().minus(1, ChronoUnit.MINUTES), SECRET_KEY);
+
+        assertThrows(JWTVerificationException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithoutExpiryTestNegative() {
+        String token = createToken("UniqueClientLoginNo1", null, SECRET_KEY);
+
+        assertThrows(JWTVerificationException.class, () -> jwtService.verify(token));
+    }
+}
@@ -10,13 +10,21 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.movie.MovieRepositoryMovieNotF
 import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.*;
 import pl.tks.gr3.cinema.application_services.services.MovieService;
 import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.imports.CatalogRecord;
+import pl.tks.gr3.cinema.domain_model.imports.ImportError;
+import pl.tks.gr3.cinema.domain_model.imports.ImportReport;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.CreateMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.DeleteMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.ReadMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.UpdateMoviePort;
+import pl.tks.gr3.cinema.ports.infrastructure.tickets.CreateTicketPort;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +45,9 @@ public class MovieServiceTest {
     @Mock
     private DeleteMoviePort deleteMoviePort;
 
+    @Mock
+    private CreateTicketPort createTicketPort;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -59,7 +70,7 @@ public class MovieServiceTest {
 
     @Test
     public void movieServiceAllArgsConstructorTestPositive() {
-        MovieService testMovieService = new MovieService(createMoviePort, readMoviePort, updateMoviePort, deleteMoviePort);
+        MovieService testMovieService = new MovieService(createMoviePort, readMoviePort, updateMoviePort, deleteMoviePort, createTicketPort);
         assertNotNull(testMovieService);
     }
 
@@ -137,6 +148,25 @@ public class MovieServiceTest {
         verify(readMoviePort, times(1)).findByUUID(Mockito.eq(searchedUUID));
     }
 
+    @Test
+    public void movieServiceFindMoviesByIDsTestPositive() throws MovieServiceReadException {
+        List<UUID> movieIDs = List.of(movieNo2.getMovieID(), movieNo1.getMovieID());
+        when(readMoviePort.findAllByUUIDs(Mockito.eq(movieIDs))).thenReturn(List.of(movieNo2, movieNo1));
+
+        List<Movie> foundMovies = movieService.findAllByUUIDs(movieIDs);
+
+        assertEquals(List.of(movieNo2, movieNo1), foundMovies);
+        verify(readMoviePort, times(1)).findAllByUUIDs(movieIDs);
+    }
+
+    @Test
+    public void movieServiceFindMoviesByIDsWhenMovieRepositoryExceptionIsThrownTestNegative() {
+        List<UUID> movieIDs = List.of(movieNo1.getMovieID());
+        when(readMoviePort.findAllByUUIDs(Mockito.eq(movieIDs))).thenThrow(MovieRepositoryException.class);
+
+        assertThrows(MovieServiceReadException.class, () -> movieService.findAllByUUIDs(movieIDs));
+    }
+
     @Test
     public void movieServiceFindMovieByIDWhenMovieRepositoryExceptionIsThrownTestNegative() {
         UUID searchedUUID = UUID.randomUUID();
@@ -284,4 +314,37 @@ public class MovieServiceTest {
         verify(updateMoviePort, times(1)).update(any(Movie.class));
     }
 
+    @Test
+    public void movieServiceImportCatalogInChunksTestPositive() {
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10, UUID.randomUUID(), movieNo1.getMovieID());
+        Movie invalidMovie = new Movie(UUID.randomUUID(), "", 10, 1, 10);
+        List<CatalogRecord> records = List.of(
+                CatalogRecord.ofMovie(1, movieNo1),
+                CatalogRecord.ofMovie(2, movieNo2),
+                CatalogRecord.invalid(3, "Malformed line."),
+                CatalogRecord.ofTicket(4, ticket),
+                CatalogRecord.ofMovie(5, invalidMovie),
+                CatalogRecord.ofMovie(6, movieNo3)
+        );
+
+        when(createMoviePort.createAll(anyList())).thenReturn(Map.of(), Map.of(0, "Duplicate key."));
+        when(createTicketPort.createAll(anyList())).thenReturn(Map.of());
+
+        ImportReport importReport = movieService.importCatalog(records.iterator(), 3);
+
+        assertEquals(2, importReport.getImportedMovies());
+        assertEquals(1, importReport.getImportedTickets());
+        assertEquals(List.of(3L, 5L, 6L), importReport.getErrors().stream().map(ImportError::getLineNumber).toList());
+
+        verify(createMoviePort, times(2)).createAll(anyList());
+        verify(createTicketPort, times(1)).createAll(anyList());
+    }
+
+    @Test
+    public void movieServiceImportCatalogWhenRepositoryExceptionIsThrownTestNegative() {
+        when(createMoviePort.createAll(anyList())).thenThrow(MovieRepositoryException.class);
+        Iterator<CatalogRecord> records = List.of(CatalogRecord.ofMovie(1, movieNo1)).iterator();
+
+        assertThrows(MovieServiceCreateException.class, () -> movieService.importCatalog(records, 10));
+    }
 }
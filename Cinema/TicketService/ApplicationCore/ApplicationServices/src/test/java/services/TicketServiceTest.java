@@ -13,6 +13,8 @@ import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.*;
 import pl.tks.gr3.cinema.application_services.services.*;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.CreateMoviePort;
 import pl.tks.gr3.cinema.ports.infrastructure.movies.DeleteMoviePort;
@@ -28,7 +30,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -167,6 +171,42 @@ public class TicketServiceTest {
         verify(createTicketPort, times(1)).create(movieTime, clientID, movieID);
     }
 
+    @Test
+    public void ticketServiceCreateGroupOfTicketsTestPositive() throws TicketServiceCreateException {
+        Ticket secondTicket = new Ticket(UUID.randomUUID(), ticketNo1.getMovieTime(), ticketNo1.getTicketPrice(), ticketNo1.getUserID(), ticketNo1.getMovieID());
+        when(createTicketPort.createGroup(
+                Mockito.eq(ticketNo1.getMovieTime()),
+                Mockito.eq(ticketNo1.getUserID()),
+                Mockito.eq(ticketNo1.getMovieID()),
+                Mockito.eq(2))
+        ).thenReturn(List.of(ticketNo1, secondTicket));
+        List<Ticket> tickets = ticketService.createGroup(ticketNo1.getMovieTime().toString(), ticketNo1.getUserID(),
+                ticketNo1.getMovieID(), 2);
+
+        assertNotNull(tickets);
+        assertEquals(2, tickets.size());
+        assertEquals(ticketNo1.getMovieID(), tickets.get(1).getMovieID());
+        verify(createTicketPort, times(1)).createGroup(ticketNo1.getMovieTime(), ticketNo1.getUserID(),
+                ticketNo1.getMovieID(), 2);
+    }
+
+    @Test
+    public void ticketServiceCreateGroupOfTicketsRepositoryExceptionIsThrownTestNegative() {
+        when(createTicketPort.createGroup(
+                Mockito.eq(ticketNo1.getMovieTime()),
+                Mockito.eq(ticketNo1.getUserID()),
+                Mockito.eq(ticketNo1.getMovieID()),
+                Mockito.eq(5))
+        ).thenThrow(TicketRepositoryException.class);
+
+        assertThrows(TicketServiceCreateException.class, () -> ticketService.createGroup(ticketNo1.getMovieTime().toString(),
+                ticketNo1.getUserID(),
+                ticketNo1.getMovieID(), 5));
+
+        verify(createTicketPort, times(1)).createGroup(ticketNo1.getMovieTime(), ticketNo1.getUserID(),
+                ticketNo1.getMovieID(), 5);
+    }
+
     // Read tests
 
     @Test
@@ -216,6 +256,45 @@ public class TicketServiceTest {
         verify(readTicketPort, times(1)).findAll();
     }
 
+    @Test
+    public void ticketServiceFindTicketsByIDsTestPositive() throws TicketServiceReadException {
+        List<UUID> ticketIDs = List.of(ticketNo3.getTicketID(), ticketNo1.getTicketID());
+        when(readTicketPort.findAllByUUIDs(Mockito.eq(ticketIDs))).thenReturn(List.of(ticketNo3, ticketNo1));
+
+        List<Ticket> listOfTickets = ticketService.findAllByUUIDs(ticketIDs);
+
+        assertEquals(List.of(ticketNo3, ticketNo1), listOfTickets);
+        verify(readTicketPort, times(1)).findAllByUUIDs(ticketIDs);
+    }
+
+    @Test
+    public void ticketServiceFindTicketsByIDsWhenTicketRepositoryExceptionIsThrownTestNegative() {
+        List<UUID> ticketIDs = List.of(ticketNo1.getTicketID());
+        when(readTicketPort.findAllByUUIDs(Mockito.eq(ticketIDs))).thenThrow(TicketRepositoryException.class);
+
+        assertThrows(TicketServiceReadException.class, () -> ticketService.findAllByUUIDs(ticketIDs));
+    }
+
+    @Test
+    public void ticketServiceStreamAllTicketDetailsTestPositive() throws TicketServiceReadException {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.MOVIE, TicketExpansion.CLIENT);
+        TicketDetails ticketDetails = new TicketDetails(ticketNo1, movieNo1, clientNo1);
+        when(readTicketPort.streamAllDetails(Mockito.eq(expansions))).thenReturn(Stream.of(ticketDetails));
+
+        List<TicketDetails> listOfTickets = ticketService.streamAllDetails(expansions).toList();
+
+        assertEquals(List.of(ticketDetails), listOfTickets);
+        verify(readTicketPort, times(1)).streamAllDetails(expansions);
+    }
+
+    @Test
+    public void ticketServiceFindTicketDetailsPageWhenTicketRepositoryExceptionIsThrownTestNegative() {
+        Set<TicketExpansion> expansions = Set.of(TicketExpansion.MOVIE);
+        when(readTicketPort.findDetailsPage(null, 10, expansions)).thenThrow(TicketRepositoryException.class);
+
+        assertThrows(TicketServiceReadException.class, () -> ticketService.findDetailsPage(null, 10, expansions));
+    }
+
     @Test
     public void ticketServiceFindAllTicketsWhenTicketRepositoryExceptionIsThrownTestNegative() {
         when(readTicketPort.findAll()).thenThrow(TicketRepositoryException.class);
@@ -339,6 +418,29 @@ public class TicketServiceTest {
         verify(readUserPort, times(1)).getListOfTickets(clientNo2.getUserID(), "client");
     }
 
+    @Test
+    public void clientServiceGetTicketHistoryForAClientByLoginTestPositive() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(3);
+        when(readUserPort.getTicketHistory(Mockito.eq(clientNo1.getUserLogin()), Mockito.anyString(), Mockito.eq(from), Mockito.eq(to))).thenReturn(Arrays.asList(ticketNo1, ticketNo2));
+
+        List<Ticket> listOfTicketsForClient = clientService.getTicketHistoryForUser(clientNo1.getUserLogin(), from, to);
+
+        assertNotNull(listOfTicketsForClient);
+        assertEquals(2, listOfTicketsForClient.size());
+
+        verify(readUserPort, times(1)).getTicketHistory(clientNo1.getUserLogin(), "client", from, to);
+    }
+
+    @Test
+    public void clientServiceGetTicketHistoryForAClientByLoginWhenUserRepositoryExceptionIsThrownTestNegative() {
+        when(readUserPort.getTicketHistory(Mockito.eq(clientNo2.getUserLogin()), Mockito.anyString(), Mockito.isNull(), Mockito.isNull())).thenThrow(UserRepositoryException.class);
+
+        assertThrows(ClientServiceReadException.class, () -> clientService.getTicketHistoryForUser(clientNo2.getUserLogin(), null, null));
+
+        verify(readUserPort, times(1)).getTicketHistory(clientNo2.getUserLogin(), "client", null, null);
+    }
+
     // Movie
 
     @Test
@@ -0,0 +1,152 @@
+package services;
+
+import org.junit.jupiter.api.Test;
+import pl.tks.gr3.cinema.application_services.jwt.BloomFilter;
+import pl.tks.gr3.cinema.application_services.jwt.TokenRevocationList;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenRevocationListTest {
+
+    private final Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+    private TokenRevocationList revocationListAt(Instant instant) {
+        return new TokenRevocationList(100, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void bloomFilterContainsEveryPutValueTestPositive() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        List<UUID> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID value = UUID.randomUUID();
+            values.add(value);
+            bloomFilter.put(value);
+        }
+
+        assertTrue(values.stream().allMatch(bloomFilter::mightContain));
+    }
+
+    @Test
+    public void bloomFilterFalsePositiveRateTestPositive() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.put(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300);
+    }
+
+    @Test
+    public void tokenRevocationListRevokedTokenTestPositive() {
+        TokenRevocationList revocationList = revocationListAt(now);
+        UUID tokenID = UUID.randomUUID();
+        UUID userID = UUID.randomUUID();
+        Instant issuedAt = now.minus(1, ChronoUnit.MINUTES);
+
+        assertFalse(revocationList.isRevoked(tokenID, userID, issuedAt));
+
+        revocationList.add(tokenID, now, now.plus(14, ChronoUnit.MINUTES));
+
+        assertTrue(revocationList.isRevoked(tokenID, userID, issuedAt));
+        assertFalse(revocationList.isRevoked(UUID.randomUUID(), userID, issuedAt));
+    }
+
+    @Test
+    public void tokenRevocationListRevokedUserTestPositive() {
+        TokenRevocationList revocationList = revocationListAt(now);
+        UUID userID = UUID.randomUUID();
+
+        revocationList.add(userID, now, now.plus(15, ChronoUnit.MINUTES));
+
+        assertTrue(revocationList.isRevoked(UUID.randomUUID(), userID, now.minus(1, ChronoUnit.MINUTES)));
+        assertTrue(revocationList.isRevoked(null, userID, null));
+        assertFalse(revocationList.isRevoked(UUID.randomUUID(), userID, now.plus(1, ChronoUnit.SECONDS)));
+    }
+
+    @Test
+    public void tokenRevocationListLaterRevocationIsKeptTestPositive() {
+        TokenRevocationList revocationList = revocationListAt(now);
+        UUID userID = UUID.randomUUID();
+        Instant issuedAt = now.minus(1, ChronoUnit.MINUTES);
+
+        revocationList.add(userID, now, now.plus(15, ChronoUnit.MINUTES));
+        revocationList.add(userID, now.minus(5, ChronoUnit.MINUTES), now.plus(10, ChronoUnit.MINUTES));
+
+        assertTrue(revocationList.isRevoked(null, userID, issuedAt));
+    }
+
+    @Test
+    public void tokenRevocationListExpiredRevocationTestNegative() {
+        TokenRevocationList revocationList = revocationListAt(now);
+        UUID tokenID = UUID.randomUUID();
+
+        revocationList.add(tokenID, now.minus(20, ChronoUnit.MINUTES), now.minus(5, ChronoUnit.MINUTES));
+
+        assertFalse(revocationList.isRevoked(tokenID, null, now.minus(30, ChronoUnit.MINUTES)));
+        assertEquals(0, revocationList.size());
+    }
+
+    @Test
+    public void tokenRevocationListExpiredRevocationsAreDroppedTestPositive() {
+        Instant later = now.plus(Duration.ofMinutes(10));
+        TokenRevocationList revocationList = new TokenRevocationList(100, new Clock() {
+            private int calls = 0;
+
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return calls++ == 0 ? now : later;
+            }
+        });
+        UUID expiringTokenID = UUID.randomUUID();
+        UUID tokenID = UUID.randomUUID();
+
+        revocationList.add(expiringTokenID, now, now.plus(5, ChronoUnit.MINUTES));
+        revocationList.add(tokenID, later, later.plus(15, ChronoUnit.MINUTES));
+
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked(tokenID, null, later));
+        assertFalse(revocationList.isRevoked(expiringTokenID, null, now));
+    }
+
+    @Test
+    public void tokenRevocationListAboveExpectedSizeTestPositive() {
+        TokenRevocationList revocationList = new TokenRevocationList(10, Clock.fixed(now, ZoneOffset.UTC));
+        List<UUID> tokenIDs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID tokenID = UUID.randomUUID();
+            tokenIDs.add(tokenID);
+            revocationList.add(tokenID, now, now.plus(15, ChronoUnit.MINUTES));
+        }
+
+        assertEquals(100, revocationList.size());
+        assertTrue(tokenIDs.stream().allMatch(tokenID -> revocationList.isRevoked(tokenID, null, now)));
+    }
+}
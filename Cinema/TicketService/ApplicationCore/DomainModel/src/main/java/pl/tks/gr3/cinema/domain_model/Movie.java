@@ -33,6 +33,8 @@ public class Movie {
     @Max(value = MovieConstants.NUMBER_OF_AVAILABLE_SEATS_MAX_VALUE, message = MovieValidationMessages.NUMBER_OF_AVAILABLE_SEATS_ABOVE_LIMIT)
     private int numberOfAvailableSeats;
 
+    private long version;
+
     // Constructors
 
     public Movie(UUID movieID,
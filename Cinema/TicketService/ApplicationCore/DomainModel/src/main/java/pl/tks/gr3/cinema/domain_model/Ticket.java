@@ -34,6 +34,8 @@ public class Ticket {
     @Setter(AccessLevel.NONE)
     private UUID movieID;
 
+    private long version;
+
     // Constructors
 
     public Ticket(UUID ticketID,
@@ -0,0 +1,27 @@
+package pl.tks.gr3.cinema.domain_model.expansion;
+
+import lombok.Getter;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+
+/*
+ * Ticket with its movie and client joined - each of them is null when it was not requested
+ * or when the referenced document does not exist anymore.
+ */
+
+@Getter
+public class TicketDetails {
+
+    private final Ticket ticket;
+    private final Movie movie;
+    private final Client client;
+
+    // Constructors
+
+    public TicketDetails(Ticket ticket, Movie movie, Client client) {
+        this.ticket = ticket;
+        this.movie = movie;
+        this.client = client;
+    }
+}
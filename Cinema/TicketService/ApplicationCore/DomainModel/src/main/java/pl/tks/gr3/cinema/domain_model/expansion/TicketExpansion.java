@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.domain_model.expansion;
+
+/*
+ * Documents referenced by a ticket that can be joined into ticket listings, so that they are read
+ * together with the tickets instead of one by one.
+ */
+
+public enum TicketExpansion {
+    MOVIE,
+    CLIENT
+}
@@ -0,0 +1,41 @@
+package pl.tks.gr3.cinema.domain_model.imports;
+
+import lombok.Getter;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+
+/*
+ * Single line of imported catalog - either a movie, a (pre-sold) ticket or a line that could not be parsed.
+ */
+
+@Getter
+public class CatalogRecord {
+
+    private final long lineNumber;
+    private final Movie movie;
+    private final Ticket ticket;
+    private final String parseError;
+
+    private CatalogRecord(long lineNumber, Movie movie, Ticket ticket, String parseError) {
+        this.lineNumber = lineNumber;
+        this.movie = movie;
+        this.ticket = ticket;
+        this.parseError = parseError;
+    }
+
+    public static CatalogRecord ofMovie(long lineNumber, Movie movie) {
+        return new CatalogRecord(lineNumber, movie, null, null);
+    }
+
+    public static CatalogRecord ofTicket(long lineNumber, Ticket ticket) {
+        return new CatalogRecord(lineNumber, null, ticket, null);
+    }
+
+    public static CatalogRecord invalid(long lineNumber, String parseError) {
+        return new CatalogRecord(lineNumber, null, null, parseError);
+    }
+
+    public boolean isValid() {
+        return parseError == null;
+    }
+}
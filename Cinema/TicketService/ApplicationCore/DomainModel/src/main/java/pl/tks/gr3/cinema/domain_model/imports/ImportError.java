@@ -0,0 +1,15 @@
+package pl.tks.gr3.cinema.domain_model.imports;
+
+import lombok.Getter;
+
+@Getter
+public class ImportError {
+
+    private final long lineNumber;
+    private final String message;
+
+    public ImportError(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+}
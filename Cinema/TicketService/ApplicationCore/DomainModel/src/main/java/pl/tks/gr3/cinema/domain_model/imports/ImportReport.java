@@ -0,0 +1,26 @@
+package pl.tks.gr3.cinema.domain_model.imports;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ImportReport {
+
+    private int importedMovies;
+    private int importedTickets;
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public void addImportedMovies(int numberOfMovies) {
+        this.importedMovies += numberOfMovies;
+    }
+
+    public void addImportedTickets(int numberOfTickets) {
+        this.importedTickets += numberOfTickets;
+    }
+
+    public void addError(long lineNumber, String message) {
+        this.errors.add(new ImportError(lineNumber, message));
+    }
+}
@@ -0,0 +1,39 @@
+package pl.tks.gr3.cinema.domain_model.pagination;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class Page<Type> {
+
+    private final List<Type> content;
+    private final PageCursor nextCursor;
+
+    // Constructors
+
+    public Page(List<Type> content, PageCursor nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // Other methods
+
+    /*
+     * Elements should be read with limit of pageSize + 1 - additional element only tells that there is a next page,
+     * and it is not returned to the caller.
+     */
+
+    public static <Type> Page<Type> of(List<Type> elements, int pageSize, Function<Type, PageCursor> cursorOf) {
+        if (elements.size() <= pageSize) {
+            return new Page<>(elements, null);
+        }
+        List<Type> content = elements.subList(0, pageSize);
+        return new Page<>(content, cursorOf.apply(content.get(pageSize - 1)));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
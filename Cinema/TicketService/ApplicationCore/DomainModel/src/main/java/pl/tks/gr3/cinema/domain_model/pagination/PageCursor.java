@@ -0,0 +1,29 @@
+package pl.tks.gr3.cinema.domain_model.pagination;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/*
+ * Keyset of the last element on a page - next page starts right after it. Movie time is only used
+ * for listings ordered by movie time (tickets), listings ordered by identifier leave it empty.
+ */
+
+@Getter
+public class PageCursor {
+
+    private final UUID lastID;
+    private final LocalDateTime lastMovieTime;
+
+    // Constructors
+
+    public PageCursor(UUID lastID) {
+        this(lastID, null);
+    }
+
+    public PageCursor(UUID lastID, LocalDateTime lastMovieTime) {
+        this.lastID = lastID;
+        this.lastMovieTime = lastMovieTime;
+    }
+}
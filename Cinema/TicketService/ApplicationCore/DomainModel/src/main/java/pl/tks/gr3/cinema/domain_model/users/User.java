@@ -26,6 +26,8 @@ public abstract class User {
 
     protected boolean userStatusActive;
 
+    protected long version;
+
     // Other methods
 
     // Equals
@@ -0,0 +1,26 @@
+package pl.tks.gr3.cinema.domain_model.versioning;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/*
+ * Change counter of a whole collection - it is incremented after each write to the collection, so listings
+ * can be compared with the one a client already has without reading them. For movies it follows the catalogue
+ * only - seat reservations do not change it, so available seat counts in a listing validated by it may be
+ * older than the ones in the database. Collection that was never written to has version 0 and no modification time.
+ */
+
+@Getter
+public class CollectionVersion {
+
+    private final long version;
+    private final Instant lastModified;
+
+    // Constructors
+
+    public CollectionVersion(long version, Instant lastModified) {
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+}
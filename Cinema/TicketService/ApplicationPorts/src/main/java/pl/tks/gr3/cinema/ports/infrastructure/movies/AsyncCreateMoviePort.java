@@ -0,0 +1,10 @@
+package pl.tks.gr3.cinema.ports.infrastructure.movies;
+
+import pl.tks.gr3.cinema.domain_model.Movie;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCreateMoviePort {
+
+    CompletableFuture<Movie> create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats);
+}
@@ -2,7 +2,11 @@ package pl.tks.gr3.cinema.ports.infrastructure.movies;
 
 import pl.tks.gr3.cinema.domain_model.Movie;
 
+import java.util.List;
+import java.util.Map;
+
 public interface CreateMoviePort {
 
     Movie create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats);
+    Map<Integer, String> createAll(List<Movie> movies);
 }
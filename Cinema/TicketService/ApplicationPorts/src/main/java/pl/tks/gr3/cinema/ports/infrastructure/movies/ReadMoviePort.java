@@ -2,14 +2,29 @@ package pl.tks.gr3.cinema.ports.infrastructure.movies;
 
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ReadMoviePort {
 
     List<Movie> findAll();
+    Stream<Movie> streamAll();
+    Page<Movie> findPage(PageCursor cursor, int pageSize);
     Movie findByUUID(UUID movieID);
+    List<Movie> findAllByUUIDs(Collection<UUID> movieIDs);
+    CollectionVersion getCollectionVersion();
 
     List<Ticket> getListOfTickets(UUID movieID);
+    Page<Ticket> getPageOfTickets(UUID movieID, PageCursor cursor, int pageSize);
+    List<TicketDetails> getListOfTicketDetails(UUID movieID, Set<TicketExpansion> expansions);
+    Page<TicketDetails> getPageOfTicketDetails(UUID movieID, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions);
 }
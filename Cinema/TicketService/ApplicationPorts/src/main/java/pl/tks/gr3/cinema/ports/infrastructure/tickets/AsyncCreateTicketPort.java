@@ -0,0 +1,12 @@
+package pl.tks.gr3.cinema.ports.infrastructure.tickets;
+
+import pl.tks.gr3.cinema.domain_model.Ticket;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCreateTicketPort {
+
+    CompletableFuture<Ticket> create(LocalDateTime movieTime, UUID clientID, UUID movieID);
+}
@@ -3,9 +3,13 @@ package pl.tks.gr3.cinema.ports.infrastructure.tickets;
 import pl.tks.gr3.cinema.domain_model.Ticket;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CreateTicketPort {
 
     Ticket create(LocalDateTime movieTime, UUID clientID, UUID movieID);
+    List<Ticket> createGroup(LocalDateTime movieTime, UUID clientID, UUID movieID, int numberOfSeats);
+    Map<Integer, String> createAll(List<Ticket> tickets);
 }
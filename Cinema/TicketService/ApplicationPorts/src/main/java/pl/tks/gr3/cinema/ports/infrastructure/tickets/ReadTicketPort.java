@@ -1,12 +1,24 @@
 package pl.tks.gr3.cinema.ports.infrastructure.tickets;
 
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ReadTicketPort {
 
     Ticket findByUUID(UUID ticketID);
+    List<Ticket> findAllByUUIDs(Collection<UUID> ticketIDs);
     List<Ticket> findAll();
+    Stream<Ticket> streamAll();
+    Page<Ticket> findPage(PageCursor cursor, int pageSize);
+    Stream<TicketDetails> streamAllDetails(Set<TicketExpansion> expansions);
+    Page<TicketDetails> findDetailsPage(PageCursor cursor, int pageSize, Set<TicketExpansion> expansions);
 }
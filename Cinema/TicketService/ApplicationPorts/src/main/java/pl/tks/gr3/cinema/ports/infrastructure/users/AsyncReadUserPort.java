@@ -0,0 +1,12 @@
+package pl.tks.gr3.cinema.ports.infrastructure.users;
+
+import pl.tks.gr3.cinema.domain_model.users.Client;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncReadUserPort {
+
+    CompletableFuture<Client> findClientByUUID(UUID clientID);
+    CompletableFuture<Client> findClientByLogin(String loginValue);
+}
@@ -1,10 +1,17 @@
 package pl.tks.gr3.cinema.ports.infrastructure.users;
 
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.domain_model.users.Client;
 import pl.tks.gr3.cinema.domain_model.users.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ReadUserPort {
@@ -13,7 +20,19 @@ public interface ReadUserPort {
 
     Client findClientByUUID(UUID clientID);
 
+    List<Client> findClientsByUUIDs(Collection<UUID> clientIDs);
+
     Client findClientByLogin(String loginValue);
 
     List<Ticket> getListOfTickets(UUID userID, String discriminator);
+
+    List<Ticket> getTicketHistory(UUID userID, String discriminator, LocalDateTime from, LocalDateTime to);
+
+    List<Ticket> getTicketHistory(String login, String discriminator, LocalDateTime from, LocalDateTime to);
+
+    Page<Ticket> getPageOfTickets(UUID userID, String discriminator, PageCursor cursor, int pageSize);
+
+    List<TicketDetails> getTicketDetailsHistory(UUID userID, String discriminator, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions);
+
+    Page<TicketDetails> getPageOfTicketDetails(UUID userID, String discriminator, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions);
 }
@@ -0,0 +1,15 @@
+package pl.tks.gr3.cinema.ports.userinterface.movies;
+
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+public interface AsyncReadMovieUseCase {
+
+    CompletableFuture<Movie> findByUUID(UUID movieID);
+    Flow.Publisher<Movie> findAll();
+    CompletableFuture<CollectionVersion> getCollectionVersion();
+}
@@ -0,0 +1,10 @@
+package pl.tks.gr3.cinema.ports.userinterface.movies;
+
+import pl.tks.gr3.cinema.domain_model.Movie;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncWriteMovieUseCase {
+
+    CompletableFuture<Movie> create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats);
+}
@@ -1,7 +1,10 @@
 package pl.tks.gr3.cinema.ports.userinterface.movies;
 
 import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.imports.CatalogRecord;
+import pl.tks.gr3.cinema.domain_model.imports.ImportReport;
 
+import java.util.Iterator;
 import java.util.UUID;
 
 public interface WriteMovieUseCase {
@@ -9,4 +12,5 @@ public interface WriteMovieUseCase {
     Movie create(String movieTitle, double movieBasePrice, int scrRoomNumber, int numberOfAvailableSeats);
     void update(Movie movie);
     void delete(UUID movieID);
+    ImportReport importCatalog(Iterator<CatalogRecord> records, int batchSize);
 }
@@ -0,0 +1,13 @@
+package pl.tks.gr3.cinema.ports.userinterface.tickets;
+
+import pl.tks.gr3.cinema.domain_model.Ticket;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+public interface AsyncReadTicketUseCase {
+
+    CompletableFuture<Ticket> findByUUID(UUID ticketID);
+    Flow.Publisher<Ticket> findAll();
+}
@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.ports.userinterface.tickets;
+
+import pl.tks.gr3.cinema.domain_model.Ticket;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncWriteTicketUseCase {
+
+    CompletableFuture<Ticket> create(String movieTime, UUID clientID, UUID movieID);
+}
@@ -2,11 +2,13 @@ package pl.tks.gr3.cinema.ports.userinterface.tickets;
 
 import pl.tks.gr3.cinema.domain_model.Ticket;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface WriteTicketUseCase {
 
     Ticket create(String movieTime, UUID clientID, UUID movieID);
+    List<Ticket> createGroup(String movieTime, UUID clientID, UUID movieID, int numberOfSeats);
     void update(Ticket ticket);
     void delete(UUID ticketID);
 }
@@ -0,0 +1,10 @@
+package pl.tks.gr3.cinema.ports.userinterface.users;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncReadUserUseCase<Type> {
+
+    CompletableFuture<Type> findByUUID(UUID userID);
+    CompletableFuture<Type> findByLogin(String login);
+}
@@ -1,13 +1,25 @@
 package pl.tks.gr3.cinema.ports.userinterface.users;
 
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ReadUserUseCase<Type> {
 
     Type findByUUID(UUID userID);
+    List<Type> findAllByUUIDs(List<UUID> userIDs);
     Type findByLogin(String login);
     List<Ticket> getTicketsForUser(UUID userID);
+    List<Ticket> getTicketHistoryForUser(UUID userID, LocalDateTime from, LocalDateTime to);
+    List<Ticket> getTicketHistoryForUser(String login, LocalDateTime from, LocalDateTime to);
+    Page<Ticket> getPageOfTicketsForUser(UUID userID, PageCursor cursor, int pageSize);
+    List<TicketDetails> getTicketDetailsHistoryForUser(UUID userID, LocalDateTime from, LocalDateTime to, Set<TicketExpansion> expansions);
+    Page<TicketDetails> getPageOfTicketDetailsForUser(UUID userID, PageCursor cursor, int pageSize, Set<TicketExpansion> expansions);
 }
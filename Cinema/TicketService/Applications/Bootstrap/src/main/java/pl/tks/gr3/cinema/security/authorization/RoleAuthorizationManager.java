@@ -0,0 +1,123 @@
+package pl.tks.gr3.cinema.security.authorization;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPattern;
+import pl.tks.gr3.cinema.domain_model.users.Role;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Route table is built once from the registered handler methods - for each HTTP method, path patterns of all endpoints
+ * ordered from the most specific one, each with the set of roles from its @AllowedRoles (or none, when authentication
+ * is enough). On a request the first matching route is found and roles of the user are checked against its set.
+ * GET endpoints are registered for HEAD as well (Spring MVC handles HEAD with them), and a request that matches
+ * no route is denied.
+ */
+
+public class RoleAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Map<String, Role> ROLES_BY_AUTHORITY = Arrays.stream(Role.values())
+            .collect(Collectors.toUnmodifiableMap(role -> ROLE_PREFIX + role.name(), Function.identity()));
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthenticatedAuthorizationManager<RequestAuthorizationContext> authenticated = AuthenticatedAuthorizationManager.authenticated();
+    private final Map<RequestMethod, List<Route>> routes = new EnumMap<>(RequestMethod.class);
+
+    public RoleAuthorizationManager(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        handlerMethods.forEach((mappingInfo, handlerMethod) -> {
+            if (mappingInfo.getPathPatternsCondition() == null) {
+                return;
+            }
+            AllowedRoles allowedRoles = findAllowedRoles(handlerMethod);
+            Set<Role> roles = null;
+            if (allowedRoles != null) {
+                roles = EnumSet.noneOf(Role.class);
+                roles.addAll(Arrays.asList(allowedRoles.value()));
+            }
+            Set<RequestMethod> methods = EnumSet.allOf(RequestMethod.class);
+            if (!mappingInfo.getMethodsCondition().getMethods().isEmpty()) {
+                methods = EnumSet.copyOf(mappingInfo.getMethodsCondition().getMethods());
+                if (methods.contains(RequestMethod.GET)) {
+                    methods.add(RequestMethod.HEAD);
+                }
+            }
+            for (RequestMethod method : methods) {
+                for (PathPattern pattern : mappingInfo.getPathPatternsCondition().getPatterns()) {
+                    routes.computeIfAbsent(method, key -> new ArrayList<>()).add(new Route(pattern, roles));
+                }
+            }
+        });
+        routes.values().forEach(methodRoutes -> methodRoutes.sort(Comparator.comparing(Route::getPattern, PathPattern.SPECIFICITY_COMPARATOR)));
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        AuthorizationDecision authenticatedDecision = authenticated.check(authentication, context);
+        if (authenticatedDecision == null || !authenticatedDecision.isGranted()) {
+            return DENIED;
+        }
+        Route route = findRoute(context.getRequest());
+        if (route == null) {
+            return DENIED;
+        }
+        if (route.getRoles() == null) {
+            return GRANTED;
+        }
+        for (GrantedAuthority authority : authentication.get().getAuthorities()) {
+            Role role = ROLES_BY_AUTHORITY.get(authority.getAuthority());
+            if (role != null && route.getRoles().contains(role)) {
+                return GRANTED;
+            }
+        }
+        return DENIED;
+    }
+
+    private Route findRoute(HttpServletRequest request) {
+        RequestMethod method = RequestMethod.resolve(request.getMethod());
+        List<Route> methodRoutes = method != null ? routes.get(method) : null;
+        if (methodRoutes == null) {
+            return null;
+        }
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        for (Route route : methodRoutes) {
+            if (route.getPattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static AllowedRoles findAllowedRoles(HandlerMethod handlerMethod) {
+        AllowedRoles allowedRoles = handlerMethod.getMethodAnnotation(AllowedRoles.class);
+        return allowedRoles != null ? allowedRoles : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), AllowedRoles.class);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Route {
+
+        private final PathPattern pattern;
+        private final Set<Role> roles;
+    }
+}
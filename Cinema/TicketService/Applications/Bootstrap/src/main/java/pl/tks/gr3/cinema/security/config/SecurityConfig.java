@@ -1,10 +1,11 @@
 package pl.tks.gr3.cinema.security.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -14,6 +15,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import pl.tks.gr3.cinema.security.authorization.RoleAuthorizationManager;
 import pl.tks.gr3.cinema.security.filters.JWTAuthenticationFilter;
 
 import java.util.List;
@@ -21,10 +24,6 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
-@EnableMethodSecurity(
-        securedEnabled = true,
-        jsr250Enabled = true
-)
 public class SecurityConfig {
 
     private final JWTAuthenticationFilter jwtAuthenticationFilter;
@@ -44,17 +43,23 @@ public class SecurityConfig {
     };
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity,
+                                                   @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) throws Exception {
+        // Roles required by the endpoints (@AllowedRoles) are collected once - requests are not checked by method security.
+        RoleAuthorizationManager roleAuthorizationManager = new RoleAuthorizationManager(handlerMapping.getHandlerMethods());
+
         httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> corsConfigurationSource())
                 .sessionManagement(sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests((requests) -> requests
+                        // Results of asynchronous endpoints (web.mode=async) are written in a second dispatch - request was authorized already.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/ws", "/ws/**").permitAll()
                         .requestMatchers(AUTH_WHITELIST).permitAll()
                         .requestMatchers("/api/v1/auth/login/**", "/api/v1/auth/register/client").permitAll()
-                        .requestMatchers("/**").authenticated());
+                        .requestMatchers("/**").access(roleAuthorizationManager));
 
         return httpSecurity.build();
     }
@@ -68,11 +73,15 @@ public class SecurityConfig {
                 HttpHeaders.AUTHORIZATION,
                 HttpHeaders.CONTENT_TYPE,
                 HttpHeaders.IF_MATCH,
+                HttpHeaders.IF_NONE_MATCH,
+                HttpHeaders.IF_MODIFIED_SINCE,
                 HttpHeaders.ACCEPT));
         corsConfiguration.setAllowedOriginPatterns(List.of("https://localhost:3000"));
         corsConfiguration.addExposedHeader("Access-Token");
         corsConfiguration.addExposedHeader("Uid");
         corsConfiguration.addExposedHeader("ETag");
+        corsConfiguration.addExposedHeader("Last-Modified");
+        corsConfiguration.addExposedHeader("Link");
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", corsConfiguration);
         return source;
@@ -1,6 +1,6 @@
 package pl.tks.gr3.cinema.security.filters;
 
-import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,19 +12,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.jwt.UserPrincipal;
+import pl.tks.gr3.cinema.application_services.jwt.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedToken;
 import pl.tks.gr3.cinema.application_services.services.JWTService;
 import pl.tks.gr3.cinema.security.consts.SecurityConstants;
 
 import java.io.IOException;
-import java.util.List;
 
 @Slf4j
 @Component
@@ -32,6 +30,7 @@ import java.util.List;
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -43,18 +42,27 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final String jwtToken = authHeader.replaceAll("\\s+", "").substring(6);
-        final String userName = jwtService.extractUsername(jwtToken);
-        if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (!jwtService.isTokenValid(jwtToken)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken verifiedToken;
+            try {
+                verifiedToken = jwtService.verify(jwtToken);
+            } catch (JWTVerificationException exception) {
                 response.setStatus(HttpStatus.BAD_REQUEST.value());
                 response.setContentType(MediaType.TEXT_PLAIN_VALUE);
                 response.getWriter().write("JWT Token signature is invalid.");
                 SecurityContextHolder.clearContext();
                 return;
-            } else {
-                List<String> userRoles = JWT.decode(jwtToken).getClaim(UserEntConstants.USER_ROLE).asList(String.class);
-                List<SimpleGrantedAuthority> roles = userRoles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(JWT.decode(jwtToken).getSubject(), null, roles);
+            }
+            if (tokenRevocationList.isRevoked(verifiedToken.getTokenID(), verifiedToken.getUserID(), verifiedToken.getIssuedAt())) {
+                response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("JWT Token was revoked.");
+                SecurityContextHolder.clearContext();
+                return;
+            }
+            if (verifiedToken.getSubject() != null) {
+                UserPrincipal userPrincipal = new UserPrincipal(verifiedToken.getSubject(), verifiedToken.getUserID(), verifiedToken.isUserStatusActive());
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userPrincipal, null, verifiedToken.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
@@ -0,0 +1,92 @@
+package pl.tks.gr3.cinema.benchmarks;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import pl.tks.gr3.cinema.security.authorization.RoleAuthorizationManager;
+import pl.tks.gr3.cinema.viewrest.controllers.ClientController;
+import pl.tks.gr3.cinema.viewrest.controllers.MovieController;
+import pl.tks.gr3.cinema.viewrest.controllers.TicketController;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Authorization of one request - authentication check in the filter chain followed by the @PreAuthorize expression
+ * evaluated by method security (as before), and the route table of RoleAuthorizationManager built from the real
+ * controllers, checked in the filter chain only. Run with the main method from the test classpath, for example from the IDE.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private Authentication authentication;
+    private RequestAuthorizationContext requestContext;
+    private MethodInvocation methodInvocation;
+    private AuthenticatedAuthorizationManager<RequestAuthorizationContext> authenticatedManager;
+    private PreAuthorizeAuthorizationManager preAuthorizeManager;
+    private RoleAuthorizationManager roleAuthorizationManager;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        authentication = new UsernamePasswordAuthenticationToken("UniqueClientLoginNo1", null, List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+        requestContext = new RequestAuthorizationContext(new MockHttpServletRequest("GET", "/api/v1/tickets/" + UUID.randomUUID()));
+        Method guardedMethod = AuthorizationBenchmark.class.getDeclaredMethod("findByUUID", UUID.class);
+        methodInvocation = new SimpleMethodInvocation(this, guardedMethod, UUID.randomUUID());
+        authenticatedManager = AuthenticatedAuthorizationManager.authenticated();
+        preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        for (Class<?> controllerClass : List.of(MovieController.class, TicketController.class, ClientController.class)) {
+            RootBeanDefinition beanDefinition = new RootBeanDefinition(controllerClass);
+            beanDefinition.setLazyInit(true);
+            applicationContext.registerBeanDefinition(controllerClass.getSimpleName(), beanDefinition);
+        }
+        RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(applicationContext);
+        handlerMapping.afterPropertiesSet();
+        roleAuthorizationManager = new RoleAuthorizationManager(handlerMapping.getHandlerMethods());
+    }
+
+    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).STAFF) or hasRole(T(pl.tks.gr3.cinema.domain_model.users.Role).CLIENT)")
+    public UUID findByUUID(UUID ticketID) {
+        return ticketID;
+    }
+
+    @Benchmark
+    public void authenticatedAndPreAuthorizeExpression(Blackhole blackhole) {
+        blackhole.consume(authenticatedManager.check(() -> authentication, requestContext).isGranted());
+        blackhole.consume(preAuthorizeManager.check(() -> authentication, methodInvocation).isGranted());
+    }
+
+    @Benchmark
+    public void roleAuthorizationManager(Blackhole blackhole) {
+        blackhole.consume(roleAuthorizationManager.check(() -> authentication, requestContext).isGranted());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthorizationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package pl.tks.gr3.cinema.benchmarks;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pl.tks.gr3.cinema.adapters.connection.CodecMode;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
+import pl.tks.gr3.cinema.adapters.model.MovieEnt;
+import pl.tks.gr3.cinema.adapters.model.TicketEnt;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Encoding and decoding of MovieEnt and TicketEnt with the explicit entity codecs and with the reflection
+ * based POJO codecs, using registries prepared the same way as the driver prepares them for the MongoClient.
+ * Main method runs it with the GC profiler, so allocation per operation (gc.alloc.rate.norm) is reported
+ * next to the throughput. Run with the main method from the test classpath, for example from the IDE.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCodecBenchmark {
+
+    @Param({"EXPLICIT", "POJO"})
+    private CodecMode codecMode;
+
+    private Codec<MovieEnt> movieCodec;
+    private Codec<TicketEnt> ticketCodec;
+    private MovieEnt movie;
+    private TicketEnt ticket;
+    private byte[] movieDocument;
+    private byte[] ticketDocument;
+
+    @Setup
+    public void setUp() {
+        CodecRegistry codecRegistry = CodecRegistries.withUuidRepresentation(CodecRegistries.fromRegistries(
+                MongoClientSettings.getDefaultCodecRegistry(), MongoClientFactory.getCodecRegistry(codecMode)), UuidRepresentation.STANDARD);
+        movieCodec = codecRegistry.get(MovieEnt.class);
+        ticketCodec = codecRegistry.get(TicketEnt.class);
+
+        movie = new MovieEnt(UUID.randomUUID(), "ExampleTitleNo1", 25.5, 4, 75);
+        ticket = new TicketEnt(UUID.randomUUID(), LocalDateTime.of(2023, 11, 4, 20, 10, 0), 25.5, UUID.randomUUID(), movie.getMovieID());
+        movieDocument = encode(movieCodec, movie);
+        ticketDocument = encode(ticketCodec, ticket);
+    }
+
+    private static <T> byte[] encode(Codec<T> codec, T value) {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            codec.encode(writer, value, EncoderContext.builder().build());
+        }
+        return outputBuffer.toByteArray();
+    }
+
+    private static <T> T decode(Codec<T> codec, byte[] document) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(document))) {
+            return codec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+
+    @Benchmark
+    public void encodeMovie(Blackhole blackhole) {
+        blackhole.consume(encode(movieCodec, movie));
+    }
+
+    @Benchmark
+    public void decodeMovie(Blackhole blackhole) {
+        blackhole.consume(decode(movieCodec, movieDocument));
+    }
+
+    @Benchmark
+    public void encodeTicket(Blackhole blackhole) {
+        blackhole.consume(encode(ticketCodec, ticket));
+    }
+
+    @Benchmark
+    public void decodeTicket(Blackhole blackhole) {
+        blackhole.consume(decode(ticketCodec, ticketDocument));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package pl.tks.gr3.cinema.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.jwt.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedTokenCache;
+import pl.tks.gr3.cinema.application_services.services.JWTService;
+import pl.tks.gr3.cinema.security.filters.JWTAuthenticationFilter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Hot path of JWTAuthenticationFilter - token verified on every request (as before), verified once with
+ * a shared verifier (cache miss) and taken from the verified token cache (repeated requests of one session).
+ * Run with the main method from the test classpath, for example from the IDE.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTAuthenticationFilterBenchmark {
+
+    private static final String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+
+    private String signInKey;
+    private String jwtToken;
+    private JWTAuthenticationFilter cachedFilter;
+    private JWTAuthenticationFilter uncachedFilter;
+
+    @Setup
+    public void setUp() {
+        signInKey = new String(Base64.getDecoder().decode(SECRET_KEY));
+        jwtToken = JWT.create()
+                .withSubject("UniqueClientLoginNo1")
+                .withClaim(UserEntConstants.USER_ROLE, List.of("CLIENT"))
+                .withIssuedAt(new Date())
+                .withExpiresAt(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+                .sign(Algorithm.HMAC256(signInKey));
+        cachedFilter = new JWTAuthenticationFilter(new JWTService(new VerifiedTokenCache(10_000)), new TokenRevocationList(10_000));
+        uncachedFilter = new JWTAuthenticationFilter(new JWTService(new VerifiedTokenCache(0)), new TokenRevocationList(10_000));
+    }
+
+    @Benchmark
+    public void verifyOnEveryRequest(Blackhole blackhole) {
+        // Previous filter - verifier built for each check, token verified twice and decoded twice more.
+        blackhole.consume(JWT.require(Algorithm.HMAC256(signInKey)).build().verify(jwtToken).getSubject());
+        DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC256(signInKey)).build().verify(jwtToken);
+        blackhole.consume(JWT.decode(jwtToken).getExpiresAt().after(new Date()) && decodedJWT != null);
+        blackhole.consume(JWT.decode(jwtToken).getClaim(UserEntConstants.USER_ROLE).asList(String.class));
+        blackhole.consume(JWT.decode(jwtToken).getSubject());
+    }
+
+    @Benchmark
+    public void filterWithoutVerifiedTokenCache(Blackhole blackhole) throws Exception {
+        blackhole.consume(filter(uncachedFilter));
+    }
+
+    @Benchmark
+    public void filterWithVerifiedTokenCache(Blackhole blackhole) throws Exception {
+        blackhole.consume(filter(cachedFilter));
+    }
+
+    private MockHttpServletResponse filter(JWTAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/movies");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, EMPTY_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTAuthenticationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,227 @@
+package pl.tks.gr3.cinema.rest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceCreateException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceReadException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncReadTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.AsyncWriteTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.ReadTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.tickets.WriteTicketUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.users.AsyncReadUserUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
+import pl.tks.gr3.cinema.viewrest.controllers.async.AsyncTicketController;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import({AsyncTicketController.class})
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = {AsyncTicketController.class}, useDefaultFilters = false, properties = "web.mode=async")
+public class AsyncTicketControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AsyncReadTicketUseCase asyncReadTicket;
+
+    @MockBean
+    private AsyncWriteTicketUseCase asyncWriteTicket;
+
+    @MockBean
+    private AsyncReadUserUseCase<Client> asyncReadClient;
+
+    @MockBean
+    private ReadTicketUseCase readTicket;
+
+    @MockBean
+    private WriteTicketUseCase writeTicket;
+
+    @MockBean
+    private ReadUserUseCase<Client> readClient;
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void createSelfTicketValidInputReturnsCreated() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        LocalDateTime time = LocalDateTime.now();
+        UUID movieId = UUID.randomUUID();
+        Ticket ticket = new Ticket(UUID.randomUUID(), time, 10.0, client.getUserID(), movieId);
+
+        when(asyncReadClient.findByLogin(client.getUserLogin())).thenReturn(CompletableFuture.completedFuture(client));
+        when(asyncWriteTicket.create(time.toString(), client.getUserID(), movieId)).thenReturn(CompletableFuture.completedFuture(ticket));
+
+        MvcResult result = this.mockMvc.perform(post("/api/v1/tickets/self")
+                        .contentType("application/json")
+                        .content("{\"movieTime\":\"" + time + "\",\"movieID\":\"" + movieId + "\"}").with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ticketID").value(ticket.getTicketID().toString()));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void createSelfTicketWhenCreationFailsReturnsBadRequest() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        LocalDateTime time = LocalDateTime.now();
+        UUID movieId = UUID.randomUUID();
+
+        when(asyncReadClient.findByLogin(client.getUserLogin())).thenReturn(CompletableFuture.completedFuture(client));
+        when(asyncWriteTicket.create(time.toString(), client.getUserID(), movieId))
+                .thenReturn(CompletableFuture.failedFuture(new TicketServiceCreateException("No seats available.", new Throwable())));
+
+        MvcResult result = this.mockMvc.perform(post("/api/v1/tickets/self")
+                        .contentType("application/json")
+                        .content("{\"movieTime\":\"" + time + "\",\"movieID\":\"" + movieId + "\"}").with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("No seats available."));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findByUUIDOwnTicketReturnsTicketWithETag() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, client.getUserID(), UUID.randomUUID());
+
+        when(asyncReadTicket.findByUUID(ticket.getTicketID())).thenReturn(CompletableFuture.completedFuture(ticket));
+        when(asyncReadClient.findByLogin(client.getUserLogin())).thenReturn(CompletableFuture.completedFuture(client));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/" + ticket.getTicketID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"0\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ticketID").value(ticket.getTicketID().toString()));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findByUUIDAsStaffReturnsTicketWithoutETag() throws Exception {
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(asyncReadTicket.findByUUID(ticket.getTicketID())).thenReturn(CompletableFuture.completedFuture(ticket));
+        when(asyncReadClient.findByLogin("StaffLoginNo1"))
+                .thenReturn(CompletableFuture.failedFuture(new ClientServiceClientNotFoundException("Client not found", new Throwable())));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/" + ticket.getTicketID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findByUUIDOtherClientsTicketReturnsForbidden() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(asyncReadTicket.findByUUID(ticket.getTicketID())).thenReturn(CompletableFuture.completedFuture(ticket));
+        when(asyncReadClient.findByLogin(client.getUserLogin())).thenReturn(CompletableFuture.completedFuture(client));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/" + ticket.getTicketID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isForbidden());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findByUUIDInvalidUUIDReturnsNotFound() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+
+        when(asyncReadTicket.findByUUID(ticketId))
+                .thenReturn(CompletableFuture.failedFuture(new TicketServiceTicketNotFoundException("Ticket not found", new Throwable())));
+        when(asyncReadClient.findByLogin("ClientLoginNo1")).thenReturn(CompletableFuture.completedFuture(new Client(UUID.randomUUID(), "ClientLoginNo1")));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/" + ticketId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsReturnsListOfTickets() throws Exception {
+        Ticket ticketNo1 = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+        Ticket ticketNo2 = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 15.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(asyncReadTicket.findAll()).thenReturn(JdkFlowAdapter.publisherToFlowPublisher(Flux.just(ticketNo1, ticketNo2)));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].ticketID").value(ticketNo2.getTicketID().toString()));
+        verifyNoInteractions(readTicket);
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsNoTicketsReturnsNotFound() throws Exception {
+        when(asyncReadTicket.findAll()).thenReturn(JdkFlowAdapter.publisherToFlowPublisher(Flux.empty()));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsReadFailedReturnsBadRequest() throws Exception {
+        when(asyncReadTicket.findAll()).thenReturn(JdkFlowAdapter.publisherToFlowPublisher(Flux.error(new TicketServiceReadException("Read failed.", null))));
+
+        MvcResult result = this.mockMvc.perform(get("/api/v1/tickets/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -16,20 +18,32 @@ import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceCreateClientDuplicateLoginException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceCreateException;
+import pl.tks.gr3.cinema.application_services.jwt.UserPrincipal;
+import pl.tks.gr3.cinema.domain_model.Movie;
+import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
 import pl.tks.gr3.cinema.domain_model.users.Client;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.controllers.ClientController;
 import pl.tks.gr3.cinema.viewrest.model.users.UserInputDTO;
+import pl.tks.gr3.cinema.viewrest.model.users.UserUpdateDTO;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Import(ClientController.class)
@@ -46,9 +60,6 @@ public class ClientControllerTest {
     @MockBean
     private WriteUserUseCase<Client> writeClient;
 
-    @MockBean
-    private JWSUseCase jwsUseCase;
-
     @MockBean
     private PasswordEncoder passwordEncoder;
 
@@ -108,11 +119,25 @@ public class ClientControllerTest {
         Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1");
 
         when(readClient.findByLogin(clientUser.getUserLogin())).thenReturn(clientUser);
-        when(jwsUseCase.generateSignatureForUser(clientUser)).thenReturn("ExampleJwsSignature");
 
         this.mockMvc.perform(get("/api/v1/clients/login/self"))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"0\""));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void clientControllerFindClientLoginSelfWithCurrentVersionTestNotModified() throws Exception {
+        Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        clientUser.setVersion(3);
+
+        when(readClient.findByLogin(clientUser.getUserLogin())).thenReturn(clientUser);
+
+        this.mockMvc.perform(get("/api/v1/clients/login/self").header("If-None-Match", "W/\"3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"3\""));
     }
 
     @WithMockUser(username = "ClientLoginNo2", roles = {"CLIENT"})
@@ -186,4 +211,106 @@ public class ClientControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
     }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void clientControllerGetOwnTicketHistoryWithinDateRangeTestPositive() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2023, 11, 1, 0, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 12, 1, 0, 0, 0);
+        Ticket ticket = new Ticket(UUID.randomUUID(), from.plusDays(2), 25.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(readClient.getTicketHistoryForUser("ClientLoginNo1", from, to)).thenReturn(List.of(ticket));
+
+        this.mockMvc.perform(get("/api/v1/clients/self/ticket-list")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketID").value(ticket.getTicketID().toString()));
+
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void clientControllerGetOwnTicketHistoryWithExpandedMoviesTestPositive() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Movie movie = new Movie(UUID.randomUUID(), "MovieTitleNo1", 25.0, 1, 40);
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 25.0, client.getUserID(), movie.getMovieID());
+
+        when(readClient.findByLogin("ClientLoginNo1")).thenReturn(client);
+        when(readClient.getTicketDetailsHistoryForUser(client.getUserID(), null, null, Set.of(TicketExpansion.MOVIE)))
+                .thenReturn(List.of(new TicketDetails(ticket, movie, null)));
+
+        this.mockMvc.perform(get("/api/v1/clients/self/ticket-list").param("expand", "movie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketID").value(ticket.getTicketID().toString()))
+                .andExpect(jsonPath("$[0].movie.movieTitle").value("MovieTitleNo1"))
+                .andExpect(jsonPath("$[0].client").doesNotExist());
+
+        verify(readClient, never()).getTicketHistoryForUser(anyString(), any(), any());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void clientControllerGetOwnTicketHistoryWhenThereAreNoTicketsTestPositive() throws Exception {
+        when(readClient.getTicketHistoryForUser("ClientLoginNo1", null, null)).thenReturn(List.of());
+
+        this.mockMvc.perform(get("/api/v1/clients/self/ticket-list"))
+                .andExpect(status().isNoContent());
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void clientControllerFindAllByUUIDsTestPositive() throws Exception {
+        Client clientNo1 = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Client clientNo2 = new Client(UUID.randomUUID(), "ClientLoginNo2");
+        List<UUID> clientIDs = List.of(clientNo2.getUserID(), clientNo1.getUserID());
+
+        when(readClient.findAllByUUIDs(clientIDs)).thenReturn(List.of(clientNo2, clientNo1));
+
+        this.mockMvc.perform(post("/api/v1/clients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(clientIDs))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userLogin").value(clientNo2.getUserLogin()))
+                .andExpect(jsonPath("$[1].userLogin").value(clientNo1.getUserLogin()));
+    }
+
+    @Test
+    public void clientControllerUpdateWithTokenPrincipalTestPositive() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1", true);
+
+        when(readClient.findByUUID(client.getUserID())).thenReturn(client);
+
+        this.mockMvc.perform(put("/api/v1/clients/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "W/\"0\"")
+                        .content(new ObjectMapper().writeValueAsString(new UserUpdateDTO(client.getUserID(), client.getUserLogin(), true)))
+                        .with(authentication(tokenAuthentication(client.getUserLogin(), client.getUserID(), "ROLE_CLIENT")))
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(writeClient).update(any(Client.class));
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @Test
+    public void clientControllerUpdateOtherClientWithTokenPrincipalTestNegative() throws Exception {
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1", true);
+
+        this.mockMvc.perform(put("/api/v1/clients/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "W/\"0\"")
+                        .content(new ObjectMapper().writeValueAsString(new UserUpdateDTO(UUID.randomUUID(), client.getUserLogin(), true)))
+                        .with(authentication(tokenAuthentication(client.getUserLogin(), client.getUserID(), "ROLE_CLIENT")))
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(readClient, writeClient);
+    }
+
+    private static UsernamePasswordAuthenticationToken tokenAuthentication(String login, UUID userID, String authority) {
+        return new UsernamePasswordAuthenticationToken(new UserPrincipal(login, userID, true), null, List.of(new SimpleGrantedAuthority(authority)));
+    }
 }
@@ -12,17 +12,24 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceMovieNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceVersionMismatchException;
 import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.imports.ImportReport;
+import pl.tks.gr3.cinema.domain_model.users.Client;
+import pl.tks.gr3.cinema.domain_model.versioning.CollectionVersion;
 import pl.tks.gr3.cinema.ports.userinterface.movies.ReadMovieUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.movies.WriteMovieUseCase;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
 import pl.tks.gr3.cinema.viewrest.controllers.MovieController;
 import pl.tks.gr3.cinema.viewrest.model.movies.MovieInputDTO;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -47,9 +54,6 @@ public class MovieControllerTest {
     @MockBean
     private WriteMovieUseCase writeMovie;
 
-    @MockBean
-    private JWSUseCase jwsService;
-
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void createMovieValidInputReturnsCreated() throws Exception {
@@ -81,25 +85,129 @@ public class MovieControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void updateMovieWithCurrentVersionReturnsNoContentWithNextVersion() throws Exception {
+        UUID movieId = UUID.randomUUID();
+
+        doAnswer(invocation -> {
+            Movie movie = invocation.getArgument(0);
+            movie.setVersion(movie.getVersion() + 1);
+            return null;
+        }).when(writeMovie).update(any(Movie.class));
+
+        this.mockMvc.perform(put("/api/v1/movies/update")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType("application/json")
+                        .content("{\"movieID\":\"" + movieId + "\",\"movieTitle\":\"Test Movie\",\"movieBasePrice\":10.0,\"scrRoomNumber\":1,\"numberOfAvailableSeats\":100}").with(csrf()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "W/\"4\""));
+
+        verify(writeMovie).update(argThat(movie -> movie.getMovieID().equals(movieId) && movie.getVersion() == 4));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void updateMovieWithStaleVersionReturnsPreconditionFailed() throws Exception {
+        doThrow(new MovieServiceVersionMismatchException("Movie was changed by another request.", new Throwable())).when(writeMovie).update(any(Movie.class));
+
+        this.mockMvc.perform(put("/api/v1/movies/update")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType("application/json")
+                        .content("{\"movieID\":\"" + UUID.randomUUID() + "\",\"movieTitle\":\"Test Movie\",\"movieBasePrice\":10.0,\"scrRoomNumber\":1,\"numberOfAvailableSeats\":100}").with(csrf()))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void updateMovieWithMalformedVersionReturnsPreconditionFailed() throws Exception {
+        this.mockMvc.perform(put("/api/v1/movies/update")
+                        .header("If-Match", "\"eyJhbGciOiJIUzI1NiJ9\"")
+                        .contentType("application/json")
+                        .content("{\"movieID\":\"" + UUID.randomUUID() + "\",\"movieTitle\":\"Test Movie\",\"movieBasePrice\":10.0,\"scrRoomNumber\":1,\"numberOfAvailableSeats\":100}").with(csrf()))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(writeMovie, never()).update(any(Movie.class));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void importCatalogFromCsvReturnsImportReport() throws Exception {
+        ImportReport importReport = new ImportReport();
+        importReport.addImportedMovies(1);
+        importReport.addError(3, "Expected 6 columns, found 2.");
+
+        when(writeMovie.importCatalog(any(), anyInt())).thenReturn(importReport);
+
+        this.mockMvc.perform(post("/api/v1/movies/import")
+                        .contentType("text/csv")
+                        .content("# type,id,title,price,room,seats\nmovie,,Test Movie,10.0,1,100\nmovie,Broken\n").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedMovies").value(1))
+                .andExpect(jsonPath("$.errors[0].lineNumber").value(3));
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findAllMoviesReturnsListOfMovies() throws Exception {
         List<Movie> movies = new ArrayList<>();
         movies.add(new Movie(UUID.randomUUID(), "Test Movie 1", 10.0, 1, 100));
         movies.add(new Movie(UUID.randomUUID(), "Test Movie 2", 8.0, 2, 80));
-        when(readMovie.findAll()).thenReturn(movies);
+        when(readMovie.getCollectionVersion()).thenReturn(new CollectionVersion(7, Instant.parse("2024-01-10T10:15:30Z")));
+        when(readMovie.streamAll()).thenReturn(movies.stream());
 
         mockMvc.perform(get("/api/v1/movies/all"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"7\""))
+                .andExpect(header().string("Last-Modified", "Wed, 10 Jan 2024 10:15:30 GMT"))
                 .andExpect(jsonPath("$[0].movieID").exists())
                 .andExpect(jsonPath("$[1].movieID").exists());
     }
 
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllMoviesWithCurrentVersionReturnsNotModified() throws Exception {
+        when(readMovie.getCollectionVersion()).thenReturn(new CollectionVersion(7, Instant.parse("2024-01-10T10:15:30Z")));
+
+        mockMvc.perform(get("/api/v1/movies/all").header("If-None-Match", "W/\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"7\""))
+                .andExpect(content().string(""));
+
+        verify(readMovie, never()).streamAll();
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllMoviesNotModifiedSinceReturnsNotModified() throws Exception {
+        when(readMovie.getCollectionVersion()).thenReturn(new CollectionVersion(7, Instant.parse("2024-01-10T10:15:30.250Z")));
+
+        mockMvc.perform(get("/api/v1/movies/all").header("If-Modified-Since", "Wed, 10 Jan 2024 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(readMovie, never()).streamAll();
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllMoviesWithPreviousVersionReturnsListOfMovies() throws Exception {
+        List<Movie> movies = List.of(new Movie(UUID.randomUUID(), "Test Movie 1", 10.0, 1, 100));
+        when(readMovie.getCollectionVersion()).thenReturn(new CollectionVersion(8, Instant.parse("2024-01-10T10:15:31Z")));
+        when(readMovie.streamAll()).thenReturn(movies.stream());
+
+        mockMvc.perform(get("/api/v1/movies/all")
+                        .header("If-None-Match", "W/\"7\"")
+                        .header("If-Modified-Since", "Wed, 10 Jan 2024 10:15:31 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"8\""))
+                .andExpect(jsonPath("$[0].movieID").exists());
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findAllMoviesReturnsEmptyListOfMovies() throws Exception {
-        List<Movie> movies = new ArrayList<>();
-        when(readMovie.findAll()).thenThrow(new MovieServiceMovieNotFoundException("No movies found", new Throwable()));
+        when(readMovie.getCollectionVersion()).thenReturn(new CollectionVersion(0, null));
+        when(readMovie.streamAll()).thenThrow(new MovieServiceMovieNotFoundException("No movies found", new Throwable()));
 
         mockMvc.perform(get("/api/v1/movies/all"))
                 .andExpect(status().isBadRequest());
@@ -117,6 +225,20 @@ public class MovieControllerTest {
                 .andExpect(jsonPath("$.movieID").value(movieId.toString()));
     }
 
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findByUUIDWithCurrentVersionReturnsNotModified() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        Movie movie = new Movie(movieId, "Test Movie", 10.0, 1, 100);
+        movie.setVersion(2);
+        when(readMovie.findByUUID(movieId)).thenReturn(movie);
+
+        mockMvc.perform(get("/api/v1/movies/{id}", movieId).header("If-None-Match", "W/\"1\", W/\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"2\""))
+                .andExpect(content().string(""));
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findByUUIDInvalidUUIDReturnsNotFound() throws Exception {
@@ -143,6 +265,64 @@ public class MovieControllerTest {
                 .andExpect(jsonPath("$[1].ticketID").exists());
     }
 
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsForCertainMovieWithExpandReturnsTicketsWithClients() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, client.getUserID(), movieId);
+        when(readMovie.getListOfTicketDetails(movieId, Set.of(TicketExpansion.CLIENT))).thenReturn(List.of(new TicketDetails(ticket, null, client)));
+
+        mockMvc.perform(get("/api/v1/movies/{id}/tickets", movieId).param("expand", "client"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].client.userID").value(client.getUserID().toString()))
+                .andExpect(jsonPath("$[0].movie").doesNotExist());
+        verify(readMovie, never()).getListOfTickets(any());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findAllByUUIDsReturnsMoviesInRequestOrder() throws Exception {
+        Movie movieNo1 = new Movie(UUID.randomUUID(), "Test Movie No1", 10.0, 1, 100);
+        Movie movieNo2 = new Movie(UUID.randomUUID(), "Test Movie No2", 12.0, 2, 50);
+        List<UUID> movieIDs = List.of(movieNo2.getMovieID(), movieNo1.getMovieID());
+
+        when(readMovie.findAllByUUIDs(movieIDs)).thenReturn(List.of(movieNo2, movieNo1));
+
+        this.mockMvc.perform(post("/api/v1/movies/batch")
+                        .contentType("application/json")
+                        .content("[\"" + movieNo2.getMovieID() + "\",\"" + movieNo1.getMovieID() + "\"]").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].movieID").value(movieNo2.getMovieID().toString()))
+                .andExpect(jsonPath("$[1].movieID").value(movieNo1.getMovieID().toString()));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findAllByUUIDsOverBatchLimitReturnsBadRequest() throws Exception {
+        List<String> movieIDs = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            movieIDs.add("\"" + UUID.randomUUID() + "\"");
+        }
+
+        this.mockMvc.perform(post("/api/v1/movies/batch")
+                        .contentType("application/json")
+                        .content("[" + String.join(",", movieIDs) + "]").with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(readMovie, never()).findAllByUUIDs(anyList());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void findAllByUUIDsWithEmptyListReturnsBadRequest() throws Exception {
+        this.mockMvc.perform(post("/api/v1/movies/batch")
+                        .contentType("application/json")
+                        .content("[]").with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void deleteMovieValidUUIDReturnsNoContent() throws Exception {
@@ -6,15 +6,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.jwt.UserPrincipal;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.ticket.TicketServiceTicketNotFoundException;
+import pl.tks.gr3.cinema.domain_model.Movie;
 import pl.tks.gr3.cinema.domain_model.Ticket;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketDetails;
+import pl.tks.gr3.cinema.domain_model.expansion.TicketExpansion;
+import pl.tks.gr3.cinema.domain_model.pagination.Page;
+import pl.tks.gr3.cinema.domain_model.pagination.PageCursor;
 import pl.tks.gr3.cinema.domain_model.users.Client;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.tickets.ReadTicketUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.tickets.WriteTicketUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
@@ -24,9 +31,12 @@ import pl.tks.gr3.cinema.viewrest.model.tickets.TicketInputDTO;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,9 +58,6 @@ public class TicketControllerTest {
     @MockBean
     private ReadUserUseCase<Client> readClient;
 
-    @MockBean
-    private JWSUseCase jwsService;
-
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void createTicketValidInputReturnsCreated() throws Exception {
@@ -112,13 +119,68 @@ public class TicketControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.ticketID").value(ticketId.toString()));
     }
 
+    @Test
+    public void createSelfTicketWithTokenPrincipalDoesNotReadClient() throws Exception {
+        UUID clientID = UUID.randomUUID();
+        LocalDateTime time = LocalDateTime.now();
+        UUID movieID = UUID.randomUUID();
+        UUID ticketId = UUID.randomUUID();
+        Ticket ticket = new Ticket(ticketId, time, 10.0, clientID, movieID);
+
+        when(writeTicket.create(time.toString(), clientID, movieID)).thenReturn(ticket);
+
+        this.mockMvc.perform(post("/api/v1/tickets/self")
+                        .contentType("application/json")
+                        .content("{\"movieTime\":\"" + time + "\",\"movieID\":\"" + movieID + "\"}")
+                        .with(authentication(tokenAuthentication("ClientLoginNo1", clientID, "ROLE_CLIENT")))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ticketID").value(ticketId.toString()));
+
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void createSelfGroupOfTicketsValidInputReturnsCreated() throws Exception {
+
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        LocalDateTime time = LocalDateTime.now();
+        UUID movieId = UUID.randomUUID();
+        Ticket ticketNo1 = new Ticket(UUID.randomUUID(), time, 10.0, client.getUserID(), movieId);
+        Ticket ticketNo2 = new Ticket(UUID.randomUUID(), time, 10.0, client.getUserID(), movieId);
+
+        when(readClient.findByLogin(client.getUserLogin())).thenReturn(client);
+
+        when(writeTicket.createGroup(time.toString(), client.getUserID(), movieId, 2)).thenReturn(List.of(ticketNo1, ticketNo2));
+
+        this.mockMvc.perform(post("/api/v1/tickets/self/group")
+                        .contentType("application/json")
+                        .content("{\"movieTime\":\"" + time + "\",\"movieID\":\"" + movieId + "\",\"numberOfSeats\":2}").with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].ticketID").value(ticketNo2.getTicketID().toString()));
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void createSelfGroupOfTicketsTooManySeatsReturnsBadRequest() throws Exception {
+
+        this.mockMvc.perform(post("/api/v1/tickets/self/group")
+                        .contentType("application/json")
+                        .content("{\"movieTime\":\"" + LocalDateTime.now() + "\",\"movieID\":\"" + UUID.randomUUID() + "\",\"numberOfSeats\":1000}").with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(writeTicket, never()).createGroup(any(), any(), any(), anyInt());
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findAllTicketsReturnsListOfTickets() throws Exception {
         List<Ticket> tickets = new ArrayList<>();
         tickets.add(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 0.0, UUID.randomUUID(), UUID.randomUUID()));
         tickets.add(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 0.0, UUID.randomUUID(), UUID.randomUUID()));
-        when(readTicket.findAll()).thenReturn(tickets);
+        when(readTicket.streamAll()).thenReturn(tickets.stream());
 
         mockMvc.perform(get("/api/v1/tickets/all"))
                 .andExpect(status().isOk())
@@ -129,12 +191,78 @@ public class TicketControllerTest {
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findAllTicketsReturnsEmptyListOfTickets() throws Exception {
-        when(readTicket.findAll()).thenThrow(new TicketServiceTicketNotFoundException("No tickets found", new Throwable()));
+        when(readTicket.streamAll()).thenThrow(new TicketServiceTicketNotFoundException("No tickets found", new Throwable()));
 
         mockMvc.perform(get("/api/v1/tickets/all"))
                 .andExpect(status().isBadRequest());
     }
 
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsWithPageSizeReturnsPageWithNextLink() throws Exception {
+        List<Ticket> tickets = new ArrayList<>();
+        tickets.add(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 0.0, UUID.randomUUID(), UUID.randomUUID()));
+        tickets.add(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 0.0, UUID.randomUUID(), UUID.randomUUID()));
+        tickets.add(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 0.0, UUID.randomUUID(), UUID.randomUUID()));
+        Page<Ticket> page = Page.of(tickets, 2, ticket -> new PageCursor(ticket.getTicketID(), ticket.getMovieTime()));
+        when(readTicket.findPage(null, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tickets/all").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsWithMalformedCursorReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/all").param("cursor", "not-a-valid-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsWithExpandReturnsTicketsWithMoviesAndClients() throws Exception {
+        Movie movie = new Movie(UUID.randomUUID(), "MovieTitleNo1", 25.0, 1, 40);
+        Client client = new Client(UUID.randomUUID(), "ClientLoginNo1");
+        Ticket ticket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 25.0, client.getUserID(), movie.getMovieID());
+        when(readTicket.streamAllDetails(Set.of(TicketExpansion.MOVIE, TicketExpansion.CLIENT)))
+                .thenReturn(List.of(new TicketDetails(ticket, movie, client)).stream());
+
+        mockMvc.perform(get("/api/v1/tickets/all").param("expand", "movie,client"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketID").value(ticket.getTicketID().toString()))
+                .andExpect(jsonPath("$[0].movie.movieTitle").value("MovieTitleNo1"))
+                .andExpect(jsonPath("$[0].client.userLogin").value("ClientLoginNo1"));
+        verify(readTicket, never()).streamAll();
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsWithExpandAndPageSizeReturnsPageWithoutClients() throws Exception {
+        Movie movie = new Movie(UUID.randomUUID(), "MovieTitleNo1", 25.0, 1, 40);
+        List<TicketDetails> tickets = new ArrayList<>();
+        tickets.add(new TicketDetails(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 25.0, UUID.randomUUID(), movie.getMovieID()), movie, null));
+        tickets.add(new TicketDetails(new Ticket(UUID.randomUUID(), LocalDateTime.now(), 25.0, UUID.randomUUID(), movie.getMovieID()), movie, null));
+        Page<TicketDetails> page = Page.of(tickets, 1, details -> new PageCursor(details.getTicket().getTicketID(), details.getTicket().getMovieTime()));
+        when(readTicket.findDetailsPage(null, 1, Set.of(TicketExpansion.MOVIE))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/tickets/all?size=1&expand=movie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].movie.movieID").value(movie.getMovieID().toString()))
+                .andExpect(jsonPath("$[0].client").doesNotExist())
+                .andExpect(header().string("Link", containsString("expand=movie")));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllTicketsWithUnknownExpandReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/all").param("expand", "movie,seat"))
+                .andExpect(status().isBadRequest());
+        verify(readTicket, never()).streamAllDetails(any());
+    }
+
     @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
     @Test
     public void findByUUIDValidUUIDReturnsTicket() throws Exception {
@@ -152,6 +280,35 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$.ticketID").value(ticketId.toString()));
     }
 
+    @Test
+    public void findByUUIDWithTokenPrincipalOfOtherClientReturnsForbidden() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+        Ticket ticket = new Ticket(ticketId, LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(readTicket.findByUUID(ticketId)).thenReturn(ticket);
+
+        mockMvc.perform(get("/api/v1/tickets/{id}", ticketId)
+                        .with(authentication(tokenAuthentication("ClientLoginNo1", UUID.randomUUID(), "ROLE_CLIENT"))))
+                .andExpect(status().isForbidden());
+
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @Test
+    public void findByUUIDWithTokenPrincipalOfStaffReturnsTicket() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+        Ticket ticket = new Ticket(ticketId, LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+
+        when(readTicket.findByUUID(ticketId)).thenReturn(ticket);
+
+        mockMvc.perform(get("/api/v1/tickets/{id}", ticketId)
+                        .with(authentication(tokenAuthentication("StaffLoginNo1", UUID.randomUUID(), "ROLE_STAFF"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketID").value(ticketId.toString()));
+
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
     @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
     @Test
     public void findByUUIDInvalidUUIDReturnsNotFound() throws Exception {
@@ -216,4 +373,58 @@ public class TicketControllerTest {
         mockMvc.perform(delete("/api/v1/tickets/{id}/delete", invalidTicketId).with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    public void findAllByUUIDsWithTokenPrincipalOfClientReturnsOnlyOwnTickets() throws Exception {
+        UUID clientID = UUID.randomUUID();
+        Ticket ownTicket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, clientID, UUID.randomUUID());
+        Ticket otherTicket = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> ticketIDs = List.of(otherTicket.getTicketID(), ownTicket.getTicketID());
+
+        when(readTicket.findAllByUUIDs(ticketIDs)).thenReturn(List.of(otherTicket, ownTicket));
+
+        mockMvc.perform(post("/api/v1/tickets/batch")
+                        .contentType("application/json")
+                        .content("[\"" + otherTicket.getTicketID() + "\",\"" + ownTicket.getTicketID() + "\"]")
+                        .with(authentication(tokenAuthentication("ClientLoginNo1", clientID, "ROLE_CLIENT")))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].ticketID").value(ownTicket.getTicketID().toString()));
+
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @Test
+    public void findAllByUUIDsWithTokenPrincipalOfStaffReturnsTicketsInRequestOrder() throws Exception {
+        Ticket ticketNo1 = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+        Ticket ticketNo2 = new Ticket(UUID.randomUUID(), LocalDateTime.now(), 10.0, UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> ticketIDs = List.of(ticketNo2.getTicketID(), ticketNo1.getTicketID());
+
+        when(readTicket.findAllByUUIDs(ticketIDs)).thenReturn(List.of(ticketNo2, ticketNo1));
+
+        mockMvc.perform(post("/api/v1/tickets/batch")
+                        .contentType("application/json")
+                        .content("[\"" + ticketNo2.getTicketID() + "\",\"" + ticketNo1.getTicketID() + "\"]")
+                        .with(authentication(tokenAuthentication("StaffLoginNo1", UUID.randomUUID(), "ROLE_STAFF")))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketID").value(ticketNo2.getTicketID().toString()))
+                .andExpect(jsonPath("$[1].ticketID").value(ticketNo1.getTicketID().toString()));
+    }
+
+    @WithMockUser(username = "StaffLoginNo1", roles = {"STAFF"})
+    @Test
+    public void findAllByUUIDsWithNullIdentifierReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/tickets/batch")
+                        .contentType("application/json")
+                        .content("[\"" + UUID.randomUUID() + "\",null]").with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(readTicket, never()).findAllByUUIDs(anyList());
+    }
+
+    private static UsernamePasswordAuthenticationToken tokenAuthentication(String login, UUID userID, String authority) {
+        return new UsernamePasswordAuthenticationToken(new UserPrincipal(login, userID, true), null, List.of(new SimpleGrantedAuthority(authority)));
+    }
 }
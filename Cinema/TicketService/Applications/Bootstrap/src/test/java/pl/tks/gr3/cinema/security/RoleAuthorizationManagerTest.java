@@ -0,0 +1,93 @@
+package pl.tks.gr3.cinema.security;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import pl.tks.gr3.cinema.security.authorization.RoleAuthorizationManager;
+import pl.tks.gr3.cinema.viewrest.controllers.ClientController;
+import pl.tks.gr3.cinema.viewrest.controllers.TicketController;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoleAuthorizationManagerTest {
+
+    private static RoleAuthorizationManager roleAuthorizationManager;
+
+    @BeforeAll
+    public static void initializeRouteTable() {
+        // Controllers are only registered - handler methods are detected from their types, without creating them.
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        for (Class<?> controllerClass : List.of(TicketController.class, ClientController.class)) {
+            RootBeanDefinition beanDefinition = new RootBeanDefinition(controllerClass);
+            beanDefinition.setLazyInit(true);
+            applicationContext.registerBeanDefinition(controllerClass.getSimpleName(), beanDefinition);
+        }
+        RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(applicationContext);
+        handlerMapping.afterPropertiesSet();
+        roleAuthorizationManager = new RoleAuthorizationManager(handlerMapping.getHandlerMethods());
+    }
+
+    private static boolean isGranted(String method, String path, Authentication authentication) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        return roleAuthorizationManager.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static Authentication user(String role) {
+        return new UsernamePasswordAuthenticationToken("UserLoginNo1", null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    @Test
+    public void endpointWithSingleRoleIsGrantedOnlyToThatRole() {
+        assertTrue(isGranted("GET", "/api/v1/tickets/all", user("STAFF")));
+        assertFalse(isGranted("GET", "/api/v1/tickets/all", user("CLIENT")));
+        assertTrue(isGranted("POST", "/api/v1/tickets/self", user("CLIENT")));
+        assertFalse(isGranted("POST", "/api/v1/tickets/self", user("STAFF")));
+    }
+
+    @Test
+    public void endpointWithManyRolesIsGrantedToEachOfThem() {
+        String path = "/api/v1/tickets/" + UUID.randomUUID();
+        assertTrue(isGranted("GET", path, user("STAFF")));
+        assertTrue(isGranted("GET", path, user("CLIENT")));
+        assertFalse(isGranted("GET", path, user("ADMIN")));
+    }
+
+    @Test
+    public void endpointWithoutAllowedRolesRequiresOnlyAuthentication() {
+        assertTrue(isGranted("GET", "/api/v1/clients/self/ticket-list", user("CLIENT")));
+        assertTrue(isGranted("GET", "/api/v1/clients/self/ticket-list", user("ADMIN")));
+        assertFalse(isGranted("GET", "/api/v1/clients/" + UUID.randomUUID() + "/ticket-list", user("CLIENT")));
+    }
+
+    @Test
+    public void headRequestIsCheckedAgainstRolesOfGetEndpoint() {
+        assertTrue(isGranted("HEAD", "/api/v1/tickets/all", user("STAFF")));
+        assertFalse(isGranted("HEAD", "/api/v1/tickets/all", user("CLIENT")));
+    }
+
+    @Test
+    public void requestWithoutMatchingRouteIsDenied() {
+        assertFalse(isGranted("GET", "/api/v1/unknown", user("ADMIN")));
+        assertFalse(isGranted("PATCH", "/api/v1/tickets/all", user("STAFF")));
+    }
+
+    @Test
+    public void anonymousUserIsDenied() {
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser", List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS")));
+        assertFalse(isGranted("GET", "/api/v1/clients/self/ticket-list", anonymous));
+        assertFalse(isGranted("GET", "/api/v1/tickets/all", anonymous));
+        assertFalse(isGranted("GET", "/api/v1/tickets/all", null));
+    }
+}
@@ -0,0 +1,112 @@
+package pl.tks.gr3.cinema.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.movie.MovieServiceMovieNotFoundException;
+import pl.tks.gr3.cinema.application_services.jwt.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.jwt.VerifiedTokenCache;
+import pl.tks.gr3.cinema.application_services.services.JWTService;
+import pl.tks.gr3.cinema.ports.userinterface.movies.ReadMovieUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.movies.WriteMovieUseCase;
+import pl.tks.gr3.cinema.security.config.SecurityConfig;
+import pl.tks.gr3.cinema.security.filters.JWTAuthenticationFilter;
+import pl.tks.gr3.cinema.viewrest.controllers.MovieController;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import({MovieController.class, SecurityConfig.class, JWTAuthenticationFilter.class, JWTService.class, VerifiedTokenCache.class, TokenRevocationList.class})
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = {MovieController.class}, useDefaultFilters = false)
+public class SecurityConfigTest {
+
+    private static final String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @MockBean
+    private ReadMovieUseCase readMovie;
+
+    @MockBean
+    private WriteMovieUseCase writeMovie;
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void endpointAllowedForOtherRoleReturnsForbidden() throws Exception {
+        mockMvc.perform(delete("/api/v1/movies/{id}/delete", UUID.randomUUID()))
+                .andExpect(status().isForbidden());
+
+        verify(writeMovie, never()).delete(any());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void headRequestToEndpointAllowedForOtherRoleReturnsForbidden() throws Exception {
+        UUID movieID = UUID.randomUUID();
+        mockMvc.perform(head("/api/v1/movies/{id}/tickets", movieID))
+                .andExpect(status().isForbidden());
+
+        verify(readMovie, never()).getListOfTickets(any());
+    }
+
+    @WithMockUser(username = "ClientLoginNo1", roles = {"CLIENT"})
+    @Test
+    public void endpointAllowedForUserRoleIsCalled() throws Exception {
+        UUID movieID = UUID.randomUUID();
+        when(readMovie.findByUUID(movieID)).thenThrow(new MovieServiceMovieNotFoundException("Movie not found", new Throwable()));
+
+        mockMvc.perform(get("/api/v1/movies/{id}", movieID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void revokedTokenReturnsUnauthorized() throws Exception {
+        UUID userID = UUID.randomUUID();
+        String jwtToken = JWT.create()
+                .withSubject("ClientLoginNo1")
+                .withJWTId(UUID.randomUUID().toString())
+                .withClaim(UserEntConstants.USER_ROLE, List.of("CLIENT"))
+                .withClaim(UserEntConstants.USER_ID, userID.toString())
+                .withIssuedAt(Date.from(Instant.now().minus(1, ChronoUnit.MINUTES)))
+                .withExpiresAt(Date.from(Instant.now().plus(14, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+        tokenRevocationList.add(userID, Instant.now(), Instant.now().plus(15, ChronoUnit.MINUTES));
+
+        mockMvc.perform(get("/api/v1/movies/{id}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtToken))
+                .andExpect(status().isUnauthorized());
+
+        verify(readMovie, never()).findByUUID(any());
+    }
+
+    @Test
+    public void anonymousUserReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/{id}", UUID.randomUUID()))
+                .andExpect(status().isForbidden());
+
+        verify(readMovie, never()).findByUUID(any());
+    }
+}
@@ -42,6 +42,9 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
     @Value("${rabbitmq.deactivate-rollback.client.queue.name}")
     private String deactivateRollbackClientQueueName;
 
+    @Value("${rabbitmq.token-revocation-replay.queue.name}")
+    private String tokenRevocationReplayQueueName;
+
     // Consts - routing keys
 
     @Value("${rabbitmq.create.client.key}")
@@ -62,11 +65,17 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
     @Value("${rabbitmq.deactivate-rollback.client.key}")
     private String deactivateRollbackClientKey;
 
+    @Value("${rabbitmq.token-revocation-replay.key}")
+    private String tokenRevocationReplayKey;
+
     // Consts - exchange names
 
     @Value("${rabbitmq.exchange.name}")
     private String exchangeName;
 
+    @Value("${rabbitmq.token-revocation.exchange.name}")
+    private String tokenRevocationExchangeName;
+
     // Queue config
 
     @Bean
@@ -99,6 +108,18 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
         return QueueBuilder.durable(this.deactivateRollbackClientQueueName).build();
     }
 
+    @Bean
+    Queue tokenRevocationReplayQueue() {
+        return QueueBuilder.durable(this.tokenRevocationReplayQueueName).build();
+    }
+
+    // Every instance receives all token revocations through its own queue, which is removed when it stops.
+
+    @Bean
+    Queue tokenRevocationQueue() {
+        return new AnonymousQueue();
+    }
+
     // Exchange config
 
     @Bean
@@ -106,6 +127,11 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
         return new TopicExchange(this.exchangeName);
     }
 
+    @Bean
+    public FanoutExchange tokenRevocationExchange() {
+        return new FanoutExchange(this.tokenRevocationExchangeName);
+    }
+
     // Bindings config
 
     @Bean
@@ -150,6 +176,19 @@ public class RabbitMQConfig implements RabbitListenerConfigurer {
                 .with(deactivateRollbackClientKey);
     }
 
+    @Bean
+    public Binding tokenRevocationReplayBinding() {
+        return BindingBuilder.bind(tokenRevocationReplayQueue())
+                .to(exchange())
+                .with(tokenRevocationReplayKey);
+    }
+
+    @Bean
+    public Binding tokenRevocationBinding() {
+        return BindingBuilder.bind(tokenRevocationQueue())
+                .to(tokenRevocationExchange());
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
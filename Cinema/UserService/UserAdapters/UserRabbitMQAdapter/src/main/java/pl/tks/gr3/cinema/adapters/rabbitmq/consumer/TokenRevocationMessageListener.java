@@ -0,0 +1,39 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.TokenRevocationMessage;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.TokenRevocationReplayMessage;
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+import pl.tks.gr3.cinema.ports.userinterface.other.TokenRevocationUseCase;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+public class TokenRevocationMessageListener {
+
+    private final TokenRevocationUseCase tokenRevocationUseCase;
+
+    @Autowired
+    public TokenRevocationMessageListener(TokenRevocationUseCase tokenRevocationUseCase) {
+        this.tokenRevocationUseCase = tokenRevocationUseCase;
+    }
+
+    @RabbitListener(queues = "#{tokenRevocationQueue.name}")
+    public void revokeTokens(@Payload TokenRevocationMessage revocationMessage) {
+        log.debug("Received token revocation message: {}.", revocationMessage);
+        tokenRevocationUseCase.applyTokenRevocation(new TokenRevocation(revocationMessage.getRevokedId(),
+                Instant.ofEpochMilli(revocationMessage.getRevokedAt()),
+                Instant.ofEpochMilli(revocationMessage.getExpiresAt())));
+    }
+
+    @RabbitListener(queues = "${rabbitmq.token-revocation-replay.queue.name}")
+    public void replayTokenRevocations(@Payload TokenRevocationReplayMessage replayMessage) {
+        log.debug("Received token revocation replay message: {}.", replayMessage);
+        tokenRevocationUseCase.replayTokenRevocations();
+    }
+}
@@ -0,0 +1,42 @@
+package pl.tks.gr3.cinema.adapters.rabbitmq.publishers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.rabbitmq.messages.TokenRevocationMessage;
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+import pl.tks.gr3.cinema.ports.infrastructure.PublishTokenRevocationPort;
+
+@Slf4j
+@Service
+public class TokenRevocationPublisher implements PublishTokenRevocationPort {
+
+    @Value("${rabbitmq.token-revocation.exchange.name}")
+    private String tokenRevocationExchangeName;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    public TokenRevocationPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    // Revocation is already stored and applied here when it is sent - instances started later ask for it
+    // to be sent again, ones that miss it otherwise accept affected tokens at most until they expire.
+
+    @Override
+    public void publishTokenRevocation(@NonNull TokenRevocation tokenRevocation) {
+        TokenRevocationMessage revocationMessage = new TokenRevocationMessage(tokenRevocation.getRevokedID(),
+                tokenRevocation.getRevokedAt().toEpochMilli(), tokenRevocation.getExpiresAt().toEpochMilli());
+        log.debug("Sending token revocation message: {} to exchange: {}.", revocationMessage, tokenRevocationExchangeName);
+        try {
+            rabbitTemplate.convertAndSend(this.tokenRevocationExchangeName, "", revocationMessage);
+        } catch (AmqpException exception) {
+            log.warn("Token revocation message: {} could not be sent: {}.", revocationMessage, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pl.tks.gr3.cinema.adapters.aggregates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.api.RefreshTokenRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.RefreshTokenEnt;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshToken;
+import pl.tks.gr3.cinema.ports.infrastructure.RefreshTokenPort;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+public class RefreshTokenRepositoryAdapter implements RefreshTokenPort {
+
+    private final RefreshTokenRepositoryInterface refreshTokenRepository;
+
+    @Autowired
+    public RefreshTokenRepositoryAdapter(RefreshTokenRepositoryInterface refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public void createRefreshToken(UUID userID, UUID familyID, String tokenHash, Instant expiresAt) throws RefreshTokenRepositoryException {
+        refreshTokenRepository.create(userID, familyID, tokenHash, expiresAt);
+    }
+
+    @Override
+    public RefreshToken useRefreshToken(String tokenHash) throws RefreshTokenRepositoryException {
+        RefreshTokenEnt refreshToken = refreshTokenRepository.markAsUsed(tokenHash);
+        return new RefreshToken(refreshToken.getTokenID(), refreshToken.getUserID(), refreshToken.getFamilyID(),
+                refreshToken.getExpiresAt(), refreshToken.isTokenUsed());
+    }
+
+    @Override
+    public void revokeRefreshTokenFamily(UUID familyID) throws RefreshTokenRepositoryException {
+        refreshTokenRepository.deleteFamily(familyID);
+    }
+
+    @Override
+    public void revokeRefreshTokens(UUID userID) throws RefreshTokenRepositoryException {
+        refreshTokenRepository.deleteAllOfUser(userID);
+    }
+}
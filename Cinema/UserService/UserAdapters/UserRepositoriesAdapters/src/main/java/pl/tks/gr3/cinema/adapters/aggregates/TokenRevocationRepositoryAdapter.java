@@ -0,0 +1,34 @@
+package pl.tks.gr3.cinema.adapters.aggregates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.api.TokenRevocationRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+import pl.tks.gr3.cinema.ports.infrastructure.TokenRevocationPort;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class TokenRevocationRepositoryAdapter implements TokenRevocationPort {
+
+    private final TokenRevocationRepositoryInterface tokenRevocationRepository;
+
+    @Autowired
+    public TokenRevocationRepositoryAdapter(TokenRevocationRepositoryInterface tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    @Override
+    public void saveTokenRevocation(TokenRevocation tokenRevocation) throws TokenRevocationRepositoryException {
+        tokenRevocationRepository.revoke(tokenRevocation.getRevokedID(), tokenRevocation.getRevokedAt(), tokenRevocation.getExpiresAt());
+    }
+
+    @Override
+    public List<TokenRevocation> findActiveTokenRevocations(Instant now) throws TokenRevocationRepositoryException {
+        return tokenRevocationRepository.findAllActive(now).stream()
+                .map(tokenRevocation -> new TokenRevocation(tokenRevocation.getRevokedID(), tokenRevocation.getRevokedAt(), tokenRevocation.getExpiresAt()))
+                .toList();
+    }
+}
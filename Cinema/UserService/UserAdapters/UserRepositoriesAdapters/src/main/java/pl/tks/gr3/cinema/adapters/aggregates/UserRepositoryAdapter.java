@@ -3,6 +3,7 @@ package pl.tks.gr3.cinema.adapters.aggregates;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import pl.tks.gr3.cinema.adapters.api.UserRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.cache.UserDetailsCache;
 import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.converters.UserConverter;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
@@ -25,10 +26,12 @@ import java.util.UUID;
 public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, UpdateUserPort, ActivateUserPort, DeactivateUserPort, DeleteUserPort {
 
     private final UserRepositoryInterface userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public UserRepositoryAdapter(UserRepositoryInterface userRepository) {
+    public UserRepositoryAdapter(UserRepositoryInterface userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     // C
@@ -50,22 +53,9 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
 
     // R
 
-    // TODO: try to do it using switch instead
-
     @Override
     public User findByUUID(UUID userID) throws UserRepositoryException {
-        UserEnt userEnt = this.userRepository.findByUUID(userID);
-        User user;
-        if (userEnt.getClass().equals(ClientEnt.class)) {
-            user = UserConverter.convertToClient(userEnt);
-        } else if (userEnt.getClass().equals(StaffEnt.class)) {
-            user = UserConverter.convertToStaff(userEnt);
-        } else if (userEnt.getClass().equals(AdminEnt.class)) {
-            user = UserConverter.convertToAdmin(userEnt);
-        } else {
-            throw new UserTypeNotFoundException(MongoRepositoryMessages.USER_TYPE_NOT_FOUND);
-        }
-        return user;
+        return UserConverter.convertToUser(this.userRepository.findByUUID(userID));
     }
 
     @Override
@@ -130,19 +120,36 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
 
     // U
 
+    // Login can be changed by an update, so cached user details are dropped for all users.
+
     @Override
     public void updateClient(Client client) throws UserRepositoryException {
-        userRepository.updateClient(UserConverter.convertToClientEnt(client));
+        ClientEnt clientEnt = UserConverter.convertToClientEnt(client);
+        userRepository.updateClient(clientEnt);
+        client.setVersion(clientEnt.getVersion());
+        userDetailsCache.removeAllUsersFromCache();
     }
 
     @Override
     public void updateAdmin(Admin admin) throws UserRepositoryException {
-        userRepository.updateAdmin(UserConverter.convertToAdminEnt(admin));
+        AdminEnt adminEnt = UserConverter.convertToAdminEnt(admin);
+        userRepository.updateAdmin(adminEnt);
+        admin.setVersion(adminEnt.getVersion());
+        userDetailsCache.removeAllUsersFromCache();
     }
 
     @Override
     public void updateStaff(Staff staff) throws UserRepositoryException {
-        userRepository.updateStaff(UserConverter.convertToStaffEnt(staff));
+        StaffEnt staffEnt = UserConverter.convertToStaffEnt(staff);
+        userRepository.updateStaff(staffEnt);
+        staff.setVersion(staffEnt.getVersion());
+        userDetailsCache.removeAllUsersFromCache();
+    }
+
+    @Override
+    public void updatePassword(User user, String newPassword) throws UserRepositoryException {
+        userRepository.updatePassword(user.getUserID(), user.getUserPassword(), newPassword);
+        userDetailsCache.removeUserFromCache(user.getUserLogin());
     }
 
     // D
@@ -150,33 +157,48 @@ public class UserRepositoryAdapter implements CreateUserPort, ReadUserPort, Upda
     @Override
     public void delete(UUID userID, String name) throws UserRepositoryException {
         userRepository.delete(userID, name);
+        userDetailsCache.removeAllUsersFromCache();
     }
 
     // Other
 
     @Override
     public void activate(User user) throws UserRepositoryException {
+        UserEnt userEnt;
         if (user.getClass().equals(Client.class)) {
-            userRepository.activate(UserConverter.convertToClientEnt(user), UserEntConstants.CLIENT_DISCRIMINATOR);
+            userEnt = UserConverter.convertToClientEnt(user);
+            userRepository.activate(userEnt, UserEntConstants.CLIENT_DISCRIMINATOR);
         } else if (user.getClass().equals(Admin.class)) {
-            userRepository.activate(UserConverter.convertToAdminEnt(user), UserEntConstants.ADMIN_DISCRIMINATOR);
+            userEnt = UserConverter.convertToAdminEnt(user);
+            userRepository.activate(userEnt, UserEntConstants.ADMIN_DISCRIMINATOR);
         } else if (user.getClass().equals(Staff.class)) {
-            userRepository.activate(UserConverter.convertToStaffEnt(user), UserEntConstants.STAFF_DISCRIMINATOR);
+            userEnt = UserConverter.convertToStaffEnt(user);
+            userRepository.activate(userEnt, UserEntConstants.STAFF_DISCRIMINATOR);
         } else {
             throw new UserTypeNotFoundException(MongoRepositoryMessages.USER_TYPE_NOT_FOUND);
         }
+        user.setUserStatusActive(userEnt.isUserStatusActive());
+        user.setVersion(userEnt.getVersion());
+        userDetailsCache.removeUserFromCache(user.getUserLogin());
     }
 
     @Override
     public void deactivate(User user) throws UserRepositoryException {
+        UserEnt userEnt;
         if (user.getClass().equals(Client.class)) {
-            userRepository.deactivate(UserConverter.convertToClientEnt(user), UserEntConstants.CLIENT_DISCRIMINATOR);
+            userEnt = UserConverter.convertToClientEnt(user);
+            userRepository.deactivate(userEnt, UserEntConstants.CLIENT_DISCRIMINATOR);
         } else if (user.getClass().equals(Admin.class)) {
-            userRepository.deactivate(UserConverter.convertToAdminEnt(user), UserEntConstants.ADMIN_DISCRIMINATOR);
+            userEnt = UserConverter.convertToAdminEnt(user);
+            userRepository.deactivate(userEnt, UserEntConstants.ADMIN_DISCRIMINATOR);
         } else if (user.getClass().equals(Staff.class)) {
-            userRepository.deactivate(UserConverter.convertToStaffEnt(user), UserEntConstants.STAFF_DISCRIMINATOR);
+            userEnt = UserConverter.convertToStaffEnt(user);
+            userRepository.deactivate(userEnt, UserEntConstants.STAFF_DISCRIMINATOR);
         } else {
             throw new UserTypeNotFoundException(MongoRepositoryMessages.USER_TYPE_NOT_FOUND);
         }
+        user.setUserStatusActive(userEnt.isUserStatusActive());
+        user.setVersion(userEnt.getVersion());
+        userDetailsCache.removeUserFromCache(user.getUserLogin());
     }
 }
@@ -0,0 +1,26 @@
+package pl.tks.gr3.cinema.adapters.api;
+
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.RefreshTokenEnt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RefreshTokenRepositoryInterface extends AutoCloseable {
+
+    // Create methods
+
+    RefreshTokenEnt create(UUID userID, UUID familyID, String tokenHash, Instant expiresAt) throws RefreshTokenRepositoryException;
+
+    // Update methods
+
+    RefreshTokenEnt markAsUsed(String tokenHash) throws RefreshTokenRepositoryException;
+
+    // Delete methods
+
+    void deleteFamily(UUID familyID) throws RefreshTokenRepositoryException;
+    void deleteAllOfUser(UUID userID) throws RefreshTokenRepositoryException;
+
+    @Override
+    void close();
+}
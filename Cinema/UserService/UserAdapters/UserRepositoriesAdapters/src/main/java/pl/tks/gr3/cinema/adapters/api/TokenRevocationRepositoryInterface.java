@@ -0,0 +1,22 @@
+package pl.tks.gr3.cinema.adapters.api;
+
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+import pl.tks.gr3.cinema.adapters.model.TokenRevocationEnt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface TokenRevocationRepositoryInterface extends AutoCloseable {
+
+    // Create methods
+
+    TokenRevocationEnt revoke(UUID revokedID, Instant revokedAt, Instant expiresAt) throws TokenRevocationRepositoryException;
+
+    // Read methods
+
+    List<TokenRevocationEnt> findAllActive(Instant now) throws TokenRevocationRepositoryException;
+
+    @Override
+    void close();
+}
@@ -43,6 +43,7 @@ public interface UserRepositoryInterface extends AutoCloseable {
     void updateClient(ClientEnt client) throws UserRepositoryException;
     void updateAdmin(AdminEnt admin) throws UserRepositoryException;
     void updateStaff(StaffEnt staff) throws UserRepositoryException;
+    void updatePassword(UUID userID, String currentPassword, String newPassword) throws UserRepositoryException;
 
     void activate(UserEnt user, String name) throws UserRepositoryException;
     void deactivate(UserEnt user, String name) throws UserRepositoryException;
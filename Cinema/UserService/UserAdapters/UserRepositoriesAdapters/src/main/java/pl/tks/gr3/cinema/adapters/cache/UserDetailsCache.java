@@ -0,0 +1,65 @@
+package pl.tks.gr3.cinema.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * Short lived cache of UserDetails used by DaoAuthenticationProvider, so that repeated logins of the same user
+ * do not read the users collection each time. Entries are removed when user data, password or activity status
+ * is changed through UserRepositoryAdapter. Setting users.details-cache.ttl to zero disables the cache.
+ */
+
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final boolean enabled;
+    private final Cache<String, UserDetails> userDetails;
+
+    @Autowired
+    public UserDetailsCache(@Value("${users.details-cache.max-size:10000}") long maxSize,
+                            @Value("${users.details-cache.ttl:PT10S}") Duration ttl,
+                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(maxSize, ttl);
+        meterRegistryProvider.ifAvailable(meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, userDetails, "users.details"));
+    }
+
+    public UserDetailsCache(long maxSize, Duration ttl) {
+        this.enabled = !ttl.isZero();
+        this.userDetails = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return userDetails.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled) {
+            userDetails.put(user.getUsername(), user);
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        userDetails.invalidate(username);
+    }
+
+    public void removeAllUsersFromCache() {
+        userDetails.invalidateAll();
+    }
+}
@@ -0,0 +1,59 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+import com.mongodb.*;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.ClassModel;
+import org.bson.codecs.pojo.Conventions;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import pl.tks.gr3.cinema.adapters.model.AdminEnt;
+import pl.tks.gr3.cinema.adapters.model.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.StaffEnt;
+import pl.tks.gr3.cinema.adapters.model.UserEnt;
+
+import java.util.List;
+
+public class MongoClientFactory {
+
+    private static final ClassModel<UserEnt> userClassModel = ClassModel.builder(UserEnt.class).enableDiscriminator(true).build();
+    private static final ClassModel<ClientEnt> clientClassModel = ClassModel.builder(ClientEnt.class).enableDiscriminator(true).build();
+    private static final ClassModel<AdminEnt> adminClassModel = ClassModel.builder(AdminEnt.class).enableDiscriminator(true).build();
+    private static final ClassModel<StaffEnt> staffClassModel = ClassModel.builder(StaffEnt.class).enableDiscriminator(true).build();
+
+    private static final PojoCodecProvider pojoCodecProvider = PojoCodecProvider.builder().register(
+            userClassModel, clientClassModel, adminClassModel, staffClassModel
+    ).build();
+    private static final CodecRegistry pojoCodecRegistry = CodecRegistries.fromProviders(
+            pojoCodecProvider,
+            PojoCodecProvider.builder()
+                    .automatic(true)
+                    .conventions(List.of(Conventions.ANNOTATION_CONVENTION))
+                    .build()
+    );
+
+    /*
+     * Settings shared by every MongoClient created in the application - both the application scoped
+     * client bean and the clients created by repositories outside the Spring context (e.g. in tests).
+     */
+
+    public static MongoClientSettings.Builder getMongoClientSettingsBuilder(String connectionString, MongoCredential mongoCredentials) {
+        return MongoClientSettings.builder()
+                .credential(mongoCredentials)
+                .readConcern(ReadConcern.MAJORITY)
+                .readPreference(ReadPreference.primary())
+                .writeConcern(WriteConcern.MAJORITY)
+                .applyConnectionString(new ConnectionString(connectionString))
+                .uuidRepresentation(UuidRepresentation.STANDARD)
+                .codecRegistry(CodecRegistries.fromRegistries(
+                        MongoClientSettings.getDefaultCodecRegistry(),
+                        pojoCodecRegistry
+                ));
+    }
+
+    public static MongoClient createMongoClient(String connectionString, MongoCredential mongoCredentials) {
+        return MongoClients.create(getMongoClientSettingsBuilder(connectionString, mongoCredentials).build());
+    }
+}
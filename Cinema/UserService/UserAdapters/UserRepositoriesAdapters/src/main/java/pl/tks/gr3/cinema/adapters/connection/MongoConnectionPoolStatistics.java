@@ -0,0 +1,44 @@
+package pl.tks.gr3.cinema.adapters.connection;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Records how long requests wait for a connection to be checked out of the pool and how often
+ * the checkout fails (for example because of wait queue timeout). Pool size, number of checked out
+ * connections and wait queue size are reported by MongoMetricsConnectionPoolListener.
+ */
+
+public class MongoConnectionPoolStatistics implements ConnectionPoolListener {
+
+    private final Timer checkOutTimer;
+    private final MeterRegistry meterRegistry;
+
+    public MongoConnectionPoolStatistics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.checkOutTimer = Timer.builder("mongodb.driver.pool.checkout.wait")
+                .description("Time spent waiting for a connection to be checked out of the pool")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkOutTimer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkOutTimer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        Counter.builder("mongodb.driver.pool.checkout.failed")
+                .description("Number of failed connection checkouts")
+                .tag("reason", event.getReason().name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -5,4 +5,6 @@ public class MongoRepositoryConstants {
     // Collection names
 
     public static final String USERS_COLLECTION_NAME = "users";
+    public static final String REFRESH_TOKENS_COLLECTION_NAME = "refresh_tokens";
+    public static final String TOKEN_REVOCATIONS_COLLECTION_NAME = "token_revocations";
 }
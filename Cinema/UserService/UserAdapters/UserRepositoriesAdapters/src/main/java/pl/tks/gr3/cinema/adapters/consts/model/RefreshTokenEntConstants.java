@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.adapters.consts.model;
+
+public class RefreshTokenEntConstants {
+
+    public static final String GENERAL_IDENTIFIER = "_id";
+    public static final String TOKEN_HASH = "token_hash";
+    public static final String USER_ID = "user_id";
+    public static final String FAMILY_ID = "family_id";
+    public static final String EXPIRES_AT = "expires_at";
+    public static final String TOKEN_USED = "token_used";
+}
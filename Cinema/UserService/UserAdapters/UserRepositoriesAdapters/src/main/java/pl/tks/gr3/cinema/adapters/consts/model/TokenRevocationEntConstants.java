@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.adapters.consts.model;
+
+public class TokenRevocationEntConstants {
+
+    public static final String GENERAL_IDENTIFIER = "_id";
+    public static final String REVOKED_AT = "revoked_at";
+    public static final String EXPIRES_AT = "expires_at";
+}
@@ -1,5 +1,7 @@
 package pl.tks.gr3.cinema.adapters.converters;
 
+import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserTypeNotFoundException;
+import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
 import pl.tks.gr3.cinema.adapters.model.AdminEnt;
 import pl.tks.gr3.cinema.adapters.model.ClientEnt;
 import pl.tks.gr3.cinema.adapters.model.StaffEnt;
@@ -12,44 +14,68 @@ import pl.tks.gr3.cinema.domain_model.User;
 public class UserConverter {
 
     public static ClientEnt convertToClientEnt(User user) {
-        return new ClientEnt(user.getUserID(),
+        ClientEnt clientEnt = new ClientEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        clientEnt.setVersion(user.getVersion());
+        return clientEnt;
     }
 
     public static StaffEnt convertToStaffEnt(User user) {
-        return new StaffEnt(user.getUserID(),
+        StaffEnt staffEnt = new StaffEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        staffEnt.setVersion(user.getVersion());
+        return staffEnt;
     }
 
     public static AdminEnt convertToAdminEnt(User user) {
-        return new AdminEnt(user.getUserID(),
+        AdminEnt adminEnt = new AdminEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        adminEnt.setVersion(user.getVersion());
+        return adminEnt;
     }
 
     public static Client convertToClient(UserEnt userEnt) {
-        return new Client(userEnt.getUserID(),
+        Client client = new Client(userEnt.getUserID(),
                 userEnt.getUserLogin(),
                 userEnt.getUserPassword(),
                 userEnt.isUserStatusActive());
+        client.setVersion(userEnt.getVersion());
+        return client;
     }
 
     public static Staff convertToStaff(UserEnt userEnt) {
-        return new Staff(userEnt.getUserID(),
+        Staff staff = new Staff(userEnt.getUserID(),
                 userEnt.getUserLogin(),
                 userEnt.getUserPassword(),
                 userEnt.isUserStatusActive());
+        staff.setVersion(userEnt.getVersion());
+        return staff;
     }
 
     public static Admin convertToAdmin(UserEnt userEnt) {
-        return new Admin(userEnt.getUserID(),
+        Admin admin = new Admin(userEnt.getUserID(),
                 userEnt.getUserLogin(),
                 userEnt.getUserPassword(),
                 userEnt.isUserStatusActive());
+        admin.setVersion(userEnt.getVersion());
+        return admin;
+    }
+
+    public static User convertToUser(UserEnt userEnt) throws UserTypeNotFoundException {
+        if (userEnt.getClass().equals(ClientEnt.class)) {
+            return convertToClient(userEnt);
+        } else if (userEnt.getClass().equals(StaffEnt.class)) {
+            return convertToStaff(userEnt);
+        } else if (userEnt.getClass().equals(AdminEnt.class)) {
+            return convertToAdmin(userEnt);
+        } else {
+            throw new UserTypeNotFoundException(MongoRepositoryMessages.USER_TYPE_NOT_FOUND);
+        }
     }
 }
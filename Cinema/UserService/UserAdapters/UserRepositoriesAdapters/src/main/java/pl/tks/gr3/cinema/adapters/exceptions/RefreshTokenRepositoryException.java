@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.adapters.exceptions;
+
+public class RefreshTokenRepositoryException extends GeneralRepositoryException {
+    public RefreshTokenRepositoryException(String message) {
+        super(message);
+    }
+
+    public RefreshTokenRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
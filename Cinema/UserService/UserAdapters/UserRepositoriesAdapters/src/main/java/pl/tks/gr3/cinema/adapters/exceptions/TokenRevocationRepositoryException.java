@@ -0,0 +1,11 @@
+package pl.tks.gr3.cinema.adapters.exceptions;
+
+public class TokenRevocationRepositoryException extends GeneralRepositoryException {
+    public TokenRevocationRepositoryException(String message) {
+        super(message);
+    }
+
+    public TokenRevocationRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
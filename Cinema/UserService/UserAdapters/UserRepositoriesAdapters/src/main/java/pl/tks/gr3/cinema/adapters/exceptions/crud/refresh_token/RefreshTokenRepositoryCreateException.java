@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token;
+
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+
+public class RefreshTokenRepositoryCreateException extends RefreshTokenRepositoryException {
+    public RefreshTokenRepositoryCreateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
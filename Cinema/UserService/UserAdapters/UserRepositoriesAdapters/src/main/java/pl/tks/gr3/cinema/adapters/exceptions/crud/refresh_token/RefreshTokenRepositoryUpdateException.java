@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token;
+
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+
+public class RefreshTokenRepositoryUpdateException extends RefreshTokenRepositoryException {
+    public RefreshTokenRepositoryUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.token_revocation;
+
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+
+public class TokenRevocationRepositoryCreateException extends TokenRevocationRepositoryException {
+    public TokenRevocationRepositoryCreateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
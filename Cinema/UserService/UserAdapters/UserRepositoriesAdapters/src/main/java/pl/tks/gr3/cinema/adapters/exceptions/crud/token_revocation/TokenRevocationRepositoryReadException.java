@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.token_revocation;
+
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+
+public class TokenRevocationRepositoryReadException extends TokenRevocationRepositoryException {
+    public TokenRevocationRepositoryReadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.adapters.exceptions.crud.user;
+
+public class UserRepositoryVersionMismatchException extends UserRepositoryUpdateException {
+
+    public UserRepositoryVersionMismatchException(String message) {
+        super(message);
+    }
+}
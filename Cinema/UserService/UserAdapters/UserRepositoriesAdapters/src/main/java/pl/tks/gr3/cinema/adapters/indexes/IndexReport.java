@@ -0,0 +1,17 @@
+package pl.tks.gr3.cinema.adapters.indexes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class IndexReport {
+
+    // Indexes in form of "collection.indexName"
+    private List<String> missingIndexes;
+    private List<String> unusedIndexes;
+}
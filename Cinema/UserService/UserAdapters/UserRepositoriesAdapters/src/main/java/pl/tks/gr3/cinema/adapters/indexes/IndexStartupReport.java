@@ -0,0 +1,38 @@
+package pl.tks.gr3.cinema.adapters.indexes;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+
+@Slf4j
+@Component
+public class IndexStartupReport {
+
+    private final IndexRegistry indexRegistry;
+    private final MongoDatabase mongoDatabase;
+
+    @Autowired
+    public IndexStartupReport(IndexRegistry indexRegistry, MongoClient mongoClient, DatabaseConfig dbConfig) {
+        this.indexRegistry = indexRegistry;
+        this.mongoDatabase = mongoClient.getDatabase(dbConfig.getDbName());
+    }
+
+    // All repositories have declared their indexes by now - make sure they exist and report the state.
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void reconcileIndexes() {
+        indexRegistry.reconcile(mongoDatabase);
+        IndexReport indexReport = indexRegistry.report(mongoDatabase);
+        if (!indexReport.getMissingIndexes().isEmpty()) {
+            log.warn("Declared indexes missing in the database: {}", indexReport.getMissingIndexes());
+        }
+        if (!indexReport.getUnusedIndexes().isEmpty()) {
+            log.info("Indexes without recorded usage since the last server restart: {}", indexReport.getUnusedIndexes());
+        }
+    }
+}
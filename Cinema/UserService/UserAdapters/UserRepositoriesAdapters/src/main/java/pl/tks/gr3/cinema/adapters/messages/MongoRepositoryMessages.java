@@ -15,5 +15,10 @@ public class MongoRepositoryMessages {
     public static final String ADMIN_DOC_FOR_ADMIN_OBJ_NOT_FOUND = "Admin document for given admin object could not be found in the database.";
     public static final String STAFF_DOC_FOR_STAFF_OBJ_NOT_FOUND = "Staff document for given staff object could not be found in the database.";
 
+    public static final String USER_DOC_VERSION_MISMATCH = "User document was modified since given version was read.";
+    public static final String USER_PASSWORD_CHANGED = "Password of the user document was changed since it was read.";
+
+    public static final String REFRESH_TOKEN_DOC_OBJECT_NOT_FOUND = "Refresh token document with given token could not be found in the database.";
+
     public static final String USER_TYPE_NOT_FOUND = "User with given user type could not be found.";
 }
@@ -0,0 +1,48 @@
+package pl.tks.gr3.cinema.adapters.model;
+
+import lombok.Getter;
+import org.bson.codecs.pojo.annotations.BsonCreator;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import pl.tks.gr3.cinema.adapters.consts.model.RefreshTokenEntConstants;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+public class RefreshTokenEnt {
+
+    @BsonProperty(RefreshTokenEntConstants.GENERAL_IDENTIFIER)
+    private final UUID tokenID;
+
+    @BsonProperty(RefreshTokenEntConstants.TOKEN_HASH)
+    private final String tokenHash;
+
+    @BsonProperty(RefreshTokenEntConstants.USER_ID)
+    private final UUID userID;
+
+    @BsonProperty(RefreshTokenEntConstants.FAMILY_ID)
+    private final UUID familyID;
+
+    @BsonProperty(RefreshTokenEntConstants.EXPIRES_AT)
+    private final Instant expiresAt;
+
+    @BsonProperty(RefreshTokenEntConstants.TOKEN_USED)
+    private final boolean tokenUsed;
+
+    // Constructors
+
+    @BsonCreator
+    public RefreshTokenEnt(@BsonProperty(RefreshTokenEntConstants.GENERAL_IDENTIFIER) UUID tokenID,
+                           @BsonProperty(RefreshTokenEntConstants.TOKEN_HASH) String tokenHash,
+                           @BsonProperty(RefreshTokenEntConstants.USER_ID) UUID userID,
+                           @BsonProperty(RefreshTokenEntConstants.FAMILY_ID) UUID familyID,
+                           @BsonProperty(RefreshTokenEntConstants.EXPIRES_AT) Instant expiresAt,
+                           @BsonProperty(RefreshTokenEntConstants.TOKEN_USED) boolean tokenUsed) {
+        this.tokenID = tokenID;
+        this.tokenHash = tokenHash;
+        this.userID = userID;
+        this.familyID = familyID;
+        this.expiresAt = expiresAt;
+        this.tokenUsed = tokenUsed;
+    }
+}
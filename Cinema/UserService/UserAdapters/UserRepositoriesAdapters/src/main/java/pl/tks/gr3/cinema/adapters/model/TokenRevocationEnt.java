@@ -0,0 +1,33 @@
+package pl.tks.gr3.cinema.adapters.model;
+
+import lombok.Getter;
+import org.bson.codecs.pojo.annotations.BsonCreator;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+import pl.tks.gr3.cinema.adapters.consts.model.TokenRevocationEntConstants;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+public class TokenRevocationEnt {
+
+    @BsonProperty(TokenRevocationEntConstants.GENERAL_IDENTIFIER)
+    private final UUID revokedID;
+
+    @BsonProperty(TokenRevocationEntConstants.REVOKED_AT)
+    private final Instant revokedAt;
+
+    @BsonProperty(TokenRevocationEntConstants.EXPIRES_AT)
+    private final Instant expiresAt;
+
+    // Constructors
+
+    @BsonCreator
+    public TokenRevocationEnt(@BsonProperty(TokenRevocationEntConstants.GENERAL_IDENTIFIER) UUID revokedID,
+                              @BsonProperty(TokenRevocationEntConstants.REVOKED_AT) Instant revokedAt,
+                              @BsonProperty(TokenRevocationEntConstants.EXPIRES_AT) Instant expiresAt) {
+        this.revokedID = revokedID;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -39,6 +39,9 @@ public abstract class UserEnt {
     @BsonProperty(UserEntConstants.USER_STATUS_ACTIVE)
     protected boolean userStatusActive;
 
+    @BsonProperty(UserEntConstants.VERSION)
+    protected long version;
+
     @Setter(AccessLevel.NONE)
     protected RoleEnt userRole = null;
 
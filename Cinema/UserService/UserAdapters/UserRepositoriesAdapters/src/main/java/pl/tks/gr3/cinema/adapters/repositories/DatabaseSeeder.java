@@ -0,0 +1,72 @@
+package pl.tks.gr3.cinema.adapters.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.model.AdminEnt;
+import pl.tks.gr3.cinema.adapters.model.ClientEnt;
+import pl.tks.gr3.cinema.adapters.model.StaffEnt;
+import pl.tks.gr3.cinema.adapters.model.UserEnt;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Fixtures are written only when "seed" profile is active, with a single bulk write of upserts,
+ * so running it against already seeded database does not create duplicates.
+ */
+
+@Component
+@Profile("seed")
+@DependsOn("userRepository")
+public class DatabaseSeeder extends MongoRepository {
+
+    @Autowired
+    public DatabaseSeeder(MongoClient mongoClient, DatabaseConfig dbConfig) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
+    }
+
+    @PostConstruct
+    public void initializeDatabaseState() {
+        UUID clientIDNo1 = UUID.fromString("26c4727c-c791-4170-ab9d-faf7392e80b2");
+        UUID clientIDNo2 = UUID.fromString("0b08f526-b018-4d23-8baa-93f0fb884edf");
+        UUID clientIDNo3 = UUID.fromString("30392328-2cae-4e76-abb8-b1aa8f58a9e4");
+
+        UUID adminIDNo1 = UUID.fromString("17dad3c7-7605-4808-bec5-d6f46abd23b8");
+        UUID adminIDNo2 = UUID.fromString("ca857499-cdd5-4de3-a8d2-1ba7afcec2ef");
+        UUID adminIDNo3 = UUID.fromString("07f97385-a2a3-474e-af61-f53d14a64198");
+
+        UUID staffIDNo1 = UUID.fromString("67a85b0f-d063-4c9b-b223-fcc606c00f2f");
+        UUID staffIDNo2 = UUID.fromString("3d8ef63c-f99d-445c-85d0-4b14e68fc5a1");
+        UUID staffIDNo3 = UUID.fromString("86e394dd-e192-4390-b4e4-76029c879857");
+
+        ClientEnt clientNo1 = new ClientEnt(clientIDNo1, "NewClientLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        ClientEnt clientNo2 = new ClientEnt(clientIDNo2, "NewClientLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        ClientEnt clientNo3 = new ClientEnt(clientIDNo3, "NewClientLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+
+        AdminEnt adminNo1 = new AdminEnt(adminIDNo1, "NewAdminLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        AdminEnt adminNo2 = new AdminEnt(adminIDNo2, "NewAdminLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        AdminEnt adminNo3 = new AdminEnt(adminIDNo3, "NewAdminLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+
+        StaffEnt staffNo1 = new StaffEnt(staffIDNo1, "NewStaffLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        StaffEnt staffNo2 = new StaffEnt(staffIDNo2, "NewStaffLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+        StaffEnt staffNo3 = new StaffEnt(staffIDNo3, "NewStaffLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
+
+        List<UserEnt> listOfUsers = List.of(clientNo1, clientNo2, clientNo3, adminNo1, adminNo2, adminNo3, staffNo1, staffNo2, staffNo3);
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<WriteModel<UserEnt>> listOfWrites = listOfUsers.stream()
+                .<WriteModel<UserEnt>>map(user -> new ReplaceOneModel<>(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID()), user, upsert))
+                .toList();
+        getClientCollection().bulkWrite(listOfWrites, new BulkWriteOptions().ordered(false));
+    }
+}
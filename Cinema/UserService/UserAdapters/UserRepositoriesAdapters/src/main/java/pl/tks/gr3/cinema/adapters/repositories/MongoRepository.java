@@ -1,24 +1,22 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
-import com.mongodb.*;
+import com.mongodb.MongoCredential;
 import com.mongodb.client.*;
+import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.ValidationOptions;
 import org.bson.Document;
-import org.bson.UuidRepresentation;
-import org.bson.codecs.configuration.CodecRegistries;
-import org.bson.codecs.configuration.CodecRegistry;
-import org.bson.codecs.pojo.ClassModel;
-import org.bson.codecs.pojo.Conventions;
-import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.conversions.Bson;
+import pl.tks.gr3.cinema.adapters.connection.MongoClientFactory;
 import pl.tks.gr3.cinema.adapters.connection.MongoDBConnector;
 import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.consts.MongoRepositoryConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.other.UserNullReferenceException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
-import pl.tks.gr3.cinema.adapters.model.AdminEnt;
-import pl.tks.gr3.cinema.adapters.model.ClientEnt;
-import pl.tks.gr3.cinema.adapters.model.StaffEnt;
 import pl.tks.gr3.cinema.adapters.model.UserEnt;
 
 import java.util.List;
@@ -30,27 +28,19 @@ public abstract class MongoRepository implements AutoCloseable {
 
     protected final static Class<UserEnt> clientCollectionType = UserEnt.class;
 
-    private final ClassModel<UserEnt> userClassModel = ClassModel.builder(UserEnt.class).enableDiscriminator(true).build();
-    private final ClassModel<ClientEnt> clientClassModel = ClassModel.builder(ClientEnt.class).enableDiscriminator(true).build();
-    private final ClassModel<AdminEnt> adminClassModel = ClassModel.builder(AdminEnt.class).enableDiscriminator(true).build();
-    private final ClassModel<StaffEnt> staffClassModel = ClassModel.builder(StaffEnt.class).enableDiscriminator(true).build();
-
-    private final PojoCodecProvider pojoCodecProvider = PojoCodecProvider.builder().register(
-            userClassModel, clientClassModel, adminClassModel, staffClassModel
-    ).build();
-    private final CodecRegistry pojoCodecRegistry = CodecRegistries.fromProviders(
-            pojoCodecProvider,
-            PojoCodecProvider.builder()
-                    .automatic(true)
-                    .conventions(List.of(Conventions.ANNOTATION_CONVENTION))
-                    .build()
-    );
-
     protected MongoClient mongoClient;
     protected MongoDatabase mongoDatabase;
 
+    private boolean mongoClientShared;
+
     // initDBConnection method
 
+    protected void initDBConnection(MongoClient mongoClient, String databaseName) {
+        this.mongoClient = mongoClient;
+        this.mongoClientShared = true;
+        mongoDatabase = mongoClient.getDatabase(databaseName);
+    }
+
     protected void initDBConnection(String databaseName) {
         MongoDBConnector.readConnectionData();
 
@@ -62,20 +52,7 @@ public abstract class MongoRepository implements AutoCloseable {
                 MongoDBConnector.getPassword().toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
@@ -88,20 +65,7 @@ public abstract class MongoRepository implements AutoCloseable {
                 password.toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
@@ -112,23 +76,38 @@ public abstract class MongoRepository implements AutoCloseable {
                 password.toCharArray()
         );
 
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .credential(mongoCredentials)
-                .readConcern(ReadConcern.MAJORITY)
-                .readPreference(ReadPreference.primary())
-                .writeConcern(WriteConcern.MAJORITY)
-                .applyConnectionString(new ConnectionString(connectionString))
-                .uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(CodecRegistries.fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        pojoCodecRegistry
-                ))
-                .build();
-
-        mongoClient = MongoClients.create(mongoClientSettings);
+        mongoClient = MongoClientFactory.createMongoClient(connectionString, mongoCredentials);
         mongoDatabase = mongoClient.getDatabase(databaseName);
     }
 
+    // Collection is created (with its validator) only if it does not exist, validator of an existing collection
+    // is updated with collMod when it differs from the declared one. Documents are dropped only on explicit request.
+
+    protected void prepareCollection(String collectionName, ValidationOptions validationOptions, boolean recreateCollection) {
+        if (recreateCollection) {
+            mongoDatabase.getCollection(collectionName).drop();
+        }
+
+        Document collectionInfo = mongoDatabase.listCollections().filter(Filters.eq("name", collectionName)).first();
+        if (collectionInfo == null) {
+            mongoDatabase.createCollection(collectionName, new CreateCollectionOptions().validationOptions(validationOptions));
+            return;
+        }
+
+        Document collectionOptions = collectionInfo.get("options", Document.class);
+        Object currentValidator = collectionOptions != null ? collectionOptions.get("validator") : null;
+        if (!validationOptions.getValidator().equals(currentValidator)) {
+            mongoDatabase.runCommand(new Document("collMod", collectionName).append("validator", validationOptions.getValidator()));
+        }
+    }
+
+    // Indexes are declared in the registry and built only if missing.
+
+    protected void ensureIndexes(IndexRegistry indexRegistry, String collectionName, List<IndexModel> indexModels) {
+        indexRegistry.declare(collectionName, indexModels);
+        indexRegistry.reconcile(mongoDatabase, collectionName);
+    }
+
     protected MongoCollection<UserEnt> getClientCollection() {
         return mongoDatabase.getCollection(userCollectionName, clientCollectionType);
     }
@@ -149,8 +128,24 @@ public abstract class MongoRepository implements AutoCloseable {
         }
     }
 
+    // Optimistic concurrency - update matches only the version that was read, documents written before versions
+    // were introduced have no version field and are treated as version 0.
+
+    protected static Bson versionFilter(String versionField, long version) {
+        return version == 0 ?
+                Filters.or(Filters.eq(versionField, 0L), Filters.exists(versionField, false)) :
+                Filters.eq(versionField, version);
+    }
+
+    protected static FindOneAndUpdateOptions returnUpdated() {
+        return new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+    }
+
     @Override
     public void close() {
-        mongoClient.close();
+        // Shared client is closed by the Spring context, not by each repository using it.
+        if (!mongoClientShared) {
+            mongoClient.close();
+        }
     }
 }
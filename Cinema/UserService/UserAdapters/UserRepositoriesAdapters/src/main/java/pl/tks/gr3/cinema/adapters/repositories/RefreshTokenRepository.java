@@ -0,0 +1,146 @@
+package pl.tks.gr3.cinema.adapters.repositories;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.*;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.api.RefreshTokenRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.MongoRepositoryConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.RefreshTokenEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token.RefreshTokenRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token.RefreshTokenRepositoryTokenNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token.RefreshTokenRepositoryUpdateException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
+import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
+import pl.tks.gr3.cinema.adapters.model.RefreshTokenEnt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RefreshTokenRepository extends MongoRepository implements RefreshTokenRepositoryInterface {
+
+    private static final String refreshTokenCollectionName = MongoRepositoryConstants.REFRESH_TOKENS_COLLECTION_NAME;
+
+    private final ValidationOptions validationOptions = new ValidationOptions().validator(
+            Document.parse("""
+                            {
+                                $jsonSchema: {
+                                    "bsonType": "object",
+                                    "required": ["_id", "token_hash", "user_id", "family_id", "expires_at", "token_used"],
+                                    "properties": {
+                                        "_id": {
+                                            "description": "Id of the refresh token object representation in the database.",
+                                            "bsonType": "binData"
+                                        },
+                                        "token_hash": {
+                                            "description": "SHA-256 hash of the refresh token given to the user.",
+                                            "bsonType": "string"
+                                        },
+                                        "user_id": {
+                                            "description": "Id of the user that the refresh token was issued for.",
+                                            "bsonType": "binData"
+                                        },
+                                        "family_id": {
+                                            "description": "Id shared by all refresh tokens obtained by rotating the one issued on login.",
+                                            "bsonType": "binData"
+                                        },
+                                        "expires_at": {
+                                            "description": "Date after which the refresh token is no longer valid.",
+                                            "bsonType": "date"
+                                        },
+                                        "token_used": {
+                                            "description": "Boolean flag indicating whether the refresh token was already exchanged.",
+                                            "bsonType": "bool"
+                                        }
+                                    }
+                                }
+                            }
+                            """));
+
+    // Tokens are looked up by hash and revoked by family or user, expired ones are removed by the TTL monitor.
+    private static final List<IndexModel> refreshTokenIndexes = List.of(
+            new IndexModel(Indexes.ascending(RefreshTokenEntConstants.TOKEN_HASH),
+                    new IndexOptions().name("token_hash_1").unique(true)),
+            new IndexModel(Indexes.ascending(RefreshTokenEntConstants.FAMILY_ID),
+                    new IndexOptions().name("family_id_1")),
+            new IndexModel(Indexes.ascending(RefreshTokenEntConstants.USER_ID),
+                    new IndexOptions().name("user_id_1")),
+            new IndexModel(Indexes.ascending(RefreshTokenEntConstants.EXPIRES_AT),
+                    new IndexOptions().name("expires_at_1").expireAfter(0L, TimeUnit.SECONDS))
+    );
+
+    @Autowired
+    public RefreshTokenRepository(MongoClient mongoClient, DatabaseConfig dbConfig, IndexRegistry indexRegistry) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
+
+        prepareCollection(refreshTokenCollectionName, validationOptions, dbConfig.isRecreateCollections());
+        ensureIndexes(indexRegistry, refreshTokenCollectionName, refreshTokenIndexes);
+    }
+
+    // Create methods
+
+    @Override
+    public RefreshTokenEnt create(UUID userID, UUID familyID, String tokenHash, Instant expiresAt) throws RefreshTokenRepositoryException {
+        try {
+            RefreshTokenEnt refreshToken = new RefreshTokenEnt(UUID.randomUUID(), tokenHash, userID, familyID, expiresAt, false);
+            getRefreshTokenCollection().insertOne(refreshToken);
+            return refreshToken;
+        } catch (MongoException exception) {
+            throw new RefreshTokenRepositoryCreateException(exception.getMessage(), exception);
+        }
+    }
+
+    // Update methods
+
+    // Token is marked as used and returned as it was before, so that a token used for the second time can be told apart.
+
+    @Override
+    public RefreshTokenEnt markAsUsed(String tokenHash) throws RefreshTokenRepositoryException {
+        RefreshTokenEnt refreshToken;
+        try {
+            refreshToken = getRefreshTokenCollection().findOneAndUpdate(
+                    Filters.eq(RefreshTokenEntConstants.TOKEN_HASH, tokenHash),
+                    Updates.set(RefreshTokenEntConstants.TOKEN_USED, true),
+                    new FindOneAndUpdateOptions().returnDocument(ReturnDocument.BEFORE));
+        } catch (MongoException exception) {
+            throw new RefreshTokenRepositoryUpdateException(exception.getMessage(), exception);
+        }
+        if (refreshToken == null) {
+            throw new RefreshTokenRepositoryTokenNotFoundException(MongoRepositoryMessages.REFRESH_TOKEN_DOC_OBJECT_NOT_FOUND);
+        }
+        return refreshToken;
+    }
+
+    // Delete methods
+
+    @Override
+    public void deleteFamily(UUID familyID) throws RefreshTokenRepositoryException {
+        deleteMatching(Filters.eq(RefreshTokenEntConstants.FAMILY_ID, familyID));
+    }
+
+    @Override
+    public void deleteAllOfUser(UUID userID) throws RefreshTokenRepositoryException {
+        deleteMatching(Filters.eq(RefreshTokenEntConstants.USER_ID, userID));
+    }
+
+    private void deleteMatching(Bson filter) throws RefreshTokenRepositoryException {
+        try {
+            getRefreshTokenCollection().deleteMany(filter);
+        } catch (MongoException exception) {
+            throw new RefreshTokenRepositoryUpdateException(exception.getMessage(), exception);
+        }
+    }
+
+    private MongoCollection<RefreshTokenEnt> getRefreshTokenCollection() {
+        return mongoDatabase.getCollection(refreshTokenCollectionName, RefreshTokenEnt.class);
+    }
+}
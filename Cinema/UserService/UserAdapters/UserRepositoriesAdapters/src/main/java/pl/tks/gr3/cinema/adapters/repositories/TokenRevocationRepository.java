@@ -0,0 +1,101 @@
+package pl.tks.gr3.cinema.adapters.repositories;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.*;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.tks.gr3.cinema.adapters.api.TokenRevocationRepositoryInterface;
+import pl.tks.gr3.cinema.adapters.connection.DatabaseConfig;
+import pl.tks.gr3.cinema.adapters.consts.MongoRepositoryConstants;
+import pl.tks.gr3.cinema.adapters.consts.model.TokenRevocationEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.token_revocation.TokenRevocationRepositoryCreateException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.token_revocation.TokenRevocationRepositoryReadException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
+import pl.tks.gr3.cinema.adapters.model.TokenRevocationEnt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TokenRevocationRepository extends MongoRepository implements TokenRevocationRepositoryInterface {
+
+    private static final String tokenRevocationCollectionName = MongoRepositoryConstants.TOKEN_REVOCATIONS_COLLECTION_NAME;
+
+    private final ValidationOptions validationOptions = new ValidationOptions().validator(
+            Document.parse("""
+                            {
+                                $jsonSchema: {
+                                    "bsonType": "object",
+                                    "required": ["_id", "revoked_at", "expires_at"],
+                                    "properties": {
+                                        "_id": {
+                                            "description": "Id of the revoked access token, or of the user whose access tokens were all revoked.",
+                                            "bsonType": "binData"
+                                        },
+                                        "revoked_at": {
+                                            "description": "Date of the revocation - tokens issued after it are not affected.",
+                                            "bsonType": "date"
+                                        },
+                                        "expires_at": {
+                                            "description": "Date after which no access token affected by the revocation is valid anymore.",
+                                            "bsonType": "date"
+                                        }
+                                    }
+                                }
+                            }
+                            """));
+
+    // Revocation is only needed until the access tokens it affects expire, then it is removed by the TTL monitor.
+    private static final List<IndexModel> tokenRevocationIndexes = List.of(
+            new IndexModel(Indexes.ascending(TokenRevocationEntConstants.EXPIRES_AT),
+                    new IndexOptions().name("expires_at_1").expireAfter(0L, TimeUnit.SECONDS))
+    );
+
+    @Autowired
+    public TokenRevocationRepository(MongoClient mongoClient, DatabaseConfig dbConfig, IndexRegistry indexRegistry) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
+
+        prepareCollection(tokenRevocationCollectionName, validationOptions, dbConfig.isRecreateCollections());
+        ensureIndexes(indexRegistry, tokenRevocationCollectionName, tokenRevocationIndexes);
+    }
+
+    // Create methods
+
+    // Revoking the same identifier again replaces the previous revocation, so it also covers tokens issued in between.
+
+    @Override
+    public TokenRevocationEnt revoke(UUID revokedID, Instant revokedAt, Instant expiresAt) throws TokenRevocationRepositoryException {
+        try {
+            TokenRevocationEnt tokenRevocation = new TokenRevocationEnt(revokedID, revokedAt, expiresAt);
+            getTokenRevocationCollection().replaceOne(Filters.eq(TokenRevocationEntConstants.GENERAL_IDENTIFIER, revokedID),
+                    tokenRevocation, new ReplaceOptions().upsert(true));
+            return tokenRevocation;
+        } catch (MongoException exception) {
+            throw new TokenRevocationRepositoryCreateException(exception.getMessage(), exception);
+        }
+    }
+
+    // Read methods
+
+    // TTL monitor runs once a minute, so documents that have just expired are filtered out here.
+
+    @Override
+    public List<TokenRevocationEnt> findAllActive(Instant now) throws TokenRevocationRepositoryException {
+        try {
+            return getTokenRevocationCollection().find(Filters.gt(TokenRevocationEntConstants.EXPIRES_AT, now)).into(new ArrayList<>());
+        } catch (MongoException exception) {
+            throw new TokenRevocationRepositoryReadException(exception.getMessage(), exception);
+        }
+    }
+
+    private MongoCollection<TokenRevocationEnt> getTokenRevocationCollection() {
+        return mongoDatabase.getCollection(tokenRevocationCollectionName, TokenRevocationEnt.class);
+    }
+}
@@ -1,9 +1,9 @@
 package pl.tks.gr3.cinema.adapters.repositories;
 
 import com.mongodb.*;
-import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.*;
-import jakarta.annotation.PostConstruct;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
@@ -19,7 +19,7 @@ import pl.tks.gr3.cinema.adapters.exceptions.crud.user.*;
 import pl.tks.gr3.cinema.adapters.exceptions.other.InvalidUUIDException;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserActivationException;
 import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserDeactivationException;
-import pl.tks.gr3.cinema.adapters.exceptions.other.client.UserTypeNotFoundException;
+import pl.tks.gr3.cinema.adapters.indexes.IndexRegistry;
 import pl.tks.gr3.cinema.adapters.messages.MongoRepositoryMessages;
 import pl.tks.gr3.cinema.adapters.model.AdminEnt;
 import pl.tks.gr3.cinema.adapters.model.ClientEnt;
@@ -73,79 +73,35 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
                             }
                             """));
 
-    @Autowired
-    public UserRepository(DatabaseConfig dbConfig) {
-        String connectionString = "mongodb://%s:%s".formatted(dbConfig.getHostName(), dbConfig.getPortNumber());
-        super.initDBConnection(connectionString, dbConfig.getUserName(), dbConfig.getPassword(), dbConfig.getDbName(), dbConfig.getAuthDatabase());
+    // Logins are unique across all user types, lookups by login are made for a certain user type.
+    private static final List<IndexModel> userIndexes = List.of(
+            new IndexModel(Indexes.ascending(UserEntConstants.USER_LOGIN),
+                    new IndexOptions().name("user_login_1").unique(true)),
+            new IndexModel(Indexes.ascending(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.USER_LOGIN),
+                    new IndexOptions().name("_clazz_1_user_login_1").background(true))
+    );
 
-        mongoDatabase.getCollection(userCollectionName).drop();
+    @Autowired
+    public UserRepository(MongoClient mongoClient, DatabaseConfig dbConfig, IndexRegistry indexRegistry) {
+        super.initDBConnection(mongoClient, dbConfig.getDbName());
 
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
+        prepareCollection(userCollectionName, validationOptions, dbConfig.isRecreateCollections());
+        ensureIndexes(indexRegistry, userCollectionName, userIndexes);
     }
 
     public UserRepository(String databaseName) {
         this.databaseName = databaseName;
         super.initDBConnection(this.databaseName);
 
-        mongoDatabase.getCollection(userCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
+        prepareCollection(userCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), userCollectionName, userIndexes);
     }
 
     public UserRepository(String connectionString, String login, String password, String database) {
         super.initDBConnection(connectionString, login, password, database);
 
-        mongoDatabase.getCollection(userCollectionName).drop();
-
-        CreateCollectionOptions createCollectionOptions = new CreateCollectionOptions().validationOptions(validationOptions);
-        mongoDatabase.createCollection(userCollectionName, createCollectionOptions);
-        IndexOptions indexOptions = new IndexOptions().unique(true);
-        mongoDatabase.getCollection(userCollectionName).createIndex(Indexes.ascending(UserEntConstants.USER_LOGIN), indexOptions);
-    }
-
-    @PostConstruct
-    public void initializeDatabaseState() {
-        UUID clientIDNo1 = UUID.fromString("26c4727c-c791-4170-ab9d-faf7392e80b2");
-        UUID clientIDNo2 = UUID.fromString("0b08f526-b018-4d23-8baa-93f0fb884edf");
-        UUID clientIDNo3 = UUID.fromString("30392328-2cae-4e76-abb8-b1aa8f58a9e4");
-
-        UUID adminIDNo1 = UUID.fromString("17dad3c7-7605-4808-bec5-d6f46abd23b8");
-        UUID adminIDNo2 = UUID.fromString("ca857499-cdd5-4de3-a8d2-1ba7afcec2ef");
-        UUID adminIDNo3 = UUID.fromString("07f97385-a2a3-474e-af61-f53d14a64198");
-
-        UUID staffIDNo1 = UUID.fromString("67a85b0f-d063-4c9b-b223-fcc606c00f2f");
-        UUID staffIDNo2 = UUID.fromString("3d8ef63c-f99d-445c-85d0-4b14e68fc5a1");
-        UUID staffIDNo3 = UUID.fromString("86e394dd-e192-4390-b4e4-76029c879857");
-
-        ClientEnt clientNo1 = new ClientEnt(clientIDNo1, "NewClientLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        ClientEnt clientNo2 = new ClientEnt(clientIDNo2, "NewClientLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        ClientEnt clientNo3 = new ClientEnt(clientIDNo3, "NewClientLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-
-        AdminEnt adminNo1 = new AdminEnt(adminIDNo1, "NewAdminLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        AdminEnt adminNo2 = new AdminEnt(adminIDNo2, "NewAdminLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        AdminEnt adminNo3 = new AdminEnt(adminIDNo3, "NewAdminLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-
-        StaffEnt staffNo1 = new StaffEnt(staffIDNo1, "NewStaffLogin1", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        StaffEnt staffNo2 = new StaffEnt(staffIDNo2, "NewStaffLogin2", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-        StaffEnt staffNo3 = new StaffEnt(staffIDNo3, "NewStaffLogin3", "$2a$10$DbYLnx7YVVEtyJUOd7dFP.qUPAswrfNu6RVU0vB/Ti8us8AqaoKzS");
-
-        List<UserEnt> listOfClients = List.of(clientNo1, clientNo2, clientNo3, adminNo1, adminNo2, adminNo3, staffNo1, staffNo2, staffNo3);
-        for (UserEnt user : listOfClients) {
-            Bson filter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID());
-            if (this.getClientCollection().find(filter).first() == null && user.getClass().equals(ClientEnt.class)) {
-                this.getClientCollection().insertOne(user);
-            } else if (this.getClientCollection().find(filter).first() == null && user.getClass().equals(AdminEnt.class)) {
-                this.getClientCollection().insertOne(user);
-            } else if (this.getClientCollection().find(filter).first() == null && user.getClass().equals(StaffEnt.class)) {
-                this.getClientCollection().insertOne(user);
-            }
-        }
+        prepareCollection(userCollectionName, validationOptions, true);
+        ensureIndexes(new IndexRegistry(), userCollectionName, userIndexes);
     }
 
     // Create methods
@@ -290,14 +246,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<ClientEnt> findAllClients() throws UserRepositoryException {
         List<ClientEnt> listOfAllClients = new ArrayList<>();
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             Bson filter = Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR);
             List<UserEnt> listOfClientUsers = getClientCollection().find(filter).into(new ArrayList<>());
             for (UserEnt clientUser : listOfClientUsers) {
                 listOfAllClients.add(UserMapper.toClientEnt(clientUser));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -307,14 +261,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<AdminEnt> findAllAdmins() throws UserRepositoryException {
         List<AdminEnt> listOfAllAdmins = new ArrayList<>();
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             Bson filter = Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.ADMIN_DISCRIMINATOR);
             List<UserEnt> listOfAdminUsers = getClientCollection().find(filter).into(new ArrayList<>());
             for (UserEnt adminUser : listOfAdminUsers) {
                 listOfAllAdmins.add(UserMapper.toAdminEnt(adminUser));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -324,14 +276,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<StaffEnt> findAllStaffs() throws UserRepositoryException {
         List<StaffEnt> listOfAllStaff = new ArrayList<>();
-        try (ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             Bson filter = Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.STAFF_DISCRIMINATOR);
             List<UserEnt> listOfStaffUsers = getClientCollection().find(filter).into(new ArrayList<>());
             for (UserEnt staffUser : listOfStaffUsers) {
                 listOfAllStaff.add(UserMapper.toStaffEnt(staffUser));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -405,14 +355,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<ClientEnt> findAllClientsMatchingLogin(String loginValue) throws UserRepositoryException {
         List<ClientEnt> listOfMatchingClients = new ArrayList<>();
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             List<Bson> listOfFilters = List.of(Aggregates.match(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.CLIENT_DISCRIMINATOR)),
                     Aggregates.match(Filters.regex(UserEntConstants.USER_LOGIN, "^" + loginValue + ".*$")));
             for (UserEnt user : getClientCollection().aggregate(listOfFilters)) {
                 listOfMatchingClients.add(UserMapper.toClientEnt(user));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -422,14 +370,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<AdminEnt> findAllAdminsMatchingLogin(String loginValue) throws UserRepositoryException {
         List<AdminEnt> listOfMatchingAdmins = new ArrayList<>();
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             List<Bson> listOfFilters = List.of(Aggregates.match(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.ADMIN_DISCRIMINATOR)),
                     Aggregates.match(Filters.regex(UserEntConstants.USER_LOGIN, "^" + loginValue + ".*$")));
             for (UserEnt user : getClientCollection().aggregate(listOfFilters)) {
                 listOfMatchingAdmins.add(UserMapper.toAdminEnt(user));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -439,14 +385,12 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
     @Override
     public List<StaffEnt> findAllStaffsMatchingLogin(String loginValue) throws UserRepositoryException {
         List<StaffEnt> listOfMatchingStaff = new ArrayList<>();
-        try(ClientSession clientSession = mongoClient.startSession()) {
-            clientSession.startTransaction();
+        try {
             List<Bson> listOfFilters = List.of(Aggregates.match(Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, UserEntConstants.STAFF_DISCRIMINATOR)),
                     Aggregates.match(Filters.regex(UserEntConstants.USER_LOGIN, "^" + loginValue + ".*$")));
             for (UserEnt user : getClientCollection().aggregate(listOfFilters)) {
                 listOfMatchingStaff.add(UserMapper.toStaffEnt(user));
             }
-            clientSession.commitTransaction();
         } catch (MongoException exception) {
             throw new UserRepositoryReadException(exception.getMessage(), exception);
         }
@@ -455,39 +399,58 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
 
     // Update users methods
 
+    // User is updated only if it was not modified since given version was read - then its version is incremented.
+    // Activity status is not written here, it is changed only by activation and deactivation.
+
     @Override
     public void updateClient(ClientEnt client) throws UserRepositoryException {
-        try {
-            Bson clientFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, client.getUserID());
-            UserEnt updatedClientUser = getClientCollection().findOneAndReplace(clientFilter, client);
-            if (updatedClientUser == null) {
-                throw new UserNullReferenceException(MongoRepositoryMessages.CLIENT_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
-            }
-        } catch (MongoException | UserNullReferenceException exception) {
-            throw new UserRepositoryUpdateException(exception.getMessage(), exception);
-        }
+        this.updateUser(client, MongoRepositoryMessages.CLIENT_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
     }
 
     @Override
     public void updateAdmin(AdminEnt admin) throws UserRepositoryException {
+        this.updateUser(admin, MongoRepositoryMessages.ADMIN_DOC_FOR_ADMIN_OBJ_NOT_FOUND);
+    }
+
+    @Override
+    public void updateStaff(StaffEnt staff) throws UserRepositoryException {
+        this.updateUser(staff, MongoRepositoryMessages.STAFF_DOC_FOR_STAFF_OBJ_NOT_FOUND);
+    }
+
+    private void updateUser(UserEnt user, String notFoundMessage) throws UserRepositoryException {
         try {
-            Bson adminFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, admin.getUserID());
-            UserEnt updatedAdminUser = getClientCollection().findOneAndReplace(adminFilter, admin);
-            if (updatedAdminUser == null) {
-                throw new UserNullReferenceException(MongoRepositoryMessages.ADMIN_DOC_FOR_ADMIN_OBJ_NOT_FOUND);
+            Bson userFilter = Filters.and(
+                    Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID()),
+                    versionFilter(UserEntConstants.VERSION, user.getVersion()));
+            Bson update = Updates.combine(
+                    Updates.set(UserEntConstants.USER_LOGIN, user.getUserLogin()),
+                    Updates.set(UserEntConstants.USER_PASSWORD, user.getUserPassword()),
+                    Updates.inc(UserEntConstants.VERSION, 1L));
+            UserEnt updatedUser = getClientCollection().findOneAndUpdate(userFilter, update, returnUpdated());
+            if (updatedUser == null) {
+                if (getClientCollection().countDocuments(Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID())) == 0) {
+                    throw new UserNullReferenceException(notFoundMessage);
+                }
+                throw new UserRepositoryVersionMismatchException(MongoRepositoryMessages.USER_DOC_VERSION_MISMATCH);
             }
+            user.setVersion(updatedUser.getVersion());
         } catch (MongoException | UserNullReferenceException exception) {
             throw new UserRepositoryUpdateException(exception.getMessage(), exception);
         }
     }
 
+    // Password hash is replaced only if it was not changed since it was read, so that upgrading the hash of
+    // a logged in user does not overwrite a password set in the meantime.
+
     @Override
-    public void updateStaff(StaffEnt staff) throws UserRepositoryException {
+    public void updatePassword(UUID userID, String currentPassword, String newPassword) throws UserRepositoryException {
         try {
-            Bson staffFilter = Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, staff.getUserID());
-            UserEnt updatedStaffUser = getClientCollection().findOneAndReplace(staffFilter, staff);
-            if (updatedStaffUser == null) {
-                throw new UserNullReferenceException(MongoRepositoryMessages.STAFF_DOC_FOR_STAFF_OBJ_NOT_FOUND);
+            Bson userFilter = Filters.and(
+                    Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, userID),
+                    Filters.eq(UserEntConstants.USER_PASSWORD, currentPassword));
+            UpdateResult updateResult = getClientCollection().updateOne(userFilter, Updates.set(UserEntConstants.USER_PASSWORD, newPassword));
+            if (updateResult.getMatchedCount() == 0) {
+                throw new UserNullReferenceException(MongoRepositoryMessages.USER_PASSWORD_CHANGED);
             }
         } catch (MongoException | UserNullReferenceException exception) {
             throw new UserRepositoryUpdateException(exception.getMessage(), exception);
@@ -512,36 +475,39 @@ public class UserRepository extends MongoRepository implements UserRepositoryInt
         }
     }
 
+    // Activity status is changed regardless of the version that was read, but the version is incremented,
+    // so an update based on a version read before the change is rejected.
+
     @Override
     public void activate(UserEnt user, String name) throws UserRepositoryException {
-        user.setUserStatusActive(true);
         try {
-            this.updateCertainUserBasedOnType(user, name);
-        } catch (UserRepositoryException exception) {
+            this.updateStatus(user, name, true);
+        } catch (MongoException | UserNullReferenceException exception) {
             throw new UserActivationException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
         }
     }
 
     @Override
     public void deactivate(UserEnt user, String name) throws UserRepositoryException {
-        user.setUserStatusActive(false);
         try {
-            this.updateCertainUserBasedOnType(user, name);
-        } catch (UserRepositoryException exception) {
+            this.updateStatus(user, name, false);
+        } catch (MongoException | UserNullReferenceException exception) {
             throw new UserDeactivationException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
         }
     }
 
-    private void updateCertainUserBasedOnType(UserEnt user, String name) throws UserRepositoryException {
-        try {
-            switch (name) {
-                case UserEntConstants.ADMIN_DISCRIMINATOR -> this.updateAdmin(UserMapper.toAdminEnt(user));
-                case UserEntConstants.STAFF_DISCRIMINATOR -> this.updateStaff(UserMapper.toStaffEnt(user));
-                case UserEntConstants.CLIENT_DISCRIMINATOR -> this.updateClient(UserMapper.toClientEnt(user));
-                default -> throw new UserTypeNotFoundException(MongoRepositoryMessages.USER_TYPE_NOT_FOUND);
-            }
-        } catch (UserRepositoryException exception) {
-            throw new UserActivationException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
+    private void updateStatus(UserEnt user, String name, boolean userStatusActive) throws UserNullReferenceException {
+        Bson userFilter = Filters.and(
+                Filters.eq(UserEntConstants.GENERAL_IDENTIFIER, user.getUserID()),
+                Filters.eq(UserEntConstants.USER_DISCRIMINATOR_NAME, name));
+        Bson update = Updates.combine(
+                Updates.set(UserEntConstants.USER_STATUS_ACTIVE, userStatusActive),
+                Updates.inc(UserEntConstants.VERSION, 1L));
+        UserEnt updatedUser = getClientCollection().findOneAndUpdate(userFilter, update, returnUpdated());
+        if (updatedUser == null) {
+            throw new UserNullReferenceException(MongoRepositoryMessages.USER_DOC_FOR_CLIENT_OBJ_NOT_FOUND);
         }
+        user.setUserStatusActive(userStatusActive);
+        user.setVersion(updatedUser.getVersion());
     }
 }
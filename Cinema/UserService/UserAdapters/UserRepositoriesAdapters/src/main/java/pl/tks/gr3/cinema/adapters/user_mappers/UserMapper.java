@@ -8,23 +8,29 @@ import pl.tks.gr3.cinema.adapters.model.UserEnt;
 public class UserMapper {
 
     public static ClientEnt toClientEnt(UserEnt user) {
-        return new ClientEnt(user.getUserID(),
+        ClientEnt client = new ClientEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        client.setVersion(user.getVersion());
+        return client;
     }
 
     public static AdminEnt toAdminEnt(UserEnt user) {
-        return new AdminEnt(user.getUserID(),
+        AdminEnt admin = new AdminEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        admin.setVersion(user.getVersion());
+        return admin;
     }
 
     public static StaffEnt toStaffEnt(UserEnt user) {
-        return new StaffEnt(user.getUserID(),
+        StaffEnt staff = new StaffEnt(user.getUserID(),
                 user.getUserLogin(),
                 user.getUserPassword(),
                 user.isUserStatusActive());
+        staff.setVersion(user.getVersion());
+        return staff;
     }
 }
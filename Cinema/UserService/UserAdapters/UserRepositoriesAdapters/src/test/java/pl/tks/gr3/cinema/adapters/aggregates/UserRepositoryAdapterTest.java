@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.cache.UserDetailsCache;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.model.AdminEnt;
 import pl.tks.gr3.cinema.adapters.model.ClientEnt;
@@ -27,6 +28,9 @@ public class UserRepositoryAdapterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserRepositoryAdapter userRepositoryAdapter;
 
@@ -528,6 +532,27 @@ public class UserRepositoryAdapterTest {
         verify(userRepository, times(1)).updateStaff(staffArgumentCaptor.capture());
     }
 
+    @Test
+    public void userRepositoryAdapterUpdatePasswordTestPositive() {
+        Client client = new Client(clientEntNo1.getUserID(), clientEntNo1.getUserLogin(), clientEntNo1.getUserPassword());
+
+        userRepositoryAdapter.updatePassword(client, "NewPasswordHashNo1");
+
+        verify(userRepository, times(1)).updatePassword(clientEntNo1.getUserID(), clientEntNo1.getUserPassword(), "NewPasswordHashNo1");
+        verify(userDetailsCache, times(1)).removeUserFromCache(clientEntNo1.getUserLogin());
+    }
+
+    @Test
+    public void userRepositoryAdapterUpdatePasswordTestNegative() {
+        Client client = new Client(clientEntNo1.getUserID(), clientEntNo1.getUserLogin(), clientEntNo1.getUserPassword());
+
+        doThrow(UserRepositoryException.class).when(userRepository).updatePassword(Mockito.any(), Mockito.anyString(), Mockito.anyString());
+
+        assertThrows(UserRepositoryException.class, () -> userRepositoryAdapter.updatePassword(client, "NewPasswordHashNo1"));
+
+        verify(userDetailsCache, never()).removeUserFromCache(Mockito.anyString());
+    }
+
     @Test
     public void userRepositoryAdapterDeleteTestPositive() {
         UUID removedUserUUID = clientEntNo1.getUserID();
@@ -632,6 +657,10 @@ public class UserRepositoryAdapterTest {
         verify(userRepository, times(1)).deactivate(clientArgumentCaptor.capture(), Mockito.eq("client"));
         verify(userRepository, times(1)).deactivate(adminArgumentCaptor.capture(), Mockito.eq("admin"));
         verify(userRepository, times(1)).deactivate(staffArgumentCaptor.capture(), Mockito.eq("staff"));
+
+        verify(userDetailsCache, times(1)).removeUserFromCache(client.getUserLogin());
+        verify(userDetailsCache, times(1)).removeUserFromCache(admin.getUserLogin());
+        verify(userDetailsCache, times(1)).removeUserFromCache(staff.getUserLogin());
     }
 
     @Test
@@ -0,0 +1,44 @@
+package pl.tks.gr3.cinema.adapters.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheTest {
+
+    private final UserDetails userDetails = User.withUsername("UniqueClientLoginNo1").password("EncodedPassword").roles("CLIENT").build();
+
+    @Test
+    public void userDetailsCachePutAndRemoveUserTestPositive() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(1));
+
+        userDetailsCache.putUserInCache(userDetails);
+        assertSame(userDetails, userDetailsCache.getUserFromCache(userDetails.getUsername()));
+
+        userDetailsCache.removeUserFromCache(userDetails.getUsername());
+        assertNull(userDetailsCache.getUserFromCache(userDetails.getUsername()));
+    }
+
+    @Test
+    public void userDetailsCacheRemoveAllUsersTestPositive() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(1));
+
+        userDetailsCache.putUserInCache(userDetails);
+        userDetailsCache.removeAllUsersFromCache();
+
+        assertNull(userDetailsCache.getUserFromCache(userDetails.getUsername()));
+    }
+
+    @Test
+    public void userDetailsCacheDisabledWithZeroTtlTestPositive() {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ZERO);
+
+        userDetailsCache.putUserInCache(userDetails);
+
+        assertNull(userDetailsCache.getUserFromCache(userDetails.getUsername()));
+    }
+}
@@ -483,8 +483,7 @@ public class UserRepositoryTest extends TestContainerSetup {
 
     @Test
     public void userRepositoryActivateClientTestPositive() throws UserRepositoryException {
-        clientNo1.setUserStatusActive(false);
-        userRepository.updateClient(clientNo1);
+        userRepository.deactivate(clientNo1, UserEntConstants.CLIENT_DISCRIMINATOR);
         ClientEnt foundClient = userRepository.findClientByUUID(clientNo1.getUserID());
         assertNotNull(foundClient);
         assertFalse(foundClient.isUserStatusActive());
@@ -496,8 +495,7 @@ public class UserRepositoryTest extends TestContainerSetup {
 
     @Test
     public void userRepositoryActivateAdminTestPositive() throws UserRepositoryException {
-        adminNo1.setUserStatusActive(false);
-        userRepository.updateAdmin(adminNo1);
+        userRepository.deactivate(adminNo1, UserEntConstants.ADMIN_DISCRIMINATOR);
         AdminEnt foundAdmin = userRepository.findAdminByUUID(adminNo1.getUserID());
         assertNotNull(foundAdmin);
         assertFalse(foundAdmin.isUserStatusActive());
@@ -509,8 +507,7 @@ public class UserRepositoryTest extends TestContainerSetup {
 
     @Test
     public void userRepositoryActivateStaffTestPositive() throws UserRepositoryException {
-        staffNo1.setUserStatusActive(false);
-        userRepository.updateStaff(staffNo1);
+        userRepository.deactivate(staffNo1, UserEntConstants.STAFF_DISCRIMINATOR);
         StaffEnt foundStaff = userRepository.findStaffByUUID(staffNo1.getUserID());
         assertNotNull(foundStaff);
         assertFalse(foundStaff.isUserStatusActive());
@@ -617,6 +614,25 @@ public class UserRepositoryTest extends TestContainerSetup {
         assertNotEquals(passwordBefore, passwordAfter);
     }
 
+    @Test
+    public void userRepositoryUpdateClientIncrementsVersionTestPositive() throws UserRepositoryException {
+        long versionBefore = userRepository.findClientByUUID(clientNo1.getUserID()).getVersion();
+        clientNo1.setVersion(versionBefore);
+        clientNo1.setUserLogin("NewLogin");
+        userRepository.updateClient(clientNo1);
+        assertEquals(versionBefore + 1, clientNo1.getVersion());
+        assertEquals(versionBefore + 1, userRepository.findClientByUUID(clientNo1.getUserID()).getVersion());
+    }
+
+    @Test
+    public void userRepositoryUpdateClientWithOutdatedVersionTestNegative() throws UserRepositoryException {
+        ClientEnt foundClient = userRepository.findClientByUUID(clientNo1.getUserID());
+        userRepository.deactivate(clientNo1, UserEntConstants.CLIENT_DISCRIMINATOR);
+        foundClient.setUserLogin("NewLogin");
+        assertThrows(UserRepositoryVersionMismatchException.class, () -> userRepository.updateClient(foundClient));
+        assertNotEquals("NewLogin", userRepository.findClientByUUID(clientNo1.getUserID()).getUserLogin());
+    }
+
     @Test
     public void userRepositoryUpdateClientThatIsNotInTheDatabaseTestNegative() {
         ClientEnt client = new ClientEnt(UUID.randomUUID(), clientNo1.getUserLogin(), clientNo1.getUserPassword(), clientNo1.isUserStatusActive());
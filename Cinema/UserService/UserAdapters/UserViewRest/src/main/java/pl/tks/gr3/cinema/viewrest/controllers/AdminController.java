@@ -6,22 +6,27 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.admin.AdminServiceAdminNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.admin.AdminServiceVersionMismatchException;
 import pl.tks.gr3.cinema.viewrest.api.UserControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Admin;
 import pl.tks.gr3.cinema.domain_model.User;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.domain_model.Role;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.model.UserOutputDTO;
 import pl.tks.gr3.cinema.viewrest.model.UserUpdateDTO;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+import pl.tks.gr3.cinema.viewrest.security.CurrentUser;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,21 +42,18 @@ public class AdminController implements UserControllerInterface<Admin> {
 
     private final ReadUserUseCase<Admin> readAdmin;
     private final WriteUserUseCase<Admin> writeAdmin;
-    private final JWSUseCase jwsService;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
     public AdminController(ReadUserUseCase<Admin> readAdmin,
                            WriteUserUseCase<Admin> writeAdmin,
-                           JWSUseCase jwsService,
                            PasswordEncoder passwordEncoder) {
         this.readAdmin = readAdmin;
         this.writeAdmin = writeAdmin;
-        this.jwsService = jwsService;
         this.passwordEncoder = passwordEncoder;
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByUUID(@PathVariable("id") UUID adminID) {
@@ -66,7 +68,7 @@ public class AdminController implements UserControllerInterface<Admin> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @GetMapping(value = "/login/{login}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByLogin(@PathVariable("login") String adminLogin) {
@@ -84,10 +86,9 @@ public class AdminController implements UserControllerInterface<Admin> {
     @GetMapping(value = "/login/self", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> findByLogin() {
         try {
-            Admin admin = this.readAdmin.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
+            Admin admin = this.readAdmin.findByLogin(CurrentUser.login());
             UserOutputDTO userOutputDTO = new UserOutputDTO(admin.getUserID(), admin.getUserLogin(), admin.isUserStatusActive());
-            String etagContent = jwsService.generateSignatureForUser(admin);
-            return ResponseEntity.ok().header(HttpHeaders.ETAG, etagContent).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(admin.getVersion())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
         } catch (AdminServiceAdminNotFoundException exception) {
             return ResponseEntity.notFound().build();
         } catch (GeneralServiceException exception) {
@@ -95,7 +96,7 @@ public class AdminController implements UserControllerInterface<Admin> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAllWithMatchingLogin(@RequestParam("match") String adminLogin) {
@@ -107,7 +108,7 @@ public class AdminController implements UserControllerInterface<Admin> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAll() {
@@ -123,26 +124,36 @@ public class AdminController implements UserControllerInterface<Admin> {
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody @Valid UserUpdateDTO userUpdateDTO) {
         try {
-            String password = userUpdateDTO.getUserPassword() == null ? null : passwordEncoder.encode(userUpdateDTO.getUserPassword());
-            Admin admin = new Admin(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), password, userUpdateDTO.isUserStatusActive());
+            Admin admin = new Admin(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), userUpdateDTO.getUserPassword(), userUpdateDTO.isUserStatusActive());
+            admin.setVersion(VersionTag.parse(ifMatch));
             Set<ConstraintViolation<User>> violationSet = validator.validate(admin);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
             if (!violationSet.isEmpty()) {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
             }
 
-            if (jwsService.verifyUserSignature(ifMatch.replace("\"", ""), admin)) {
-                this.writeAdmin.update(admin);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
+            // Ownership is checked against the authenticated user, version check itself is done by the update.
+            // Password is hashed only once the request is known to be allowed.
+            User currentUser = CurrentUser.user().orElseGet(() -> this.readAdmin.findByLogin(CurrentUser.login()));
+            if (!(currentUser instanceof Admin) || !currentUser.getUserID().equals(admin.getUserID())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("Modifying other user data is forbidden.");
+            } else if (currentUser.isUserStatusActive() != admin.isUserStatusActive()) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Admin status could not be changed with update.");
             }
+
+            admin.setUserPassword(passwordEncoder.encode(admin.getUserPassword()));
+            this.writeAdmin.update(admin);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(admin.getVersion())).build();
+        } catch (InvalidVersionTagException | AdminServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/activate")
     @Override
     public ResponseEntity<?> activate(@PathVariable("id") UUID adminID) {
@@ -154,7 +165,7 @@ public class AdminController implements UserControllerInterface<Admin> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/deactivate")
     @Override
     public ResponseEntity<?> deactivate(@PathVariable("id") UUID adminID) {
@@ -7,31 +7,43 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import pl.tks.gr3.cinema.adapters.rabbitmq.messages.ClientCreateMessage;
 import pl.tks.gr3.cinema.adapters.rabbitmq.publishers.ClientCreatePublisher;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
-import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.GeneralAuthenticationLoginException;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.GeneralAuthenticationServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.AuthenticationServiceInvalidRefreshTokenException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.register.AuthenticationServiceUserWithGivenLoginExistsException;
 import pl.tks.gr3.cinema.domain_model.Admin;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.domain_model.Staff;
 import pl.tks.gr3.cinema.domain_model.User;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshTokenGrant;
+import pl.tks.gr3.cinema.domain_model.Role;
 import pl.tks.gr3.cinema.ports.userinterface.other.JWTUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.other.LoginUserUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.other.RefreshTokenUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.other.RegisterUserUseCase;
+import pl.tks.gr3.cinema.ports.userinterface.other.TokenRevocationUseCase;
 import pl.tks.gr3.cinema.viewrest.model.UserInputDTO;
 import pl.tks.gr3.cinema.viewrest.model.UserOutputDTO;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -43,20 +55,36 @@ public class AuthenticationController {
 
     private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
+    private static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+    private static final String TOKEN_PREFIX = "Bearer ";
+
     private RegisterUserUseCase registerUser;
     private ClientCreatePublisher clientCreatePublisher;
     private LoginUserUseCase loginUser;
     private JWTUseCase jwtService;
+    private RefreshTokenUseCase refreshTokenService;
+    private TokenRevocationUseCase tokenRevocationService;
+
+    private String refreshTokenCookiePath;
+    private Duration refreshTokenTtl;
 
     @Autowired
     public AuthenticationController(RegisterUserUseCase registerUser,
                                     ClientCreatePublisher clientCreatePublisher,
                                     LoginUserUseCase loginUser,
-                                    JWTUseCase jwtService) {
+                                    JWTUseCase jwtService,
+                                    RefreshTokenUseCase refreshTokenService,
+                                    TokenRevocationUseCase tokenRevocationService,
+                                    @Value("${server.servlet.context-path:}") String contextPath,
+                                    @Value("${security.refresh-token.ttl:P7D}") Duration refreshTokenTtl) {
         this.registerUser = registerUser;
         this.loginUser = loginUser;
         this.jwtService = jwtService;
         this.clientCreatePublisher = clientCreatePublisher;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenCookiePath = contextPath + "/api/v1/auth";
+        this.refreshTokenTtl = refreshTokenTtl;
     }
 
     @Counted(value = "authentication.controller.register.client.count", description = "The number of calls to create a new client account")
@@ -77,6 +105,8 @@ public class AuthenticationController {
 
             UserOutputDTO userOutputDTO = new UserOutputDTO(client.getUserID(), client.getUserLogin(), client.isUserStatusActive());
             return ResponseEntity.created(URI.create("http://localhost:8000/api/v1/clients/" + userOutputDTO.getUserID().toString())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (AuthenticationServiceUserWithGivenLoginExistsException exception) {
             return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
@@ -91,18 +121,22 @@ public class AuthenticationController {
         try {
             Client client = loginUser.loginClient(userInputDTO.getUserLogin(), userInputDTO.getUserPassword());
             if (client.isUserStatusActive()) {
-                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(client));
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(refreshTokenService.issueRefreshToken(client), refreshTokenTtl))
+                        .contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(client));
             } else {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("The account that you want to use is disabled.");
             }
-        } catch (GeneralAuthenticationLoginException exception) {
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (GeneralAuthenticationServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
     @Counted(value = "authentication.controller.register.admin.count", description = "The number of calls to create a new admin account")
     @Timed(value = "authentication.controller.register.admin.time", description = "Time taken to register user with admin access level")
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping("/register/admin")
     public ResponseEntity<?> registerAdmin(@RequestBody UserInputDTO userInputDTO) {
         try {
@@ -117,6 +151,8 @@ public class AuthenticationController {
             Admin admin = this.registerUser.registerAdmin(userInputDTO.getUserLogin(), userInputDTO.getUserPassword());
             UserOutputDTO userOutputDTO = new UserOutputDTO(admin.getUserID(), admin.getUserLogin(), admin.isUserStatusActive());
             return ResponseEntity.created(URI.create("http://localhost:8000/api/v1/clients/" + userOutputDTO.getUserID().toString())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (AuthenticationServiceUserWithGivenLoginExistsException exception) {
             return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
@@ -131,18 +167,22 @@ public class AuthenticationController {
         try {
             Admin admin = this.loginUser.loginAdmin(userInputDTO.getUserLogin(), userInputDTO.getUserPassword());
             if (admin.isUserStatusActive()) {
-                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(admin));
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(refreshTokenService.issueRefreshToken(admin), refreshTokenTtl))
+                        .contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(admin));
             } else {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("The account that you want to use is disabled.");
             }
-        } catch (GeneralAuthenticationLoginException exception) {
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (GeneralAuthenticationServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
     @Counted(value = "authentication.controller.register.staff.count", description = "The number of calls to create a new staff account")
     @Timed(value = "authentication.controller.register.staff.time", description = "Time taken to register user with staff access level")
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping("/register/staff")
     public ResponseEntity<?> registerStaff(@RequestBody UserInputDTO userInputDTO) {
         try {
@@ -157,6 +197,8 @@ public class AuthenticationController {
             Staff staff = this.registerUser.registerStaff(userInputDTO.getUserLogin(), userInputDTO.getUserPassword());
             UserOutputDTO userOutputDTO = new UserOutputDTO(staff.getUserID(), staff.getUserLogin(), staff.isUserStatusActive());
             return ResponseEntity.created(URI.create("http://localhost:8000/api/v1/clients/" + userOutputDTO.getUserID().toString())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (AuthenticationServiceUserWithGivenLoginExistsException exception) {
             return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
@@ -171,18 +213,70 @@ public class AuthenticationController {
         try {
             Staff staff = this.loginUser.loginStaff(userInputDTO.getUserLogin(), userInputDTO.getUserPassword());
             if (staff.isUserStatusActive()) {
-                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(staff));
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(refreshTokenService.issueRefreshToken(staff), refreshTokenTtl))
+                        .contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(staff));
             } else {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("The account that you want to use is disabled.");
             }
-        } catch (GeneralAuthenticationLoginException exception) {
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (GeneralAuthenticationServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    // Refresh token is exchanged for a new access token (and a new refresh token) without checking the password.
+
+    @Counted(value = "authentication.controller.refresh.count", description = "The number of calls to the method exchanging refresh tokens")
+    @Timed(value = "authentication.controller.refresh.time", description = "Time taken to exchange refresh token for a new access token")
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@CookieValue(value = REFRESH_TOKEN_COOKIE, required = false) String refreshToken) {
+        if (refreshToken == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON).body("Refresh token was not given.");
+        }
+        try {
+            RefreshTokenGrant refreshTokenGrant = refreshTokenService.refresh(refreshToken);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(refreshTokenGrant.getRefreshToken(), refreshTokenTtl))
+                    .contentType(MediaType.APPLICATION_JSON).body(jwtService.generateJWTToken(refreshTokenGrant.getUser()));
+        } catch (AuthenticationServiceInvalidRefreshTokenException exception) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO))
+                    .contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (GeneralAuthenticationServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                    @CookieValue(value = REFRESH_TOKEN_COOKIE, required = false) String refreshToken) {
         SecurityContextHolder.clearContext();
-        return ResponseEntity.ok().build();
+        try {
+            if (refreshToken != null) {
+                refreshTokenService.revokeRefreshToken(refreshToken);
+            }
+            // Access token stays valid until it expires unless it is revoked as well.
+            if (authHeader != null && authHeader.startsWith(TOKEN_PREFIX)) {
+                tokenRevocationService.revokeToken(authHeader.substring(TOKEN_PREFIX.length()).trim());
+            }
+            return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO)).build();
+        } catch (GeneralAuthenticationServiceException exception) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        }
+    }
+
+    // Refresh token is sent only to the authentication endpoints and is not readable by scripts.
+
+    private String refreshTokenCookie(String refreshToken, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_TOKEN_COOKIE, refreshToken)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .path(refreshTokenCookiePath)
+                .maxAge(maxAge)
+                .build()
+                .toString();
     }
 }
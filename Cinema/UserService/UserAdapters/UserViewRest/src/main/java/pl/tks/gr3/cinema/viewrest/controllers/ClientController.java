@@ -6,26 +6,31 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.adapters.rabbitmq.messages.ClientUUIDMessage;
 import pl.tks.gr3.cinema.adapters.rabbitmq.publishers.ClientActivatePublisher;
 import pl.tks.gr3.cinema.adapters.rabbitmq.publishers.ClientDeactivatePublisher;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceVersionMismatchException;
 import pl.tks.gr3.cinema.application_services.services.ClientService;
 import pl.tks.gr3.cinema.viewrest.api.UserControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.domain_model.User;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.domain_model.Role;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.model.UserOutputDTO;
 import pl.tks.gr3.cinema.viewrest.model.UserUpdateDTO;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+import pl.tks.gr3.cinema.viewrest.security.CurrentUser;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,7 +47,6 @@ public class ClientController implements UserControllerInterface<Client> {
     private final WriteUserUseCase<Client> writeClient;
     private final ClientActivatePublisher clientActivatePublisher;
     private final ClientDeactivatePublisher clientDeactivatePublisher;
-    private final JWSUseCase jwsService;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
@@ -50,17 +54,15 @@ public class ClientController implements UserControllerInterface<Client> {
                             WriteUserUseCase<Client> writeClient,
                             ClientActivatePublisher clientActivatePublisher,
                             ClientDeactivatePublisher clientDeactivatePublisher,
-                            JWSUseCase jwsService,
                             PasswordEncoder passwordEncoder) {
         this.readClient = readClient;
         this.writeClient = writeClient;
-        this.jwsService = jwsService;
         this.passwordEncoder = passwordEncoder;
         this.clientActivatePublisher = clientActivatePublisher;
         this.clientDeactivatePublisher = clientDeactivatePublisher;
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAll() {
@@ -72,7 +74,7 @@ public class ClientController implements UserControllerInterface<Client> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByUUID(@PathVariable("id") UUID clientID) {
@@ -87,7 +89,7 @@ public class ClientController implements UserControllerInterface<Client> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/login/{login}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByLogin(@PathVariable("login") String clientLogin) {
@@ -105,10 +107,9 @@ public class ClientController implements UserControllerInterface<Client> {
     @GetMapping(value = "/login/self", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> findByLogin() {
         try {
-            Client client = this.readClient.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
+            Client client = this.readClient.findByLogin(CurrentUser.login());
             UserOutputDTO userOutputDTO = new UserOutputDTO(client.getUserID(), client.getUserLogin(), client.isUserStatusActive());
-            String etagContent = jwsService.generateSignatureForUser(client);
-            return ResponseEntity.ok().header(HttpHeaders.ETAG, etagContent).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(client.getVersion())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
         } catch (ClientServiceClientNotFoundException exception) {
             return ResponseEntity.notFound().build();
         } catch (GeneralServiceException exception) {
@@ -116,7 +117,7 @@ public class ClientController implements UserControllerInterface<Client> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAllWithMatchingLogin(@RequestParam("match") String clientLogin) {
@@ -131,26 +132,36 @@ public class ClientController implements UserControllerInterface<Client> {
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody @Valid UserUpdateDTO userUpdateDTO) {
         try {
-            String password = userUpdateDTO.getUserPassword() == null ? null : passwordEncoder.encode(userUpdateDTO.getUserPassword());
-            Client client = new Client(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), password, userUpdateDTO.isUserStatusActive());
+            Client client = new Client(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), userUpdateDTO.getUserPassword(), userUpdateDTO.isUserStatusActive());
+            client.setVersion(VersionTag.parse(ifMatch));
             Set<ConstraintViolation<User>> violationSet = validator.validate(client);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
             if (!violationSet.isEmpty()) {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
             }
 
-            if (jwsService.verifyUserSignature(ifMatch.replace("\"", ""), client)) {
-                this.writeClient.update(client);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
+            // Ownership is checked against the authenticated user, version check itself is done by the update.
+            // Password is hashed only once the request is known to be allowed.
+            User currentUser = CurrentUser.user().orElseGet(() -> this.readClient.findByLogin(CurrentUser.login()));
+            if (!(currentUser instanceof Client) || !currentUser.getUserID().equals(client.getUserID())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("Modifying other user data is forbidden.");
+            } else if (currentUser.isUserStatusActive() != client.isUserStatusActive()) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Client status could not be changed with update.");
             }
+
+            client.setUserPassword(passwordEncoder.encode(client.getUserPassword()));
+            this.writeClient.update(client);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(client.getVersion())).build();
+        } catch (InvalidVersionTagException | ClientServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/activate")
     @Override
     public ResponseEntity<?> activate(@PathVariable("id") UUID clientID) {
@@ -163,7 +174,7 @@ public class ClientController implements UserControllerInterface<Client> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/deactivate")
     @Override
     public ResponseEntity<?> deactivate(@PathVariable("id") UUID clientID) {
@@ -6,22 +6,27 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.staff.StaffServiceStaffNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.staff.StaffServiceVersionMismatchException;
 import pl.tks.gr3.cinema.viewrest.api.UserControllerInterface;
 import pl.tks.gr3.cinema.domain_model.Staff;
 import pl.tks.gr3.cinema.domain_model.User;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
+import pl.tks.gr3.cinema.domain_model.Role;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.model.UserOutputDTO;
 import pl.tks.gr3.cinema.viewrest.model.UserUpdateDTO;
+import pl.tks.gr3.cinema.viewrest.security.AllowedRoles;
+import pl.tks.gr3.cinema.viewrest.security.CurrentUser;
+import pl.tks.gr3.cinema.viewrest.versioning.InvalidVersionTagException;
+import pl.tks.gr3.cinema.viewrest.versioning.VersionTag;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,21 +41,18 @@ public class StaffController implements UserControllerInterface<Staff> {
 
     private final ReadUserUseCase<Staff> readStaff;
     private final WriteUserUseCase<Staff> writeStaff;
-    private final JWSUseCase jwsService;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
     public StaffController(ReadUserUseCase<Staff> readStaff,
                            WriteUserUseCase<Staff> writeStaff,
-                           JWSUseCase jwsService,
                            PasswordEncoder passwordEncoder) {
         this.readStaff = readStaff;
         this.writeStaff = writeStaff;
-        this.jwsService = jwsService;
         this.passwordEncoder = passwordEncoder;
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByUUID(@PathVariable("id") UUID staffID) {
@@ -65,7 +67,7 @@ public class StaffController implements UserControllerInterface<Staff> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/login/{login}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findByLogin(@PathVariable("login") String staffLogin) {
@@ -83,10 +85,9 @@ public class StaffController implements UserControllerInterface<Staff> {
     @GetMapping(value = "/login/self", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> findByLogin() {
         try {
-            Staff staff = this.readStaff.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
+            Staff staff = this.readStaff.findByLogin(CurrentUser.login());
             UserOutputDTO userOutputDTO = new UserOutputDTO(staff.getUserID(), staff.getUserLogin(), staff.isUserStatusActive());
-            String etagContent = jwsService.generateSignatureForUser(staff);
-            return ResponseEntity.ok().header(HttpHeaders.ETAG, etagContent).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
+            return ResponseEntity.ok().header(HttpHeaders.ETAG, VersionTag.of(staff.getVersion())).contentType(MediaType.APPLICATION_JSON).body(userOutputDTO);
         } catch (StaffServiceStaffNotFoundException exception) {
             return ResponseEntity.notFound().build();
         } catch (GeneralServiceException exception) {
@@ -94,7 +95,7 @@ public class StaffController implements UserControllerInterface<Staff> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAllWithMatchingLogin(@RequestParam("match") String staffLogin) {
@@ -106,7 +107,7 @@ public class StaffController implements UserControllerInterface<Staff> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).STAFF) || hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles({Role.STAFF, Role.ADMIN})
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
     @Override
     public ResponseEntity<?> findAll() {
@@ -121,26 +122,36 @@ public class StaffController implements UserControllerInterface<Staff> {
     @PutMapping(value = "/update", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> update(@RequestHeader(value = HttpHeaders.IF_MATCH) String ifMatch, @RequestBody @Valid UserUpdateDTO userUpdateDTO) {
         try {
-            String password = userUpdateDTO.getUserPassword() == null ? null : passwordEncoder.encode(userUpdateDTO.getUserPassword());
-            Staff staff = new Staff(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), password, userUpdateDTO.isUserStatusActive());
+            Staff staff = new Staff(userUpdateDTO.getUserID(), userUpdateDTO.getUserLogin(), userUpdateDTO.getUserPassword(), userUpdateDTO.isUserStatusActive());
+            staff.setVersion(VersionTag.parse(ifMatch));
             Set<ConstraintViolation<User>> violationSet = validator.validate(staff);
             List<String> messages = violationSet.stream().map(ConstraintViolation::getMessage).toList();
             if (!violationSet.isEmpty()) {
                 return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(messages);
             }
 
-            if (jwsService.verifyUserSignature(ifMatch.replace("\"", ""), staff)) {
-                this.writeStaff.update(staff);
-                return ResponseEntity.noContent().build();
-            } else {
-                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Signature and given object does not match.");
+            // Ownership is checked against the authenticated user, version check itself is done by the update.
+            // Password is hashed only once the request is known to be allowed.
+            User currentUser = CurrentUser.user().orElseGet(() -> this.readStaff.findByLogin(CurrentUser.login()));
+            if (!(currentUser instanceof Staff) || !currentUser.getUserID().equals(staff.getUserID())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON).body("Modifying other user data is forbidden.");
+            } else if (currentUser.isUserStatusActive() != staff.isUserStatusActive()) {
+                return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body("Staff status could not be changed with update.");
             }
+
+            staff.setUserPassword(passwordEncoder.encode(staff.getUserPassword()));
+            this.writeStaff.update(staff);
+            return ResponseEntity.noContent().header(HttpHeaders.ETAG, VersionTag.of(staff.getVersion())).build();
+        } catch (InvalidVersionTagException | StaffServiceVersionMismatchException exception) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
+        } catch (PasswordHashingRejectedException exception) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         } catch (GeneralServiceException exception) {
             return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(exception.getMessage());
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/activate")
     @Override
     public ResponseEntity<?> activate(@PathVariable("id") UUID staffID) {
@@ -152,7 +163,7 @@ public class StaffController implements UserControllerInterface<Staff> {
         }
     }
 
-    @PreAuthorize(value = "hasRole(T(pl.tks.gr3.cinema.domain_model.Role).ADMIN)")
+    @AllowedRoles(Role.ADMIN)
     @PostMapping(value = "/{id}/deactivate")
     @Override
     public ResponseEntity<?> deactivate(@PathVariable("id") UUID staffID) {
@@ -0,0 +1,19 @@
+package pl.tks.gr3.cinema.viewrest.security;
+
+import pl.tks.gr3.cinema.domain_model.Role;
+
+import java.lang.annotation.*;
+
+/*
+ * Roles allowed to call the endpoint. It is not evaluated on each call - routes of the annotated handler methods are
+ * collected once, at startup, and the roles of the authenticated user are checked against them in the security filter
+ * chain. Endpoints without it only require the user to be authenticated.
+ */
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AllowedRoles {
+
+    Role[] value();
+}
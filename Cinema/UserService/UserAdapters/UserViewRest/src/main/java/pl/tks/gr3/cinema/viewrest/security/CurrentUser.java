@@ -0,0 +1,29 @@
+package pl.tks.gr3.cinema.viewrest.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
+import pl.tks.gr3.cinema.domain_model.User;
+
+import java.util.Optional;
+
+/*
+ * User the request is authenticated as. Authentication filter puts the user read for the access token into
+ * the security context, so it is taken from there - it is empty only for other kinds of principals, which
+ * carry just the login.
+ */
+
+public class CurrentUser {
+
+    public static String login() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    public static Optional<User> user() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+            return Optional.ofNullable(authenticatedUser.getUser());
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,35 @@
+package pl.tks.gr3.cinema.viewrest.versioning;
+
+/*
+ * ETag of a client, admin or staff is its version, sent as a weak tag (W/"3"). The same value is expected
+ * back in the If-Match header of an update, which is then made only if the user is still in that version.
+ */
+
+public class VersionTag {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String INVALID_TAG = "Given If-Match header does not contain a valid version.";
+
+    public static String of(long version) {
+        return WEAK_PREFIX + "\"" + version + "\"";
+    }
+
+    public static long parse(String versionTag) throws InvalidVersionTagException {
+        try {
+            String value = versionTag.trim();
+            if (value.startsWith(WEAK_PREFIX)) {
+                value = value.substring(WEAK_PREFIX.length());
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            long version = Long.parseLong(value);
+            if (version < 0) {
+                throw new NumberFormatException(value);
+            }
+            return version;
+        } catch (RuntimeException exception) {
+            throw new InvalidVersionTagException(INVALID_TAG, exception);
+        }
+    }
+}
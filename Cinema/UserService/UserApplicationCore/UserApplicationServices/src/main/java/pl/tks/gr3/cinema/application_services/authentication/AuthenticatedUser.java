@@ -0,0 +1,63 @@
+package pl.tks.gr3.cinema.application_services.authentication;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import pl.tks.gr3.cinema.domain_model.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * UserDetails carrying the user read during authentication, so that logging in does not have to read it again.
+ * It is not a CredentialsContainer - the password hash is kept after authentication, because instances are
+ * stored in UserDetailsCache and used to authenticate following logins.
+ */
+
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final User user;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(User user) {
+        this.user = user;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getUserPassword();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getUserLogin();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return user.isUserStatusActive();
+    }
+}
@@ -0,0 +1,114 @@
+package pl.tks.gr3.cinema.application_services.authentication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Password hashing (encoding new passwords and checking given ones) runs on its own, fixed size pool of threads
+ * with a bounded queue, so that a burst of logins cannot take up every request thread. When the queue is full
+ * the hash is not computed at all and PasswordHashingRejectedException is thrown, which is answered with
+ * 429 Too Many Requests. Hashes are upgraded (see upgradeEncoding) only while the queue still has some room.
+ */
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String HASHING_REJECTED = "Too many password hashing requests at the moment, try again later.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final BlockingQueue<Runnable> hashingQueue;
+
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder passwordEncoder, int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.hashingQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, hashingQueue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public BoundedPasswordEncoder(PasswordEncoder passwordEncoder, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this(passwordEncoder, threads, queueCapacity);
+        Gauge.builder("users.password.hashing.queue", hashingQueue, BlockingQueue::size)
+                .description("Number of password hashing tasks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("users.password.hashing.active", hashingExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of password hashing tasks being computed")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("users.password.hashing.time")
+                .description("Time taken to compute a password hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("users.password.hashing.time")
+                .description("Time taken to compute a password hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("users.password.hashing.rejected")
+                .description("Number of password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    // Upgrading a hash costs one more hash computation, so it is left for a later login when the queue is full.
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return hashingQueue.remainingCapacity() > 0 && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueDepth() {
+        return hashingQueue.size();
+    }
+
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private <T> T hash(Supplier<T> hashFunction, Timer timer) {
+        Future<T> result;
+        try {
+            result = hashingExecutor.submit(() -> timer == null ? hashFunction.get() : timer.record(hashFunction));
+        } catch (RejectedExecutionException exception) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new PasswordHashingRejectedException(HASHING_REJECTED, exception);
+        }
+
+        try {
+            return result.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (InterruptedException exception) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(HASHING_REJECTED, exception);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package pl.tks.gr3.cinema.application_services.authentication;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Claims of an access token that passed verification, read once so that the authentication filter does not
+ * decode or verify the token again. Identifiers are null for tokens issued before they were added to the claims.
+ */
+
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+    private final UUID userID;
+    private final UUID tokenID;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+}
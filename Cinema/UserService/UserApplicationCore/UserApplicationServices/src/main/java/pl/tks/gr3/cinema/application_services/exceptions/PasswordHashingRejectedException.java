@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.application_services.exceptions;
+
+public class PasswordHashingRejectedException extends GeneralServiceException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.admin;
+
+public class AdminServiceVersionMismatchException extends AdminServiceUpdateException {
+    public AdminServiceVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh;
+
+public class AuthenticationServiceInvalidRefreshTokenException extends GeneralAuthenticationRefreshException {
+    public AuthenticationServiceInvalidRefreshTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh;
+
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.GeneralAuthenticationServiceException;
+
+public class GeneralAuthenticationRefreshException extends GeneralAuthenticationServiceException {
+    public GeneralAuthenticationRefreshException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation;
+
+public class AuthenticationServiceRevocationException extends GeneralAuthenticationRevocationException {
+    public AuthenticationServiceRevocationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation;
+
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.GeneralAuthenticationServiceException;
+
+public class GeneralAuthenticationRevocationException extends GeneralAuthenticationServiceException {
+    public GeneralAuthenticationRevocationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.tks.gr3.cinema.application_services.exceptions.crud.staff;
+
+public class StaffServiceVersionMismatchException extends StaffServiceUpdateException {
+    public StaffServiceVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -7,6 +7,7 @@ import pl.tks.gr3.cinema.application_services.exceptions.crud.admin.*;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryAdminNotFoundException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryVersionMismatchException;
 import pl.tks.gr3.cinema.domain_model.Admin;
 import pl.tks.gr3.cinema.ports.infrastructure.*;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
@@ -95,6 +96,8 @@ public class AdminService implements ReadUserUseCase<Admin>, WriteUserUseCase<Ad
     public void update(Admin admin) throws AdminServiceUpdateException {
         try {
             this.updateUserPort.updateAdmin(admin);
+        } catch (UserRepositoryVersionMismatchException exception) {
+            throw new AdminServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (UserRepositoryException exception) {
             throw new AdminServiceUpdateException(exception.getMessage(), exception);
         }
@@ -3,8 +3,10 @@ package pl.tks.gr3.cinema.application_services.services;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginAdminException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginClientException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginStaffException;
@@ -15,11 +17,14 @@ import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.reg
 import pl.tks.gr3.cinema.domain_model.Admin;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.domain_model.Staff;
+import pl.tks.gr3.cinema.domain_model.User;
 import pl.tks.gr3.cinema.ports.infrastructure.CreateUserPort;
 import pl.tks.gr3.cinema.ports.infrastructure.ReadUserPort;
 import pl.tks.gr3.cinema.ports.userinterface.other.LoginUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.other.RegisterUserUseCase;
 
+import java.util.function.Function;
+
 @Service
 public class AuthenticationService implements RegisterUserUseCase, LoginUserUseCase {
 
@@ -76,9 +81,9 @@ public class AuthenticationService implements RegisterUserUseCase, LoginUserUseC
 
     @Override
     public Client loginClient(String clientUsername, String clientPassword) throws GeneralAuthenticationLoginException {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(clientUsername, clientPassword));
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(clientUsername, clientPassword));
         try {
-            return readUserPort.findClientByLogin(clientUsername);
+            return authenticatedUser(authentication, Client.class, clientUsername, readUserPort::findClientByLogin);
         } catch (UserRepositoryException exception) {
             throw new AuthenticationServiceLoginClientException(exception.getMessage(), exception);
         }
@@ -86,9 +91,9 @@ public class AuthenticationService implements RegisterUserUseCase, LoginUserUseC
 
     @Override
     public Admin loginAdmin(String adminUsername, String adminPassword) throws GeneralAuthenticationLoginException {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(adminUsername, adminPassword));
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(adminUsername, adminPassword));
         try {
-            return readUserPort.findAdminByLogin(adminUsername);
+            return authenticatedUser(authentication, Admin.class, adminUsername, readUserPort::findAdminByLogin);
         } catch (UserRepositoryException exception) {
             throw new AuthenticationServiceLoginAdminException(exception.getMessage(), exception);
         }
@@ -96,11 +101,22 @@ public class AuthenticationService implements RegisterUserUseCase, LoginUserUseC
 
     @Override
     public Staff loginStaff(String staffUsername, String staffPassword) throws GeneralAuthenticationLoginException {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(staffUsername, staffPassword));
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(staffUsername, staffPassword));
         try {
-            return readUserPort.findStaffByLogin(staffUsername);
+            return authenticatedUser(authentication, Staff.class, staffUsername, readUserPort::findStaffByLogin);
         } catch (UserRepositoryException exception) {
             throw new AuthenticationServiceLoginStaffException(exception.getMessage(), exception);
         }
     }
+
+    // User read by the authentication provider is used when it has the expected type - repository is
+    // queried only when the principal does not carry it.
+
+    private <T extends User> T authenticatedUser(Authentication authentication, Class<T> userType, String username, Function<String, T> findByLogin) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser
+                && userType.isInstance(authenticatedUser.getUser())) {
+            return userType.cast(authenticatedUser.getUser());
+        }
+        return findByLogin.apply(username);
+    }
 }
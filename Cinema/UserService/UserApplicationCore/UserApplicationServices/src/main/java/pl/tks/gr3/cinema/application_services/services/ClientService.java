@@ -3,12 +3,16 @@ package pl.tks.gr3.cinema.application_services.services;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryUserNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryVersionMismatchException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation.GeneralAuthenticationRevocationException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.*;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.ports.infrastructure.*;
+import pl.tks.gr3.cinema.ports.userinterface.other.TokenRevocationUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 
@@ -24,6 +28,8 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
     private final ActivateUserPort activateUserPort;
     private final DeactivateUserPort deactivateUserPort;
     private final DeleteUserPort deleteUserPort;
+    private final RefreshTokenPort refreshTokenPort;
+    private final TokenRevocationUseCase tokenRevocationUseCase;
 
     @Autowired
     public ClientService(CreateUserPort createUserPort,
@@ -31,13 +37,17 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
                          UpdateUserPort updateUserPort,
                          ActivateUserPort activateUserPort,
                          DeactivateUserPort deactivateUserPort,
-                         DeleteUserPort deleteUserPort) {
+                         DeleteUserPort deleteUserPort,
+                         RefreshTokenPort refreshTokenPort,
+                         TokenRevocationUseCase tokenRevocationUseCase) {
         this.createUserPort = createUserPort;
         this.readUserPort = readUserPort;
         this.updateUserPort = updateUserPort;
         this.activateUserPort = activateUserPort;
         this.deactivateUserPort = deactivateUserPort;
         this.deleteUserPort = deleteUserPort;
+        this.refreshTokenPort = refreshTokenPort;
+        this.tokenRevocationUseCase = tokenRevocationUseCase;
     }
 
     @Override
@@ -95,6 +105,8 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
     public void update(Client client) throws ClientServiceUpdateException {
         try {
             this.updateUserPort.updateClient(client);
+        } catch (UserRepositoryVersionMismatchException exception) {
+            throw new ClientServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (UserRepositoryException exception) {
             throw new ClientServiceUpdateException(exception.getMessage(), exception);
         }
@@ -113,7 +125,9 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
     public void deactivate(UUID clientID) throws ClientServiceDeactivationException {
         try {
             this.deactivateUserPort.deactivate(this.readUserPort.findClientByUUID(clientID));
-        } catch (UserRepositoryException exception) {
+            this.refreshTokenPort.revokeRefreshTokens(clientID);
+            this.tokenRevocationUseCase.revokeTokens(clientID);
+        } catch (UserRepositoryException | RefreshTokenRepositoryException | GeneralAuthenticationRevocationException exception) {
             throw new ClientServiceDeactivationException(exception.getMessage(), exception);
         }
     }
@@ -122,7 +136,9 @@ public class ClientService implements ReadUserUseCase<Client>, WriteUserUseCase<
     public void delete(UUID userID) throws ClientServiceDeleteException {
         try {
             this.deleteUserPort.delete(userID, UserEntConstants.CLIENT_DISCRIMINATOR);
-        } catch (UserRepositoryException exception) {
+            this.refreshTokenPort.revokeRefreshTokens(userID);
+            this.tokenRevocationUseCase.revokeTokens(userID);
+        } catch (UserRepositoryException | RefreshTokenRepositoryException | GeneralAuthenticationRevocationException exception) {
             throw new ClientServiceDeleteException(exception.getMessage(), exception);
         }
     }
@@ -2,6 +2,7 @@ package pl.tks.gr3.cinema.application_services.services;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
@@ -10,11 +11,12 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.authentication.VerifiedToken;
 import pl.tks.gr3.cinema.domain_model.User;
 import pl.tks.gr3.cinema.ports.userinterface.other.JWTUseCase;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 
@@ -23,26 +25,51 @@ public class JWTService implements JWTUseCase {
 
     private final static String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
 
+    public static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofMinutes(15);
+
+    // Algorithm and verifier are thread safe - they are built once, together with the HMAC key.
+
+    private final Algorithm algorithm = Algorithm.HMAC256(getSignInKey());
+    private final JWTVerifier jwtVerifier = JWT.require(algorithm).build();
 
     @Override
     public String extractUsername(String jwtToken) {
-        JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey())).build();
+        return verify(jwtToken).getSubject();
+    }
+
+    // Signature and expiry are checked and claims are read in one pass over the token.
+
+    public VerifiedToken verify(String jwtToken) throws JWTVerificationException {
         DecodedJWT decodedJWT = jwtVerifier.verify(jwtToken);
-        return decodedJWT.getSubject();
+        return new VerifiedToken(decodedJWT.getSubject(), extractIdentifier(decodedJWT, UserEntConstants.USER_ID),
+                extractIdentifier(decodedJWT, RegisteredClaims.JWT_ID), decodedJWT.getIssuedAtAsInstant(), decodedJWT.getExpiresAtAsInstant());
+    }
+
+    // Tokens issued before identifiers were added to the claims have none.
+
+    public static UUID extractIdentifier(DecodedJWT decodedJWT, String claimName) {
+        String identifier = decodedJWT.getClaim(claimName).asString();
+        try {
+            return identifier != null ? UUID.fromString(identifier) : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
     }
 
-    private String generateJWTToken(UserDetails userDetails) {
-        Algorithm algorithm = Algorithm.HMAC256(getSignInKey());
+    private String generateJWTToken(UserDetails userDetails, UUID userID) {
         List<String> listOfRoles = new ArrayList<>();
         for (GrantedAuthority grantedAuthority : userDetails.getAuthorities()) {
             listOfRoles.add(grantedAuthority.toString());
         }
         return JWT
                 .create()
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(userDetails.getUsername())
                 .withClaim(UserEntConstants.USER_ROLE, listOfRoles)
+                .withClaim(UserEntConstants.USER_ID, userID.toString())
+                .withClaim(UserEntConstants.USER_STATUS_ACTIVE, userDetails.isEnabled())
                 .withIssuedAt(new Date(Instant.now().toEpochMilli()))
-                .withExpiresAt(new Date(Instant.now().plus(15, ChronoUnit.MINUTES).toEpochMilli()))
+                .withExpiresAt(new Date(Instant.now().plus(ACCESS_TOKEN_VALIDITY).toEpochMilli()))
                 .sign(algorithm);
     }
 
@@ -58,23 +85,20 @@ public class JWTService implements JWTUseCase {
                 List.of(new SimpleGrantedAuthority(user.getUserRole().name()))
         );
 
-        return generateJWTToken(userDetails);
+        // User identifier and status are sent with the token, so that other services do not have to look the user up by login.
+        return generateJWTToken(userDetails, user.getUserID());
     }
 
     @Override
     public boolean isTokenValid(String jwtToken, UserDetails userDetails) {
         try {
-            JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(getSignInKey()))
-                    .withSubject(userDetails.getUsername())
-                    .build();
-            jwtVerifier.verify(jwtToken);
-            return true;
+            return userDetails.getUsername().equals(verify(jwtToken).getSubject());
         } catch (JWTVerificationException exception) {
             return false;
         }
     }
 
-    private String getSignInKey() {
+    private static String getSignInKey() {
         byte[] keyBytes = Base64.getDecoder().decode(SECRET_KEY);
         return new String(keyBytes);
     }
@@ -0,0 +1,46 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
+import pl.tks.gr3.cinema.domain_model.User;
+import pl.tks.gr3.cinema.ports.infrastructure.UpdateUserPort;
+
+/*
+ * Called by DaoAuthenticationProvider after a successful login, when the stored password hash was computed
+ * with a lower work factor than the configured one - the password is hashed again and saved. Login is not
+ * failed if the new hash could not be saved, it will be upgraded on one of the following logins.
+ */
+
+@Service
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    private final UpdateUserPort updateUserPort;
+
+    @Autowired
+    public PasswordUpgradeService(UpdateUserPort updateUserPort) {
+        this.updateUserPort = updateUserPort;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        if (!(userDetails instanceof AuthenticatedUser authenticatedUser)) {
+            return userDetails;
+        }
+        User user = authenticatedUser.getUser();
+        try {
+            updateUserPort.updatePassword(user, newPassword);
+            user.setUserPassword(newPassword);
+        } catch (UserRepositoryException exception) {
+            logger.warn("Password hash of user {} could not be upgraded: {}", user.getUserLogin(), exception.getMessage());
+        }
+        return authenticatedUser;
+    }
+}
@@ -0,0 +1,135 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token.RefreshTokenRepositoryTokenNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.AuthenticationServiceInvalidRefreshTokenException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.AuthenticationServiceRefreshException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.GeneralAuthenticationRefreshException;
+import pl.tks.gr3.cinema.domain_model.User;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshToken;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshTokenGrant;
+import pl.tks.gr3.cinema.ports.infrastructure.ReadUserPort;
+import pl.tks.gr3.cinema.ports.infrastructure.RefreshTokenPort;
+import pl.tks.gr3.cinema.ports.userinterface.other.RefreshTokenUseCase;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/*
+ * Refresh tokens are random values given to the user on login and exchanged for a new access token without
+ * checking the password. Every exchange rotates the token - the exchanged one is marked as used and a new one
+ * from the same family is issued. Presenting a used token again means it was copied, so the whole family is
+ * revoked. Tokens are kept only as SHA-256 hashes, since they are random and long enough not to need BCrypt.
+ */
+
+@Service
+public class RefreshTokenService implements RefreshTokenUseCase {
+
+    private static final String INVALID_REFRESH_TOKEN = "Given refresh token is not valid.";
+    private static final int TOKEN_LENGTH = 32;
+
+    private final RefreshTokenPort refreshTokenPort;
+    private final ReadUserPort readUserPort;
+    private final Duration refreshTokenTtl;
+    private final Clock clock;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenPort refreshTokenPort,
+                               ReadUserPort readUserPort,
+                               @Value("${security.refresh-token.ttl:P7D}") Duration refreshTokenTtl) {
+        this(refreshTokenPort, readUserPort, refreshTokenTtl, Clock.systemUTC());
+    }
+
+    public RefreshTokenService(RefreshTokenPort refreshTokenPort, ReadUserPort readUserPort, Duration refreshTokenTtl, Clock clock) {
+        this.refreshTokenPort = refreshTokenPort;
+        this.readUserPort = readUserPort;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public String issueRefreshToken(User user) throws GeneralAuthenticationRefreshException {
+        try {
+            return createRefreshToken(user.getUserID(), UUID.randomUUID());
+        } catch (RefreshTokenRepositoryException exception) {
+            throw new AuthenticationServiceRefreshException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public RefreshTokenGrant refresh(String refreshToken) throws GeneralAuthenticationRefreshException {
+        try {
+            RefreshToken usedToken = refreshTokenPort.useRefreshToken(hash(refreshToken));
+            if (usedToken.isUsed()) {
+                refreshTokenPort.revokeRefreshTokenFamily(usedToken.getFamilyID());
+                throw new AuthenticationServiceInvalidRefreshTokenException(INVALID_REFRESH_TOKEN, null);
+            } else if (usedToken.isExpired(clock.instant())) {
+                throw new AuthenticationServiceInvalidRefreshTokenException(INVALID_REFRESH_TOKEN, null);
+            }
+
+            User user = readUserPort.findByUUID(usedToken.getUserID());
+            if (!user.isUserStatusActive()) {
+                refreshTokenPort.revokeRefreshTokens(user.getUserID());
+                throw new AuthenticationServiceInvalidRefreshTokenException(INVALID_REFRESH_TOKEN, null);
+            }
+            return new RefreshTokenGrant(user, createRefreshToken(user.getUserID(), usedToken.getFamilyID()));
+        } catch (RefreshTokenRepositoryTokenNotFoundException exception) {
+            throw new AuthenticationServiceInvalidRefreshTokenException(INVALID_REFRESH_TOKEN, exception);
+        } catch (RefreshTokenRepositoryException | UserRepositoryException exception) {
+            throw new AuthenticationServiceRefreshException(exception.getMessage(), exception);
+        }
+    }
+
+    // Token that is not known (or already revoked) is ignored, since the result is the same.
+
+    @Override
+    public void revokeRefreshToken(String refreshToken) throws GeneralAuthenticationRefreshException {
+        try {
+            RefreshToken revokedToken = refreshTokenPort.useRefreshToken(hash(refreshToken));
+            refreshTokenPort.revokeRefreshTokenFamily(revokedToken.getFamilyID());
+        } catch (RefreshTokenRepositoryTokenNotFoundException ignored) {
+        } catch (RefreshTokenRepositoryException exception) {
+            throw new AuthenticationServiceRefreshException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public void revokeRefreshTokens(UUID userID) throws GeneralAuthenticationRefreshException {
+        try {
+            refreshTokenPort.revokeRefreshTokens(userID);
+        } catch (RefreshTokenRepositoryException exception) {
+            throw new AuthenticationServiceRefreshException(exception.getMessage(), exception);
+        }
+    }
+
+    private String createRefreshToken(UUID userID, UUID familyID) {
+        byte[] tokenBytes = new byte[TOKEN_LENGTH];
+        secureRandom.nextBytes(tokenBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        refreshTokenPort.createRefreshToken(userID, familyID, hash(refreshToken), clock.instant().plus(refreshTokenTtl));
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryStaffNotFoundException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryVersionMismatchException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.staff.*;
 import pl.tks.gr3.cinema.domain_model.Staff;
 import pl.tks.gr3.cinema.ports.infrastructure.*;
@@ -96,6 +97,8 @@ public class StaffService implements ReadUserUseCase<Staff>, WriteUserUseCase<St
     public void update(Staff staff) throws StaffServiceUpdateException {
         try {
             this.updateUserPort.updateStaff(staff);
+        } catch (UserRepositoryVersionMismatchException exception) {
+            throw new StaffServiceVersionMismatchException(exception.getMessage(), exception);
         } catch (UserRepositoryException exception) {
             throw new StaffServiceUpdateException(exception.getMessage(), exception);
         }
@@ -0,0 +1,118 @@
+package pl.tks.gr3.cinema.application_services.services;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.RegisteredClaims;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+import pl.tks.gr3.cinema.application_services.authentication.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation.AuthenticationServiceRevocationException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation.GeneralAuthenticationRevocationException;
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+import pl.tks.gr3.cinema.ports.infrastructure.PublishTokenRevocationPort;
+import pl.tks.gr3.cinema.ports.infrastructure.TokenRevocationPort;
+import pl.tks.gr3.cinema.ports.userinterface.other.TokenRevocationUseCase;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Access tokens are revoked on logout (single token) and when a client is deactivated or deleted (all tokens
+ * of the user). Revocation is stored in the database (so that it is loaded again on startup), added to the
+ * revocation list of this instance and broadcast to all other instances of both services, which keep their
+ * own lists - so that checking a token never needs the database.
+ */
+
+@Slf4j
+@Service
+public class TokenRevocationService implements TokenRevocationUseCase {
+
+    private final TokenRevocationPort tokenRevocationPort;
+    private final PublishTokenRevocationPort publishTokenRevocationPort;
+    private final TokenRevocationList tokenRevocationList;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRevocationService(TokenRevocationPort tokenRevocationPort,
+                                  PublishTokenRevocationPort publishTokenRevocationPort,
+                                  TokenRevocationList tokenRevocationList) {
+        this(tokenRevocationPort, publishTokenRevocationPort, tokenRevocationList, Clock.systemUTC());
+    }
+
+    public TokenRevocationService(TokenRevocationPort tokenRevocationPort,
+                                  PublishTokenRevocationPort publishTokenRevocationPort,
+                                  TokenRevocationList tokenRevocationList,
+                                  Clock clock) {
+        this.tokenRevocationPort = tokenRevocationPort;
+        this.publishTokenRevocationPort = publishTokenRevocationPort;
+        this.tokenRevocationList = tokenRevocationList;
+        this.clock = clock;
+    }
+
+    // Revocations made while this instance was not running were not received, so all active ones are loaded.
+    // Instance that cannot read them still starts - tokens affected by them expire within the token validity.
+
+    @PostConstruct
+    public void loadTokenRevocations() {
+        try {
+            tokenRevocationPort.findActiveTokenRevocations(clock.instant()).forEach(this::applyTokenRevocation);
+        } catch (TokenRevocationRepositoryException exception) {
+            log.warn("Active token revocations could not be loaded: {}.", exception.getMessage());
+        }
+    }
+
+    // Token is verified by the authentication filter before logout is handled. Tokens without identifier
+    // were issued before they were added and cannot be revoked one by one.
+
+    @Override
+    public void revokeToken(String jwtToken) throws GeneralAuthenticationRevocationException {
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = JWT.decode(jwtToken);
+        } catch (JWTDecodeException exception) {
+            return;
+        }
+        UUID tokenID = JWTService.extractIdentifier(decodedJWT, RegisteredClaims.JWT_ID);
+        if (tokenID != null && decodedJWT.getExpiresAtAsInstant() != null) {
+            revoke(new TokenRevocation(tokenID, clock.instant(), decodedJWT.getExpiresAtAsInstant()));
+        }
+    }
+
+    @Override
+    public void revokeTokens(UUID userID) throws GeneralAuthenticationRevocationException {
+        Instant now = clock.instant();
+        revoke(new TokenRevocation(userID, now, now.plus(JWTService.ACCESS_TOKEN_VALIDITY)));
+    }
+
+    // Instances of the other service have no access to the database, so on startup they ask for all active
+    // revocations to be broadcast again. Instances that already know them just add them once more.
+
+    @Override
+    public void replayTokenRevocations() {
+        try {
+            tokenRevocationPort.findActiveTokenRevocations(clock.instant()).forEach(publishTokenRevocationPort::publishTokenRevocation);
+        } catch (TokenRevocationRepositoryException exception) {
+            log.warn("Active token revocations could not be replayed: {}.", exception.getMessage());
+        }
+    }
+
+    @Override
+    public void applyTokenRevocation(TokenRevocation tokenRevocation) {
+        tokenRevocationList.add(tokenRevocation.getRevokedID(), tokenRevocation.getRevokedAt(), tokenRevocation.getExpiresAt());
+    }
+
+    private void revoke(TokenRevocation tokenRevocation) throws GeneralAuthenticationRevocationException {
+        try {
+            tokenRevocationPort.saveTokenRevocation(tokenRevocation);
+        } catch (TokenRevocationRepositoryException exception) {
+            throw new AuthenticationServiceRevocationException(exception.getMessage(), exception);
+        }
+        applyTokenRevocation(tokenRevocation);
+        publishTokenRevocationPort.publishTokenRevocation(tokenRevocation);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryCreateUserDuplicateLoginException;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginAdminException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginClientException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.login.AuthenticationServiceLoginStaffException;
@@ -202,6 +203,26 @@ public class AuthenticationServiceTest {
         verify(readUserPort, times(1)).findClientByLogin(clientNo1.getUserLogin());
     }
 
+    @Test
+    public void authenticationServiceLoginClientWithUserFromPrincipalTestPositive() {
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser(clientNo1);
+        when(authenticationManager.authenticate(Mockito.any())).thenReturn(new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities()));
+
+        Client loggedClient = authenticationService.loginClient(clientNo1.getUserLogin(), clientNo1.getUserPassword());
+
+        assertSame(clientNo1, loggedClient);
+        verify(readUserPort, never()).findClientByLogin(Mockito.anyString());
+    }
+
+    @Test
+    public void authenticationServiceLoginAdminWithClientPrincipalTestNegative() {
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser(clientNo1);
+        when(authenticationManager.authenticate(Mockito.any())).thenReturn(new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities()));
+        when(readUserPort.findAdminByLogin(Mockito.eq(clientNo1.getUserLogin()))).thenThrow(UserRepositoryException.class);
+
+        assertThrows(AuthenticationServiceLoginAdminException.class, () -> authenticationService.loginAdmin(clientNo1.getUserLogin(), clientNo1.getUserPassword()));
+    }
+
     @Test
     public void authenticationServiceLoginClientWhenUserRepositoryExceptionIsThrownTestNegative() {
         when(authenticationManager.authenticate(Mockito.any())).thenReturn(null);
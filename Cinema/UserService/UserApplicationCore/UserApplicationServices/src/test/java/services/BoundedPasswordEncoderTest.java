@@ -0,0 +1,108 @@
+package services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.tks.gr3.cinema.application_services.authentication.BoundedPasswordEncoder;
+import pl.tks.gr3.cinema.application_services.exceptions.PasswordHashingRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch hashingReleased = new CountDownLatch(1);
+    private final CountDownLatch hashingStarted = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @AfterEach
+    public void releaseHashingThreads() {
+        hashingReleased.countDown();
+        if (boundedPasswordEncoder != null) {
+            boundedPasswordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    public void boundedPasswordEncoderEncodeAndMatchTestPositive() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+        String encodedPassword = boundedPasswordEncoder.encode("SomePasswordNo1");
+
+        assertTrue(boundedPasswordEncoder.matches("SomePasswordNo1", encodedPassword));
+        assertFalse(boundedPasswordEncoder.matches("SomePasswordNo2", encodedPassword));
+        assertEquals(1, meterRegistry.get("users.password.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("users.password.hashing.time").tag("operation", "matches").timer().count());
+        assertEquals(0, meterRegistry.get("users.password.hashing.queue").gauge().value());
+    }
+
+    @Test
+    public void boundedPasswordEncoderRejectsWhenQueueIsFullTestNegative() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        boundedPasswordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder(), 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("SomePasswordNo1"));
+        assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("SomePasswordNo2"));
+        waitForQueueDepth(1);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> boundedPasswordEncoder.encode("SomePasswordNo3"));
+        assertEquals(1, meterRegistry.get("users.password.hashing.rejected").counter().count());
+        assertFalse(boundedPasswordEncoder.upgradeEncoding("$2a$04$abcdefghijklmnopqrstuu"));
+
+        hashingReleased.countDown();
+        assertEquals("SomePasswordNo1", running.get(5, TimeUnit.SECONDS));
+        assertEquals("SomePasswordNo2", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void boundedPasswordEncoderUpgradesHashesWithLowerStrengthTestPositive() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1);
+        String weakerHash = new BCryptPasswordEncoder(4).encode("SomePasswordNo1");
+        String currentHash = boundedPasswordEncoder.encode("SomePasswordNo1");
+
+        assertTrue(boundedPasswordEncoder.upgradeEncoding(weakerHash));
+        assertFalse(boundedPasswordEncoder.upgradeEncoding(currentHash));
+    }
+
+    private PasswordEncoder blockingPasswordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingStarted.countDown();
+                try {
+                    hashingReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return true;
+            }
+        };
+    }
+
+    private void waitForQueueDepth(int queueDepth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (boundedPasswordEncoder.getQueueDepth() < queueDepth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(queueDepth, boundedPasswordEncoder.getQueueDepth());
+    }
+}
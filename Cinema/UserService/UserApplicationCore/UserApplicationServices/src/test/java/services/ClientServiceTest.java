@@ -11,6 +11,7 @@ import pl.tks.gr3.cinema.application_services.exceptions.crud.client.*;
 import pl.tks.gr3.cinema.application_services.services.ClientService;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.ports.infrastructure.*;
+import pl.tks.gr3.cinema.ports.userinterface.other.TokenRevocationUseCase;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +35,10 @@ public class ClientServiceTest {
     private DeactivateUserPort deactivateUserPort;
     @Mock
     private DeleteUserPort deleteUserPort;
+    @Mock
+    private RefreshTokenPort refreshTokenPort;
+    @Mock
+    private TokenRevocationUseCase tokenRevocationUseCase;
 
     @InjectMocks
     private ClientService clientService;
@@ -57,7 +62,7 @@ public class ClientServiceTest {
 
     @Test
     public void clientServiceAllArgsConstructorTestPositive() {
-        ClientService testClientService = new ClientService(createUserPort, readUserPort, updateUserPort, activateUserPort, deactivateUserPort, deleteUserPort);
+        ClientService testClientService = new ClientService(createUserPort, readUserPort, updateUserPort, activateUserPort, deactivateUserPort, deleteUserPort, refreshTokenPort, tokenRevocationUseCase);
         assertNotNull(testClientService);
     }
 
@@ -272,6 +277,7 @@ public class ClientServiceTest {
 
         verify(deleteUserPort, times(1)).delete(Mockito.eq(removedClientUUID), Mockito.anyString());
         verify(readUserPort, times(1)).findClientByUUID(removedClientUUID);
+        verify(tokenRevocationUseCase, times(1)).revokeTokens(removedClientUUID);
     }
 
     @Test
@@ -347,6 +353,8 @@ public class ClientServiceTest {
 
         verify(deactivateUserPort, times(1)).deactivate(Mockito.eq(clientNo3));
         verify(readUserPort, times(1)).findClientByUUID(clientNo3.getUserID());
+        verify(refreshTokenPort, times(1)).revokeRefreshTokens(clientNo3.getUserID());
+        verify(tokenRevocationUseCase, times(1)).revokeTokens(clientNo3.getUserID());
     }
 
     @Test
@@ -367,6 +375,8 @@ public class ClientServiceTest {
 
         verify(deactivateUserPort, times(1)).deactivate(client);
         verify(readUserPort, times(1)).findClientByUUID(client.getUserID());
+        verify(refreshTokenPort, never()).revokeRefreshTokens(Mockito.any());
+        verify(tokenRevocationUseCase, never()).revokeTokens(Mockito.any());
     }
 
     @Test
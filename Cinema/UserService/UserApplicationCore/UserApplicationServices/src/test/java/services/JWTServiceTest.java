@@ -1,10 +1,16 @@
 package services;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.RegisteredClaims;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import pl.tks.gr3.cinema.adapters.consts.model.UserEntConstants;
+import pl.tks.gr3.cinema.application_services.authentication.VerifiedToken;
 import pl.tks.gr3.cinema.application_services.services.JWTService;
 import pl.tks.gr3.cinema.domain_model.Client;
 
@@ -39,6 +45,26 @@ public class JWTServiceTest {
         assertFalse(jwt.isEmpty());
     }
 
+    @Test
+    public void testGenerateJWTTokenContainsUserIDAndStatus() {
+        clientNo2.setUserStatusActive(false);
+        DecodedJWT decodedJWTNo1 = JWT.decode(jwtService.generateJWTToken(clientNo1));
+        DecodedJWT decodedJWTNo2 = JWT.decode(jwtService.generateJWTToken(clientNo2));
+        assertEquals(clientNo1.getUserID().toString(), decodedJWTNo1.getClaim(UserEntConstants.USER_ID).asString());
+        assertTrue(decodedJWTNo1.getClaim(UserEntConstants.USER_STATUS_ACTIVE).asBoolean());
+        assertEquals(clientNo2.getUserID().toString(), decodedJWTNo2.getClaim(UserEntConstants.USER_ID).asString());
+        assertFalse(decodedJWTNo2.getClaim(UserEntConstants.USER_STATUS_ACTIVE).asBoolean());
+    }
+
+    @Test
+    public void testGenerateJWTTokenContainsUniqueTokenID() {
+        DecodedJWT decodedJWTNo1 = JWT.decode(jwtService.generateJWTToken(clientNo1));
+        DecodedJWT decodedJWTNo2 = JWT.decode(jwtService.generateJWTToken(clientNo1));
+        assertNotNull(JWTService.extractIdentifier(decodedJWTNo1, RegisteredClaims.JWT_ID));
+        assertNotEquals(decodedJWTNo1.getId(), decodedJWTNo2.getId());
+        assertEquals(clientNo1.getUserID(), JWTService.extractIdentifier(decodedJWTNo1, UserEntConstants.USER_ID));
+    }
+
     @Test
     public void testExtractUsernameFromJWTTestPositive() {
         String jwt = jwtService.generateJWTToken(clientNo1);
@@ -79,4 +105,24 @@ public class JWTServiceTest {
                 List.of(new SimpleGrantedAuthority("ROLE_" + clientNo1.getUserRole().name())));
         assertFalse(jwtService.isTokenValid(jwt, userDetails));
     }
+
+    @Test
+    public void jwtServiceVerifyReturnsClaimsOfTokenTestPositive() {
+        String jwt = jwtService.generateJWTToken(clientNo1);
+        VerifiedToken verifiedToken = jwtService.verify(jwt);
+        DecodedJWT decodedJWT = JWT.decode(jwt);
+        assertEquals(clientNo1.getUserLogin(), verifiedToken.getSubject());
+        assertEquals(clientNo1.getUserID(), verifiedToken.getUserID());
+        assertEquals(JWTService.extractIdentifier(decodedJWT, RegisteredClaims.JWT_ID), verifiedToken.getTokenID());
+        assertEquals(decodedJWT.getIssuedAtAsInstant(), verifiedToken.getIssuedAt());
+        assertEquals(decodedJWT.getExpiresAtAsInstant(), verifiedToken.getExpiresAt());
+    }
+
+    @Test
+    public void jwtServiceVerifyTokenWithChangedSignatureTestNegative() {
+        String jwt = jwtService.generateJWTToken(clientNo1);
+        String changedJwt = jwt.substring(0, jwt.lastIndexOf('.') + 1) + "InvalidSignature";
+        assertThrows(JWTVerificationException.class, () -> jwtService.verify(changedJwt));
+        assertFalse(jwtService.isTokenValid(changedJwt, new User(clientNo1.getUserLogin(), clientNo1.getUserPassword(), List.of())));
+    }
 }
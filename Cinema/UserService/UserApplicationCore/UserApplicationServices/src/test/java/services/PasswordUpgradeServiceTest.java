@@ -0,0 +1,48 @@
+package services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
+import pl.tks.gr3.cinema.application_services.services.PasswordUpgradeService;
+import pl.tks.gr3.cinema.domain_model.Client;
+import pl.tks.gr3.cinema.ports.infrastructure.UpdateUserPort;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PasswordUpgradeServiceTest {
+
+    @Mock
+    private UpdateUserPort updateUserPort;
+
+    @InjectMocks
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @Test
+    public void passwordUpgradeServiceUpdatePasswordTestPositive() {
+        Client client = new Client(UUID.randomUUID(), "UniqueClientLoginNo1", "OldPasswordHashNo1");
+
+        UserDetails userDetails = passwordUpgradeService.updatePassword(new AuthenticatedUser(client), "NewPasswordHashNo1");
+
+        verify(updateUserPort, times(1)).updatePassword(client, "NewPasswordHashNo1");
+        assertEquals("NewPasswordHashNo1", userDetails.getPassword());
+    }
+
+    @Test
+    public void passwordUpgradeServiceUpdatePasswordWhenUserRepositoryExceptionIsThrownTestNegative() {
+        Client client = new Client(UUID.randomUUID(), "UniqueClientLoginNo1", "OldPasswordHashNo1");
+        doThrow(UserRepositoryException.class).when(updateUserPort).updatePassword(client, "NewPasswordHashNo1");
+
+        UserDetails userDetails = passwordUpgradeService.updatePassword(new AuthenticatedUser(client), "NewPasswordHashNo1");
+
+        assertEquals("OldPasswordHashNo1", userDetails.getPassword());
+    }
+}
@@ -0,0 +1,138 @@
+package services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.exceptions.RefreshTokenRepositoryException;
+import pl.tks.gr3.cinema.adapters.exceptions.crud.refresh_token.RefreshTokenRepositoryTokenNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.AuthenticationServiceInvalidRefreshTokenException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.refresh.AuthenticationServiceRefreshException;
+import pl.tks.gr3.cinema.application_services.services.RefreshTokenService;
+import pl.tks.gr3.cinema.domain_model.Client;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshToken;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshTokenGrant;
+import pl.tks.gr3.cinema.ports.infrastructure.ReadUserPort;
+import pl.tks.gr3.cinema.ports.infrastructure.RefreshTokenPort;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenPort refreshTokenPort;
+
+    @Mock
+    private ReadUserPort readUserPort;
+
+    private final Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+    private RefreshTokenService refreshTokenService;
+    private Client clientNo1;
+
+    @BeforeEach
+    public void initialize() {
+        refreshTokenService = new RefreshTokenService(refreshTokenPort, readUserPort, Duration.ofDays(7), Clock.fixed(now, ZoneOffset.UTC));
+        clientNo1 = new Client(UUID.randomUUID(), "UniqueClientLoginNo1", "UniqueClientPasswordNo1");
+    }
+
+    @Test
+    public void refreshTokenServiceIssueRefreshTokenTestPositive() {
+        ArgumentCaptor<String> tokenHashCaptor = ArgumentCaptor.forClass(String.class);
+
+        String refreshToken = refreshTokenService.issueRefreshToken(clientNo1);
+
+        assertNotNull(refreshToken);
+        verify(refreshTokenPort, times(1)).createRefreshToken(Mockito.eq(clientNo1.getUserID()), Mockito.any(UUID.class),
+                tokenHashCaptor.capture(), Mockito.eq(now.plus(Duration.ofDays(7))));
+        assertNotEquals(refreshToken, tokenHashCaptor.getValue());
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshRotatesTokenTestPositive() {
+        UUID familyID = UUID.randomUUID();
+        ArgumentCaptor<String> tokenHashCaptor = ArgumentCaptor.forClass(String.class);
+        String refreshToken = refreshTokenService.issueRefreshToken(clientNo1);
+        verify(refreshTokenPort).createRefreshToken(Mockito.any(), Mockito.any(), tokenHashCaptor.capture(), Mockito.any());
+
+        when(refreshTokenPort.useRefreshToken(tokenHashCaptor.getValue()))
+                .thenReturn(new RefreshToken(UUID.randomUUID(), clientNo1.getUserID(), familyID, now.plusSeconds(60), false));
+        when(readUserPort.findByUUID(clientNo1.getUserID())).thenReturn(clientNo1);
+
+        RefreshTokenGrant refreshTokenGrant = refreshTokenService.refresh(refreshToken);
+
+        assertEquals(clientNo1, refreshTokenGrant.getUser());
+        assertNotEquals(refreshToken, refreshTokenGrant.getRefreshToken());
+        verify(refreshTokenPort, times(1)).createRefreshToken(Mockito.eq(clientNo1.getUserID()), Mockito.eq(familyID), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshWithUsedTokenRevokesFamilyTestNegative() {
+        UUID familyID = UUID.randomUUID();
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString()))
+                .thenReturn(new RefreshToken(UUID.randomUUID(), clientNo1.getUserID(), familyID, now.plusSeconds(60), true));
+
+        assertThrows(AuthenticationServiceInvalidRefreshTokenException.class, () -> refreshTokenService.refresh("SomeRefreshToken"));
+
+        verify(refreshTokenPort, times(1)).revokeRefreshTokenFamily(familyID);
+        verify(readUserPort, never()).findByUUID(Mockito.any());
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshWithExpiredTokenTestNegative() {
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString()))
+                .thenReturn(new RefreshToken(UUID.randomUUID(), clientNo1.getUserID(), UUID.randomUUID(), now, false));
+
+        assertThrows(AuthenticationServiceInvalidRefreshTokenException.class, () -> refreshTokenService.refresh("SomeRefreshToken"));
+
+        verify(refreshTokenPort, never()).createRefreshToken(Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshForInactiveUserTestNegative() {
+        clientNo1.setUserStatusActive(false);
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString()))
+                .thenReturn(new RefreshToken(UUID.randomUUID(), clientNo1.getUserID(), UUID.randomUUID(), now.plusSeconds(60), false));
+        when(readUserPort.findByUUID(clientNo1.getUserID())).thenReturn(clientNo1);
+
+        assertThrows(AuthenticationServiceInvalidRefreshTokenException.class, () -> refreshTokenService.refresh("SomeRefreshToken"));
+
+        verify(refreshTokenPort, times(1)).revokeRefreshTokens(clientNo1.getUserID());
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshWithUnknownTokenTestNegative() {
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString())).thenThrow(RefreshTokenRepositoryTokenNotFoundException.class);
+
+        assertThrows(AuthenticationServiceInvalidRefreshTokenException.class, () -> refreshTokenService.refresh("SomeRefreshToken"));
+    }
+
+    @Test
+    public void refreshTokenServiceRefreshWhenRefreshTokenRepositoryExceptionIsThrownTestNegative() {
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString())).thenThrow(RefreshTokenRepositoryException.class);
+
+        assertThrows(AuthenticationServiceRefreshException.class, () -> refreshTokenService.refresh("SomeRefreshToken"));
+    }
+
+    @Test
+    public void refreshTokenServiceRevokeRefreshTokenTestPositive() {
+        UUID familyID = UUID.randomUUID();
+        when(refreshTokenPort.useRefreshToken(Mockito.anyString()))
+                .thenReturn(new RefreshToken(UUID.randomUUID(), clientNo1.getUserID(), familyID, now.plusSeconds(60), false));
+
+        refreshTokenService.revokeRefreshToken("SomeRefreshToken");
+
+        verify(refreshTokenPort, times(1)).revokeRefreshTokenFamily(familyID);
+    }
+}
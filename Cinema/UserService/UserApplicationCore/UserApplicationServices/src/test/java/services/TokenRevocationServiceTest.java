@@ -0,0 +1,150 @@
+package services;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.tks.gr3.cinema.adapters.exceptions.TokenRevocationRepositoryException;
+import pl.tks.gr3.cinema.application_services.authentication.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.authentication.revocation.AuthenticationServiceRevocationException;
+import pl.tks.gr3.cinema.application_services.services.JWTService;
+import pl.tks.gr3.cinema.application_services.services.TokenRevocationService;
+import pl.tks.gr3.cinema.domain_model.Client;
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+import pl.tks.gr3.cinema.ports.infrastructure.PublishTokenRevocationPort;
+import pl.tks.gr3.cinema.ports.infrastructure.TokenRevocationPort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationPort tokenRevocationPort;
+
+    @Mock
+    private PublishTokenRevocationPort publishTokenRevocationPort;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private TokenRevocationList tokenRevocationList;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    public void initialize() {
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC);
+        tokenRevocationList = new TokenRevocationList(100, clock);
+        tokenRevocationService = new TokenRevocationService(tokenRevocationPort, publishTokenRevocationPort, tokenRevocationList, clock);
+    }
+
+    @Test
+    public void tokenRevocationServiceRevokeTokenTestPositive() {
+        Client client = new Client(UUID.randomUUID(), "UniqueClientLoginNo1", "UniqueClientPasswordNo1");
+        String jwtToken = new JWTService().generateJWTToken(client);
+        UUID tokenID = UUID.fromString(JWT.decode(jwtToken).getId());
+        ArgumentCaptor<TokenRevocation> revocationCaptor = ArgumentCaptor.forClass(TokenRevocation.class);
+
+        tokenRevocationService.revokeToken(jwtToken);
+
+        verify(tokenRevocationPort, times(1)).saveTokenRevocation(revocationCaptor.capture());
+        verify(publishTokenRevocationPort, times(1)).publishTokenRevocation(revocationCaptor.getValue());
+        assertEquals(tokenID, revocationCaptor.getValue().getRevokedID());
+        assertEquals(JWT.decode(jwtToken).getExpiresAtAsInstant(), revocationCaptor.getValue().getExpiresAt());
+        assertTrue(tokenRevocationList.isRevoked(tokenID, client.getUserID(), now));
+        assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID(), client.getUserID(), now));
+    }
+
+    @Test
+    public void tokenRevocationServiceRevokeTokenWithoutTokenIDTestPositive() {
+        String jwtToken = JWT.create()
+                .withSubject("UniqueClientLoginNo1")
+                .withExpiresAt(Date.from(now.plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256("SomeSecretKey"));
+
+        tokenRevocationService.revokeToken(jwtToken);
+
+        verify(tokenRevocationPort, never()).saveTokenRevocation(Mockito.any());
+        verify(publishTokenRevocationPort, never()).publishTokenRevocation(Mockito.any());
+    }
+
+    @Test
+    public void tokenRevocationServiceRevokeTokensTestPositive() {
+        UUID userID = UUID.randomUUID();
+        ArgumentCaptor<TokenRevocation> revocationCaptor = ArgumentCaptor.forClass(TokenRevocation.class);
+
+        tokenRevocationService.revokeTokens(userID);
+
+        verify(tokenRevocationPort, times(1)).saveTokenRevocation(revocationCaptor.capture());
+        verify(publishTokenRevocationPort, times(1)).publishTokenRevocation(revocationCaptor.getValue());
+        assertEquals(userID, revocationCaptor.getValue().getRevokedID());
+        assertEquals(now.plus(JWTService.ACCESS_TOKEN_VALIDITY), revocationCaptor.getValue().getExpiresAt());
+        assertTrue(tokenRevocationList.isRevoked(UUID.randomUUID(), userID, now));
+        assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID(), userID, now.plus(1, ChronoUnit.SECONDS)));
+    }
+
+    @Test
+    public void tokenRevocationServiceRevokeTokensRepositoryExceptionTestNegative() {
+        UUID userID = UUID.randomUUID();
+        doThrow(TokenRevocationRepositoryException.class).when(tokenRevocationPort).saveTokenRevocation(Mockito.any());
+
+        assertThrows(AuthenticationServiceRevocationException.class, () -> tokenRevocationService.revokeTokens(userID));
+
+        verify(publishTokenRevocationPort, never()).publishTokenRevocation(Mockito.any());
+        assertFalse(tokenRevocationList.isRevoked(null, userID, now));
+    }
+
+    @Test
+    public void tokenRevocationServiceLoadTokenRevocationsTestPositive() {
+        UUID userID = UUID.randomUUID();
+        when(tokenRevocationPort.findActiveTokenRevocations(now)).thenReturn(List.of(
+                new TokenRevocation(userID, now.minus(1, ChronoUnit.MINUTES), now.plus(14, ChronoUnit.MINUTES))));
+
+        tokenRevocationService.loadTokenRevocations();
+
+        assertTrue(tokenRevocationList.isRevoked(null, userID, now.minus(2, ChronoUnit.MINUTES)));
+        assertFalse(tokenRevocationList.isRevoked(null, userID, now));
+    }
+
+    @Test
+    public void tokenRevocationServiceLoadTokenRevocationsRepositoryExceptionTestNegative() {
+        when(tokenRevocationPort.findActiveTokenRevocations(now)).thenThrow(TokenRevocationRepositoryException.class);
+
+        assertDoesNotThrow(() -> tokenRevocationService.loadTokenRevocations());
+        assertEquals(0, tokenRevocationList.size());
+    }
+
+    @Test
+    public void tokenRevocationServiceReplayTokenRevocationsTestPositive() {
+        TokenRevocation revocationNo1 = new TokenRevocation(UUID.randomUUID(), now.minus(1, ChronoUnit.MINUTES), now.plus(14, ChronoUnit.MINUTES));
+        TokenRevocation revocationNo2 = new TokenRevocation(UUID.randomUUID(), now.minus(5, ChronoUnit.MINUTES), now.plus(10, ChronoUnit.MINUTES));
+        when(tokenRevocationPort.findActiveTokenRevocations(now)).thenReturn(List.of(revocationNo1, revocationNo2));
+
+        tokenRevocationService.replayTokenRevocations();
+
+        verify(publishTokenRevocationPort, times(1)).publishTokenRevocation(revocationNo1);
+        verify(publishTokenRevocationPort, times(1)).publishTokenRevocation(revocationNo2);
+        verify(tokenRevocationPort, never()).saveTokenRevocation(any());
+    }
+
+    @Test
+    public void tokenRevocationServiceReplayTokenRevocationsRepositoryExceptionTestNegative() {
+        when(tokenRevocationPort.findActiveTokenRevocations(now)).thenThrow(TokenRevocationRepositoryException.class);
+
+        assertDoesNotThrow(() -> tokenRevocationService.replayTokenRevocations());
+        verify(publishTokenRevocationPort, never()).publishTokenRevocation(any());
+    }
+}
@@ -31,6 +31,8 @@ public abstract class User {
 
     protected boolean userStatusActive;
 
+    protected long version;
+
     @Setter(AccessLevel.NONE)
     protected Role userRole = null;
 
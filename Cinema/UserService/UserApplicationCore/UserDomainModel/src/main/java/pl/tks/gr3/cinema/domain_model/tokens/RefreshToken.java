@@ -0,0 +1,38 @@
+package pl.tks.gr3.cinema.domain_model.tokens;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Refresh token as it is stored - only hash of the token is kept. Every token issued by rotating another one
+ * belongs to the same family as the token issued on login, so that all of them can be revoked together when
+ * an already used token is presented again.
+ */
+
+@Getter
+public class RefreshToken {
+
+    private final UUID tokenID;
+    private final UUID userID;
+    private final UUID familyID;
+    private final Instant expiresAt;
+    private final boolean used;
+
+    // Constructors
+
+    public RefreshToken(UUID tokenID, UUID userID, UUID familyID, Instant expiresAt, boolean used) {
+        this.tokenID = tokenID;
+        this.userID = userID;
+        this.familyID = familyID;
+        this.expiresAt = expiresAt;
+        this.used = used;
+    }
+
+    // Other methods
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,23 @@
+package pl.tks.gr3.cinema.domain_model.tokens;
+
+import lombok.Getter;
+import pl.tks.gr3.cinema.domain_model.User;
+
+/*
+ * Result of exchanging a refresh token - user that the new access token is issued for and the refresh token
+ * that replaces the exchanged one.
+ */
+
+@Getter
+public class RefreshTokenGrant {
+
+    private final User user;
+    private final String refreshToken;
+
+    // Constructors
+
+    public RefreshTokenGrant(User user, String refreshToken) {
+        this.user = user;
+        this.refreshToken = refreshToken;
+    }
+}
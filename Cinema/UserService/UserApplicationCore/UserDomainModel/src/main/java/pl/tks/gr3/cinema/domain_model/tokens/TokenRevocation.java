@@ -0,0 +1,34 @@
+package pl.tks.gr3.cinema.domain_model.tokens;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Revocation of access tokens - either of a single token (identified by its jti claim) or of all tokens of a user
+ * (identified by the user ID). Only tokens issued up to the revocation are affected, and it is kept only until the
+ * last of them expires.
+ */
+
+@Getter
+public class TokenRevocation {
+
+    private final UUID revokedID;
+    private final Instant revokedAt;
+    private final Instant expiresAt;
+
+    // Constructors
+
+    public TokenRevocation(UUID revokedID, Instant revokedAt, Instant expiresAt) {
+        this.revokedID = revokedID;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Other methods
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
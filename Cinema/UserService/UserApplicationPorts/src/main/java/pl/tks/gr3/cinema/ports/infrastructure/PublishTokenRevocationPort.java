@@ -0,0 +1,8 @@
+package pl.tks.gr3.cinema.ports.infrastructure;
+
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+
+public interface PublishTokenRevocationPort {
+
+    void publishTokenRevocation(TokenRevocation tokenRevocation);
+}
@@ -0,0 +1,14 @@
+package pl.tks.gr3.cinema.ports.infrastructure;
+
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshToken;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RefreshTokenPort {
+
+    void createRefreshToken(UUID userID, UUID familyID, String tokenHash, Instant expiresAt);
+    RefreshToken useRefreshToken(String tokenHash);
+    void revokeRefreshTokenFamily(UUID familyID);
+    void revokeRefreshTokens(UUID userID);
+}
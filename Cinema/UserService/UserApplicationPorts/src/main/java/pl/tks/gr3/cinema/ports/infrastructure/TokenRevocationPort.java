@@ -0,0 +1,12 @@
+package pl.tks.gr3.cinema.ports.infrastructure;
+
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationPort {
+
+    void saveTokenRevocation(TokenRevocation tokenRevocation);
+    List<TokenRevocation> findActiveTokenRevocations(Instant now);
+}
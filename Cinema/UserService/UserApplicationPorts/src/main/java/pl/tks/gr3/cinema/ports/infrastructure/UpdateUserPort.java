@@ -3,10 +3,12 @@ package pl.tks.gr3.cinema.ports.infrastructure;
 import pl.tks.gr3.cinema.domain_model.Admin;
 import pl.tks.gr3.cinema.domain_model.Client;
 import pl.tks.gr3.cinema.domain_model.Staff;
+import pl.tks.gr3.cinema.domain_model.User;
 
 public interface UpdateUserPort {
 
     void updateClient(Client client);
     void updateAdmin(Admin admin);
     void updateStaff(Staff staff);
+    void updatePassword(User user, String newPassword);
 }
@@ -0,0 +1,14 @@
+package pl.tks.gr3.cinema.ports.userinterface.other;
+
+import pl.tks.gr3.cinema.domain_model.User;
+import pl.tks.gr3.cinema.domain_model.tokens.RefreshTokenGrant;
+
+import java.util.UUID;
+
+public interface RefreshTokenUseCase {
+
+    String issueRefreshToken(User user);
+    RefreshTokenGrant refresh(String refreshToken);
+    void revokeRefreshToken(String refreshToken);
+    void revokeRefreshTokens(UUID userID);
+}
@@ -0,0 +1,13 @@
+package pl.tks.gr3.cinema.ports.userinterface.other;
+
+import pl.tks.gr3.cinema.domain_model.tokens.TokenRevocation;
+
+import java.util.UUID;
+
+public interface TokenRevocationUseCase {
+
+    void revokeToken(String jwtToken);
+    void revokeTokens(UUID userID);
+    void applyTokenRevocation(TokenRevocation tokenRevocation);
+    void replayTokenRevocations();
+}
@@ -4,59 +4,69 @@ import io.micrometer.core.aop.CountedAspect;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import pl.tks.gr3.cinema.adapters.exceptions.crud.user.UserRepositoryReadException;
-import pl.tks.gr3.cinema.adapters.model.UserEnt;
+import pl.tks.gr3.cinema.adapters.cache.UserDetailsCache;
+import pl.tks.gr3.cinema.adapters.converters.UserConverter;
+import pl.tks.gr3.cinema.adapters.exceptions.UserRepositoryException;
 import pl.tks.gr3.cinema.adapters.repositories.UserRepository;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
+import pl.tks.gr3.cinema.application_services.authentication.BoundedPasswordEncoder;
 import pl.tks.gr3.cinema.security.consts.SecurityMessages;
 
-import java.util.List;
-
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    // User read here is kept in the authentication principal (and in the cache), so logging in reads it only once.
 
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
             try {
-                UserEnt userEnt = userRepository.findByLogin(username);
-                return new org.springframework.security.core.userdetails.User(userEnt.getUserLogin(),
-                        userEnt.getUserPassword(),
-                        userEnt.isUserStatusActive(),
-                        true,
-                        true,
-                        true,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + userEnt.getUserRole().name())));
-            } catch (UserRepositoryReadException exception) {
+                return new AuthenticatedUser(UserConverter.convertToUser(userRepository.findByLogin(username)));
+            } catch (UserRepositoryException exception) {
                 throw new UsernameNotFoundException(SecurityMessages.USER_NOT_FOUND);
             }
         };
     }
 
+    // Hashes computed with a lower work factor than the configured one are upgraded on successful login.
+
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder, UserDetailsPasswordService userDetailsPasswordService) {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailsService());
-        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        daoAuthenticationProvider.setUserCache(userDetailsCache);
         return daoAuthenticationProvider;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hashing.threads:4}") int threads,
+                                           @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                           ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        PasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        return meterRegistry == null
+                ? new BoundedPasswordEncoder(bCryptPasswordEncoder, threads, queueCapacity)
+                : new BoundedPasswordEncoder(bCryptPasswordEncoder, threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import pl.tks.gr3.cinema.application_services.services.JWSService;
 import pl.tks.gr3.cinema.security.filters.UserUpdateFilter;
 
 import java.util.List;
@@ -16,7 +15,7 @@ public class FilterConfig {
     @Bean
     public FilterRegistrationBean<UserUpdateFilter> userUpdateFilter() {
         FilterRegistrationBean<UserUpdateFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new UserUpdateFilter(new JWSService()));
+        registrationBean.setFilter(new UserUpdateFilter());
         registrationBean.setUrlPatterns(List.of("/api/v1/admins/update", "/api/v1/clients/update", "/api/v1/staffs/update"));
         return registrationBean;
     }
@@ -1,11 +1,11 @@
 package pl.tks.gr3.cinema.security.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -15,6 +15,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import pl.tks.gr3.cinema.security.authorization.RoleAuthorizationManager;
 import pl.tks.gr3.cinema.security.filters.JWTAuthenticationFilter;
 
 import java.util.List;
@@ -22,7 +24,6 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
-@EnableMethodSecurity
 public class SecurityConfig {
 
     private final AuthenticationProvider authenticationProvider;
@@ -43,7 +44,11 @@ public class SecurityConfig {
     };
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity,
+                                                   @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) throws Exception {
+        // Roles required by the endpoints (@AllowedRoles) are collected once - requests are not checked by method security.
+        RoleAuthorizationManager roleAuthorizationManager = new RoleAuthorizationManager(handlerMapping.getHandlerMethods());
+
         httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> corsConfigurationSource())
@@ -54,7 +59,8 @@ public class SecurityConfig {
                         .requestMatchers("/ws", "/ws/**").permitAll()
                         .requestMatchers(AUTH_WHITELIST).permitAll()
                         .requestMatchers("/api/v1/auth/login/**", "/api/v1/auth/register/client").permitAll()
-                        .requestMatchers("/**").authenticated());
+                        .requestMatchers("/api/v1/auth/refresh", "/api/v1/auth/logout").permitAll()
+                        .requestMatchers("/**").access(roleAuthorizationManager));
 
         return httpSecurity.build();
     }
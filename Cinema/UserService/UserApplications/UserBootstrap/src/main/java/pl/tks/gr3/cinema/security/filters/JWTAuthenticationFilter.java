@@ -1,5 +1,6 @@
 package pl.tks.gr3.cinema.security.filters;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +17,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import pl.tks.gr3.cinema.application_services.authentication.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.authentication.VerifiedToken;
 import pl.tks.gr3.cinema.application_services.services.JWTService;
 import pl.tks.gr3.cinema.security.consts.SecurityConstants;
 
@@ -27,6 +30,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -36,7 +40,26 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final String jwtToken = authHeader.replaceAll("\\s+", "").substring(6);
-        final String userName = jwtService.extractUsername(jwtToken);
+        // Token is verified once - the user is then read by its subject, so it is not checked against the token again.
+        final VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtService.verify(jwtToken);
+        } catch (JWTVerificationException exception) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("JWT Token signature is invalid.");
+            SecurityContextHolder.clearContext();
+            return;
+        }
+        // Revoked tokens are rejected before the user is read from the database.
+        if (tokenRevocationList.isRevoked(verifiedToken.getTokenID(), verifiedToken.getUserID(), verifiedToken.getIssuedAt())) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("JWT Token was revoked.");
+            SecurityContextHolder.clearContext();
+            return;
+        }
+        final String userName = verifiedToken.getSubject();
         if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
             if (!userDetails.isEnabled()) {
@@ -45,12 +68,6 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
                 response.getWriter().write("Account that you want to use is disabled.");
                 SecurityContextHolder.clearContext();
                 return;
-            } else if (!jwtService.isTokenValid(jwtToken, userDetails)) {
-                response.setStatus(HttpStatus.BAD_REQUEST.value());
-                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
-                response.getWriter().write("JWT Token signature is invalid.");
-                SecurityContextHolder.clearContext();
-                return;
             } else {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -60,11 +77,15 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Refresh and logout are called with an access token that may have expired already - they do not use it for authentication.
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getServletPath();
         return path.startsWith("/api/v1/auth/login") ||
                 path.startsWith("/api/v1/auth/register/client") ||
+                path.equals("/api/v1/auth/refresh") ||
+                path.equals("/api/v1/auth/logout") ||
                 path.contains("swagger") ||
                 path.contains("actuator");
     }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -14,7 +15,6 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.admin.AdminServiceAdminNotFoundException;
 import pl.tks.gr3.cinema.domain_model.Admin;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.controllers.AdminController;
@@ -28,6 +28,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Import(AdminController.class)
@@ -44,9 +45,6 @@ public class AdminControllerTest {
     @MockBean
     private WriteUserUseCase<Admin> writeAdmin;
 
-    @MockBean
-    private JWSUseCase jwsUseCase;
-
     @MockBean
     private PasswordEncoder passwordEncoder;
 
@@ -132,11 +130,11 @@ public class AdminControllerTest {
         Admin adminUser = new Admin(UUID.randomUUID(), "AdminLoginNo1", passwordEncoder.encode(passwordNotHashed));
 
         when(readAdmin.findByLogin(adminUser.getUserLogin())).thenReturn(adminUser);
-        when(jwsUseCase.generateSignatureForUser(adminUser)).thenReturn("ExampleJwsSignature");
 
         this.mockMvc.perform(get("/api/v1/admins/login/self"))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
     }
 
     @WithMockUser(username = "AdminLoginNo2", roles = {"ADMIN"})
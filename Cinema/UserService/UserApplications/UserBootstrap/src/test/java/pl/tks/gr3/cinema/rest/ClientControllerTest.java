@@ -1,11 +1,14 @@
 package pl.tks.gr3.cinema.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -13,13 +16,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import pl.tks.gr3.cinema.adapters.rabbitmq.publishers.ClientActivatePublisher;
 import pl.tks.gr3.cinema.adapters.rabbitmq.publishers.ClientDeactivatePublisher;
+import pl.tks.gr3.cinema.application_services.authentication.AuthenticatedUser;
 import pl.tks.gr3.cinema.application_services.exceptions.GeneralServiceException;
 import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceClientNotFoundException;
+import pl.tks.gr3.cinema.application_services.exceptions.crud.client.ClientServiceVersionMismatchException;
 import pl.tks.gr3.cinema.domain_model.Client;
-import pl.tks.gr3.cinema.ports.userinterface.other.JWSUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.ReadUserUseCase;
 import pl.tks.gr3.cinema.ports.userinterface.users.WriteUserUseCase;
 import pl.tks.gr3.cinema.viewrest.controllers.ClientController;
+import pl.tks.gr3.cinema.viewrest.model.UserUpdateDTO;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,9 +32,12 @@ import java.util.UUID;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Import(ClientController.class)
@@ -46,9 +54,6 @@ public class ClientControllerTest {
     @MockBean
     private WriteUserUseCase<Client> writeClient;
 
-    @MockBean
-    private JWSUseCase jwsUseCase;
-
     @MockBean
     private ClientActivatePublisher clientActivatePublisher;
 
@@ -175,11 +180,11 @@ public class ClientControllerTest {
         Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1", passwordEncoder.encode(passwordNotHashed));
 
         when(readClient.findByLogin(clientUser.getUserLogin())).thenReturn(clientUser);
-        when(jwsUseCase.generateSignatureForUser(clientUser)).thenReturn("ExampleJwsSignature");
 
         this.mockMvc.perform(get("/api/v1/clients/login/self"))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
     }
 
     @WithMockUser(username = "ClientLoginNo2", roles = {"CLIENT"})
@@ -292,4 +297,60 @@ public class ClientControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    public void clientControllerUpdateAsAuthenticatedClientTestPositive() throws Exception {
+        Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1", "HashedPassword");
+
+        when(passwordEncoder.encode(passwordNotHashed)).thenReturn("NewHashedPassword");
+        doAnswer(invocation -> {
+            invocation.<Client>getArgument(0).setVersion(3);
+            return null;
+        }).when(writeClient).update(any(Client.class));
+
+        this.mockMvc.perform(put("/api/v1/clients/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .content(new ObjectMapper().writeValueAsString(new UserUpdateDTO(clientUser.getUserID(), "ClientLoginNo2", passwordNotHashed, true)))
+                        .with(user(new AuthenticatedUser(clientUser)))
+                        .with(csrf()))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""));
+
+        verify(writeClient).update(argThat(client -> client.getVersion() == 3 && client.getUserPassword().equals("NewHashedPassword")));
+        verify(readClient, never()).findByLogin(anyString());
+    }
+
+    @Test
+    public void clientControllerUpdateOtherClientAsAuthenticatedClientTestNegative() throws Exception {
+        Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1", "HashedPassword");
+
+        this.mockMvc.perform(put("/api/v1/clients/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .content(new ObjectMapper().writeValueAsString(new UserUpdateDTO(UUID.randomUUID(), "ClientLoginNo2", passwordNotHashed, true)))
+                        .with(user(new AuthenticatedUser(clientUser)))
+                        .with(csrf()))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(readClient, writeClient, passwordEncoder);
+    }
+
+    @Test
+    public void clientControllerUpdateAsAuthenticatedClientWhenVersionDoesNotMatchTestNegative() throws Exception {
+        Client clientUser = new Client(UUID.randomUUID(), "ClientLoginNo1", "HashedPassword");
+
+        doThrow(ClientServiceVersionMismatchException.class).when(writeClient).update(any(Client.class));
+
+        this.mockMvc.perform(put("/api/v1/clients/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                        .content(new ObjectMapper().writeValueAsString(new UserUpdateDTO(clientUser.getUserID(), "ClientLoginNo1", passwordNotHashed, true)))
+                        .with(user(new AuthenticatedUser(clientUser)))
+                        .with(csrf()))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
 }
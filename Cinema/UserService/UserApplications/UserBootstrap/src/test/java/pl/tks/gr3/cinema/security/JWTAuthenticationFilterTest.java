@@ -0,0 +1,123 @@
+package pl.tks.gr3.cinema.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import pl.tks.gr3.cinema.application_services.authentication.TokenRevocationList;
+import pl.tks.gr3.cinema.application_services.services.JWTService;
+import pl.tks.gr3.cinema.security.filters.JWTAuthenticationFilter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JWTAuthenticationFilterTest {
+
+    private static final String SECRET_KEY = "256970464e4d29792c4d2d24317256534d2d3039332a2b2e383929635f";
+
+    private UserDetailsService userDetailsService;
+    private JWTAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    public void initializeFilter() {
+        userDetailsService = mock(UserDetailsService.class);
+        jwtAuthenticationFilter = new JWTAuthenticationFilter(new JWTService(), userDetailsService, new TokenRevocationList(100));
+    }
+
+    @AfterEach
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static String validToken() {
+        return JWT.create()
+                .withSubject("ClientLoginNo1")
+                .withIssuedAt(Date.from(Instant.now()))
+                .withExpiresAt(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+    }
+
+    private static String expiredToken() {
+        return JWT.create()
+                .withSubject("ClientLoginNo1")
+                .withIssuedAt(Date.from(Instant.now().minus(30, ChronoUnit.MINUTES)))
+                .withExpiresAt(Date.from(Instant.now().minus(15, ChronoUnit.MINUTES)))
+                .sign(Algorithm.HMAC256(new String(Base64.getDecoder().decode(SECRET_KEY))));
+    }
+
+    private static MockHttpServletRequest requestWithExpiredToken(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + expiredToken());
+        request.setCookies(new Cookie("refresh_token", "ClientRefreshTokenNo1"));
+        return request;
+    }
+
+    @Test
+    public void refreshWithExpiredAccessTokenAndRefreshCookieIsPassedToController() throws Exception {
+        MockHttpServletRequest request = requestWithExpiredToken("/api/v1/auth/refresh");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+
+        assertSame(request, filterChain.getRequest());
+        assertEquals(200, response.getStatus());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void logoutWithExpiredAccessTokenIsPassedToController() throws Exception {
+        MockHttpServletRequest request = requestWithExpiredToken("/api/v1/auth/logout");
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertSame(request, filterChain.getRequest());
+    }
+
+    @Test
+    public void requestWithValidTokenIsAuthenticatedWithUserReadOnce() throws Exception {
+        when(userDetailsService.loadUserByUsername("ClientLoginNo1"))
+                .thenReturn(new User("ClientLoginNo1", "ClientPasswordNo1", List.of(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clients/self");
+        request.setServletPath("/api/v1/clients/self");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + validToken());
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertSame(request, filterChain.getRequest());
+        assertEquals("ClientLoginNo1", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(userDetailsService, times(1)).loadUserByUsername("ClientLoginNo1");
+    }
+
+    @Test
+    public void requestWithExpiredTokenIsRejectedWithoutReadingUser() throws Exception {
+        MockHttpServletRequest request = requestWithExpiredToken("/api/v1/clients/self");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+
+        assertNull(filterChain.getRequest());
+        assertEquals(400, response.getStatus());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+}
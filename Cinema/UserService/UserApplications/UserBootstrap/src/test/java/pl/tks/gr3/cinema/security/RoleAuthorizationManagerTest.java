@@ -0,0 +1,77 @@
+package pl.tks.gr3.cinema.security;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import pl.tks.gr3.cinema.security.authorization.RoleAuthorizationManager;
+import pl.tks.gr3.cinema.viewrest.controllers.AuthenticationController;
+import pl.tks.gr3.cinema.viewrest.controllers.StaffController;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoleAuthorizationManagerTest {
+
+    private static RoleAuthorizationManager roleAuthorizationManager;
+
+    @BeforeAll
+    public static void initializeRouteTable() {
+        // Controllers are only registered - handler methods are detected from their types, without creating them.
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        for (Class<?> controllerClass : List.of(StaffController.class, AuthenticationController.class)) {
+            RootBeanDefinition beanDefinition = new RootBeanDefinition(controllerClass);
+            beanDefinition.setLazyInit(true);
+            applicationContext.registerBeanDefinition(controllerClass.getSimpleName(), beanDefinition);
+        }
+        RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(applicationContext);
+        handlerMapping.afterPropertiesSet();
+        roleAuthorizationManager = new RoleAuthorizationManager(handlerMapping.getHandlerMethods());
+    }
+
+    private static boolean isGranted(String method, String path, Authentication authentication) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        return roleAuthorizationManager.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static Authentication user(String role) {
+        return new UsernamePasswordAuthenticationToken("UserLoginNo1", null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    @Test
+    public void endpointWithAllowedRolesIsGrantedOnlyToThem() {
+        String path = "/api/v1/staffs/" + UUID.randomUUID();
+        assertTrue(isGranted("GET", path, user("STAFF")));
+        assertTrue(isGranted("GET", path, user("ADMIN")));
+        assertFalse(isGranted("GET", path, user("CLIENT")));
+        assertTrue(isGranted("POST", "/api/v1/auth/register/staff", user("ADMIN")));
+        assertFalse(isGranted("POST", "/api/v1/auth/register/staff", user("STAFF")));
+    }
+
+    @Test
+    public void headRequestIsCheckedAgainstRolesOfGetEndpoint() {
+        String path = "/api/v1/staffs/" + UUID.randomUUID();
+        assertTrue(isGranted("HEAD", path, user("STAFF")));
+        assertFalse(isGranted("HEAD", path, user("CLIENT")));
+    }
+
+    @Test
+    public void requestWithoutMatchingRouteIsDenied() {
+        assertFalse(isGranted("GET", "/api/v1/unknown", user("ADMIN")));
+    }
+
+    @Test
+    public void mostSpecificRouteIsUsed() {
+        assertTrue(isGranted("GET", "/api/v1/staffs/login/self", user("CLIENT")));
+        assertFalse(isGranted("GET", "/api/v1/staffs/login/StaffLoginNo1", user("CLIENT")));
+    }
+}